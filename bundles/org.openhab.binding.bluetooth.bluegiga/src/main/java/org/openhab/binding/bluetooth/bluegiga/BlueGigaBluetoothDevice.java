@@ -43,7 +43,6 @@ import org.openhab.binding.bluetooth.bluegiga.internal.command.attributeclient.B
 import org.openhab.binding.bluetooth.bluegiga.internal.command.connection.BlueGigaConnectionStatusEvent;
 import org.openhab.binding.bluetooth.bluegiga.internal.command.connection.BlueGigaDisconnectedEvent;
 import org.openhab.binding.bluetooth.bluegiga.internal.command.gap.BlueGigaScanResponseEvent;
-import org.openhab.binding.bluetooth.bluegiga.internal.eir.EirDataType;
 import org.openhab.binding.bluetooth.bluegiga.internal.eir.EirPacket;
 import org.openhab.binding.bluetooth.bluegiga.internal.enumeration.BgApiResponse;
 import org.openhab.binding.bluetooth.bluegiga.internal.enumeration.BluetoothAddressType;
@@ -382,8 +381,9 @@ public class BlueGigaBluetoothDevice extends BaseBluetoothDevice implements Blue
     }
 
     private void handleScanEvent(BlueGigaScanResponseEvent event) {
-        // Check if this is addressed to this device
-        if (!address.equals(new BluetoothAddress(event.getSender()))) {
+        // Check if this is addressed to this device. Every device receives all scan events, so compare the address
+        // strings instead of creating a BluetoothAddress for each of them.
+        if (!address.toString().equals(event.getSender())) {
             return;
         }
 
@@ -399,68 +399,21 @@ public class BlueGigaBluetoothDevice extends BaseBluetoothDevice implements Blue
         // If the packet contains data, then process it and add anything relevant to the device...
         if (event.getData().length > 0) {
             EirPacket eir = new EirPacket(event.getData());
-            for (EirDataType record : eir.getRecords().keySet()) {
-                if (logger.isTraceEnabled()) {
-                    logger.trace("  EirDataType: {}={}", record, eir.getRecord(record));
-                }
-                Object obj;
-                switch (record) {
-                    case EIR_FLAGS:
-                        break;
-                    case EIR_MANUFACTURER_SPECIFIC:
-                        obj = eir.getRecord(EirDataType.EIR_MANUFACTURER_SPECIFIC);
-                        if (obj != null) {
-                            try {
-                                @SuppressWarnings("unchecked")
-                                Map<Short, int[]> eirRecord = (Map<Short, int[]>) obj;
-                                Map.Entry<Short, int[]> eirEntry = eirRecord.entrySet().iterator().next();
-
-                                manufacturer = eirEntry.getKey().intValue();
-
-                                int[] manufacturerInt = eirEntry.getValue();
-                                manufacturerData = new byte[manufacturerInt.length + 2];
-                                // Convert short Company ID to bytes and add it to manufacturerData
-                                manufacturerData[0] = (byte) (manufacturer & 0xff);
-                                manufacturerData[1] = (byte) ((manufacturer >> 8) & 0xff);
-                                // Add Convert int custom data nd add it to manufacturerData
-                                for (int i = 0; i < manufacturerInt.length; i++) {
-                                    manufacturerData[i + 2] = (byte) manufacturerInt[i];
-                                }
-                            } catch (ClassCastException e) {
-                                logger.debug("Unsupported manufacturer specific record received from device {}",
-                                        address);
-                            }
-                        }
-                        break;
-                    case EIR_NAME_LONG:
-                    case EIR_NAME_SHORT:
-                        name = (String) eir.getRecord(record);
-                        break;
-                    case EIR_SLAVEINTERVALRANGE:
-                        break;
-                    case EIR_SVC_DATA_UUID128:
-                        break;
-                    case EIR_SVC_DATA_UUID16:
-                        break;
-                    case EIR_SVC_DATA_UUID32:
-                        break;
-                    case EIR_SVC_UUID128_INCOMPLETE:
-                    case EIR_SVC_UUID16_COMPLETE:
-                    case EIR_SVC_UUID16_INCOMPLETE:
-                    case EIR_SVC_UUID32_COMPLETE:
-                    case EIR_SVC_UUID32_INCOMPLETE:
-                    case EIR_SVC_UUID128_COMPLETE:
-                        // addServices((List<UUID>) eir.getRecord(record));
-                        break;
-                    case EIR_TXPOWER:
-                        obj = eir.getRecord(EirDataType.EIR_TXPOWER);
-                        if (obj != null) {
-                            txPower = (int) obj;
-                        }
-                        break;
-                    default:
-                        break;
-                }
+            if (logger.isTraceEnabled()) {
+                eir.getRecords().forEach((record, value) -> logger.trace("  EirDataType: {}={}", record, value));
+            }
+
+            manufacturerData = eir.getManufacturerData();
+            if (manufacturerData != null) {
+                manufacturer = eir.getManufacturerId();
+            }
+            String eirName = eir.getName();
+            if (eirName != null) {
+                name = eirName;
+            }
+            Integer eirTxPower = eir.getTxPower();
+            if (eirTxPower != null) {
+                txPower = eirTxPower;
             }
         }
 
@@ -22,30 +22,22 @@ import org.eclipse.jdt.annotation.Nullable;
 /**
  * This class processes the Extended Inquiry Response data used in the BLE advertisement frame
  *
+ * The packet is a view on the raw advertisement data. Records are only decoded when they are requested, the accessors
+ * for the fields needed on every advertisement (manufacturer data, name, tx power) read them directly from the raw
+ * data without decoding the other records.
+ *
  * @author Chris Jackson - Initial contribution
  *
  */
 @NonNullByDefault
 public class EirPacket {
-    private Map<EirDataType, Object> records = new HashMap<>();
-
-    public EirPacket(int @Nullable [] data) {
-        if (data == null || data.length == 0) {
-            return;
-        }
-
-        for (int cnt = 0; cnt < data.length;) {
-            if (data[cnt] == 0) {
-                break;
-            }
-
-            int[] rawRecord = Arrays.copyOfRange(data, cnt + 1, cnt + data[cnt] + 1);
-            EirRecord record = new EirRecord(rawRecord);
+    private static final int[] EMPTY = new int[0];
 
-            cnt += data[cnt] + 1;
+    private final int[] data;
+    private @Nullable Map<EirDataType, Object> records;
 
-            records.put(record.getType(), record.getRecord());
-        }
+    public EirPacket(int @Nullable [] data) {
+        this.data = data == null ? EMPTY : data;
     }
 
     /**
@@ -54,6 +46,15 @@ public class EirPacket {
      * @return {@link Map} of {@link EirDataType} to {@link Object}
      */
     public Map<EirDataType, Object> getRecords() {
+        Map<EirDataType, Object> records = this.records;
+        if (records == null) {
+            records = new HashMap<>();
+            for (int offset = 0; offset < data.length && data[offset] != 0; offset += data[offset] + 1) {
+                EirRecord record = decodeRecord(offset);
+                records.put(record.getType(), record.getRecord());
+            }
+            this.records = records;
+        }
         return records;
     }
 
@@ -64,14 +65,109 @@ public class EirPacket {
      * @return {@link Map} of to {@link Object}
      */
     public @Nullable Object getRecord(EirDataType recordType) {
-        return records.get(recordType);
+        Map<EirDataType, Object> records = this.records;
+        if (records != null || recordType == EirDataType.UNKNOWN) {
+            return getRecords().get(recordType);
+        }
+        int offset = findRecord(recordType);
+        return offset < 0 ? null : decodeRecord(offset).getRecord();
+    }
+
+    /**
+     * Returns the company identifier of the manufacturer specific data
+     *
+     * @return the company identifier or -1 if the packet contains no manufacturer specific data
+     */
+    public int getManufacturerId() {
+        int offset = findRecord(EirDataType.EIR_MANUFACTURER_SPECIFIC);
+        if (offset < 0 || recordEnd(offset) < offset + 4) {
+            return -1;
+        }
+        return ((data[offset + 3] & 0xFF) << 8) | (data[offset + 2] & 0xFF);
+    }
+
+    /**
+     * Returns the manufacturer specific data, starting with the company identifier in little endian byte order
+     *
+     * @return the manufacturer specific data or null if the packet contains no manufacturer specific data
+     */
+    public byte @Nullable [] getManufacturerData() {
+        int offset = findRecord(EirDataType.EIR_MANUFACTURER_SPECIFIC);
+        if (offset < 0 || recordEnd(offset) < offset + 4) {
+            return null;
+        }
+        int start = offset + 2;
+        byte[] manufacturerData = new byte[recordEnd(offset) - start];
+        for (int i = 0; i < manufacturerData.length; i++) {
+            manufacturerData[i] = (byte) data[start + i];
+        }
+        return manufacturerData;
+    }
+
+    /**
+     * Returns the local name of the device. The complete name is preferred over the shortened name.
+     *
+     * @return the name or null if the packet contains no name
+     */
+    public @Nullable String getName() {
+        int offset = findRecord(EirDataType.EIR_NAME_LONG);
+        if (offset < 0) {
+            offset = findRecord(EirDataType.EIR_NAME_SHORT);
+            if (offset < 0) {
+                return null;
+            }
+        }
+        int end = recordEnd(offset);
+        char[] name = new char[end - offset - 2];
+        for (int i = 0; i < name.length; i++) {
+            name[i] = (char) data[offset + 2 + i];
+        }
+        return new String(name);
+    }
+
+    /**
+     * Returns the transmit power level
+     *
+     * @return the transmit power in dBm or null if the packet contains no transmit power level
+     */
+    public @Nullable Integer getTxPower() {
+        int offset = findRecord(EirDataType.EIR_TXPOWER);
+        if (offset < 0 || recordEnd(offset) < offset + 3) {
+            return null;
+        }
+        return (int) (byte) data[offset + 2];
+    }
+
+    /**
+     * Find a record in the raw data. If the type is contained more than once, the last record is returned.
+     *
+     * @param recordType the requested {@link EirDataType}
+     * @return the offset of the length field of the record or -1 if the record is not found
+     */
+    private int findRecord(EirDataType recordType) {
+        int found = -1;
+        for (int offset = 0; offset < data.length && data[offset] != 0; offset += data[offset] + 1) {
+            if (offset + 1 < data.length && data[offset + 1] == recordType.getKey()) {
+                found = offset;
+            }
+        }
+        return found;
+    }
+
+    private int recordEnd(int offset) {
+        return Math.min(data.length, offset + data[offset] + 1);
+    }
+
+    private EirRecord decodeRecord(int offset) {
+        // copyOfRange pads truncated records with zeros
+        return new EirRecord(Arrays.copyOfRange(data, offset + 1, offset + data[offset] + 1));
     }
 
     @Override
     public String toString() {
         final StringBuilder builder = new StringBuilder();
         builder.append("EirPacket [records=");
-        builder.append(records);
+        builder.append(getRecords());
         builder.append(']');
         return builder.toString();
     }
@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluegiga.internal.eir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link EirPacket}.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public class EirPacketTest {
+    private static final int[] ADVERTISEMENT = { //
+            0x02, 0x01, 0x06, // flags
+            0x05, 0x08, 'S', 'e', 'n', 's', // short name
+            0x02, 0x0A, 0xF4, // tx power -12 dBm
+            0x06, 0xFF, 0x99, 0x04, 0x03, 0x4F, 0x80, // manufacturer data, company 0x0499
+            0x07, 0x09, 'S', 'e', 'n', 's', 'o', 'r' // complete name
+    };
+
+    @Test
+    public void testFieldAccessors() {
+        EirPacket packet = new EirPacket(ADVERTISEMENT);
+        assertEquals(0x0499, packet.getManufacturerId());
+        assertArrayEquals(new byte[] { (byte) 0x99, 0x04, 0x03, 0x4F, (byte) 0x80 }, packet.getManufacturerData());
+        assertEquals("Sensor", packet.getName());
+        assertEquals(-12, packet.getTxPower());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testRecords() {
+        EirPacket packet = new EirPacket(ADVERTISEMENT);
+        assertEquals("Sens", packet.getRecord(EirDataType.EIR_NAME_SHORT));
+        assertEquals(-12, packet.getRecord(EirDataType.EIR_TXPOWER));
+        assertNull(packet.getRecord(EirDataType.EIR_SVC_UUID16_COMPLETE));
+
+        Map<EirDataType, Object> records = packet.getRecords();
+        assertEquals(5, records.size());
+        assertEquals(List.of(EirFlags.LE_GENERAL_DISCOVERABLE_MODE, EirFlags.BR_EDR_NOT_SUPPORTED),
+                records.get(EirDataType.EIR_FLAGS));
+        Map<Short, int[]> manufacturerData = (Map<Short, int[]>) records.get(EirDataType.EIR_MANUFACTURER_SPECIFIC);
+        assertArrayEquals(new int[] { 0x03, 0x4F, 0x80 }, manufacturerData.get((short) 0x0499));
+    }
+
+    @Test
+    public void testMissingFields() {
+        EirPacket packet = new EirPacket(new int[] { 0x02, 0x01, 0x06 });
+        assertEquals(-1, packet.getManufacturerId());
+        assertNull(packet.getManufacturerData());
+        assertNull(packet.getName());
+        assertNull(packet.getTxPower());
+
+        assertTrue(new EirPacket(null).getRecords().isEmpty());
+    }
+
+    @Test
+    public void testTruncatedPacket() {
+        // the length of the last record exceeds the packet
+        EirPacket packet = new EirPacket(new int[] { 0x02, 0x0A, 0x04, 0x08, 0xFF, 0x4C });
+        assertEquals(4, packet.getTxPower());
+        assertEquals(-1, packet.getManufacturerId());
+        assertNull(packet.getManufacturerData());
+    }
+}
@@ -12,6 +12,7 @@
  */
 package org.openhab.binding.bluetooth;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.Map;
 import java.util.Objects;
@@ -37,6 +38,10 @@ import org.slf4j.LoggerFactory;
  * This is a abstract superclass for BluetoothAdapter implementations. This class takes care of inactive device cleanup
  * as well as handling background and active discovery logic.
  *
+ * The device table is not locked, scan events of many devices can be processed while devices are added or removed.
+ * Inactive devices are found with a {@link DeviceExpiryWheel}, each cleanup run only checks the devices that may have
+ * expired since the last run.
+ *
  * Subclasses will primarily be responsible for device discovery
  *
  * @author Connor Petty - Initial contribution from refactored code
@@ -59,6 +64,8 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
 
     private BaseBluetoothBridgeHandlerConfiguration config = new BaseBluetoothBridgeHandlerConfiguration();
 
+    private volatile DeviceExpiryWheel<BD> expiryWheel = createExpiryWheel();
+
     private @Nullable ScheduledFuture<?> inactiveRemovalJob;
 
     /**
@@ -89,6 +96,9 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
     public void initialize() {
         config = getConfigAs(BaseBluetoothBridgeHandlerConfiguration.class);
 
+        expiryWheel = createExpiryWheel();
+        devices.values().forEach(device -> expiryWheel.schedule(device, ticksUntilRemoval(device)));
+
         int intervalSecs = config.inactiveDeviceCleanupInterval;
         inactiveRemovalJob = scheduler.scheduleWithFixedDelay(this::removeInactiveDevices, intervalSecs, intervalSecs,
                 TimeUnit.SECONDS);
@@ -102,11 +112,10 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
         }
         this.inactiveRemovalJob = null;
 
-        synchronized (devices) {
-            for (BD device : devices.values()) {
-                removeDevice(device);
-            }
+        for (BD device : devices.values()) {
+            removeDevice(device);
         }
+        expiryWheel.clear();
     }
 
     @Override
@@ -114,33 +123,47 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
     }
 
     private void removeInactiveDevices() {
+        DeviceExpiryWheel<BD> expiryWheel = this.expiryWheel;
         // clean up orphaned entries
-        synchronized (devices) {
-            for (BD device : devices.values()) {
-                if (shouldRemove(device)) {
-                    logger.debug("Removing device '{}' due to inactivity", device.getAddress());
-                    removeDevice(device);
-                }
+        for (BD device : expiryWheel.advance()) {
+            if (devices.get(device.getAddress()) != device) {
+                // already removed
+                continue;
+            }
+            long ticks = ticksUntilRemoval(device);
+            if (ticks <= 0) {
+                logger.debug("Removing device '{}' due to inactivity", device.getAddress());
+                removeDevice(device);
+            } else {
+                expiryWheel.schedule(device, ticks);
             }
         }
     }
 
     protected void removeDevice(BD device) {
         device.dispose();
-        synchronized (devices) {
-            devices.remove(device.getAddress());
-        }
+        devices.remove(device.getAddress());
         discoveryListeners.forEach(listener -> listener.deviceRemoved(device));
     }
 
-    private boolean shouldRemove(BD device) {
+    private DeviceExpiryWheel<BD> createExpiryWheel() {
+        return new DeviceExpiryWheel<>((int) ceilDiv(config.inactiveDeviceCleanupThreshold,
+                Math.max(1, config.inactiveDeviceCleanupInterval)) + 1);
+    }
+
+    /**
+     * Calculate when a device may be removed
+     *
+     * @param device the device
+     * @return the number of cleanup runs until the device may be removed, 0 if the device shall be removed now
+     */
+    private long ticksUntilRemoval(BD device) {
+        long thresholdMillis = config.inactiveDeviceCleanupThreshold * 1000L;
+        long intervalMillis = Math.max(1, config.inactiveDeviceCleanupInterval) * 1000L;
         // we can't remove devices with listeners since that means they have a handler.
-        if (device.hasListeners()) {
-            return false;
-        }
         // devices that are connected won't receive any scan notifications so we can't remove them for being idle
-        if (device.getConnectionState() == ConnectionState.CONNECTED) {
-            return false;
+        if (device.hasListeners() || device.getConnectionState() == ConnectionState.CONNECTED) {
+            return Math.max(1, ceilDiv(thresholdMillis, intervalMillis));
         }
 
         ZonedDateTime lastActiveTime = device.getLastSeenTime();
@@ -150,7 +173,12 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
             lastActiveTime = device.createTime;
         }
         // we remove devices we haven't seen in a while
-        return ZonedDateTime.now().minusSeconds(config.inactiveDeviceCleanupThreshold).isAfter(lastActiveTime);
+        long remainingMillis = thresholdMillis - Duration.between(lastActiveTime, ZonedDateTime.now()).toMillis();
+        return remainingMillis < 0 ? 0 : Math.max(1, ceilDiv(remainingMillis, intervalMillis));
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return -Math.floorDiv(-dividend, divisor);
     }
 
     @Override
@@ -172,9 +200,7 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
 
     protected void refreshDiscoveredDevices() {
         logger.debug("Refreshing Bluetooth device list...");
-        synchronized (devices) {
-            devices.values().forEach(this::deviceDiscovered);
-        }
+        devices.values().forEach(this::deviceDiscovered);
     }
 
     @Override
@@ -186,9 +212,11 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
 
     @Override
     public BD getDevice(BluetoothAddress address) {
-        synchronized (devices) {
-            return Objects.requireNonNull(devices.computeIfAbsent(address, this::createDevice));
-        }
+        return Objects.requireNonNull(devices.computeIfAbsent(address, addr -> {
+            BD device = createDevice(addr);
+            expiryWheel.schedule(device, ticksUntilRemoval(device));
+            return device;
+        }));
     }
 
     protected abstract BD createDevice(BluetoothAddress address);
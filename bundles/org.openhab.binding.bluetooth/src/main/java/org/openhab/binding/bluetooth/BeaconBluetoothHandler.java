@@ -15,6 +15,8 @@ package org.openhab.binding.bluetooth;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
 import javax.measure.quantity.Power;
@@ -51,6 +53,9 @@ import org.openhab.core.types.UnDefType;
 @NonNullByDefault
 public class BeaconBluetoothHandler extends BaseThingHandler implements BluetoothDeviceListener {
 
+    // beacons may advertise many times per second, the RSSI channel is updated at most once per interval
+    private static final long RSSI_UPDATE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
     @NonNullByDefault({} /* non-null if initialized */)
     protected BluetoothAdapter adapter;
 
@@ -64,6 +69,11 @@ public class BeaconBluetoothHandler extends BaseThingHandler implements Bluetoot
 
     private @Nullable ZonedDateTime lastActivityTime;
 
+    private final Object rssiLock = new Object();
+    private long lastRssiUpdate = System.nanoTime() - RSSI_UPDATE_INTERVAL_NANOS;
+    private int pendingRssi;
+    private @Nullable ScheduledFuture<?> rssiUpdateJob;
+
     public BeaconBluetoothHandler(Thing thing) {
         super(thing);
         deviceLock = new ReentrantLock();
@@ -133,6 +143,13 @@ public class BeaconBluetoothHandler extends BaseThingHandler implements Bluetoot
 
     @Override
     public void dispose() {
+        synchronized (rssiLock) {
+            ScheduledFuture<?> rssiUpdateJob = this.rssiUpdateJob;
+            if (rssiUpdateJob != null) {
+                rssiUpdateJob.cancel(false);
+                this.rssiUpdateJob = null;
+            }
+        }
         try {
             deviceLock.lock();
             if (device != null) {
@@ -182,6 +199,39 @@ public class BeaconBluetoothHandler extends BaseThingHandler implements Bluetoot
         }
     }
 
+    /**
+     * Coalesces the RSSI values of received scan records. The first value is applied immediately, values received
+     * within {@link #RSSI_UPDATE_INTERVAL_NANOS} after an update are collected and only the last one is applied when
+     * the interval has passed.
+     */
+    private void coalesceRSSI(int rssi) {
+        synchronized (rssiLock) {
+            pendingRssi = rssi;
+            if (rssiUpdateJob != null) {
+                // the scheduled update will apply the new value
+                return;
+            }
+            long now = System.nanoTime();
+            long delay = lastRssiUpdate + RSSI_UPDATE_INTERVAL_NANOS - now;
+            if (delay > 0) {
+                rssiUpdateJob = scheduler.schedule(this::applyPendingRSSI, delay, TimeUnit.NANOSECONDS);
+                return;
+            }
+            lastRssiUpdate = now;
+        }
+        updateRSSI(rssi);
+    }
+
+    private void applyPendingRSSI() {
+        int rssi;
+        synchronized (rssiLock) {
+            rssiUpdateJob = null;
+            lastRssiUpdate = System.nanoTime();
+            rssi = pendingRssi;
+        }
+        updateRSSI(rssi);
+    }
+
     protected void updateAdapter() {
         if (device != null) {
             BluetoothAdapter adapter = device.getAdapter();
@@ -224,7 +274,7 @@ public class BeaconBluetoothHandler extends BaseThingHandler implements Bluetoot
         onActivity();
         int rssi = scanNotification.getRssi();
         if (rssi != Integer.MIN_VALUE) {
-            updateRSSI(rssi);
+            coalesceRSSI(rssi);
         }
     }
 
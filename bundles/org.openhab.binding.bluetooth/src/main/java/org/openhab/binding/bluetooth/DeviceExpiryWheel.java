@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link DeviceExpiryWheel} is a timing wheel that schedules the inactivity check of bluetooth devices.
+ *
+ * The wheel is advanced once per cleanup interval and only returns the elements scheduled for the current tick, so a
+ * cleanup run does not have to look at all known devices. Elements can be scheduled from any thread without locking.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+class DeviceExpiryWheel<E> {
+    private final List<Set<E>> slots = new ArrayList<>();
+    private volatile long tick = 0;
+
+    /**
+     * Create a wheel
+     *
+     * @param slots number of slots, elements can be scheduled at most <code>slots - 1</code> ticks ahead
+     */
+    DeviceExpiryWheel(int slots) {
+        for (int i = 0; i < Math.max(2, slots); i++) {
+            this.slots.add(ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    /**
+     * Schedule an element
+     *
+     * @param element the element
+     * @param ticks number of ticks until the element is returned by {@link #advance()}, limited to the size of the
+     *            wheel
+     */
+    void schedule(E element, long ticks) {
+        long delay = Math.max(1, Math.min(slots.size() - 1, ticks));
+        slots.get((int) ((tick + delay) % slots.size())).add(element);
+    }
+
+    /**
+     * Advance the wheel by one tick. Must not be called concurrently.
+     *
+     * @return the elements scheduled for the new tick
+     */
+    List<E> advance() {
+        long tick = this.tick + 1;
+        this.tick = tick;
+        List<E> expired = new ArrayList<>();
+        Iterator<E> iterator = slots.get((int) (tick % slots.size())).iterator();
+        while (iterator.hasNext()) {
+            expired.add(iterator.next());
+            iterator.remove();
+        }
+        return expired;
+    }
+
+    void clear() {
+        slots.forEach(Set::clear);
+    }
+}
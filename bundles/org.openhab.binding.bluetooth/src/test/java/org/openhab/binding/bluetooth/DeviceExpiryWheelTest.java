@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link DeviceExpiryWheel}.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public class DeviceExpiryWheelTest {
+
+    @Test
+    public void testElementsAreReturnedAtScheduledTick() {
+        DeviceExpiryWheel<String> wheel = new DeviceExpiryWheel<>(6);
+        wheel.schedule("a", 1);
+        wheel.schedule("b", 3);
+        wheel.schedule("c", 3);
+
+        assertEquals(List.of("a"), wheel.advance());
+        assertTrue(wheel.advance().isEmpty());
+        List<String> expired = wheel.advance();
+        assertEquals(2, expired.size());
+        assertTrue(expired.containsAll(List.of("b", "c")));
+        assertTrue(wheel.advance().isEmpty());
+    }
+
+    @Test
+    public void testDelayIsLimitedToWheelSize() {
+        DeviceExpiryWheel<String> wheel = new DeviceExpiryWheel<>(3);
+        wheel.schedule("late", 100);
+        wheel.schedule("now", 0);
+
+        assertEquals(List.of("now"), wheel.advance());
+        assertEquals(List.of("late"), wheel.advance());
+
+        // rescheduling during a lap
+        wheel.schedule("late", 2);
+        assertTrue(wheel.advance().isEmpty());
+        assertEquals(List.of("late"), wheel.advance());
+    }
+
+    @Test
+    public void testClear() {
+        DeviceExpiryWheel<String> wheel = new DeviceExpiryWheel<>(2);
+        wheel.schedule("a", 1);
+        wheel.clear();
+        assertTrue(wheel.advance().isEmpty());
+    }
+}
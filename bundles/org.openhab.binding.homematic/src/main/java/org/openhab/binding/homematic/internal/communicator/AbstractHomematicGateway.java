@@ -15,6 +15,7 @@ package org.openhab.binding.homematic.internal.communicator;
 import static org.openhab.binding.homematic.internal.misc.HomematicConstants.*;
 
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -23,11 +24,14 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Queue;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.jetty.client.HttpClient;
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
@@ -75,6 +79,7 @@ import org.openhab.binding.homematic.internal.model.HmInterface;
 import org.openhab.binding.homematic.internal.model.HmParamsetType;
 import org.openhab.binding.homematic.internal.model.HmRssiInfo;
 import org.openhab.binding.homematic.internal.model.HmValueType;
+import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -110,6 +115,9 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     private boolean newDeviceEventsEnabled;
     private ScheduledFuture<?> enableNewDeviceFuture;
     private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(GATEWAY_POOL_NAME);
+    private final Queue<Runnable> receivedEvents = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean processingEvents = new AtomicBoolean();
+    private final DatapointDescriptionCache datapointDescriptionCache;
 
     static {
         // loads all virtual datapoints
@@ -138,6 +146,8 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
         this.config = config;
         this.gatewayAdapter = gatewayAdapter;
         this.httpClient = httpClient;
+        this.datapointDescriptionCache = new DatapointDescriptionCache(
+                Paths.get(OpenHAB.getUserDataFolder(), "homematic", id + ".json"));
     }
 
     @Override
@@ -215,6 +225,7 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
         stopClients();
         devices.clear();
         echoEvents.clear();
+        receivedEvents.clear();
         availableInterfaces.clear();
         config.setGatewayInfo(null);
     }
@@ -372,7 +383,6 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
 
         // loading datapoints for all channels
         Set<String> loadedDevices = new HashSet<>();
-        Map<String, Collection<HmDatapoint>> datapointsByChannelIdCache = new HashMap<>();
         for (HmDevice device : deviceDescriptions) {
             if (!cancelLoadAllMetadata) {
                 try {
@@ -389,23 +399,17 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
                                     || DEVICE_TYPE_VIRTUAL_WIRED.equals(device.getType())) && channel.getNumber() > 1) {
                                 HmChannel previousChannel = device.getChannel(channel.getNumber() - 1);
                                 cloneAllDatapointsIntoChannel(channel, previousChannel.getDatapoints());
+                            } else if (datapointDescriptionCache.addDatapoints(channel)) {
+                                logger.trace("    Added cached datapoints to channel {}", channel);
                             } else {
-                                String channelId = String.format("%s:%s:%s", channel.getDevice().getType(),
-                                        channel.getDevice().getFirmware(), channel.getNumber());
-                                Collection<HmDatapoint> cachedDatapoints = datapointsByChannelIdCache.get(channelId);
-                                if (cachedDatapoints != null) {
-                                    // clone all datapoints
-                                    cloneAllDatapointsIntoChannel(channel, cachedDatapoints);
-                                } else {
-                                    logger.trace("    Loading datapoints into channel {}", channel);
-                                    addChannelDatapoints(channel, HmParamsetType.MASTER);
-                                    addChannelDatapoints(channel, HmParamsetType.VALUES);
-
-                                    // Make sure to only cache non-reconfigurable channels. For reconfigurable channels,
-                                    // the data point set might change depending on the selected mode.
-                                    if (!channel.isReconfigurable()) {
-                                        datapointsByChannelIdCache.put(channelId, channel.getDatapoints());
-                                    }
+                                logger.trace("    Loading datapoints into channel {}", channel);
+                                addChannelDatapoints(channel, HmParamsetType.MASTER);
+                                addChannelDatapoints(channel, HmParamsetType.VALUES);
+
+                                // Make sure to only cache non-reconfigurable channels. For reconfigurable channels,
+                                // the data point set might change depending on the selected mode.
+                                if (!channel.isReconfigurable()) {
+                                    datapointDescriptionCache.put(channel, channel.getDatapoints());
                                 }
                             }
                         }
@@ -421,6 +425,7 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
         }
         if (!cancelLoadAllMetadata) {
             devices.keySet().retainAll(loadedDevices);
+            datapointDescriptionCache.save();
         }
         initialized = true;
     }
@@ -719,6 +724,46 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
         }
     }
 
+    @Override
+    public void eventsReceived(List<Entry<HmDatapointInfo, Object>> events) {
+        // the events are processed asynchronously (but in order) to return to the gateway as fast as possible
+        queueReceivedEvent(() -> {
+            logger.trace("Processing {} events from gateway with id '{}'", events.size(), id);
+            for (Entry<HmDatapointInfo, Object> event : events) {
+                try {
+                    eventReceived(event.getKey(), event.getValue());
+                } catch (RuntimeException e) {
+                    logger.warn("Processing event for '{}' failed: {}", event.getKey(), e.getMessage(), e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Queues an event from the gateway. Value events and device additions/removals share the queue, so they are
+     * processed in the order the gateway sent them.
+     */
+    private void queueReceivedEvent(Runnable event) {
+        receivedEvents.add(event);
+        if (processingEvents.compareAndSet(false, true)) {
+            scheduler.execute(this::processReceivedEvents);
+        }
+    }
+
+    private void processReceivedEvents() {
+        do {
+            Runnable event;
+            while ((event = receivedEvents.poll()) != null) {
+                try {
+                    event.run();
+                } catch (RuntimeException e) {
+                    logger.warn("Processing event from gateway with id '{}' failed: {}", id, e.getMessage(), e);
+                }
+            }
+            processingEvents.set(false);
+        } while (!receivedEvents.isEmpty() && processingEvents.compareAndSet(false, true));
+    }
+
     @Override
     public void eventReceived(HmDatapointInfo dpInfo, Object newValue) {
         String className = newValue == null ? "Unknown" : newValue.getClass().getSimpleName();
@@ -750,6 +795,10 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
 
     @Override
     public void newDevices(List<String> addresses) {
+        queueReceivedEvent(() -> handleNewDevices(addresses));
+    }
+
+    private void handleNewDevices(List<String> addresses) {
         if (initialized && newDeviceEventsEnabled) {
             for (String address : addresses) {
                 try {
@@ -774,6 +823,10 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
 
     @Override
     public void deleteDevices(List<String> addresses) {
+        queueReceivedEvent(() -> handleDeletedDevices(addresses));
+    }
+
+    private void handleDeletedDevices(List<String> addresses) {
         if (initialized) {
             for (String address : addresses) {
                 logger.debug("Device '{}' removed from gateway with id '{}'", address, id);
@@ -0,0 +1,239 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.openhab.binding.homematic.internal.model.HmChannel;
+import org.openhab.binding.homematic.internal.model.HmDatapoint;
+import org.openhab.binding.homematic.internal.model.HmParamsetType;
+import org.openhab.binding.homematic.internal.model.HmValueType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+/**
+ * Caches the datapoint descriptions (MASTER and VALUES paramset descriptions) of all channels on disk. The descriptions
+ * are stored by device type, firmware and channel number, a device with a new firmware is therefore loaded from the
+ * gateway again. Entries which are no longer used by any device are removed when the cache is saved. The cache is
+ * stored as JSON, unknown or missing properties of a newer or older binding version are therefore tolerated.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+public class DatapointDescriptionCache {
+    private final Logger logger = LoggerFactory.getLogger(DatapointDescriptionCache.class);
+
+    /** Increment if the stored datapoint description changes, files with another version are discarded. */
+    private static final int CACHE_VERSION = 1;
+
+    private final Gson gson = new Gson();
+    private final Path file;
+    private final Map<String, List<CachedDatapoint>> descriptions = new HashMap<>();
+    private final Set<String> usedKeys = new HashSet<>();
+    private boolean loaded;
+    private boolean modified;
+
+    public DatapointDescriptionCache(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Returns the cache key of the channel.
+     */
+    public static String getKey(HmChannel channel) {
+        return String.format("%s:%s:%s", channel.getDevice().getType(), channel.getDevice().getFirmware(),
+                channel.getNumber());
+    }
+
+    /**
+     * Adds the cached datapoints to the channel, returns false if no datapoints are cached for the channel.
+     */
+    public synchronized boolean addDatapoints(HmChannel channel) {
+        load();
+        String key = getKey(channel);
+        List<CachedDatapoint> cachedDatapoints = descriptions.get(key);
+        if (cachedDatapoints == null) {
+            return false;
+        }
+        usedKeys.add(key);
+        for (CachedDatapoint cachedDatapoint : cachedDatapoints) {
+            channel.addDatapoint(cachedDatapoint.toDatapoint());
+        }
+        return true;
+    }
+
+    /**
+     * Stores the (non virtual) datapoints of the channel.
+     */
+    public synchronized void put(HmChannel channel, Collection<HmDatapoint> datapoints) {
+        load();
+        List<CachedDatapoint> cachedDatapoints = new ArrayList<>(datapoints.size());
+        for (HmDatapoint dp : datapoints) {
+            if (!dp.isVirtual()) {
+                cachedDatapoints.add(new CachedDatapoint(dp));
+            }
+        }
+        String key = getKey(channel);
+        descriptions.put(key, cachedDatapoints);
+        usedKeys.add(key);
+        modified = true;
+    }
+
+    /**
+     * Writes the cache to disk if it has been changed since the last save. Only entries used since the last save are
+     * kept.
+     */
+    public synchronized void save() {
+        if (!loaded) {
+            return;
+        }
+        if (descriptions.keySet().retainAll(usedKeys)) {
+            modified = true;
+        }
+        usedKeys.clear();
+        if (!modified) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                gson.toJson(new CacheFile(descriptions), writer);
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            modified = false;
+            logger.debug("Saved {} datapoint description(s) to '{}'", descriptions.size(), file);
+        } catch (IOException ex) {
+            logger.warn("Can't save datapoint description cache '{}': {}", file, ex.getMessage());
+        }
+    }
+
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (!Files.isReadable(file)) {
+            return;
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            CacheFile cacheFile = gson.fromJson(reader, CacheFile.class);
+            if (cacheFile == null || cacheFile.version != CACHE_VERSION || cacheFile.descriptions == null) {
+                logger.debug("Ignoring datapoint description cache '{}' with another version", file);
+                return;
+            }
+            descriptions.putAll(cacheFile.descriptions);
+            logger.debug("Loaded {} datapoint description(s) from '{}'", descriptions.size(), file);
+        } catch (IOException | JsonParseException ex) {
+            logger.debug("Ignoring unreadable datapoint description cache '{}': {}", file, ex.getMessage());
+            descriptions.clear();
+        }
+    }
+
+    /**
+     * The content of the cache file.
+     */
+    private static class CacheFile {
+        private int version;
+        private Map<String, List<CachedDatapoint>> descriptions;
+
+        public CacheFile(Map<String, List<CachedDatapoint>> descriptions) {
+            this.version = CACHE_VERSION;
+            this.descriptions = new HashMap<>(descriptions);
+        }
+    }
+
+    /**
+     * The metadata of a datapoint, without channel and value.
+     */
+    private static class CachedDatapoint {
+        private String name;
+        private String description;
+        private HmValueType type;
+        private HmParamsetType paramsetType;
+        private Object defaultValue;
+        private Number minValue;
+        private Number maxValue;
+        private Number step;
+        private String[] options;
+        private boolean readOnly;
+        private boolean readable;
+        private String info;
+        private String unit;
+        private boolean trigger;
+
+        public CachedDatapoint(HmDatapoint dp) {
+            name = dp.getName();
+            description = dp.getDescription();
+            type = dp.getType();
+            paramsetType = dp.getParamsetType();
+            defaultValue = dp.getDefaultValue();
+            minValue = dp.getMinValue();
+            maxValue = dp.getMaxValue();
+            step = dp.getStep();
+            options = dp.getOptions();
+            readOnly = dp.isReadOnly();
+            readable = dp.isReadable();
+            info = dp.getInfo();
+            unit = dp.getUnit();
+            trigger = dp.isTrigger();
+        }
+
+        public HmDatapoint toDatapoint() {
+            HmDatapoint dp = new HmDatapoint(name, description, type, null, readOnly, paramsetType);
+            dp.setDefaultValue(toValue(dp, defaultValue));
+            dp.setMinValue(toNumber(dp, minValue));
+            dp.setMaxValue(toNumber(dp, maxValue));
+            dp.setStep(toNumber(dp, step));
+            dp.setOptions(options);
+            dp.setReadable(readable);
+            dp.setInfo(info);
+            dp.setUnit(unit);
+            dp.setTrigger(trigger);
+            return dp;
+        }
+
+        /**
+         * JSON does not distinguish between integer and floating point numbers, the number type is restored from the
+         * datapoint type.
+         */
+        private static Number toNumber(HmDatapoint dp, Number number) {
+            if (number == null) {
+                return null;
+            } else if (dp.isIntegerType() || dp.isEnumType()) {
+                return number.intValue();
+            } else {
+                return number.doubleValue();
+            }
+        }
+
+        private static Object toValue(HmDatapoint dp, Object value) {
+            return value instanceof Number ? toNumber(dp, (Number) value) : value;
+        }
+    }
+}
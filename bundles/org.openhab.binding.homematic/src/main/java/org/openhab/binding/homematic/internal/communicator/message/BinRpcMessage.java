@@ -48,6 +48,7 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     private Object[] messageData;
     private byte binRpcData[];
     private int offset;
+    private int limit;
 
     private String methodName;
     private TYPE type;
@@ -83,23 +84,22 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
         if (length != 4) {
             throw new EOFException("Only " + length + " bytes received reading message length");
         }
-        int datasize = (new BigInteger(Arrays.copyOfRange(sig, 4, 8))).intValue();
-        byte payload[] = new byte[datasize];
-        int offset = 0;
+        int datasize = toInt(sig, 4);
+        // read the payload directly behind the header, no need to copy it afterwards
+        byte[] message = new byte[sig.length + datasize];
+        System.arraycopy(sig, 0, message, 0, sig.length);
+        int offset = sig.length;
         int currentLength;
 
-        while (offset < datasize && (currentLength = is.read(payload, offset, datasize - offset)) != -1) {
+        while (offset < message.length && (currentLength = is.read(message, offset, message.length - offset)) != -1) {
             offset += currentLength;
         }
-        if (offset != datasize) {
-            throw new EOFException("Only " + offset + " bytes received while reading message payload, expected "
-                    + datasize + " bytes");
+        if (offset != message.length) {
+            throw new EOFException("Only " + (offset - sig.length)
+                    + " bytes received while reading message payload, expected " + datasize + " bytes");
         }
-        byte[] message = new byte[sig.length + payload.length];
-        System.arraycopy(sig, 0, message, 0, sig.length);
-        System.arraycopy(payload, 0, message, sig.length, payload.length);
 
-        decodeMessage(message, methodHeader);
+        decodeMessage(message, message.length, methodHeader);
     }
 
     private void validateBinXSignature(byte[] sig) throws UnsupportedEncodingException {
@@ -117,11 +117,36 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
             throw new EOFException("Only " + message.length + " bytes received");
         }
         validateBinXSignature(message);
-        decodeMessage(message, methodHeader);
+        decodeMessage(message, message.length, methodHeader);
+    }
+
+    /**
+     * Decodes a BIN-RPC message from the first length bytes of the given (possibly larger and reused) byte array.
+     *
+     * The array must not be modified before the message has been processed completely.
+     */
+    public BinRpcMessage(byte[] message, int length, boolean methodHeader, String encoding) throws IOException {
+        this.encoding = encoding;
+        if (length < 8) {
+            throw new EOFException("Only " + length + " bytes received");
+        }
+        validateBinXSignature(message);
+        decodeMessage(message, length, methodHeader);
     }
 
-    private void decodeMessage(byte[] message, boolean methodHeader) throws IOException {
+    /**
+     * Returns the total length of a BIN-RPC message (including the header) from the first 8 bytes of the message.
+     */
+    public static int getMessageLength(byte[] header) throws UnsupportedEncodingException {
+        if (header[0] != 'B' || header[1] != 'i' || header[2] != 'n') {
+            throw new UnsupportedEncodingException("No BinX signature");
+        }
+        return 8 + toInt(header, 4);
+    }
+
+    private void decodeMessage(byte[] message, int length, boolean methodHeader) throws IOException {
         binRpcData = message;
+        limit = length;
 
         offset = 8;
 
@@ -139,7 +164,7 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     private void generateResponseData() throws IOException {
         offset = 8 + (methodName != null ? methodName.length() + 8 : 0);
         List<Object> values = new ArrayList<>();
-        while (offset < binRpcData.length) {
+        while (offset < limit) {
             values.add(readRpcValue());
         }
         messageData = values.toArray();
@@ -199,18 +224,21 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     }
 
     // read rpc values
+    private static int toInt(byte[] data, int position) {
+        return ((data[position] & 0xFF) << 24) | ((data[position + 1] & 0xFF) << 16)
+                | ((data[position + 2] & 0xFF) << 8) | (data[position + 3] & 0xFF);
+    }
+
     private int readInt() {
-        byte bi[] = new byte[4];
-        System.arraycopy(binRpcData, offset, bi, 0, 4);
+        int value = toInt(binRpcData, offset);
         offset += 4;
-        return (new BigInteger(bi)).intValue();
+        return value;
     }
 
     private long readInt64() {
-        byte bi[] = new byte[8];
-        System.arraycopy(binRpcData, offset, bi, 0, 8);
+        long value = ((long) toInt(binRpcData, offset) << 32) | (toInt(binRpcData, offset + 4) & 0xFFFFFFFFL);
         offset += 8;
-        return (new BigInteger(bi)).longValue();
+        return value;
     }
 
     private String readString() throws UnsupportedEncodingException {
@@ -257,7 +285,7 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
                 return struct;
 
             default:
-                for (int i = 0; i < binRpcData.length; i++) {
+                for (int i = 0; i < limit; i++) {
                     logger.info("{} {}", Integer.toHexString(binRpcData[i]), (char) binRpcData[i]);
                 }
                 throw new IOException("Unknown data type " + type);
@@ -383,6 +411,7 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     public String toString() {
         try {
             trimBinRpcData();
+            limit = binRpcData.length;
             generateResponseData();
             return RpcUtils.dumpRpcMessage(methodName, messageData);
         } catch (Exception e) {
@@ -14,30 +14,54 @@ package org.openhab.binding.homematic.internal.communicator.server;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.net.ServerSocket;
-import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
 import org.openhab.binding.homematic.internal.communicator.message.RpcRequest;
 import org.openhab.core.common.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * Waits for a message from the Homematic gateway and starts the RpcCallbackHandler to handle the message.
+ * Waits for messages from the Homematic gateway and hands complete messages to the RPC thread pool.
+ *
+ * All connections are served by a single selector thread, messages are read into pooled buffers and decoded by the
+ * worker thread directly from these buffers.
  *
  * @author Gerhard Riegler - Initial contribution
  */
 public class BinRpcNetworkService implements Runnable {
+    private final Logger logger = LoggerFactory.getLogger(BinRpcNetworkService.class);
+
     private static final byte BIN_EMPTY_STRING[] = { 'B', 'i', 'n', 1, 0, 0, 0, 8, 0, 0, 0, 3, 0, 0, 0, 0 };
     private static final byte BIN_EMPTY_ARRAY[] = { 'B', 'i', 'n', 1, 0, 0, 0, 8, 0, 0, 1, 0, 0, 0, 0, 0 };
     private static final byte BIN_EMPTY_EVENT_LIST[] = { 'B', 'i', 'n', 1, 0, 0, 0, 21, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0,
             3, 0, 0, 0, 5, 'e', 'v', 'e', 'n', 't' };
 
     private static final String RPC_POOL_NAME = "homematicRpc";
-    private ServerSocket serverSocket;
-    private boolean accept = true;
+    private static final int BUFFER_SIZE = 16384;
+    private static final int MAX_POOLED_BUFFERS = 16;
+    // the length is read from the wire, larger messages are rejected instead of allocating the buffer
+    private static final int MAX_MESSAGE_SIZE = 32 * 1024 * 1024;
+
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private volatile boolean accept = true;
     private HomematicConfig config;
     private RpcResponseHandler<byte[]> rpcResponseHandler;
+    private final Queue<Runnable> pendingChanges = new ConcurrentLinkedQueue<>();
+    private final Deque<byte[]> bufferPool = new ArrayDeque<>();
 
     /**
      * Creates the socket for listening to events from the Homematic gateway.
@@ -45,9 +69,18 @@ public class BinRpcNetworkService implements Runnable {
     public BinRpcNetworkService(RpcEventListener listener, HomematicConfig config) throws IOException {
         this.config = config;
 
-        serverSocket = new ServerSocket();
-        serverSocket.setReuseAddress(true);
-        serverSocket.bind(new InetSocketAddress(config.getBindAddress(), config.getBinCallbackPort()));
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        try {
+            serverChannel.socket().setReuseAddress(true);
+            serverChannel.bind(new InetSocketAddress(config.getBindAddress(), config.getBinCallbackPort()));
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            serverChannel.close();
+            selector.close();
+            throw e;
+        }
 
         this.rpcResponseHandler = new RpcResponseHandler<byte[]>(listener) {
 
@@ -80,13 +113,58 @@ public class BinRpcNetworkService implements Runnable {
     public void run() {
         while (accept) {
             try {
-                Socket cs = serverSocket.accept();
-                BinRpcResponseHandler rpcHandler = new BinRpcResponseHandler(cs, rpcResponseHandler, config);
-                ThreadPoolManager.getPool(RPC_POOL_NAME).execute(rpcHandler);
-            } catch (IOException ex) {
+                selector.select();
+                Runnable change;
+                while ((change = pendingChanges.poll()) != null) {
+                    change.run();
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    try {
+                        if (key.isAcceptable()) {
+                            acceptConnection();
+                        } else if (key.isReadable()) {
+                            ((Connection) key.attachment()).read();
+                        } else if (key.isWritable()) {
+                            ((Connection) key.attachment()).write();
+                        }
+                    } catch (CancelledKeyException e) {
+                        // connection closed in the meantime
+                    } catch (RuntimeException e) {
+                        // a single misbehaving connection must not stop the selector thread
+                        logger.warn("Error on BIN-RPC connection: {}", e.getMessage(), e);
+                        if (key.attachment() instanceof Connection) {
+                            closeQuietly(key);
+                        }
+                    }
+                }
+            } catch (IOException | CancelledKeyException ex) {
                 // ignore
             }
         }
+
+        for (SelectionKey key : selector.keys()) {
+            closeQuietly(key);
+        }
+        try {
+            selector.close();
+        } catch (IOException ioe) {
+            // ignore
+        }
+    }
+
+    private void acceptConnection() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel != null) {
+            channel.configureBlocking(false);
+            Connection connection = new Connection(channel);
+            connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+        }
     }
 
     /**
@@ -95,9 +173,162 @@ public class BinRpcNetworkService implements Runnable {
     public void shutdown() {
         accept = false;
         try {
-            serverSocket.close();
+            serverChannel.close();
         } catch (IOException ioe) {
             // ignore
         }
+        selector.wakeup();
+    }
+
+    private void runInSelectorThread(Runnable runnable) {
+        pendingChanges.add(runnable);
+        selector.wakeup();
+    }
+
+    private byte[] acquireBuffer(int length) {
+        if (length > BUFFER_SIZE) {
+            return new byte[length];
+        }
+        synchronized (bufferPool) {
+            byte[] buffer = bufferPool.poll();
+            return buffer != null ? buffer : new byte[BUFFER_SIZE];
+        }
+    }
+
+    private void releaseBuffer(byte[] buffer) {
+        if (buffer.length == BUFFER_SIZE) {
+            synchronized (bufferPool) {
+                if (bufferPool.size() < MAX_POOLED_BUFFERS) {
+                    bufferPool.push(buffer);
+                }
+            }
+        }
+    }
+
+    private void closeQuietly(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException ioe) {
+            // ignore
+        }
+    }
+
+    /**
+     * State of a single connection from the Homematic gateway. Only one message per connection is processed at a time,
+     * reading is suspended until the response has been written.
+     */
+    private class Connection {
+        private final SocketChannel channel;
+        private final long created = System.currentTimeMillis();
+        private final ByteBuffer header = ByteBuffer.allocate(8);
+        private SelectionKey key;
+        private ByteBuffer message;
+        private ByteBuffer response;
+
+        public Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        private void read() {
+            try {
+                if (message == null) {
+                    if (channel.read(header) < 0) {
+                        closeQuietly(key);
+                        return;
+                    }
+                    if (header.hasRemaining()) {
+                        return;
+                    }
+                    int length = BinRpcMessage.getMessageLength(header.array());
+                    if (length < header.capacity() || length > MAX_MESSAGE_SIZE) {
+                        logger.debug("Invalid BIN-RPC message length {}, closing connection", length);
+                        header.clear();
+                        closeQuietly(key);
+                        return;
+                    }
+                    byte[] data = acquireBuffer(length);
+                    System.arraycopy(header.array(), 0, data, 0, header.capacity());
+                    message = ByteBuffer.wrap(data, header.capacity(), length - header.capacity());
+                }
+                if (channel.read(message) < 0) {
+                    // connection closed while reading the payload
+                    releaseBuffer(message.array());
+                    message = null;
+                    closeQuietly(key);
+                    return;
+                }
+                if (!message.hasRemaining()) {
+                    byte[] data = message.array();
+                    int length = message.limit();
+                    message = null;
+                    header.clear();
+                    key.interestOps(0);
+                    ThreadPoolManager.getPool(RPC_POOL_NAME).execute(() -> handle(data, length));
+                }
+            } catch (IOException e) {
+                logger.debug("Reading BIN-RPC message failed: {}", e.getMessage());
+                if (message != null) {
+                    releaseBuffer(message.array());
+                    message = null;
+                }
+                closeQuietly(key);
+            }
+        }
+
+        /**
+         * Decodes the message and handles the method call, called from the RPC thread pool.
+         */
+        private void handle(byte[] data, int length) {
+            try {
+                BinRpcMessage rpcMessage = new BinRpcMessage(data, length, true, config.getEncoding());
+                logger.trace("Event BinRpcMessage: {}", rpcMessage);
+                byte[] returnValue = rpcResponseHandler.handleMethodCall(rpcMessage.getMethodName(),
+                        rpcMessage.getResponseData());
+                releaseBuffer(data);
+                runInSelectorThread(() -> {
+                    if (returnValue != null) {
+                        response = ByteBuffer.wrap(returnValue);
+                        write();
+                    } else {
+                        completeCall();
+                    }
+                });
+            } catch (Exception e) {
+                logger.warn("{}", e.getMessage(), e);
+                releaseBuffer(data);
+                runInSelectorThread(() -> closeQuietly(key));
+            }
+        }
+
+        private void write() {
+            if (!key.isValid()) {
+                return;
+            }
+            try {
+                channel.write(response);
+                if (response.hasRemaining()) {
+                    key.interestOps(SelectionKey.OP_WRITE);
+                } else {
+                    response = null;
+                    completeCall();
+                }
+            } catch (IOException e) {
+                logger.debug("Writing BIN-RPC response failed: {}", e.getMessage());
+                closeQuietly(key);
+            }
+        }
+
+        private void completeCall() {
+            if (!key.isValid()) {
+                return;
+            }
+            boolean isMaxAliveReached = System.currentTimeMillis() - created > (config.getSocketMaxAlive() * 1000);
+            if (isMaxAliveReached) {
+                closeQuietly(key);
+            } else {
+                key.interestOps(SelectionKey.OP_READ);
+            }
+        }
     }
 }
@@ -13,6 +13,7 @@
 package org.openhab.binding.homematic.internal.communicator.server;
 
 import java.util.List;
+import java.util.Map.Entry;
 
 import org.openhab.binding.homematic.internal.model.HmDatapointInfo;
 
@@ -28,6 +29,16 @@ public interface RpcEventListener {
      */
     public void eventReceived(HmDatapointInfo dpInfo, Object newValue);
 
+    /**
+     * Called when one or more events are received from a Homematic gateway in a single call. The events are in the
+     * order they were sent by the gateway.
+     */
+    public default void eventsReceived(List<Entry<HmDatapointInfo, Object>> events) {
+        for (Entry<HmDatapointInfo, Object> event : events) {
+            eventReceived(event.getKey(), event.getValue());
+        }
+    }
+
     /**
      * Called when new devices has been detected on the Homeamtic gateway.
      */
@@ -15,9 +15,11 @@ package org.openhab.binding.homematic.internal.communicator.server;
 import static org.openhab.binding.homematic.internal.misc.HomematicConstants.*;
 
 import java.io.IOException;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
 
 import org.openhab.binding.homematic.internal.communicator.message.RpcRequest;
@@ -60,14 +62,23 @@ public abstract class RpcResponseHandler<T> {
             msg.addArg(getListMethods());
             return msg.createMessage();
         } else if (RPC_METHODNAME_SYSTEM_MULTICALL.equals(methodName)) {
+            // events are collected and passed to the listener at once
+            List<Entry<HmDatapointInfo, Object>> events = new ArrayList<>();
             for (Object o : (Object[]) responseData[0]) {
                 Map<?, ?> call = (Map<?, ?>) o;
                 if (call != null) {
                     String method = Objects.toString(call.get("methodName"), "");
                     Object[] data = (Object[]) call.get("params");
-                    handleMethodCall(method, data);
+                    if (RPC_METHODNAME_EVENT.equals(method)) {
+                        events.add(parseEvent(data));
+                    } else {
+                        // keep the order of events and other calls
+                        fireEvents(events);
+                        handleMethodCall(method, data);
+                    }
                 }
             }
+            fireEvents(events);
             return getEmptyEventListResult();
         } else if (RPC_METHODNAME_SET_CONFIG_READY.equals(methodName)) {
             return getEmptyEventListResult();
@@ -93,10 +104,21 @@ public abstract class RpcResponseHandler<T> {
      * Populates the extracted event to the listener.
      */
     private T handleEvent(Object[] message) throws IOException {
+        listener.eventsReceived(List.of(parseEvent(message)));
+        return getEmptyStringResult();
+    }
+
+    private Entry<HmDatapointInfo, Object> parseEvent(Object[] message) throws IOException {
         EventParser eventParser = new EventParser();
         HmDatapointInfo dpInfo = eventParser.parse(message);
-        listener.eventReceived(dpInfo, eventParser.getValue());
-        return getEmptyStringResult();
+        return new SimpleImmutableEntry<>(dpInfo, eventParser.getValue());
+    }
+
+    private void fireEvents(List<Entry<HmDatapointInfo, Object>> events) {
+        if (!events.isEmpty()) {
+            listener.eventsReceived(new ArrayList<>(events));
+            events.clear();
+        }
     }
 
     /**
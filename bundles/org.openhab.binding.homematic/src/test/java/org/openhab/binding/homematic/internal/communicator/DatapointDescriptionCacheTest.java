@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.binding.homematic.internal.model.HmChannel;
+import org.openhab.binding.homematic.internal.model.HmDatapoint;
+import org.openhab.binding.homematic.internal.model.HmDevice;
+import org.openhab.binding.homematic.internal.model.HmInterface;
+import org.openhab.binding.homematic.internal.model.HmParamsetType;
+import org.openhab.binding.homematic.internal.model.HmValueType;
+
+/**
+ * Tests for {@link DatapointDescriptionCache}.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+public class DatapointDescriptionCacheTest {
+    private @TempDir Path folder;
+
+    private HmChannel createChannel(String firmware) {
+        HmDevice device = new HmDevice("ABC1234567", HmInterface.RF, "HM-CC-RT-DN", "ccu", null, firmware);
+        HmChannel channel = new HmChannel("CLIMATECONTROL_RT_TRANSCEIVER", 4);
+        device.addChannel(channel);
+        return channel;
+    }
+
+    @Test
+    public void datapointsAreRestoredFromFile() {
+        Path file = folder.resolve("homematic").resolve("ccu.json");
+
+        HmDatapoint level = new HmDatapoint("SET_TEMPERATURE", "SET_TEMPERATURE", HmValueType.FLOAT, null, false,
+                HmParamsetType.VALUES);
+        level.setMinValue(4.5);
+        level.setMaxValue(30.5);
+        level.setDefaultValue(20.0);
+        level.setUnit("°C");
+        HmDatapoint mode = new HmDatapoint("CONTROL_MODE", "CONTROL_MODE", HmValueType.ENUM, null, true,
+                HmParamsetType.VALUES);
+        mode.setOptions(new String[] { "AUTO", "MANUAL", "PARTY", "BOOST" });
+        mode.setMinValue(0);
+        mode.setMaxValue(3);
+        mode.setDefaultValue(0);
+        HmDatapoint virtual = new HmDatapoint("RSSI", "RSSI", HmValueType.INTEGER, null, true, HmParamsetType.VALUES);
+        virtual.setVirtual(true);
+
+        DatapointDescriptionCache cache = new DatapointDescriptionCache(file);
+        cache.put(createChannel("1.4"), List.of(level, mode, virtual));
+        cache.save();
+        assertThat(Files.exists(file), is(true));
+
+        DatapointDescriptionCache restoredCache = new DatapointDescriptionCache(file);
+        assertThat(restoredCache.addDatapoints(createChannel("1.5")), is(false));
+
+        HmChannel channel = createChannel("1.4");
+        assertThat(restoredCache.addDatapoints(channel), is(true));
+        assertThat(channel.getDatapoints().size(), is(2));
+
+        HmDatapoint restoredLevel = channel.getDatapoint(HmParamsetType.VALUES, "SET_TEMPERATURE");
+        assertThat(restoredLevel.getType(), is(HmValueType.FLOAT));
+        assertThat(restoredLevel.getMinValue(), is(4.5));
+        assertThat(restoredLevel.getMaxValue(), is(30.5));
+        assertThat(restoredLevel.getDefaultValue(), is(20.0));
+        assertThat(restoredLevel.getUnit(), is("°C"));
+        assertThat(restoredLevel.isReadOnly(), is(false));
+
+        HmDatapoint restoredMode = channel.getDatapoint(HmParamsetType.VALUES, "CONTROL_MODE");
+        assertThat(restoredMode.getOptions(), is(new String[] { "AUTO", "MANUAL", "PARTY", "BOOST" }));
+        assertThat(restoredMode.getMinValue(), is(0));
+        assertThat(restoredMode.getMaxValue(), is(3));
+        assertThat(restoredMode.getDefaultValue(), is(0));
+        assertThat(restoredMode.isReadOnly(), is(true));
+    }
+
+    @Test
+    public void unreadableFileIsIgnored() throws Exception {
+        Path file = folder.resolve("ccu.json");
+        Files.writeString(file, "not json");
+
+        DatapointDescriptionCache cache = new DatapointDescriptionCache(file);
+        assertThat(cache.addDatapoints(createChannel("1.4")), is(false));
+    }
+}
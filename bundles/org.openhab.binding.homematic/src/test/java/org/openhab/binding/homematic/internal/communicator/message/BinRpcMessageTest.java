@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator.message;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.openhab.core.test.java.JavaTest;
+
+/**
+ * Tests for decoding {@link BinRpcMessage}s.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+public class BinRpcMessageTest extends JavaTest {
+    private static final String ENCODING = "ISO-8859-1";
+
+    private byte[] createEventMessage() {
+        BinRpcMessage request = new BinRpcMessage("event", ENCODING);
+        request.addArg("openHAB");
+        request.addArg("ABC1234567:1");
+        request.addArg("LEVEL");
+        request.addArg(Integer.valueOf(-5));
+        return request.createMessage();
+    }
+
+    @Test
+    public void messageIsDecodedFromStream() throws IOException {
+        byte[] data = createEventMessage();
+
+        BinRpcMessage message = new BinRpcMessage(new ByteArrayInputStream(data), true, ENCODING);
+
+        assertThat(message.getMethodName(), is("event"));
+        assertThat(message.getResponseData(), is(new Object[] { "openHAB", "ABC1234567:1", "LEVEL", -5 }));
+    }
+
+    @Test
+    public void messageIsDecodedFromLargerBuffer() throws IOException {
+        byte[] data = createEventMessage();
+        byte[] buffer = Arrays.copyOf(data, data.length + 100);
+        Arrays.fill(buffer, data.length, buffer.length, (byte) 0x7F);
+
+        BinRpcMessage message = new BinRpcMessage(buffer, data.length, true, ENCODING);
+
+        assertThat(BinRpcMessage.getMessageLength(buffer), is(data.length));
+        assertThat(message.getMethodName(), is("event"));
+        assertThat(message.getResponseData(), is(new Object[] { "openHAB", "ABC1234567:1", "LEVEL", -5 }));
+    }
+}
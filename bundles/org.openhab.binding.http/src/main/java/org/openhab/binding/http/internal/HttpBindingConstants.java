@@ -27,4 +27,7 @@ public class HttpBindingConstants {
     private static final String BINDING_ID = "http";
 
     public static final ThingTypeUID THING_TYPE_URL = new ThingTypeUID(BINDING_ID, "url");
+
+    // the shared URL caches run on the thing handler pool
+    public static final String THREADPOOL_NAME = "thingHandler";
 }
@@ -20,10 +20,12 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.openhab.binding.http.internal.http.RefreshingUrlCacheRegistry;
 import org.openhab.binding.http.internal.transform.CascadedValueTransformationImpl;
 import org.openhab.binding.http.internal.transform.NoOpValueTransformation;
 import org.openhab.binding.http.internal.transform.ValueTransformation;
 import org.openhab.binding.http.internal.transform.ValueTransformationProvider;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.io.net.http.HttpClientFactory;
 import org.openhab.core.thing.Thing;
 import org.openhab.core.thing.ThingTypeUID;
@@ -55,6 +57,8 @@ public class HttpHandlerFactory extends BaseThingHandlerFactory
     private final HttpClient insecureClient;
 
     private final HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider;
+    private final RefreshingUrlCacheRegistry urlCacheRegistry = new RefreshingUrlCacheRegistry(
+            ThreadPoolManager.getScheduledPool(THREADPOOL_NAME));
 
     @Activate
     public HttpHandlerFactory(@Reference HttpClientFactory httpClientFactory,
@@ -74,6 +78,7 @@ public class HttpHandlerFactory extends BaseThingHandlerFactory
 
     @Deactivate
     public void deactivate() {
+        urlCacheRegistry.dispose();
         try {
             secureClient.stop();
             insecureClient.stop();
@@ -93,7 +98,7 @@ public class HttpHandlerFactory extends BaseThingHandlerFactory
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (THING_TYPE_URL.equals(thingTypeUID)) {
-            return new HttpThingHandler(thing, this, this, httpDynamicStateDescriptionProvider);
+            return new HttpThingHandler(thing, this, this, httpDynamicStateDescriptionProvider, urlCacheRegistry);
         }
 
         return null;
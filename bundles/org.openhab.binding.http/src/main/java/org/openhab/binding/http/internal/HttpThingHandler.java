@@ -69,17 +69,19 @@ public class HttpThingHandler extends BaseThingHandler {
     private HttpClient httpClient;
     private RateLimitedHttpClient rateLimitedHttpClient;
     private final HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider;
+    private final RefreshingUrlCacheRegistry urlCacheRegistry;
 
     private HttpThingConfig config = new HttpThingConfig();
-    private final Map<String, RefreshingUrlCache> urlHandlers = new HashMap<>();
+    private final Map<ChannelUID, RefreshingUrlCache.Subscription> urlSubscriptions = new HashMap<>();
     private final Map<ChannelUID, ItemValueConverter> channels = new HashMap<>();
-    private final Map<ChannelUID, String> channelUrls = new HashMap<>();
 
     public HttpThingHandler(Thing thing, HttpClientProvider httpClientProvider,
             ValueTransformationProvider valueTransformationProvider,
-            HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider) {
+            HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider,
+            RefreshingUrlCacheRegistry urlCacheRegistry) {
         super(thing);
         this.httpClientProvider = httpClientProvider;
+        this.urlCacheRegistry = urlCacheRegistry;
         this.httpClient = httpClientProvider.getSecureClient();
         this.rateLimitedHttpClient = new RateLimitedHttpClient(httpClient, scheduler);
         this.valueTransformationProvider = valueTransformationProvider;
@@ -95,15 +97,12 @@ public class HttpThingHandler extends BaseThingHandler {
         }
 
         if (command instanceof RefreshType) {
-            String key = channelUrls.get(channelUID);
-            if (key != null) {
-                RefreshingUrlCache refreshingUrlCache = urlHandlers.get(key);
-                if (refreshingUrlCache != null) {
-                    try {
-                        refreshingUrlCache.get().ifPresent(itemValueConverter::process);
-                    } catch (IllegalArgumentException | IllegalStateException e) {
-                        logger.warn("Failed processing REFRESH command for channel {}: {}", channelUID, e.getMessage());
-                    }
+            RefreshingUrlCache.Subscription subscription = urlSubscriptions.get(channelUID);
+            if (subscription != null) {
+                try {
+                    subscription.get().ifPresent(itemValueConverter::process);
+                } catch (IllegalArgumentException | IllegalStateException e) {
+                    logger.warn("Failed processing REFRESH command for channel {}: {}", channelUID, e.getMessage());
                 }
             }
         } else {
@@ -191,14 +190,13 @@ public class HttpThingHandler extends BaseThingHandler {
 
     @Override
     public void dispose() {
-        // stop update tasks
-        urlHandlers.values().forEach(RefreshingUrlCache::stop);
+        // remove subscriptions (stops update tasks if no other thing uses them)
+        urlSubscriptions.values().forEach(urlCacheRegistry::unsubscribe);
         rateLimitedHttpClient.shutdown();
 
         // clear lists
-        urlHandlers.clear();
+        urlSubscriptions.clear();
         channels.clear();
-        channelUrls.clear();
 
         // remove state descriptions
         httpDynamicStateDescriptionProvider.removeDescriptionsForThing(thing.getUID());
@@ -272,11 +270,9 @@ public class HttpThingHandler extends BaseThingHandler {
 
         channels.put(channelUID, itemValueConverter);
         if (channelConfig.mode != HttpChannelMode.WRITEONLY) {
-            // we need a key consisting of stateContent and URL, only if both are equal, we can use the same cache
-            String key = channelConfig.stateContent + "$" + stateUrl;
-            channelUrls.put(channelUID, key);
-            urlHandlers.computeIfAbsent(key, k -> new RefreshingUrlCache(scheduler, rateLimitedHttpClient, stateUrl,
-                    config, channelConfig.stateContent)).addConsumer(itemValueConverter::process);
+            // channels (also of other things) requesting the same resource share the same cache
+            urlSubscriptions.put(channelUID, urlCacheRegistry.subscribe(rateLimitedHttpClient, stateUrl, config,
+                    channelConfig.stateContent, itemValueConverter::process));
         }
 
         StateDescription stateDescription = StateDescriptionFragmentBuilder.create()
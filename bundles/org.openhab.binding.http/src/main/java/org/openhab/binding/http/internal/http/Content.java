@@ -14,6 +14,8 @@ package org.openhab.binding.http.internal.http;
 
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -28,10 +30,20 @@ public class Content {
     private final byte[] rawContent;
     private final Charset encoding;
     private final @Nullable String mediaType;
+    private final @Nullable String eTag;
+    private final @Nullable String lastModified;
+    private int hash;
 
     public Content(byte[] rawContent, String encoding, @Nullable String mediaType) {
+        this(rawContent, encoding, mediaType, null, null);
+    }
+
+    public Content(byte[] rawContent, String encoding, @Nullable String mediaType, @Nullable String eTag,
+            @Nullable String lastModified) {
         this.rawContent = rawContent;
         this.mediaType = mediaType;
+        this.eTag = eTag;
+        this.lastModified = lastModified;
 
         Charset finalEncoding = StandardCharsets.UTF_8;
         try {
@@ -52,4 +64,48 @@ public class Content {
     public @Nullable String getMediaType() {
         return mediaType;
     }
+
+    /**
+     * get the entity tag (ETag header) of the response
+     *
+     * @return the ETag or null if the server did not send one
+     */
+    public @Nullable String getETag() {
+        return eTag;
+    }
+
+    /**
+     * get the modification date (Last-Modified header) of the response
+     *
+     * @return the Last-Modified value or null if the server did not send one
+     */
+    public @Nullable String getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * two contents are equal if raw content, encoding and media type are equal, cache validators are ignored
+     */
+    @Override
+    public boolean equals(@Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Content content = (Content) o;
+        return hashCode() == content.hashCode() && encoding.equals(content.encoding)
+                && Objects.equals(mediaType, content.mediaType) && Arrays.equals(rawContent, content.rawContent);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = 31 * Objects.hash(encoding, mediaType) + Arrays.hashCode(rawContent);
+            hash = h;
+        }
+        return h;
+    }
 }
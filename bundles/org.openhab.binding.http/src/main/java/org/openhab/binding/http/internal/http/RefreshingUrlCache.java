@@ -24,6 +24,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.api.Authentication;
 import org.eclipse.jetty.client.api.AuthenticationStore;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
 import org.openhab.binding.http.internal.Util;
 import org.openhab.binding.http.internal.config.HttpThingConfig;
@@ -32,7 +33,7 @@ import org.slf4j.LoggerFactory;
 
 /**
  * The {@link RefreshingUrlCache} is responsible for requesting from a single URL and passing the content to the
- * channels
+ * channels. It can be shared by several things, the refresh interval is the shortest interval of all subscriptions.
  *
  * @author Jan N. Klug - Initial contribution
  */
@@ -40,43 +41,142 @@ import org.slf4j.LoggerFactory;
 public class RefreshingUrlCache {
     private final Logger logger = LoggerFactory.getLogger(RefreshingUrlCache.class);
 
+    private final ScheduledExecutorService executor;
     private final String url;
-    private final RateLimitedHttpClient httpClient;
-    private final int timeout;
-    private final int bufferSize;
     private final @Nullable String fallbackEncoding;
-    private final Set<Consumer<Content>> consumers = ConcurrentHashMap.newKeySet();
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
     private final List<String> headers;
     private final HttpMethod httpMethod;
     private final String httpContent;
 
-    private final ScheduledFuture<?> future;
-    private @Nullable Content lastContent;
+    private @Nullable ScheduledFuture<?> future;
+    private int refresh = 0;
+    private @Nullable CompletableFuture<@Nullable Content> inFlight;
+    // written by the response threads of the HTTP client, read by the thing handlers
+    private volatile @Nullable Content lastContent;
+    private volatile @Nullable URI lastUri;
 
-    public RefreshingUrlCache(ScheduledExecutorService executor, RateLimitedHttpClient httpClient, String url,
-            HttpThingConfig thingConfig, String httpContent) {
-        this.httpClient = httpClient;
+    public RefreshingUrlCache(ScheduledExecutorService executor, String url, HttpThingConfig thingConfig,
+            String httpContent) {
+        this.executor = executor;
         this.url = url;
-        this.timeout = thingConfig.timeout;
-        this.bufferSize = thingConfig.bufferSize;
-        this.headers = thingConfig.headers;
+        this.headers = List.copyOf(thingConfig.headers);
         this.httpMethod = thingConfig.stateMethod;
         this.httpContent = httpContent;
         fallbackEncoding = thingConfig.encoding;
+    }
+
+    /**
+     * Add a subscription to this cache
+     *
+     * If content is already available, it is immediately passed to the new subscriber. The refresh interval is
+     * adjusted if the new subscription requests a shorter interval.
+     *
+     * @param subscription the subscription
+     */
+    public void subscribe(Subscription subscription) {
+        subscriptions.add(subscription);
+        updateSchedule();
+
+        Content content = lastContent;
+        if (content != null) {
+            executor.execute(() -> subscription.process(content, url));
+        }
+    }
+
+    /**
+     * Remove a subscription from this cache
+     *
+     * @param subscription the subscription
+     * @return true if no subscription is left and the cache can be stopped
+     */
+    public boolean unsubscribe(Subscription subscription) {
+        subscriptions.remove(subscription);
+        if (subscriptions.isEmpty()) {
+            return true;
+        }
+        updateSchedule();
+        return false;
+    }
+
+    public void stop() {
+        // clearing all listeners to prevent further updates
+        subscriptions.clear();
+        synchronized (this) {
+            ScheduledFuture<?> future = this.future;
+            if (future != null) {
+                future.cancel(false);
+                this.future = null;
+            }
+            refresh = 0;
+        }
+        logger.trace("Stopped refresh task for URL '{}'", url);
+    }
+
+    public Optional<Content> get() {
+        final Content content = lastContent;
+        if (content == null) {
+            return Optional.empty();
+        } else {
+            return Optional.of(content);
+        }
+    }
 
-        future = executor.scheduleWithFixedDelay(this::refresh, 1, thingConfig.refresh, TimeUnit.SECONDS);
-        logger.trace("Started refresh task for URL '{}' with interval {}s", url, thingConfig.refresh);
+    /**
+     * Request a refresh of the content
+     *
+     * If a request is already in progress, no new request is sent and the future of the running request is returned.
+     *
+     * @return a future that completes with the new content (or null if the request failed)
+     */
+    public CompletableFuture<@Nullable Content> refresh() {
+        CompletableFuture<@Nullable Content> result;
+        synchronized (this) {
+            CompletableFuture<@Nullable Content> inFlight = this.inFlight;
+            if (inFlight != null && !inFlight.isDone()) {
+                logger.trace("Request to '{}' already in progress, not sending another one", url);
+                return inFlight;
+            }
+            result = new CompletableFuture<>();
+            this.inFlight = result;
+        }
+        request(result, false);
+        return result;
     }
 
-    private void refresh() {
-        refresh(false);
+    private synchronized void updateSchedule() {
+        int newRefresh = subscriptions.stream().mapToInt(s -> s.refresh).min().orElse(0);
+        if (newRefresh == refresh || newRefresh <= 0) {
+            return;
+        }
+        ScheduledFuture<?> future = this.future;
+        if (future != null) {
+            future.cancel(false);
+        }
+        this.future = executor.scheduleWithFixedDelay(this::scheduledRefresh, 1, newRefresh, TimeUnit.SECONDS);
+        refresh = newRefresh;
+        logger.trace("Started refresh task for URL '{}' with interval {}s", url, newRefresh);
     }
 
-    private void refresh(boolean isRetry) {
-        if (consumers.isEmpty()) {
+    private void scheduledRefresh() {
+        if (subscriptions.isEmpty()) {
             // do not refresh if we don't have listeners
             return;
         }
+        refresh();
+    }
+
+    private void request(CompletableFuture<@Nullable Content> result, boolean isRetry) {
+        // the client of the subscription with the shortest refresh is used, timeout and buffer size are the maximum
+        Subscription client = subscriptions.stream().min((s1, s2) -> Integer.compare(s1.refresh, s2.refresh))
+                .orElse(null);
+        if (client == null) {
+            result.complete(null);
+            return;
+        }
+        RateLimitedHttpClient httpClient = client.httpClient;
+        int timeout = subscriptions.stream().mapToInt(s -> s.timeout).max().orElse(client.timeout);
+        int bufferSize = subscriptions.stream().mapToInt(s -> s.bufferSize).max().orElse(client.bufferSize);
 
         // format URL
         try {
@@ -95,25 +195,45 @@ public class RefreshingUrlCache {
                     }
                 });
 
+                // validators are only valid for the same URI (the URL may contain a date format)
+                Content content = lastContent;
+                if (content != null && uri.equals(lastUri)) {
+                    String eTag = content.getETag();
+                    if (eTag != null) {
+                        request.header(HttpHeader.IF_NONE_MATCH, eTag);
+                    }
+                    String lastModified = content.getLastModified();
+                    if (lastModified != null) {
+                        request.header(HttpHeader.IF_MODIFIED_SINCE, lastModified);
+                    }
+                }
+                lastUri = uri;
+
                 CompletableFuture<@Nullable Content> response = new CompletableFuture<>();
-                response.exceptionally(e -> {
-                    if (e instanceof HttpAuthException) {
+                response.whenComplete((newContent, e) -> {
+                    if (e instanceof HttpNotModifiedException) {
+                        logger.trace("Content of '{}' not modified", uri);
+                        complete(result, lastContent);
+                    } else if (e instanceof HttpAuthException) {
                         if (isRetry) {
                             logger.warn("Retry after authentication failure failed again for '{}', failing here", uri);
+                            complete(result, null);
                         } else {
                             AuthenticationStore authStore = httpClient.getAuthenticationStore();
                             Authentication.Result authResult = authStore.findAuthenticationResult(uri);
                             if (authResult != null) {
                                 authStore.removeAuthenticationResult(authResult);
                                 logger.debug("Cleared authentication result for '{}', retrying immediately", uri);
-                                refresh(true);
+                                request(result, true);
                             } else {
                                 logger.warn("Could not find authentication result for '{}', failing here", uri);
+                                complete(result, null);
                             }
                         }
+                    } else {
+                        complete(result, e == null ? newContent : null);
                     }
-                    return null;
-                }).thenAccept(this::processResult);
+                });
 
                 if (logger.isTraceEnabled()) {
                     logger.trace("Sending to '{}': {}", uri, Util.requestToLogString(request));
@@ -126,43 +246,80 @@ public class RefreshingUrlCache {
                 } else {
                     logger.warn("Request to URL {} failed: {}", uri, e.getMessage());
                 }
+                result.complete(null);
                 return null;
             });
         } catch (IllegalArgumentException | URISyntaxException | MalformedURLException e) {
             logger.warn("Creating request for '{}' failed: {}", url, e.getMessage());
+            result.complete(null);
         }
     }
 
-    public void stop() {
-        // clearing all listeners to prevent further updates
-        consumers.clear();
-        future.cancel(false);
-        logger.trace("Stopped refresh task for URL '{}'", url);
+    private void complete(CompletableFuture<@Nullable Content> result, @Nullable Content content) {
+        processResult(content);
+        result.complete(content);
     }
 
-    public void addConsumer(Consumer<Content> consumer) {
-        consumers.add(consumer);
+    private void processResult(@Nullable Content content) {
+        if (content != null && content.equals(lastContent)) {
+            // no need to notify the consumers if nothing changed
+            logger.trace("Content of '{}' unchanged, skipping update of consumers", url);
+        } else if (content != null) {
+            for (Subscription subscription : subscriptions) {
+                subscription.process(content, url);
+            }
+        }
+        lastContent = content;
     }
 
-    public Optional<Content> get() {
-        final Content content = lastContent;
-        if (content == null) {
-            return Optional.empty();
-        } else {
-            return Optional.of(content);
+    /**
+     * The {@link Subscription} holds the consumer of a channel and the request parameters of the subscribing thing
+     */
+    public static class Subscription {
+        private final Logger logger = LoggerFactory.getLogger(Subscription.class);
+
+        private final RateLimitedHttpClient httpClient;
+        private final int refresh;
+        private final int timeout;
+        private final int bufferSize;
+        private final Consumer<Content> consumer;
+
+        private @Nullable RefreshingUrlCache cache;
+
+        public Subscription(RateLimitedHttpClient httpClient, HttpThingConfig thingConfig,
+                Consumer<Content> consumer) {
+            this.httpClient = httpClient;
+            this.refresh = thingConfig.refresh;
+            this.timeout = thingConfig.timeout;
+            this.bufferSize = thingConfig.bufferSize;
+            this.consumer = consumer;
         }
-    }
 
-    private void processResult(@Nullable Content content) {
-        if (content != null) {
-            for (Consumer<Content> consumer : consumers) {
-                try {
-                    consumer.accept(content);
-                } catch (IllegalArgumentException | IllegalStateException e) {
-                    logger.warn("Failed processing result for URL {}: {}", url, e.getMessage());
-                }
+        /**
+         * get the last content of the subscribed cache
+         *
+         * @return an {@link Optional} containing the last content (empty if no content available)
+         */
+        public Optional<Content> get() {
+            RefreshingUrlCache cache = this.cache;
+            return cache != null ? cache.get() : Optional.empty();
+        }
+
+        @Nullable
+        RefreshingUrlCache getCache() {
+            return cache;
+        }
+
+        void setCache(@Nullable RefreshingUrlCache cache) {
+            this.cache = cache;
+        }
+
+        private void process(Content content, String url) {
+            try {
+                consumer.accept(content);
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                logger.warn("Failed processing result for URL {}: {}", url, e.getMessage());
             }
         }
-        lastContent = content;
     }
 }
@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.http.HttpMethod;
+import org.openhab.binding.http.internal.config.HttpThingConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link RefreshingUrlCacheRegistry} manages the {@link RefreshingUrlCache}s of all things. Things requesting the
+ * same resource (same method, URL, headers and content) share a single cache. Caches are reference-counted and stopped
+ * when the last subscription is removed.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public class RefreshingUrlCacheRegistry {
+    private final Logger logger = LoggerFactory.getLogger(RefreshingUrlCacheRegistry.class);
+
+    private final ScheduledExecutorService executor;
+    private final Map<CacheKey, RefreshingUrlCache> caches = new HashMap<>();
+
+    public RefreshingUrlCacheRegistry(ScheduledExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Subscribe to a URL
+     *
+     * @param httpClient the (rate-limited) client of the subscribing thing
+     * @param url the state URL (may contain a date format)
+     * @param thingConfig the configuration of the subscribing thing
+     * @param httpContent the content sent with the request
+     * @param consumer the consumer for the received content
+     * @return the subscription, needs to be passed to {@link #unsubscribe(RefreshingUrlCache.Subscription)} when no
+     *         longer needed
+     */
+    public synchronized RefreshingUrlCache.Subscription subscribe(RateLimitedHttpClient httpClient, String url,
+            HttpThingConfig thingConfig, String httpContent, Consumer<Content> consumer) {
+        CacheKey key = new CacheKey(url, thingConfig, httpContent);
+        RefreshingUrlCache cache = caches.computeIfAbsent(key,
+                k -> new RefreshingUrlCache(executor, url, thingConfig, httpContent));
+        RefreshingUrlCache.Subscription subscription = new RefreshingUrlCache.Subscription(httpClient, thingConfig,
+                consumer);
+        subscription.setCache(cache);
+        cache.subscribe(subscription);
+        logger.trace("Added subscription for '{}', {} cache(s) active", url, caches.size());
+        return subscription;
+    }
+
+    /**
+     * Remove a subscription
+     *
+     * @param subscription the subscription returned by
+     *            {@link #subscribe(RateLimitedHttpClient, String, HttpThingConfig, String, Consumer)}
+     */
+    public synchronized void unsubscribe(RefreshingUrlCache.Subscription subscription) {
+        RefreshingUrlCache cache = subscription.getCache();
+        if (cache != null && cache.unsubscribe(subscription)) {
+            cache.stop();
+            caches.values().remove(cache);
+            logger.trace("Removed last subscription of cache, {} cache(s) active", caches.size());
+        }
+        subscription.setCache(null);
+    }
+
+    /**
+     * Stop all caches
+     */
+    public synchronized void dispose() {
+        caches.values().forEach(RefreshingUrlCache::stop);
+        caches.clear();
+    }
+
+    private static class CacheKey {
+        private final String url;
+        private final HttpMethod method;
+        private final List<String> headers;
+        private final String content;
+        private final @Nullable String encoding;
+        private final boolean ignoreSSLErrors;
+        private final String username;
+        private final String password;
+
+        public CacheKey(String url, HttpThingConfig thingConfig, String content) {
+            this.url = url;
+            this.method = thingConfig.stateMethod;
+            this.headers = List.copyOf(thingConfig.headers);
+            this.content = content;
+            this.encoding = thingConfig.encoding;
+            this.ignoreSSLErrors = thingConfig.ignoreSSLErrors;
+            this.username = thingConfig.username;
+            this.password = thingConfig.password;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            CacheKey cacheKey = (CacheKey) o;
+            return ignoreSSLErrors == cacheKey.ignoreSSLErrors && url.equals(cacheKey.url)
+                    && method == cacheKey.method && headers.equals(cacheKey.headers)
+                    && content.equals(cacheKey.content) && Objects.equals(encoding, cacheKey.encoding)
+                    && username.equals(cacheKey.username) && password.equals(cacheKey.password);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(url, method, headers, content, encoding, ignoreSSLErrors, username, password);
+        }
+    }
+}
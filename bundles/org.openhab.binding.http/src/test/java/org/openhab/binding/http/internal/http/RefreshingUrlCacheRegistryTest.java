@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.binding.http.internal.config.HttpThingConfig;
+
+/**
+ * Tests the {@link RefreshingUrlCacheRegistry}.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.WARN)
+@NonNullByDefault
+public class RefreshingUrlCacheRegistryTest {
+    private static final String URL = "http://example.org/status";
+
+    private @Mock @NonNullByDefault({}) ScheduledExecutorService executor;
+    private @Mock @NonNullByDefault({}) RateLimitedHttpClient httpClient;
+
+    private @NonNullByDefault({}) RefreshingUrlCacheRegistry registry;
+
+    @BeforeEach
+    public void setup() {
+        registry = new RefreshingUrlCacheRegistry(executor);
+    }
+
+    private RefreshingUrlCache.Subscription subscribe(String url, HttpThingConfig config) {
+        return registry.subscribe(httpClient, url, config, "", content -> {
+        });
+    }
+
+    @Test
+    public void testSameResourceSharesCache() {
+        HttpThingConfig config = new HttpThingConfig();
+        HttpThingConfig otherRefreshConfig = new HttpThingConfig();
+        otherRefreshConfig.refresh = 5;
+
+        RefreshingUrlCache.Subscription subscription1 = subscribe(URL, config);
+        RefreshingUrlCache.Subscription subscription2 = subscribe(URL, otherRefreshConfig);
+
+        assertNotNull(subscription1.getCache());
+        assertSame(subscription1.getCache(), subscription2.getCache());
+    }
+
+    @Test
+    public void testDifferentResourcesUseDifferentCaches() {
+        HttpThingConfig config = new HttpThingConfig();
+        HttpThingConfig otherHeaderConfig = new HttpThingConfig();
+        otherHeaderConfig.headers.add("Accept=application/json");
+
+        RefreshingUrlCache.Subscription subscription1 = subscribe(URL, config);
+        RefreshingUrlCache.Subscription subscription2 = subscribe(URL + "/other", config);
+        RefreshingUrlCache.Subscription subscription3 = subscribe(URL, otherHeaderConfig);
+
+        assertNotSame(subscription1.getCache(), subscription2.getCache());
+        assertNotSame(subscription1.getCache(), subscription3.getCache());
+    }
+
+    @Test
+    public void testCacheIsKeptUntilLastSubscriptionIsRemoved() {
+        HttpThingConfig config = new HttpThingConfig();
+        RefreshingUrlCache.Subscription subscription1 = subscribe(URL, config);
+        RefreshingUrlCache.Subscription subscription2 = subscribe(URL, config);
+        RefreshingUrlCache cache = subscription1.getCache();
+
+        registry.unsubscribe(subscription1);
+        assertNull(subscription1.getCache());
+        // a new subscription still shares the cache of the remaining one
+        RefreshingUrlCache.Subscription subscription3 = subscribe(URL, config);
+        assertSame(cache, subscription3.getCache());
+
+        registry.unsubscribe(subscription2);
+        registry.unsubscribe(subscription3);
+        // the cache was removed with its last subscription, a new one is created
+        RefreshingUrlCache.Subscription subscription4 = subscribe(URL, config);
+        assertNotNull(subscription4.getCache());
+        assertNotSame(cache, subscription4.getCache());
+    }
+}
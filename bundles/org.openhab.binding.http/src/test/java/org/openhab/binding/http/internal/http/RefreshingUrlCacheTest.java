@@ -0,0 +1,237 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Response;
+import org.eclipse.jetty.client.api.Result;
+import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.binding.http.internal.config.HttpThingConfig;
+
+/**
+ * Tests the {@link RefreshingUrlCache}.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.WARN)
+@NonNullByDefault
+public class RefreshingUrlCacheTest {
+    private static final String URL = "http://example.org/status";
+
+    private @Mock @NonNullByDefault({}) ScheduledExecutorService executor;
+    private @Mock @NonNullByDefault({}) RateLimitedHttpClient httpClient;
+    private @Mock @NonNullByDefault({}) Request request;
+
+    private final List<HttpResponseListener> responseListeners = new ArrayList<>();
+    private final List<Content> received = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(executor).execute(any());
+        when(httpClient.newRequest(any(), any(), any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(request));
+        doAnswer(invocation -> {
+            responseListeners.add(invocation.getArgument(0));
+            return null;
+        }).when(request).send(any(Response.CompleteListener.class));
+    }
+
+    private HttpThingConfig config(int refresh) {
+        HttpThingConfig config = new HttpThingConfig();
+        config.refresh = refresh;
+        return config;
+    }
+
+    private RefreshingUrlCache.Subscription subscribe(RefreshingUrlCache cache, int refresh, List<Content> consumer) {
+        RefreshingUrlCache.Subscription subscription = new RefreshingUrlCache.Subscription(httpClient,
+                config(refresh), consumer::add);
+        subscription.setCache(cache);
+        cache.subscribe(subscription);
+        return subscription;
+    }
+
+    /**
+     * Complete the request with the given index
+     */
+    private void respond(int index, int status, @Nullable String body, @Nullable String eTag) {
+        Response response = mock(Response.class);
+        HttpFields headers = new HttpFields();
+        if (eTag != null) {
+            headers.put(HttpHeader.ETAG, eTag);
+        }
+        when(response.getStatus()).thenReturn(status);
+        when(response.getHeaders()).thenReturn(headers);
+
+        HttpResponseListener listener = responseListeners.get(index);
+        if (body != null) {
+            listener.onContent(response, ByteBuffer.wrap(body.getBytes(StandardCharsets.UTF_8)));
+        }
+        listener.onComplete(new Result(request, response));
+    }
+
+    @Test
+    public void testRefreshIntervalIsShortestOfAllSubscriptions() {
+        RefreshingUrlCache cache = new RefreshingUrlCache(executor, URL, config(30), "");
+
+        subscribe(cache, 30, received);
+        verify(executor).scheduleWithFixedDelay(any(), eq(1L), eq(30L), eq(TimeUnit.SECONDS));
+
+        RefreshingUrlCache.Subscription fastSubscription = subscribe(cache, 10, received);
+        verify(executor).scheduleWithFixedDelay(any(), eq(1L), eq(10L), eq(TimeUnit.SECONDS));
+
+        // a longer interval does not change the schedule
+        subscribe(cache, 60, received);
+        verify(executor, never()).scheduleWithFixedDelay(any(), anyLong(), eq(60L), any());
+
+        // the interval is recomputed when the fastest subscription is removed
+        assertFalse(cache.unsubscribe(fastSubscription));
+        verify(executor, times(2)).scheduleWithFixedDelay(any(), eq(1L), eq(30L), eq(TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testLastSubscriptionRemoved() {
+        RefreshingUrlCache cache = new RefreshingUrlCache(executor, URL, config(30), "");
+        RefreshingUrlCache.Subscription subscription1 = subscribe(cache, 30, received);
+        RefreshingUrlCache.Subscription subscription2 = subscribe(cache, 30, received);
+
+        assertFalse(cache.unsubscribe(subscription1));
+        assertTrue(cache.unsubscribe(subscription2));
+    }
+
+    @Test
+    public void testRefreshInProgressIsShared() {
+        RefreshingUrlCache cache = new RefreshingUrlCache(executor, URL, config(30), "");
+        subscribe(cache, 30, received);
+
+        CompletableFuture<@Nullable Content> firstRefresh = cache.refresh();
+        CompletableFuture<@Nullable Content> secondRefresh = cache.refresh();
+
+        assertSame(firstRefresh, secondRefresh);
+        verify(httpClient, times(1)).newRequest(any(), any(), any());
+
+        respond(0, HttpStatus.OK_200, "content", null);
+        assertTrue(firstRefresh.isDone());
+        assertEquals(1, received.size());
+
+        // a new refresh is sent once the previous one completed
+        assertNotSame(firstRefresh, cache.refresh());
+        verify(httpClient, times(2)).newRequest(any(), any(), any());
+    }
+
+    @Test
+    public void testLateSubscriberReceivesCachedContent() {
+        RefreshingUrlCache cache = new RefreshingUrlCache(executor, URL, config(30), "");
+        subscribe(cache, 30, received);
+        cache.refresh();
+        respond(0, HttpStatus.OK_200, "content", null);
+
+        List<Content> lateReceived = new ArrayList<>();
+        subscribe(cache, 30, lateReceived);
+
+        assertEquals(1, lateReceived.size());
+        assertEquals("content", lateReceived.get(0).getAsString());
+        assertEquals(1, received.size());
+    }
+
+    @Test
+    public void testValidatorsAreSentForSameUri() {
+        RefreshingUrlCache cache = new RefreshingUrlCache(executor, URL, config(30), "");
+        subscribe(cache, 30, received);
+        cache.refresh();
+        verify(request, never()).header(eq(HttpHeader.IF_NONE_MATCH), any());
+        respond(0, HttpStatus.OK_200, "content", "\"v1\"");
+
+        cache.refresh();
+
+        verify(request).header(HttpHeader.IF_NONE_MATCH, "\"v1\"");
+    }
+
+    @Test
+    public void testNotModifiedDoesNotNotifySubscribers() {
+        RefreshingUrlCache cache = new RefreshingUrlCache(executor, URL, config(30), "");
+        subscribe(cache, 30, received);
+        cache.refresh();
+        respond(0, HttpStatus.OK_200, "content", "\"v1\"");
+        assertEquals(1, received.size());
+
+        CompletableFuture<@Nullable Content> refresh = cache.refresh();
+        respond(1, HttpStatus.NOT_MODIFIED_304, null, null);
+
+        // the request completes with the cached content, but the subscribers are not notified again
+        assertEquals(1, received.size());
+        Content content = refresh.getNow(null);
+        assertNotNull(content);
+        assertEquals("content", content.getAsString());
+        assertEquals("content", cache.get().map(Content::getAsString).orElse(""));
+    }
+
+    @Test
+    public void testEqualContentIsNotSentAgain() {
+        RefreshingUrlCache cache = new RefreshingUrlCache(executor, URL, config(30), "");
+        subscribe(cache, 30, received);
+        cache.refresh();
+        respond(0, HttpStatus.OK_200, "content", null);
+        cache.refresh();
+        respond(1, HttpStatus.OK_200, "content", null);
+
+        assertEquals(1, received.size());
+
+        cache.refresh();
+        respond(2, HttpStatus.OK_200, "new content", null);
+
+        assertEquals(2, received.size());
+        assertEquals("new content", received.get(1).getAsString());
+    }
+
+    @Test
+    public void testValidatorsAreNotSentWhenUriChanged() throws InterruptedException {
+        // the URL contains the current time in milliseconds, so each request uses a different URI
+        RefreshingUrlCache cache = new RefreshingUrlCache(executor, URL + "?time=%1$tQ", config(30), "");
+        subscribe(cache, 30, received);
+        cache.refresh();
+        respond(0, HttpStatus.OK_200, "content", "\"v1\"");
+
+        Thread.sleep(5);
+        cache.refresh();
+
+        verify(request, never()).header(eq(HttpHeader.IF_NONE_MATCH), any());
+        verify(request, never()).header(eq(HttpHeader.IF_MODIFIED_SINCE), any());
+    }
+}
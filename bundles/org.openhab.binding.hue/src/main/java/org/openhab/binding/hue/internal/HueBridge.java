@@ -25,6 +25,7 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -48,6 +49,7 @@ import org.slf4j.LoggerFactory;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
 
@@ -258,6 +260,79 @@ public class HueBridge {
         return sensorList;
     }
 
+    /**
+     * Returns the JSON representation of all lights known to the bridge. Each light can be converted with
+     * {@link #toFullLight(String, JsonElement)}, which allows to skip the conversion of unchanged lights.
+     *
+     * @return map of light id to the JSON representation of the light
+     * @throws UnauthorizedException thrown if the user no longer exists
+     */
+    public Map<String, JsonElement> getFullLightsAsJson() throws IOException, ApiException {
+        if (ApiVersionUtils.supportsFullLights(getVersion())) {
+            return getJsonObjects(getRelativeURL("lights"), null);
+        } else {
+            return getJsonObjects(getRelativeURL(""), "lights");
+        }
+    }
+
+    /**
+     * Returns the JSON representation of all sensors known to the bridge. Each sensor can be converted with
+     * {@link #toFullSensor(String, JsonElement)}.
+     *
+     * @return map of sensor id to the JSON representation of the sensor
+     * @throws UnauthorizedException thrown if the user no longer exists
+     */
+    public Map<String, JsonElement> getSensorsAsJson() throws IOException, ApiException {
+        return getJsonObjects(getRelativeURL("sensors"), null);
+    }
+
+    public FullLight toFullLight(String id, JsonElement json) throws ApiException {
+        FullLight light = safeFromJson(json, FullLight.class);
+        light.setId(id);
+        return light;
+    }
+
+    public FullSensor toFullSensor(String id, JsonElement json) throws ApiException {
+        FullSensor sensor = safeFromJson(json, FullSensor.class);
+        sensor.setId(id);
+        return sensor;
+    }
+
+    private Map<String, JsonElement> getJsonObjects(String url, @Nullable String member)
+            throws IOException, ApiException {
+        requireAuthentication();
+
+        Result result = http.get(url);
+        if (result.getResponseCode() != 200) {
+            throw new IOException();
+        }
+
+        JsonElement json;
+        try {
+            json = new JsonParser().parse(result.getBody());
+        } catch (JsonParseException e) {
+            throw new ApiException("API returned unexpected result: " + e.getMessage());
+        }
+        if (!json.isJsonObject()) {
+            // errors are returned as array
+            handleErrors(result);
+            throw new ApiException("API returned unexpected result: " + result.getBody());
+        }
+
+        JsonObject jsonObject = json.getAsJsonObject();
+        if (member != null) {
+            JsonElement memberElement = jsonObject.get(member);
+            if (memberElement == null || !memberElement.isJsonObject()) {
+                return Map.of();
+            }
+            jsonObject = memberElement.getAsJsonObject();
+        }
+
+        Map<String, JsonElement> objects = new LinkedHashMap<>();
+        jsonObject.entrySet().forEach(entry -> objects.put(entry.getKey(), entry.getValue()));
+        return objects;
+    }
+
     /**
      * Returns the last time a search for new lights was started.
      * If a search is currently running, the current time will be
@@ -1061,6 +1136,18 @@ public class HueBridge {
         }
     }
 
+    private <T> T safeFromJson(JsonElement json, Class<T> classOfT) throws ApiException {
+        try {
+            T result = gson.fromJson(json, classOfT);
+            if (result == null) {
+                throw new ApiException("API returned unexpected result: " + json);
+            }
+            return result;
+        } catch (JsonParseException e) {
+            throw new ApiException("API returned unexpected result: " + e.getMessage());
+        }
+    }
+
     private <T> T safeFromJson(String json, Class<T> classOfT) throws ApiException {
         try {
             return gson.fromJson(json, classOfT);
@@ -24,7 +24,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -52,6 +54,7 @@ import org.openhab.binding.hue.internal.exceptions.DeviceOffException;
 import org.openhab.binding.hue.internal.exceptions.EntityNotAvailableException;
 import org.openhab.binding.hue.internal.exceptions.LinkButtonException;
 import org.openhab.binding.hue.internal.exceptions.UnauthorizedException;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.Configuration;
 import org.openhab.core.config.core.status.ConfigStatusMessage;
 import org.openhab.core.library.types.HSBType;
@@ -69,6 +72,8 @@ import org.openhab.core.types.StateOption;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.JsonElement;
+
 /**
  * {@link HueBridgeHandler} is the handler for a hue bridge and connects it to
  * the framework. All {@link HueLightHandler}s use the {@link HueBridgeHandler} to execute the actual commands.
@@ -94,7 +99,15 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
 
     private static final String DEVICE_TYPE = "EclipseSmartHome";
 
-    private static final long SCENE_POLLING_INTERVAL = TimeUnit.SECONDS.convert(10, TimeUnit.MINUTES);
+    private static final long SCENE_POLLING_INTERVAL = TimeUnit.MINUTES.toMillis(10);
+
+    private static final long MAX_POLLING_TICK = 1000L;
+
+    private static final long POLLING_DELAY_AFTER_COMMAND = 1000L;
+
+    static final int IDLE_LIGHT_POLLS = 6;
+
+    private static final String LISTENER_POOL_NAME = "hue";
 
     private final Logger logger = LoggerFactory.getLogger(HueBridgeHandler.class);
     private final HueStateDescriptionOptionProvider stateDescriptionOptionProvider;
@@ -102,6 +115,8 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private final Map<String, FullLight> lastLightStates = new ConcurrentHashMap<>();
     private final Map<String, FullSensor> lastSensorStates = new ConcurrentHashMap<>();
     private final Map<String, FullGroup> lastGroupStates = new ConcurrentHashMap<>();
+    private final Map<String, JsonElement> lastLightJson = new ConcurrentHashMap<>();
+    private final Map<String, JsonElement> lastSensorJson = new ConcurrentHashMap<>();
 
     private @Nullable HueDeviceDiscoveryService discoveryService;
     private final Map<String, LightStatusListener> lightStatusListeners = new ConcurrentHashMap<>();
@@ -179,103 +194,158 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         protected abstract void doConnectedRun() throws IOException, ApiException;
     }
 
-    private final Runnable sensorPollingRunnable = new PollingRunnable() {
+    /**
+     * Single poll cycle for lights, groups, sensors and scenes. The cycle is executed with a short tick and each
+     * resource is only requested when it is due, so all requests to the bridge are serialized.
+     */
+    private final BridgePollingRunnable pollingRunnable = new BridgePollingRunnable();
+
+    private class BridgePollingRunnable extends PollingRunnable {
         @Override
         protected void doConnectedRun() throws IOException, ApiException {
-            Map<String, FullSensor> lastSensorStateCopy = new HashMap<>(lastSensorStates);
+            poll(System.currentTimeMillis());
+        }
+
+        void poll(long now) throws IOException, ApiException {
+            if (now >= nextLightPoll) {
+                boolean changed = updateLights();
+                updateGroups();
+                if (changed) {
+                    idleLightPolls = 0;
+                } else if (idleLightPolls < IDLE_LIGHT_POLLS) {
+                    idleLightPolls++;
+                }
+                // slow down polling if nothing changed for a while
+                long interval = idleLightPolls >= IDLE_LIGHT_POLLS ? 2 * lightPollingInterval : lightPollingInterval;
+                nextLightPoll = now + interval;
+            }
+            if (sensorPollingInterval > 0 && now >= nextSensorPoll) {
+                updateSensors();
+                nextSensorPoll = now + sensorPollingInterval;
+            }
+            if (now >= nextScenePoll) {
+                updateScenes();
+                nextScenePoll = now + SCENE_POLLING_INTERVAL;
+            }
+        }
+
+        private void updateSensors() throws IOException, ApiException {
+            Map<String, JsonElement> sensors = hueBridge.getSensorsAsJson();
 
             final HueDeviceDiscoveryService discovery = discoveryService;
 
-            for (final FullSensor sensor : hueBridge.getSensors()) {
-                String sensorId = sensor.getId();
+            List<Runnable> notifications = new ArrayList<>();
+            for (Map.Entry<String, JsonElement> entry : sensors.entrySet()) {
+                final String sensorId = entry.getKey();
+                final JsonElement json = entry.getValue();
+                if (json.equals(lastSensorJson.get(sensorId))) {
+                    // nothing changed since the last accepted update
+                    continue;
+                }
+                final FullSensor sensor = hueBridge.toFullSensor(sensorId, json);
 
                 final SensorStatusListener sensorStatusListener = sensorStatusListeners.get(sensorId);
                 if (sensorStatusListener == null) {
                     logger.trace("Hue sensor '{}' added.", sensorId);
 
-                    if (discovery != null && !lastSensorStateCopy.containsKey(sensorId)) {
+                    if (discovery != null && !lastSensorStates.containsKey(sensorId)) {
                         discovery.addSensorDiscovery(sensor);
                     }
 
                     lastSensorStates.put(sensorId, sensor);
+                    lastSensorJson.put(sensorId, json);
                 } else {
-                    if (sensorStatusListener.onSensorStateChanged(sensor)) {
-                        lastSensorStates.put(sensorId, sensor);
-                    }
+                    notifications.add(() -> {
+                        if (sensorStatusListener.onSensorStateChanged(sensor)) {
+                            lastSensorStates.put(sensorId, sensor);
+                            lastSensorJson.put(sensorId, json);
+                        }
+                    });
                 }
-                lastSensorStateCopy.remove(sensorId);
             }
+            notifyListeners(notifications);
 
             // Check for removed sensors
-            lastSensorStateCopy.forEach((sensorId, sensor) -> {
-                logger.trace("Hue sensor '{}' removed.", sensorId);
-                lastSensorStates.remove(sensorId);
-
-                final SensorStatusListener sensorStatusListener = sensorStatusListeners.get(sensorId);
-                if (sensorStatusListener != null) {
-                    sensorStatusListener.onSensorRemoved();
-                }
+            for (String sensorId : new ArrayList<>(lastSensorStates.keySet())) {
+                if (!sensors.containsKey(sensorId)) {
+                    logger.trace("Hue sensor '{}' removed.", sensorId);
+                    final @Nullable FullSensor sensor = lastSensorStates.remove(sensorId);
+                    lastSensorJson.remove(sensorId);
+
+                    final SensorStatusListener sensorStatusListener = sensorStatusListeners.get(sensorId);
+                    if (sensorStatusListener != null) {
+                        sensorStatusListener.onSensorRemoved();
+                    }
 
-                if (discovery != null && sensor != null) {
-                    discovery.removeSensorDiscovery(sensor);
+                    if (discovery != null && sensor != null) {
+                        discovery.removeSensorDiscovery(sensor);
+                    }
                 }
-            });
-        }
-    };
-
-    private final Runnable lightPollingRunnable = new PollingRunnable() {
-        @Override
-        protected void doConnectedRun() throws IOException, ApiException {
-            updateLights();
-            updateGroups();
+            }
         }
 
-        private void updateLights() throws IOException, ApiException {
-            Map<String, FullLight> lastLightStateCopy = new HashMap<>(lastLightStates);
-
-            List<FullLight> lights;
-            if (ApiVersionUtils.supportsFullLights(hueBridge.getVersion())) {
-                lights = hueBridge.getFullLights();
-            } else {
-                lights = hueBridge.getFullConfig().getLights();
-            }
+        /**
+         * Updates the lights
+         *
+         * @return true if at least one light changed
+         */
+        private boolean updateLights() throws IOException, ApiException {
+            Map<String, JsonElement> lights = hueBridge.getFullLightsAsJson();
 
             final HueDeviceDiscoveryService discovery = discoveryService;
 
-            for (final FullLight fullLight : lights) {
-                final String lightId = fullLight.getId();
+            boolean changed = false;
+            List<Runnable> notifications = new ArrayList<>();
+            for (Map.Entry<String, JsonElement> entry : lights.entrySet()) {
+                final String lightId = entry.getKey();
+                final JsonElement json = entry.getValue();
+                if (json.equals(lastLightJson.get(lightId))) {
+                    // nothing changed since the last accepted update
+                    continue;
+                }
+                changed = true;
+                final FullLight fullLight = hueBridge.toFullLight(lightId, json);
 
                 final LightStatusListener lightStatusListener = lightStatusListeners.get(lightId);
                 if (lightStatusListener == null) {
                     logger.trace("Hue light '{}' added.", lightId);
 
-                    if (discovery != null && !lastLightStateCopy.containsKey(lightId)) {
+                    if (discovery != null && !lastLightStates.containsKey(lightId)) {
                         discovery.addLightDiscovery(fullLight);
                     }
 
                     lastLightStates.put(lightId, fullLight);
+                    lastLightJson.put(lightId, json);
                 } else {
-                    if (lightStatusListener.onLightStateChanged(fullLight)) {
-                        lastLightStates.put(lightId, fullLight);
-                    }
+                    notifications.add(() -> {
+                        if (lightStatusListener.onLightStateChanged(fullLight)) {
+                            lastLightStates.put(lightId, fullLight);
+                            lastLightJson.put(lightId, json);
+                        }
+                    });
                 }
-                lastLightStateCopy.remove(lightId);
             }
+            notifyListeners(notifications);
 
             // Check for removed lights
-            lastLightStateCopy.forEach((lightId, light) -> {
-                logger.trace("Hue light '{}' removed.", lightId);
-                lastLightStates.remove(lightId);
-
-                final LightStatusListener lightStatusListener = lightStatusListeners.get(lightId);
-                if (lightStatusListener != null) {
-                    lightStatusListener.onLightRemoved();
-                }
+            for (String lightId : new ArrayList<>(lastLightStates.keySet())) {
+                if (!lights.containsKey(lightId)) {
+                    logger.trace("Hue light '{}' removed.", lightId);
+                    changed = true;
+                    final @Nullable FullLight light = lastLightStates.remove(lightId);
+                    lastLightJson.remove(lightId);
+
+                    final LightStatusListener lightStatusListener = lightStatusListeners.get(lightId);
+                    if (lightStatusListener != null) {
+                        lightStatusListener.onLightRemoved();
+                    }
 
-                if (discovery != null && light != null) {
-                    discovery.removeLightDiscovery(light);
+                    if (discovery != null && light != null) {
+                        discovery.removeLightDiscovery(light);
+                    }
                 }
-            });
+            }
+            return changed;
         }
 
         private void updateGroups() throws IOException, ApiException {
@@ -367,11 +437,8 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 }
             });
         }
-    };
 
-    private final Runnable scenePollingRunnable = new PollingRunnable() {
-        @Override
-        protected void doConnectedRun() throws IOException, ApiException {
+        private void updateScenes() throws IOException, ApiException {
             List<Scene> scenes = hueBridge.getScenes();
             logger.trace("Scenes detected: {}", scenes);
 
@@ -389,16 +456,21 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
             consoleScenesList = scenes.stream().map(scene -> "Id is \"" + scene.getId() + "\" for scene \""
                     + scene.toStateOption(groupNames).getLabel() + "\"").collect(Collectors.toList());
         }
-    };
+    }
 
     private boolean lastBridgeConnectionState = false;
 
     private boolean propertiesInitializedSuccessfully = false;
 
     private @Nullable Future<?> initJob;
-    private @Nullable ScheduledFuture<?> lightPollingJob;
-    private @Nullable ScheduledFuture<?> sensorPollingJob;
-    private @Nullable ScheduledFuture<?> scenePollingJob;
+    private @Nullable ScheduledFuture<?> pollingJob;
+
+    private long lightPollingInterval;
+    private long sensorPollingInterval;
+    private volatile long nextLightPoll;
+    private long nextSensorPoll;
+    private long nextScenePoll;
+    private int idleLightPolls;
 
     private @NonNullByDefault({}) HueBridge hueBridge = null;
     private @NonNullByDefault({}) HueBridgeConfig hueBridgeConfig = null;
@@ -410,6 +482,17 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         this.stateDescriptionOptionProvider = stateDescriptionOptionProvider;
     }
 
+    /**
+     * Constructor for tests, the handler uses the given bridge and polling intervals instead of the configuration.
+     */
+    HueBridgeHandler(Bridge bridge, HueStateDescriptionOptionProvider stateDescriptionOptionProvider,
+            HueBridge hueBridge, long lightPollingInterval, long sensorPollingInterval) {
+        this(bridge, stateDescriptionOptionProvider);
+        this.hueBridge = hueBridge;
+        this.lightPollingInterval = lightPollingInterval;
+        this.sensorPollingInterval = sensorPollingInterval;
+    }
+
     @Override
     public Collection<Class<? extends ThingHandlerService>> getServices() {
         return Collections.singleton(HueDeviceDiscoveryService.class);
@@ -427,10 +510,12 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
             long fadeTime) {
         if (hueBridge != null) {
             listener.setPollBypass(BYPASS_MIN_DURATION_BEFORE_CMD);
+            lastLightJson.remove(light.getId());
             hueBridge.setLightState(light, stateUpdate).thenAccept(result -> {
                 try {
                     hueBridge.handleErrors(result);
                     listener.setPollBypass(fadeTime);
+                    pollLightsAfterCommand(fadeTime);
                 } catch (Exception e) {
                     listener.unsetPollBypass();
                     handleLightUpdateException(listener, light, stateUpdate, fadeTime, e);
@@ -489,6 +574,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 try {
                     hueBridge.handleErrors(result);
                     setGroupPollBypass(group, fadeTime);
+                    pollLightsAfterCommand(fadeTime);
                 } catch (Exception e) {
                     unsetGroupPollBypass(group);
                     handleGroupUpdateException(group, e);
@@ -505,6 +591,8 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
 
     private void setGroupPollBypass(FullGroup group, long bypassTime) {
         group.getLightIds().forEach((lightId) -> {
+            // make sure the next poll is passed to the light, even if the light state did not change
+            lastLightJson.remove(lightId);
             final LightStatusListener listener = lightStatusListeners.get(lightId);
             if (listener != null) {
                 listener.setPollBypass(bypassTime);
@@ -587,75 +675,86 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         }
     }
 
-    private void startLightPolling() {
-        ScheduledFuture<?> job = lightPollingJob;
+    private void startPolling() {
+        ScheduledFuture<?> job = pollingJob;
         if (job == null || job.isCancelled()) {
-            long lightPollingInterval;
             int configPollingInterval = hueBridgeConfig.getPollingInterval();
             if (configPollingInterval < 1) {
-                lightPollingInterval = TimeUnit.SECONDS.toSeconds(10);
+                lightPollingInterval = TimeUnit.SECONDS.toMillis(10);
                 logger.info("Wrong configuration value for polling interval. Using default value: {}s",
-                        lightPollingInterval);
+                        TimeUnit.MILLISECONDS.toSeconds(lightPollingInterval));
+            } else {
+                lightPollingInterval = TimeUnit.SECONDS.toMillis(configPollingInterval);
+            }
+
+            int configSensorPollingInterval = hueBridgeConfig.getSensorPollingInterval();
+            if (configSensorPollingInterval > 0 && configSensorPollingInterval < 50) {
+                sensorPollingInterval = TimeUnit.MILLISECONDS.toMillis(500);
+                logger.info("Wrong configuration value for sensor polling interval. Using default value: {}ms",
+                        sensorPollingInterval);
             } else {
-                lightPollingInterval = configPollingInterval;
+                sensorPollingInterval = Math.max(configSensorPollingInterval, 0);
             }
-            // Delay the first execution to give a chance to have all light and group things registered
-            lightPollingJob = scheduler.scheduleWithFixedDelay(lightPollingRunnable, 3, lightPollingInterval,
-                    TimeUnit.SECONDS);
+
+            // Delay the first executions to give a chance to have all things registered
+            long now = System.currentTimeMillis();
+            nextLightPoll = now + 3000;
+            nextSensorPoll = now + 4000;
+            nextScenePoll = now + 5000;
+            idleLightPolls = 0;
+
+            long tick = Math.min(MAX_POLLING_TICK, lightPollingInterval);
+            if (sensorPollingInterval > 0) {
+                tick = Math.min(tick, sensorPollingInterval);
+            }
+            pollingJob = scheduler.scheduleWithFixedDelay(pollingRunnable, tick, tick, TimeUnit.MILLISECONDS);
         }
     }
 
-    private void stopLightPolling() {
-        ScheduledFuture<?> job = lightPollingJob;
-        if (job != null) {
-            job.cancel(true);
-        }
-        lightPollingJob = null;
+    /**
+     * Executes a single poll cycle at the given time, package-private for tests.
+     */
+    void poll(long now) throws IOException, ApiException {
+        pollingRunnable.poll(now);
     }
 
-    private void startSensorPolling() {
-        ScheduledFuture<?> job = sensorPollingJob;
-        if (job == null || job.isCancelled()) {
-            int configSensorPollingInterval = hueBridgeConfig.getSensorPollingInterval();
-            if (configSensorPollingInterval > 0) {
-                long sensorPollingInterval;
-                if (configSensorPollingInterval < 50) {
-                    sensorPollingInterval = TimeUnit.MILLISECONDS.toMillis(500);
-                    logger.info("Wrong configuration value for sensor polling interval. Using default value: {}ms",
-                            sensorPollingInterval);
-                } else {
-                    sensorPollingInterval = configSensorPollingInterval;
-                }
-                // Delay the first execution to give a chance to have all sensor things registered
-                sensorPollingJob = scheduler.scheduleWithFixedDelay(sensorPollingRunnable, 4000, sensorPollingInterval,
-                        TimeUnit.MILLISECONDS);
-            }
-        }
+    long getNextLightPoll() {
+        return nextLightPoll;
     }
 
-    private void stopSensorPolling() {
-        ScheduledFuture<?> job = sensorPollingJob;
+    private void stopPolling() {
+        ScheduledFuture<?> job = pollingJob;
         if (job != null) {
             job.cancel(true);
         }
-        sensorPollingJob = null;
+        pollingJob = null;
     }
 
-    private void startScenePolling() {
-        ScheduledFuture<?> job = scenePollingJob;
-        if (job == null || job.isCancelled()) {
-            // Delay the first execution to give a chance to have all group things registered
-            scenePollingJob = scheduler.scheduleWithFixedDelay(scenePollingRunnable, 5, SCENE_POLLING_INTERVAL,
-                    TimeUnit.SECONDS);
+    /**
+     * Request a poll of the lights after a command, the poll is delayed until the poll bypass of the light handlers
+     * has expired.
+     *
+     * @param bypassTime the poll bypass time of the light handlers
+     */
+    private void pollLightsAfterCommand(long bypassTime) {
+        idleLightPolls = 0;
+        long next = System.currentTimeMillis() + bypassTime + POLLING_DELAY_AFTER_COMMAND;
+        if (next < nextLightPoll) {
+            nextLightPoll = next;
         }
     }
 
-    private void stopScenePolling() {
-        ScheduledFuture<?> job = scenePollingJob;
-        if (job != null) {
-            job.cancel(true);
+    /**
+     * Executes the listener notifications in parallel and waits until all are finished
+     */
+    private void notifyListeners(List<Runnable> notifications) {
+        if (notifications.size() == 1) {
+            notifications.get(0).run();
+        } else if (!notifications.isEmpty()) {
+            ExecutorService executor = ThreadPoolManager.getPool(LISTENER_POOL_NAME);
+            CompletableFuture.allOf(notifications.stream().map(n -> CompletableFuture.runAsync(n, executor))
+                    .toArray(CompletableFuture[]::new)).join();
         }
-        scenePollingJob = null;
     }
 
     @Override
@@ -665,9 +764,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         if (job != null) {
             job.cancel(true);
         }
-        stopLightPolling();
-        stopSensorPolling();
-        stopScenePolling();
+        stopPolling();
         if (hueBridge != null) {
             hueBridge = null;
         }
@@ -705,9 +802,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
 
     private synchronized void onUpdate() {
         if (hueBridge != null) {
-            startLightPolling();
-            startSensorPolling();
-            startScenePolling();
+            startPolling();
         }
     }
 
@@ -728,6 +823,10 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private void onConnectionResumed() throws IOException, ApiException {
         logger.debug("Bridge connection resumed.");
 
+        // pass the complete state to all listeners with the next poll
+        lastLightJson.clear();
+        lastSensorJson.clear();
+
         if (!propertiesInitializedSuccessfully) {
             FullConfig fullConfig = hueBridge.getFullConfig();
             Config config = fullConfig.getConfig();
@@ -0,0 +1,222 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.handler;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.hue.internal.FullLight;
+import org.openhab.binding.hue.internal.FullSensor;
+import org.openhab.binding.hue.internal.HttpClient.Result;
+import org.openhab.binding.hue.internal.HueBridge;
+import org.openhab.binding.hue.internal.StateUpdate;
+import org.openhab.binding.hue.internal.exceptions.ApiException;
+import org.openhab.core.thing.Bridge;
+import org.openhab.core.thing.ThingUID;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+/**
+ * Tests the polling of the {@link HueBridgeHandler}.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public class HueBridgeHandlerTest {
+
+    private static final long LIGHT_POLLING_INTERVAL = 10000;
+    private static final long SENSOR_POLLING_INTERVAL = 1000;
+
+    private final Map<String, JsonElement> lights = new HashMap<>();
+    private final Map<String, JsonElement> sensors = new HashMap<>();
+
+    private @NonNullByDefault({}) HueBridge hueBridge;
+    private @NonNullByDefault({}) HueBridgeHandler handler;
+
+    @BeforeEach
+    public void setUp() throws IOException, ApiException {
+        Bridge bridge = mock(Bridge.class);
+        when(bridge.getUID()).thenReturn(new ThingUID("hue:bridge:test"));
+
+        hueBridge = mock(HueBridge.class);
+        when(hueBridge.getFullLightsAsJson()).thenAnswer(invocation -> new HashMap<>(lights));
+        when(hueBridge.getSensorsAsJson()).thenAnswer(invocation -> new HashMap<>(sensors));
+        when(hueBridge.toFullLight(anyString(), any())).thenAnswer(invocation -> {
+            FullLight light = mock(FullLight.class);
+            when(light.getId()).thenReturn(invocation.getArgument(0));
+            return light;
+        });
+        when(hueBridge.toFullSensor(anyString(), any())).thenAnswer(invocation -> {
+            FullSensor sensor = mock(FullSensor.class);
+            when(sensor.getId()).thenReturn(invocation.getArgument(0));
+            return sensor;
+        });
+
+        handler = new HueBridgeHandler(bridge, mock(HueStateDescriptionOptionProvider.class), hueBridge,
+                LIGHT_POLLING_INTERVAL, SENSOR_POLLING_INTERVAL);
+    }
+
+    private static JsonElement json(String json) {
+        return new JsonParser().parse(json);
+    }
+
+    private LightStatusListener registerLight(String lightId) {
+        LightStatusListener listener = mock(LightStatusListener.class);
+        when(listener.getLightId()).thenReturn(lightId);
+        when(listener.onLightStateChanged(any())).thenReturn(true);
+        handler.registerLightStatusListener(listener);
+        return listener;
+    }
+
+    private SensorStatusListener registerSensor(String sensorId) {
+        SensorStatusListener listener = mock(SensorStatusListener.class);
+        when(listener.getSensorId()).thenReturn(sensorId);
+        when(listener.onSensorStateChanged(any())).thenReturn(true);
+        handler.registerSensorStatusListener(listener);
+        return listener;
+    }
+
+    @Test
+    public void testOnlyChangedLightsAreSentToListeners() throws IOException, ApiException {
+        lights.put("1", json("{\"state\":{\"on\":true}}"));
+        lights.put("2", json("{\"state\":{\"on\":false}}"));
+        LightStatusListener listener1 = registerLight("1");
+        LightStatusListener listener2 = registerLight("2");
+
+        handler.poll(0);
+        verify(listener1).onLightStateChanged(any());
+        verify(listener2).onLightStateChanged(any());
+
+        lights.put("1", json("{\"state\":{\"on\":false}}"));
+        handler.poll(LIGHT_POLLING_INTERVAL);
+
+        verify(listener1, times(2)).onLightStateChanged(any());
+        verify(listener2).onLightStateChanged(any());
+        verify(hueBridge, times(3)).toFullLight(anyString(), any());
+    }
+
+    @Test
+    public void testRejectedLightStateIsSentAgain() throws IOException, ApiException {
+        lights.put("1", json("{\"state\":{\"on\":true}}"));
+        LightStatusListener listener = registerLight("1");
+        // e.g. the poll bypass of the light handler is active
+        when(listener.onLightStateChanged(any())).thenReturn(false);
+
+        handler.poll(0);
+        handler.poll(LIGHT_POLLING_INTERVAL);
+
+        verify(listener, times(2)).onLightStateChanged(any());
+    }
+
+    @Test
+    public void testOnlyChangedSensorsAreSentToListeners() throws IOException, ApiException {
+        sensors.put("1", json("{\"state\":{\"presence\":true}}"));
+        sensors.put("2", json("{\"state\":{\"presence\":false}}"));
+        SensorStatusListener listener1 = registerSensor("1");
+        SensorStatusListener listener2 = registerSensor("2");
+
+        handler.poll(0);
+        verify(listener1).onSensorStateChanged(any());
+        verify(listener2).onSensorStateChanged(any());
+
+        sensors.put("2", json("{\"state\":{\"presence\":true}}"));
+        handler.poll(SENSOR_POLLING_INTERVAL);
+
+        verify(listener1).onSensorStateChanged(any());
+        verify(listener2, times(2)).onSensorStateChanged(any());
+    }
+
+    @Test
+    public void testRemovedLightsAndSensorsAreReported() throws IOException, ApiException {
+        lights.put("1", json("{\"state\":{\"on\":true}}"));
+        lights.put("2", json("{\"state\":{\"on\":true}}"));
+        sensors.put("3", json("{\"state\":{\"presence\":true}}"));
+        sensors.put("4", json("{\"state\":{\"presence\":true}}"));
+        LightStatusListener lightListener1 = registerLight("1");
+        LightStatusListener lightListener2 = registerLight("2");
+        SensorStatusListener sensorListener3 = registerSensor("3");
+        SensorStatusListener sensorListener4 = registerSensor("4");
+        handler.poll(0);
+
+        lights.remove("2");
+        sensors.remove("3");
+        handler.poll(LIGHT_POLLING_INTERVAL);
+
+        verify(lightListener1, never()).onLightRemoved();
+        verify(lightListener2).onLightRemoved();
+        verify(sensorListener3).onSensorRemoved();
+        verify(sensorListener4, never()).onSensorRemoved();
+    }
+
+    @Test
+    public void testPollingIntervalIsDoubledWhenIdle() throws IOException, ApiException {
+        lights.put("1", json("{\"state\":{\"on\":true}}"));
+        registerLight("1");
+
+        long now = 0;
+        handler.poll(now);
+        assertEquals(now + LIGHT_POLLING_INTERVAL, handler.getNextLightPoll());
+
+        for (int i = 1; i < HueBridgeHandler.IDLE_LIGHT_POLLS; i++) {
+            now = handler.getNextLightPoll();
+            handler.poll(now);
+            assertEquals(now + LIGHT_POLLING_INTERVAL, handler.getNextLightPoll());
+        }
+
+        now = handler.getNextLightPoll();
+        handler.poll(now);
+        assertEquals(now + 2 * LIGHT_POLLING_INTERVAL, handler.getNextLightPoll());
+
+        // a change restores the configured interval
+        lights.put("1", json("{\"state\":{\"on\":false}}"));
+        now = handler.getNextLightPoll();
+        handler.poll(now);
+        assertEquals(now + LIGHT_POLLING_INTERVAL, handler.getNextLightPoll());
+    }
+
+    @Test
+    public void testCommandBringsNextPollForward() throws IOException, ApiException {
+        when(hueBridge.setLightState(any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(new Result("[]", 200)));
+        lights.put("1", json("{\"state\":{\"on\":true}}"));
+        LightStatusListener listener = registerLight("1");
+
+        long now = System.currentTimeMillis();
+        handler.poll(now);
+        assertEquals(now + LIGHT_POLLING_INTERVAL, handler.getNextLightPoll());
+
+        long fadeTime = 400;
+        FullLight light = mock(FullLight.class);
+        when(light.getId()).thenReturn("1");
+        handler.updateLightState(listener, light, new StateUpdate().turnOff(), fadeTime);
+
+        long nextLightPoll = handler.getNextLightPoll();
+        assertTrue(nextLightPoll < now + LIGHT_POLLING_INTERVAL);
+        assertTrue(nextLightPoll <= System.currentTimeMillis() + fadeTime + 1000);
+        verify(listener).setPollBypass(fadeTime);
+
+        // the light is sent to the listener again, even if the bridge still reports the same state
+        handler.poll(nextLightPoll);
+        verify(listener, times(2)).onLightStateChanged(any());
+    }
+}
@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.ipcamera.internal;
 
+import static org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.MOTION_DETECTOR_FFMPEG;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 
 /**
@@ -47,6 +49,8 @@ public class CameraConfig {
     private String mjpegOptions = "";
     private String snapshotOptions = "";
     private String motionOptions = "";
+    private String motionDetector = MOTION_DETECTOR_FFMPEG;
+    private String motionZones = "";
     private boolean ptzContinuous;
     private int gifPreroll;
 
@@ -70,6 +74,14 @@ public class CameraConfig {
         return motionOptions;
     }
 
+    public String getMotionDetector() {
+        return motionDetector;
+    }
+
+    public String getMotionZones() {
+        return motionZones;
+    }
+
     public String getMp4OutOptions() {
         return mp4OutOptions;
     }
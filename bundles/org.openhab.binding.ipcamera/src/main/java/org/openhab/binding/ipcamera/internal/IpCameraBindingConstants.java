@@ -33,6 +33,15 @@ public class IpCameraBindingConstants {
     public static final String COMMON_HANDLER = "commonHandler";
     public static final String INSTAR_HANDLER = "instarHandler";
 
+    // Binding configuration
+    public static final String CONFIG_CLIENT_THREADS = "clientThreads";
+    public static final String CONFIG_SERVER_THREADS = "serverThreads";
+    public static final String CONFIG_MOTION_DETECTION_THREADS = "motionDetectionThreads";
+
+    // Motion detectors
+    public static final String MOTION_DETECTOR_FFMPEG = "ffmpeg";
+    public static final String MOTION_DETECTOR_INTERNAL = "internal";
+
     public static enum FFmpegFormat {
         HLS,
         GIF,
@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+/**
+ * The {@link IpCameraEventLoopGroups} holds the Netty event loops that are shared by all handlers of the binding.
+ * The client group serves the connections to the cameras, the server group the stream servers.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public class IpCameraEventLoopGroups {
+    public static final int DEFAULT_CLIENT_THREADS = 4;
+    public static final int DEFAULT_SERVER_THREADS = 2;
+
+    private final EventLoopGroup clientGroup;
+    private final EventLoopGroup serverGroup;
+
+    public IpCameraEventLoopGroups(int clientThreads, int serverThreads) {
+        clientGroup = new NioEventLoopGroup(Math.max(1, clientThreads), new DefaultThreadFactory("ipcamera-client"));
+        serverGroup = new NioEventLoopGroup(Math.max(1, serverThreads), new DefaultThreadFactory("ipcamera-server"));
+    }
+
+    public EventLoopGroup getClientGroup() {
+        return clientGroup;
+    }
+
+    public EventLoopGroup getServerGroup() {
+        return serverGroup;
+    }
+
+    public void shutdown() {
+        clientGroup.shutdownGracefully();
+        serverGroup.shutdownGracefully();
+    }
+}
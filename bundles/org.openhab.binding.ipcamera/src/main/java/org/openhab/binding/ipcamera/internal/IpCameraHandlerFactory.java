@@ -14,10 +14,13 @@ package org.openhab.binding.ipcamera.internal;
 
 import static org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.*;
 
+import java.util.Map;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.ipcamera.internal.handler.IpCameraGroupHandler;
 import org.openhab.binding.ipcamera.internal.handler.IpCameraHandler;
+import org.openhab.binding.ipcamera.internal.motion.MotionDetectionPool;
 import org.openhab.core.net.NetworkAddressService;
 import org.openhab.core.thing.Thing;
 import org.openhab.core.thing.ThingTypeUID;
@@ -26,6 +29,7 @@ import org.openhab.core.thing.binding.ThingHandler;
 import org.openhab.core.thing.binding.ThingHandlerFactory;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 
 /**
@@ -40,12 +44,38 @@ public class IpCameraHandlerFactory extends BaseThingHandlerFactory {
     private final @Nullable String openhabIpAddress;
     private final GroupTracker groupTracker = new GroupTracker();
     private final IpCameraDynamicStateDescriptionProvider stateDescriptionProvider;
+    private final IpCameraEventLoopGroups eventLoopGroups;
+    private final MotionDetectionPool motionDetectionPool;
 
     @Activate
     public IpCameraHandlerFactory(final @Reference NetworkAddressService networkAddressService,
-            final @Reference IpCameraDynamicStateDescriptionProvider stateDescriptionProvider) {
+            final @Reference IpCameraDynamicStateDescriptionProvider stateDescriptionProvider,
+            Map<String, Object> config) {
         openhabIpAddress = networkAddressService.getPrimaryIpv4HostAddress();
         this.stateDescriptionProvider = stateDescriptionProvider;
+        eventLoopGroups = new IpCameraEventLoopGroups(
+                getIntConfig(config, CONFIG_CLIENT_THREADS, IpCameraEventLoopGroups.DEFAULT_CLIENT_THREADS),
+                getIntConfig(config, CONFIG_SERVER_THREADS, IpCameraEventLoopGroups.DEFAULT_SERVER_THREADS));
+        motionDetectionPool = new MotionDetectionPool(
+                getIntConfig(config, CONFIG_MOTION_DETECTION_THREADS, MotionDetectionPool.DEFAULT_THREADS));
+    }
+
+    @Deactivate
+    public void deactivate() {
+        eventLoopGroups.shutdown();
+        motionDetectionPool.shutdown();
+    }
+
+    private static int getIntConfig(Map<String, Object> config, String key, int defaultValue) {
+        Object value = config.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.toString().trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
     }
 
     @Override
@@ -61,9 +91,10 @@ public class IpCameraHandlerFactory extends BaseThingHandlerFactory {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (SUPPORTED_THING_TYPES.contains(thingTypeUID)) {
-            return new IpCameraHandler(thing, openhabIpAddress, groupTracker, stateDescriptionProvider);
+            return new IpCameraHandler(thing, openhabIpAddress, groupTracker, stateDescriptionProvider,
+                    eventLoopGroups, motionDetectionPool);
         } else if (GROUP_SUPPORTED_THING_TYPES.contains(thingTypeUID)) {
-            return new IpCameraGroupHandler(thing, openhabIpAddress, groupTracker);
+            return new IpCameraGroupHandler(thing, openhabIpAddress, groupTracker, eventLoopGroups);
         }
         return null;
     }
@@ -120,7 +120,7 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
                             if (!ipCameraHandler.snapshotPolling && ipCameraHandler.snapshotUri != "") {
                                 ipCameraHandler.sendHttpGET(ipCameraHandler.snapshotUri);
                             }
-                            if (ipCameraHandler.currentSnapshot.length == 1) {
+                            if (!ipCameraHandler.hasSnapshot()) {
                                 logger.warn("ipcamera.jpg was requested but there is no jpg in ram to send.");
                                 return;
                             }
@@ -194,6 +194,7 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
                     } else { // handles the snapshots that make up mjpeg from rtsp to ffmpeg conversions.
                         if (recievedBytes > 1000) {
                             ipCameraHandler.sendMjpegFrame(incomingJpeg, ipCameraHandler.mjpegChannelGroup);
+                            ipCameraHandler.analyzeMjpegFrame(incomingJpeg);
                         }
                     }
                     recievedBytes = 0;
@@ -206,22 +207,21 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
 
     private void sendSnapshotImage(ChannelHandlerContext ctx, String contentType) {
         HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
-        ipCameraHandler.lockCurrentSnapshot.lock();
-        try {
-            ByteBuf snapshotData = Unpooled.copiedBuffer(ipCameraHandler.currentSnapshot);
-            response.headers().add(HttpHeaderNames.CONTENT_TYPE, contentType);
-            response.headers().set(HttpHeaderNames.CACHE_CONTROL, HttpHeaderValues.NO_CACHE);
-            response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
-            response.headers().add(HttpHeaderNames.CONTENT_LENGTH, snapshotData.readableBytes());
-            response.headers().add("Access-Control-Allow-Origin", "*");
-            response.headers().add("Access-Control-Expose-Headers", "*");
-            ctx.channel().write(response);
-            ctx.channel().write(snapshotData);
-            ByteBuf footerBbuf = Unpooled.copiedBuffer("\r\n", 0, 2, StandardCharsets.UTF_8);
-            ctx.channel().writeAndFlush(footerBbuf);
-        } finally {
-            ipCameraHandler.lockCurrentSnapshot.unlock();
+        // retained duplicate of the shared snapshot, released by Netty once written
+        ByteBuf snapshotData = ipCameraHandler.getSnapshot();
+        if (snapshotData == null) {
+            return;
         }
+        response.headers().add(HttpHeaderNames.CONTENT_TYPE, contentType);
+        response.headers().set(HttpHeaderNames.CACHE_CONTROL, HttpHeaderValues.NO_CACHE);
+        response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+        response.headers().add(HttpHeaderNames.CONTENT_LENGTH, snapshotData.readableBytes());
+        response.headers().add("Access-Control-Allow-Origin", "*");
+        response.headers().add("Access-Control-Expose-Headers", "*");
+        ctx.channel().write(response);
+        ctx.channel().write(snapshotData);
+        ByteBuf footerBbuf = Unpooled.copiedBuffer("\r\n", 0, 2, StandardCharsets.UTF_8);
+        ctx.channel().writeAndFlush(footerBbuf);
     }
 
     private void sendFile(ChannelHandlerContext ctx, String fileUri, String contentType) throws IOException {
@@ -54,8 +54,11 @@ import org.openhab.binding.ipcamera.internal.InstarHandler;
 import org.openhab.binding.ipcamera.internal.IpCameraActions;
 import org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.FFmpegFormat;
 import org.openhab.binding.ipcamera.internal.IpCameraDynamicStateDescriptionProvider;
+import org.openhab.binding.ipcamera.internal.IpCameraEventLoopGroups;
 import org.openhab.binding.ipcamera.internal.MyNettyAuthHandler;
 import org.openhab.binding.ipcamera.internal.StreamServerHandler;
+import org.openhab.binding.ipcamera.internal.motion.MotionDetectionPool;
+import org.openhab.binding.ipcamera.internal.motion.MotionDetector;
 import org.openhab.binding.ipcamera.internal.onvif.OnvifConnection;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.IncreaseDecreaseType;
@@ -78,6 +81,7 @@ import org.slf4j.LoggerFactory;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelDuplexHandler;
@@ -89,7 +93,6 @@ import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.group.DefaultChannelGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
@@ -125,6 +128,8 @@ import io.netty.util.concurrent.GlobalEventExecutor;
 
 @NonNullByDefault
 public class IpCameraHandler extends BaseThingHandler {
+    // time without MJPEG frames from FFmpeg after which motion is detected from the snapshots again
+    private static final long MJPEG_FRAME_TIMEOUT = TimeUnit.SECONDS.toNanos(5);
     public final Logger logger = LoggerFactory.getLogger(getClass());
     public final IpCameraDynamicStateDescriptionProvider stateDescriptionProvider;
     private ScheduledExecutorService threadPool = Executors.newScheduledThreadPool(4);
@@ -151,8 +156,12 @@ public class IpCameraHandler extends BaseThingHandler {
     private @Nullable Bootstrap mainBootstrap;
     private @Nullable ServerBootstrap serverBootstrap;
 
-    private EventLoopGroup mainEventLoopGroup = new NioEventLoopGroup();
-    private EventLoopGroup serversLoopGroup = new NioEventLoopGroup();
+    private final EventLoopGroup mainEventLoopGroup;
+    private final EventLoopGroup serversLoopGroup;
+    private final ChannelGroup serverChannels = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
+    private final MotionDetectionPool motionDetectionPool;
+    private @Nullable MotionDetector motionDetector;
+    private volatile long lastMjpegFrameNanos = System.nanoTime() - MJPEG_FRAME_TIMEOUT;
     private FullHttpRequest putRequestWithBody = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, new HttpMethod("PUT"),
             "");
     private String gifFilename = "ipcamera";
@@ -180,8 +189,9 @@ public class IpCameraHandler extends BaseThingHandler {
     public String mjpegUri = "";
     private @Nullable ChannelFuture serverFuture = null;
     private Object firstStreamedMsg = new Object();
-    public byte[] currentSnapshot = new byte[] { (byte) 0x00 };
-    public ReentrantLock lockCurrentSnapshot = new ReentrantLock();
+    // pooled direct buffer, so it can be written to any number of channels without copying
+    private ByteBuf currentSnapshot = Unpooled.EMPTY_BUFFER;
+    private final ReentrantLock lockCurrentSnapshot = new ReentrantLock();
     public String rtspUri = "";
     public boolean audioAlarmUpdateSnapshot = false;
     private boolean motionAlarmUpdateSnapshot = false;
@@ -395,8 +405,12 @@ public class IpCameraHandler extends BaseThingHandler {
     }
 
     public IpCameraHandler(Thing thing, @Nullable String ipAddress, GroupTracker groupTracker,
-            IpCameraDynamicStateDescriptionProvider stateDescriptionProvider) {
+            IpCameraDynamicStateDescriptionProvider stateDescriptionProvider, IpCameraEventLoopGroups eventLoopGroups,
+            MotionDetectionPool motionDetectionPool) {
         super(thing);
+        this.mainEventLoopGroup = eventLoopGroups.getClientGroup();
+        this.serversLoopGroup = eventLoopGroups.getServerGroup();
+        this.motionDetectionPool = motionDetectionPool;
         this.stateDescriptionProvider = stateDescriptionProvider;
         if (ipAddress != null) {
             hostIp = ipAddress;
@@ -410,6 +424,10 @@ public class IpCameraHandler extends BaseThingHandler {
         return this;
     }
 
+    public EventLoopGroup getClientEventLoopGroup() {
+        return mainEventLoopGroup;
+    }
+
     // false clears the stored user/pass hash, true creates the hash
     public boolean setBasicAuth(boolean useBasic) {
         if (!useBasic) {
@@ -618,9 +636,14 @@ public class IpCameraHandler extends BaseThingHandler {
     }
 
     public void processSnapshot(byte[] incommingSnapshot) {
+        ByteBuf snapshot = PooledByteBufAllocator.DEFAULT.directBuffer(incommingSnapshot.length)
+                .writeBytes(incommingSnapshot);
+        ByteBuf previousSnapshot;
         lockCurrentSnapshot.lock();
         try {
-            currentSnapshot = incommingSnapshot;
+            previousSnapshot = currentSnapshot;
+            // one reference is held by currentSnapshot, the other one until the streams are served
+            currentSnapshot = snapshot.retain();
             if (cameraConfig.getGifPreroll() > 0) {
                 fifoSnapshotBuffer.add(incommingSnapshot);
                 if (fifoSnapshotBuffer.size() > (cameraConfig.getGifPreroll() + gifRecordTime)) {
@@ -630,18 +653,26 @@ public class IpCameraHandler extends BaseThingHandler {
         } finally {
             lockCurrentSnapshot.unlock();
         }
+        previousSnapshot.release();
 
-        if (streamingSnapshotMjpeg) {
-            sendMjpegFrame(incommingSnapshot, snapshotMjpegChannelGroup);
-        }
-        if (streamingAutoFps) {
-            if (motionDetected) {
-                sendMjpegFrame(incommingSnapshot, autoSnapshotMjpegChannelGroup);
-            } else if (updateAutoFps) {
-                // only happens every 8 seconds as some browsers need a frame that often to keep stream alive.
-                sendMjpegFrame(incommingSnapshot, autoSnapshotMjpegChannelGroup);
-                updateAutoFps = false;
+        try {
+            if (streamingSnapshotMjpeg) {
+                sendMjpegFrame(snapshot, snapshotMjpegChannelGroup);
             }
+            if (streamingAutoFps) {
+                if (motionDetected) {
+                    sendMjpegFrame(snapshot, autoSnapshotMjpegChannelGroup);
+                } else if (updateAutoFps) {
+                    // only happens every 8 seconds as some browsers need a frame that often to keep stream alive.
+                    sendMjpegFrame(snapshot, autoSnapshotMjpegChannelGroup);
+                    updateAutoFps = false;
+                }
+            }
+        } finally {
+            snapshot.release();
+        }
+        if (!isMjpegFrameSourceActive()) {
+            analyzeFrame(incommingSnapshot);
         }
 
         if (updateImageChannel) {
@@ -655,8 +686,67 @@ public class IpCameraHandler extends BaseThingHandler {
         }
     }
 
+    /**
+     * Returns the current snapshot, the caller has to release it or hand it to Netty for writing.
+     *
+     * @return a retained duplicate of the current snapshot or <code>null</code> if no snapshot was received yet
+     */
+    public @Nullable ByteBuf getSnapshot() {
+        lockCurrentSnapshot.lock();
+        try {
+            return currentSnapshot.isReadable() ? currentSnapshot.retainedDuplicate() : null;
+        } finally {
+            lockCurrentSnapshot.unlock();
+        }
+    }
+
+    public boolean hasSnapshot() {
+        lockCurrentSnapshot.lock();
+        try {
+            return currentSnapshot.isReadable();
+        } finally {
+            lockCurrentSnapshot.unlock();
+        }
+    }
+
+    /**
+     * Hands a frame of the MJPEG stream created by FFmpeg to the internal motion detector. While these frames arrive,
+     * they replace the snapshots for motion detection, so that the detector always compares frames of one source.
+     *
+     * @param jpeg the JPEG encoded frame, must not be modified afterwards
+     */
+    public void analyzeMjpegFrame(byte[] jpeg) {
+        lastMjpegFrameNanos = System.nanoTime();
+        analyzeFrame(jpeg);
+    }
+
+    private boolean isMjpegFrameSourceActive() {
+        return System.nanoTime() - lastMjpegFrameNanos < MJPEG_FRAME_TIMEOUT;
+    }
+
+    /**
+     * Hands a frame to the internal motion detector, if it is used and motion alarms are enabled.
+     *
+     * @param jpeg the JPEG encoded frame, must not be modified afterwards
+     */
+    private void analyzeFrame(byte[] jpeg) {
+        MotionDetector localDetector = motionDetector;
+        if (localDetector != null && motionAlarmEnabled) {
+            motionDetectionPool.submit(localDetector, jpeg);
+        }
+    }
+
+    private boolean isInternalMotionDetectionActive() {
+        return motionAlarmEnabled && motionDetector != null;
+    }
+
     public void stopStreamServer() {
-        serversLoopGroup.shutdownGracefully();
+        ChannelFuture localFuture = serverFuture;
+        if (localFuture != null) {
+            localFuture.channel().close();
+            serverFuture = null;
+        }
+        serverChannels.close();
         serverBootstrap = null;
     }
 
@@ -664,7 +754,6 @@ public class IpCameraHandler extends BaseThingHandler {
     public void startStreamServer() {
         if (serverBootstrap == null) {
             try {
-                serversLoopGroup = new NioEventLoopGroup();
                 serverBootstrap = new ServerBootstrap();
                 serverBootstrap.group(serversLoopGroup);
                 serverBootstrap.channel(NioServerSocketChannel.class);
@@ -673,6 +762,7 @@ public class IpCameraHandler extends BaseThingHandler {
                 serverBootstrap.childHandler(new ChannelInitializer<SocketChannel>() {
                     @Override
                     protected void initChannel(SocketChannel socketChannel) throws Exception {
+                        serverChannels.add(socketChannel);
                         socketChannel.pipeline().addLast("idleStateHandler", new IdleStateHandler(0, 60, 0));
                         socketChannel.pipeline().addLast("HttpServerCodec", new HttpServerCodec());
                         socketChannel.pipeline().addLast("ChunkedWriteHandler", new ChunkedWriteHandler());
@@ -836,15 +926,27 @@ public class IpCameraHandler extends BaseThingHandler {
     }
 
     public void sendMjpegFrame(byte[] jpg, ChannelGroup channelGroup) {
+        ByteBuf imageByteBuf = PooledByteBufAllocator.DEFAULT.directBuffer(jpg.length).writeBytes(jpg);
+        try {
+            sendMjpegFrame(imageByteBuf, channelGroup);
+        } finally {
+            imageByteBuf.release();
+        }
+    }
+
+    /**
+     * Sends a frame to all channels of the group. The channel group writes a retained duplicate of the image to
+     * each channel, so the content is not copied. The reference held by the caller is not released.
+     */
+    public void sendMjpegFrame(ByteBuf jpg, ChannelGroup channelGroup) {
         final String boundary = "thisMjpegStream";
-        ByteBuf imageByteBuf = Unpooled.copiedBuffer(jpg);
-        int length = imageByteBuf.readableBytes();
+        int length = jpg.readableBytes();
         String header = "--" + boundary + "\r\n" + "content-type: image/jpeg" + "\r\n" + "content-length: " + length
                 + "\r\n\r\n";
         ByteBuf headerBbuf = Unpooled.copiedBuffer(header, 0, header.length(), StandardCharsets.UTF_8);
         ByteBuf footerBbuf = Unpooled.copiedBuffer("\r\n", 0, 2, StandardCharsets.UTF_8);
         streamToGroup(headerBbuf, channelGroup, false);
-        streamToGroup(imageByteBuf, channelGroup, false);
+        streamToGroup(jpg.retainedDuplicate(), channelGroup, false);
         streamToGroup(footerBbuf, channelGroup, true);
     }
 
@@ -981,10 +1083,12 @@ public class IpCameraHandler extends BaseThingHandler {
                 setChannelState(CHANNEL_MP4_HISTORY, new StringType(mp4History));
                 break;
             case RTSP_ALARMS:
+                // motion is detected from the snapshots if the internal detector is used
+                boolean ffmpegMotionAlarm = motionAlarmEnabled && motionDetector == null;
                 Ffmpeg localAlarms = ffmpegRtspHelper;
                 if (localAlarms != null) {
                     localAlarms.stopConverting();
-                    if (!audioAlarmEnabled && !motionAlarmEnabled) {
+                    if (!audioAlarmEnabled && !ffmpegMotionAlarm) {
                         return;
                     }
                 }
@@ -995,9 +1099,9 @@ public class IpCameraHandler extends BaseThingHandler {
                 } else {
                     filterOptions = "-af silencedetect=n=-" + audioThreshold + "dB:d=2";
                 }
-                if (!motionAlarmEnabled && !ffmpegSnapshotGeneration) {
+                if (!ffmpegMotionAlarm && !ffmpegSnapshotGeneration) {
                     filterOptions = filterOptions.concat(" -vn");
-                } else if (motionAlarmEnabled && !cameraConfig.getMotionOptions().isEmpty()) {
+                } else if (ffmpegMotionAlarm && !cameraConfig.getMotionOptions().isEmpty()) {
                     String usersMotionOptions = cameraConfig.getMotionOptions();
                     if (usersMotionOptions.startsWith("-")) {
                         // Need to put the users custom options first in the chain before the motion is detected
@@ -1007,7 +1111,7 @@ public class IpCameraHandler extends BaseThingHandler {
                         filterOptions = filterOptions + " " + usersMotionOptions + " -vf select='gte(scene,"
                                 + motionThreshold + ")',metadata=print";
                     }
-                } else if (motionAlarmEnabled) {
+                } else if (ffmpegMotionAlarm) {
                     filterOptions = filterOptions
                             .concat(" -vf select='gte(scene," + motionThreshold + ")',metadata=print");
                 }
@@ -1213,6 +1317,23 @@ public class IpCameraHandler extends BaseThingHandler {
                         motionThreshold = Double.valueOf(command.toString());
                         motionThreshold = motionThreshold / 10000;
                     }
+                    MotionDetector localDetector = motionDetector;
+                    if (localDetector != null) {
+                        // the internal detector uses the value as percentage of changed blocks
+                        localDetector.setThreshold(motionThreshold * 100);
+                        if (motionAlarmEnabled) {
+                            startSnapshotPolling();
+                        } else {
+                            stopSnapshotPolling();
+                        }
+                        if (!audioAlarmEnabled) {
+                            Ffmpeg localAlarms = ffmpegRtspHelper;
+                            if (localAlarms != null) {
+                                localAlarms.stopConverting();
+                            }
+                            return;
+                        }
+                    }
                     setupFfmpegFormat(FFmpegFormat.RTSP_ALARMS);
                     return;
                 case CHANNEL_START_STREAM:
@@ -1412,7 +1533,8 @@ public class IpCameraHandler extends BaseThingHandler {
             localFuture.cancel(false);
         }
 
-        if (cameraConfig.getGifPreroll() > 0 || cameraConfig.getUpdateImageWhen().contains("1")) {
+        if (cameraConfig.getGifPreroll() > 0 || cameraConfig.getUpdateImageWhen().contains("1")
+                || isInternalMotionDetectionActive()) {
             snapshotPolling = true;
             snapshotJob = threadPool.scheduleAtFixedRate(this::snapshotRunnable, 1000, cameraConfig.getPollTime(),
                     TimeUnit.MILLISECONDS);
@@ -1514,6 +1636,9 @@ public class IpCameraHandler extends BaseThingHandler {
     }
 
     public void stopSnapshotPolling() {
+        if (isInternalMotionDetectionActive()) {
+            return; // the motion detector needs the snapshots
+        }
         Future<?> localFuture;
         if (!streamingSnapshotMjpeg && cameraConfig.getGifPreroll() == 0
                 && !cameraConfig.getUpdateImageWhen().contains("1")) {
@@ -1539,7 +1664,8 @@ public class IpCameraHandler extends BaseThingHandler {
             snapshotPolling = true;
             snapshotJob = threadPool.scheduleAtFixedRate(this::snapshotRunnable, 200, cameraConfig.getPollTime(),
                     TimeUnit.MILLISECONDS);
-        } else if (cameraConfig.getUpdateImageWhen().contains("4")) { // During Motion Alarms
+        } else if (cameraConfig.getUpdateImageWhen().contains("4") || isInternalMotionDetectionActive()) {
+            // During Motion Alarms or for the internal motion detector
             snapshotPolling = true;
             snapshotJob = threadPool.scheduleAtFixedRate(this::snapshotRunnable, 200, cameraConfig.getPollTime(),
                     TimeUnit.MILLISECONDS);
@@ -1624,6 +1750,18 @@ public class IpCameraHandler extends BaseThingHandler {
     @Override
     public void initialize() {
         cameraConfig = getConfigAs(CameraConfig.class);
+        if (MOTION_DETECTOR_INTERNAL.equals(cameraConfig.getMotionDetector())) {
+            motionDetector = new MotionDetector(getThing().getUID().getId(), cameraConfig.getMotionZones(),
+                    motionThreshold * 100, state -> {
+                        if (OnOffType.ON.equals(state)) {
+                            motionDetected(CHANNEL_FFMPEG_MOTION_ALARM);
+                        } else {
+                            noMotionDetected(CHANNEL_FFMPEG_MOTION_ALARM);
+                        }
+                    });
+        } else {
+            motionDetector = null;
+        }
         snapshotUri = getCorrectUrlFormat(cameraConfig.getSnapshotUrl());
         mjpegUri = getCorrectUrlFormat(cameraConfig.getMjpegUrl());
         rtspUri = cameraConfig.getFfmpegInput();
@@ -1717,6 +1855,7 @@ public class IpCameraHandler extends BaseThingHandler {
     public void dispose() {
         isOnline = false;
         snapshotPolling = false;
+        motionDetector = null;
         onvifCamera.disconnect();
         Future<?> localFuture = pollCameraJob;
         if (localFuture != null) {
@@ -1743,6 +1882,13 @@ public class IpCameraHandler extends BaseThingHandler {
         useDigestAuth = false;
         stopStreamServer();
         openChannels.close();
+        lockCurrentSnapshot.lock();
+        try {
+            currentSnapshot.release();
+            currentSnapshot = Unpooled.EMPTY_BUFFER;
+        } finally {
+            lockCurrentSnapshot.unlock();
+        }
 
         Ffmpeg localFfmpeg = ffmpegHLS;
         if (localFfmpeg != null) {
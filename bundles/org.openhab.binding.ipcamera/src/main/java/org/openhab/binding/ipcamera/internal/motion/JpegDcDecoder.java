@@ -0,0 +1,455 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal.motion;
+
+import java.awt.image.Raster;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Iterator;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link JpegDcDecoder} creates a {@link LumaImage} from a JPEG by only decoding the DC coefficients of the
+ * luminance component. The DC coefficient is the average of an 8x8 block, so neither the inverse DCT nor the color
+ * conversion is needed. The AC coefficients are Huffman decoded but skipped.
+ *
+ * Only baseline (sequential, Huffman coded, 8 bit) images are decoded this way, other images are decoded with ImageIO
+ * using a source subsampling of 8.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public class JpegDcDecoder {
+    private static final int LOOKUP_BITS = 9;
+
+    private static class HuffmanTable {
+        private final int[] minCode = new int[17];
+        private final int[] maxCode = new int[18];
+        private final int[] valPtr = new int[17];
+        private final int[] values;
+        // (code length << 8) | value for all codes not longer than LOOKUP_BITS, 0 if longer
+        private final int[] lookup = new int[1 << LOOKUP_BITS];
+
+        private HuffmanTable(int[] counts, int[] values) {
+            this.values = values;
+            int code = 0;
+            int k = 0;
+            for (int length = 1; length <= 16; length++) {
+                valPtr[length] = k;
+                minCode[length] = code;
+                for (int i = 0; i < counts[length - 1]; i++) {
+                    if (length <= LOOKUP_BITS) {
+                        int shift = LOOKUP_BITS - length;
+                        for (int fill = 0; fill < (1 << shift); fill++) {
+                            lookup[(code << shift) | fill] = (length << 8) | values[k];
+                        }
+                    }
+                    code++;
+                    k++;
+                }
+                maxCode[length] = counts[length - 1] == 0 ? -1 : code - 1;
+                code <<= 1;
+            }
+            maxCode[17] = Integer.MAX_VALUE;
+        }
+    }
+
+    private static class Component {
+        private final int id;
+        private final int h;
+        private final int v;
+        private final int quantTable;
+        private @Nullable HuffmanTable dcTable;
+        private @Nullable HuffmanTable acTable;
+        private int prediction;
+
+        private Component(int id, int h, int v, int quantTable) {
+            this.id = id;
+            this.h = h;
+            this.v = v;
+            this.quantTable = quantTable;
+        }
+    }
+
+    private static class UnsupportedJpegException extends Exception {
+        private static final long serialVersionUID = 1L;
+    }
+
+    private final byte[] data;
+    private int pos;
+    private int end;
+
+    private long bitBuffer;
+    private int bitCount;
+    private boolean markerReached;
+
+    private JpegDcDecoder(byte[] data) {
+        this.data = data;
+        this.end = data.length;
+    }
+
+    /**
+     * Decode the luminance of a JPEG image at 1/8 of its resolution
+     *
+     * @param jpeg the JPEG image
+     * @return the luminance image or <code>null</code> if the image could not be decoded
+     */
+    public static @Nullable LumaImage decode(byte[] jpeg) {
+        try {
+            return new JpegDcDecoder(jpeg).decodeBaseline();
+        } catch (UnsupportedJpegException e) {
+            return decodeWithImageIO(jpeg);
+        } catch (IndexOutOfBoundsException | IllegalStateException e) {
+            // truncated or corrupt image
+            return null;
+        }
+    }
+
+    private @Nullable LumaImage decodeBaseline() throws UnsupportedJpegException {
+        if (end < 4 || (data[0] & 0xFF) != 0xFF || (data[1] & 0xFF) != 0xD8) {
+            return null;
+        }
+        pos = 2;
+
+        int[] dcQuant = new int[4];
+        HuffmanTable[] dcTables = new HuffmanTable[4];
+        HuffmanTable[] acTables = new HuffmanTable[4];
+        Component[] components = null;
+        int width = 0;
+        int height = 0;
+        int restartInterval = 0;
+
+        while (pos + 4 <= end) {
+            if ((data[pos] & 0xFF) != 0xFF) {
+                return null;
+            }
+            int marker = data[pos + 1] & 0xFF;
+            if (marker == 0xFF) {
+                // fill byte
+                pos++;
+                continue;
+            }
+            pos += 2;
+            if (marker == 0xD8 || marker == 0x01 || (marker >= 0xD0 && marker <= 0xD7)) {
+                // markers without segment
+                continue;
+            } else if (marker == 0xD9) {
+                return null;
+            }
+            int segmentLength = readUnsignedShort(pos);
+            int segmentStart = pos + 2;
+            int segmentEnd = pos + segmentLength;
+
+            switch (marker) {
+                case 0xC0: // baseline
+                case 0xC1: // extended sequential, Huffman
+                    if ((data[segmentStart] & 0xFF) != 8) {
+                        throw new UnsupportedJpegException();
+                    }
+                    height = readUnsignedShort(segmentStart + 1);
+                    width = readUnsignedShort(segmentStart + 3);
+                    int componentCount = data[segmentStart + 5] & 0xFF;
+                    components = new Component[componentCount];
+                    for (int i = 0; i < componentCount; i++) {
+                        int offset = segmentStart + 6 + i * 3;
+                        int sampling = data[offset + 1] & 0xFF;
+                        components[i] = new Component(data[offset] & 0xFF, sampling >> 4, sampling & 0x0F,
+                                data[offset + 2] & 0x03);
+                    }
+                    if (width == 0 || height == 0 || componentCount == 0) {
+                        throw new UnsupportedJpegException();
+                    }
+                    break;
+                case 0xC4: // Huffman tables
+                    int tablePos = segmentStart;
+                    while (tablePos < segmentEnd) {
+                        int tableInfo = data[tablePos] & 0xFF;
+                        int[] counts = new int[16];
+                        int total = 0;
+                        for (int i = 0; i < 16; i++) {
+                            counts[i] = data[tablePos + 1 + i] & 0xFF;
+                            total += counts[i];
+                        }
+                        int[] values = new int[total];
+                        for (int i = 0; i < total; i++) {
+                            values[i] = data[tablePos + 17 + i] & 0xFF;
+                        }
+                        HuffmanTable table = new HuffmanTable(counts, values);
+                        if ((tableInfo >> 4) == 0) {
+                            dcTables[tableInfo & 0x03] = table;
+                        } else {
+                            acTables[tableInfo & 0x03] = table;
+                        }
+                        tablePos += 17 + total;
+                    }
+                    break;
+                case 0xDB: // quantization tables, only the DC value is needed
+                    int quantPos = segmentStart;
+                    while (quantPos < segmentEnd) {
+                        int tableInfo = data[quantPos] & 0xFF;
+                        boolean wide = (tableInfo >> 4) != 0;
+                        dcQuant[tableInfo & 0x03] = wide ? readUnsignedShort(quantPos + 1)
+                                : data[quantPos + 1] & 0xFF;
+                        quantPos += wide ? 129 : 65;
+                    }
+                    break;
+                case 0xDD: // restart interval
+                    restartInterval = readUnsignedShort(segmentStart);
+                    break;
+                case 0xDA: // start of scan
+                    if (components == null) {
+                        return null;
+                    }
+                    int scanCount = data[segmentStart] & 0xFF;
+                    Component[] scanComponents = new Component[scanCount];
+                    for (int i = 0; i < scanCount; i++) {
+                        int id = data[segmentStart + 1 + i * 2] & 0xFF;
+                        int tables = data[segmentStart + 2 + i * 2] & 0xFF;
+                        for (Component component : components) {
+                            if (component.id == id) {
+                                component.dcTable = dcTables[tables >> 4];
+                                component.acTable = acTables[tables & 0x03];
+                                scanComponents[i] = component;
+                            }
+                        }
+                        if (scanComponents[i] == null) {
+                            return null;
+                        }
+                    }
+                    pos = segmentEnd;
+                    return decodeScan(components, scanComponents, width, height, restartInterval,
+                            dcQuant[components[0].quantTable]);
+                default:
+                    if (marker >= 0xC2 && marker <= 0xCF && marker != 0xC4 && marker != 0xC8 && marker != 0xCC) {
+                        // progressive, lossless or arithmetic coding
+                        throw new UnsupportedJpegException();
+                    }
+                    // APPn, COM and others are skipped
+                    break;
+            }
+            pos = segmentEnd;
+        }
+        return null;
+    }
+
+    private LumaImage decodeScan(Component[] components, Component[] scanComponents, int width, int height,
+            int restartInterval, int lumaQuant) throws UnsupportedJpegException {
+        Component luma = components[0];
+        if (scanComponents[0] != luma) {
+            // the luminance is not part of the first scan
+            throw new UnsupportedJpegException();
+        }
+        int maxH = 1;
+        int maxV = 1;
+        for (Component component : components) {
+            maxH = Math.max(maxH, component.h);
+            maxV = Math.max(maxV, component.v);
+        }
+
+        int mcusX;
+        int mcusY;
+        int lumaWidth;
+        int lumaHeight;
+        if (scanComponents.length == 1) {
+            // non-interleaved: one block per MCU
+            lumaWidth = ((width * luma.h + maxH - 1) / maxH + 7) / 8;
+            lumaHeight = ((height * luma.v + maxV - 1) / maxV + 7) / 8;
+            mcusX = lumaWidth;
+            mcusY = lumaHeight;
+        } else {
+            mcusX = (width + 8 * maxH - 1) / (8 * maxH);
+            mcusY = (height + 8 * maxV - 1) / (8 * maxV);
+            lumaWidth = mcusX * luma.h;
+            lumaHeight = mcusY * luma.v;
+        }
+        int[] values = new int[lumaWidth * lumaHeight];
+
+        int mcuCount = mcusX * mcusY;
+        for (int mcu = 0; mcu < mcuCount; mcu++) {
+            if (restartInterval > 0 && mcu > 0 && mcu % restartInterval == 0) {
+                restart(components);
+            }
+            int mcuX = mcu % mcusX;
+            int mcuY = mcu / mcusX;
+            for (Component component : scanComponents) {
+                int blocksH = scanComponents.length == 1 ? 1 : component.h;
+                int blocksV = scanComponents.length == 1 ? 1 : component.v;
+                for (int v = 0; v < blocksV; v++) {
+                    for (int h = 0; h < blocksH; h++) {
+                        int dc = decodeBlock(component);
+                        if (component == luma) {
+                            int value = dc * lumaQuant / 8 + 128;
+                            values[(mcuY * blocksV + v) * lumaWidth + mcuX * blocksH + h] = Math.max(0,
+                                    Math.min(255, value));
+                        }
+                    }
+                }
+            }
+        }
+        return new LumaImage(lumaWidth, lumaHeight, values);
+    }
+
+    private int decodeBlock(Component component) {
+        HuffmanTable dcTable = component.dcTable;
+        HuffmanTable acTable = component.acTable;
+        if (dcTable == null || acTable == null) {
+            throw new IllegalStateException("Missing Huffman table");
+        }
+        int size = decodeHuffman(dcTable);
+        if (size > 0) {
+            component.prediction += extend(receive(size), size);
+        }
+        for (int k = 1; k < 64; k++) {
+            int rs = decodeHuffman(acTable);
+            int run = rs >> 4;
+            size = rs & 0x0F;
+            if (size == 0) {
+                if (run != 15) {
+                    // end of block
+                    break;
+                }
+                k += 15;
+            } else {
+                k += run;
+                skipBits(size);
+            }
+        }
+        return component.prediction;
+    }
+
+    private void restart(Component[] components) {
+        bitBuffer = 0;
+        bitCount = 0;
+        if (!markerReached) {
+            // find the restart marker
+            while (pos + 1 < end && !((data[pos] & 0xFF) == 0xFF && (data[pos + 1] & 0xF8) == 0xD0)) {
+                pos++;
+            }
+        }
+        pos += 2;
+        markerReached = false;
+        for (Component component : components) {
+            component.prediction = 0;
+        }
+    }
+
+    private void fillBits() {
+        while (bitCount <= 48) {
+            int b = 0;
+            if (!markerReached && pos < end) {
+                b = data[pos] & 0xFF;
+                if (b == 0xFF) {
+                    int next = pos + 1 < end ? data[pos + 1] & 0xFF : 0xD9;
+                    if (next == 0) {
+                        pos += 2;
+                    } else {
+                        // a marker ends the entropy coded segment, feed zeros
+                        markerReached = true;
+                        b = 0;
+                    }
+                } else {
+                    pos++;
+                }
+            }
+            bitBuffer = (bitBuffer << 8) | b;
+            bitCount += 8;
+        }
+    }
+
+    private int peekBits(int count) {
+        if (bitCount < count) {
+            fillBits();
+        }
+        return (int) (bitBuffer >>> (bitCount - count)) & ((1 << count) - 1);
+    }
+
+    private void skipBits(int count) {
+        if (bitCount < count) {
+            fillBits();
+        }
+        bitCount -= count;
+    }
+
+    private int receive(int count) {
+        int value = peekBits(count);
+        bitCount -= count;
+        return value;
+    }
+
+    private static int extend(int value, int size) {
+        return value < (1 << (size - 1)) ? value - (1 << size) + 1 : value;
+    }
+
+    private int decodeHuffman(HuffmanTable table) {
+        int entry = table.lookup[peekBits(LOOKUP_BITS)];
+        if (entry != 0) {
+            bitCount -= entry >> 8;
+            return entry & 0xFF;
+        }
+        int length = LOOKUP_BITS + 1;
+        int code = peekBits(length);
+        while (code > table.maxCode[length]) {
+            length++;
+            if (length > 16) {
+                throw new IllegalStateException("Invalid Huffman code");
+            }
+            code = peekBits(length);
+        }
+        bitCount -= length;
+        return table.values[table.valPtr[length] + code - table.minCode[length]];
+    }
+
+    private int readUnsignedShort(int offset) {
+        return ((data[offset] & 0xFF) << 8) | (data[offset + 1] & 0xFF);
+    }
+
+    private static @Nullable LumaImage decodeWithImageIO(byte[] jpeg) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(jpeg))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(8, 8, 0, 0);
+                Raster raster = reader.read(0, param).getRaster();
+                int width = raster.getWidth();
+                int height = raster.getHeight();
+                int bands = raster.getNumBands();
+                int[] luma = new int[width * height];
+                int[] pixel = new int[bands];
+                for (int y = 0; y < height; y++) {
+                    for (int x = 0; x < width; x++) {
+                        raster.getPixel(x, y, pixel);
+                        luma[y * width + x] = bands < 3 ? pixel[0]
+                                : (77 * pixel[0] + 150 * pixel[1] + 29 * pixel[2]) >> 8;
+                    }
+                }
+                return new LumaImage(width, height, luma);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+}
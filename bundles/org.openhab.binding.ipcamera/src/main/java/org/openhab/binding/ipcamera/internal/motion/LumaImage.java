@@ -0,0 +1,49 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal.motion;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link LumaImage} is a downscaled luminance image, one value (0-255) per 8x8 block of the source image.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public class LumaImage {
+    private final int width;
+    private final int height;
+    private final int[] luma;
+
+    public LumaImage(int width, int height, int[] luma) {
+        this.width = width;
+        this.height = height;
+        this.luma = luma;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int get(int x, int y) {
+        return luma[y * width + x];
+    }
+
+    int[] getLuma() {
+        return luma;
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal.motion;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.common.NamedThreadFactory;
+
+/**
+ * The {@link MotionDetectionPool} runs the {@link MotionDetector}s of all cameras on a bounded number of threads.
+ * Each camera has at most one frame queued or in analysis, further frames of that camera are skipped until the
+ * detector is idle again.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public class MotionDetectionPool {
+    public static final int DEFAULT_THREADS = 1;
+    private static final int QUEUE_SIZE = 64;
+
+    private final ThreadPoolExecutor executor;
+
+    public MotionDetectionPool(int threads) {
+        int poolSize = Math.max(1, threads);
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_SIZE), new NamedThreadFactory("ipcamera-motion"));
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Queue a frame for analysis
+     *
+     * @param detector the detector of the camera
+     * @param jpeg the JPEG encoded frame, must not be modified afterwards
+     */
+    public void submit(MotionDetector detector, byte[] jpeg) {
+        if (!detector.tryAcquire()) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    detector.analyze(jpeg);
+                } finally {
+                    detector.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            detector.release();
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,256 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal.motion;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.OnOffType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link MotionDetector} detects motion by comparing the luminance of consecutive frames of a camera.
+ *
+ * Each frame is reduced to one value per 8x8 block (see {@link JpegDcDecoder}). A block has changed if its
+ * difference to the previous frame exceeds {@link #BLOCK_THRESHOLD} after removing the average difference of all
+ * blocks, which compensates for exposure changes. Motion is reported if the share of changed blocks inside the zones
+ * reaches the threshold, and reported to have stopped after {@link #QUIET_FRAMES} frames without motion.
+ *
+ * Frames are only compared with the previous frame of the same size. If a camera delivers frames of different sizes,
+ * e.g. when switching between snapshots and an MJPEG stream, up to {@link #MAX_FRAME_SIZES} sizes are tracked
+ * separately instead of restarting the comparison on every change.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public class MotionDetector {
+    static final int BLOCK_THRESHOLD = 12;
+    static final int QUIET_FRAMES = 3;
+    static final int MAX_FRAME_SIZES = 2;
+    private static final long STATISTICS_INTERVAL = TimeUnit.MINUTES.toNanos(5);
+
+    private final Logger logger = LoggerFactory.getLogger(MotionDetector.class);
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+    private final String name;
+    private final List<double[]> zones = new ArrayList<>();
+    private final Consumer<OnOffType> listener;
+    private final AtomicBoolean busy = new AtomicBoolean();
+
+    private volatile double threshold;
+    private final Map<Long, Baseline> baselines = new LinkedHashMap<>(MAX_FRAME_SIZES + 1, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<Long, Baseline> eldest) {
+            return size() > MAX_FRAME_SIZES;
+        }
+    };
+    private boolean motion = false;
+    private int quietFrames = 0;
+
+    // statistics
+    private long statisticsStart = System.nanoTime();
+    private long analyzedFrames;
+    private final AtomicLong skippedFrames = new AtomicLong();
+    private long cpuNanos;
+
+    /**
+     * Create a detector
+     *
+     * @param name name of the camera, used for logging
+     * @param zones semicolon separated list of zones, each zone given as "x,y,width,height" in percent of the image,
+     *            an empty string uses the whole image
+     * @param threshold share of changed blocks (0-1) that is considered as motion
+     * @param listener receives {@link OnOffType#ON} when motion starts and {@link OnOffType#OFF} when it stops
+     */
+    public MotionDetector(String name, String zones, double threshold, Consumer<OnOffType> listener) {
+        this.name = name;
+        this.threshold = threshold;
+        this.listener = listener;
+        for (String zone : zones.split(";")) {
+            if (zone.isBlank()) {
+                continue;
+            }
+            String[] values = zone.split(",");
+            try {
+                if (values.length != 4) {
+                    throw new NumberFormatException();
+                }
+                double[] rectangle = new double[4];
+                for (int i = 0; i < 4; i++) {
+                    rectangle[i] = Math.max(0, Math.min(100, Double.parseDouble(values[i].trim()))) / 100;
+                }
+                this.zones.add(rectangle);
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring invalid motion zone '{}' for camera {}, expected 'x,y,width,height' in percent",
+                        zone, name);
+            }
+        }
+    }
+
+    public void setThreshold(double threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * Mark the detector as busy, frames arriving while a frame is analyzed are skipped
+     *
+     * @return <code>true</code> if the detector was idle and the frame shall be analyzed
+     */
+    boolean tryAcquire() {
+        if (busy.compareAndSet(false, true)) {
+            return true;
+        }
+        skippedFrames.incrementAndGet();
+        return false;
+    }
+
+    void release() {
+        busy.set(false);
+    }
+
+    /**
+     * Analyze a frame
+     *
+     * @param jpeg the JPEG encoded frame
+     */
+    synchronized void analyze(byte[] jpeg) {
+        long cpuStart = threadMXBean.isCurrentThreadCpuTimeSupported() ? threadMXBean.getCurrentThreadCpuTime() : 0;
+        LumaImage image = JpegDcDecoder.decode(jpeg);
+        if (image != null) {
+            analyze(image);
+        } else {
+            logger.trace("Could not decode frame of camera {}", name);
+        }
+        if (cpuStart > 0) {
+            cpuNanos += threadMXBean.getCurrentThreadCpuTime() - cpuStart;
+        }
+        analyzedFrames++;
+        logStatistics();
+    }
+
+    synchronized void analyze(LumaImage image) {
+        long size = ((long) image.getWidth() << 32) | image.getHeight();
+        Baseline baseline = baselines.get(size);
+        if (baseline == null) {
+            baselines.put(size, new Baseline(image));
+            return;
+        }
+        LumaImage previous = baseline.previous;
+        baseline.previous = image;
+        boolean[] mask = baseline.mask;
+        int maskedBlocks = baseline.maskedBlocks;
+        if (maskedBlocks == 0) {
+            return;
+        }
+
+        int[] current = image.getLuma();
+        int[] last = previous.getLuma();
+        long sum = 0;
+        for (int i = 0; i < current.length; i++) {
+            if (mask[i]) {
+                sum += current[i] - last[i];
+            }
+        }
+        int shift = (int) (sum / maskedBlocks);
+        int changed = 0;
+        for (int i = 0; i < current.length; i++) {
+            if (mask[i] && Math.abs(current[i] - last[i] - shift) > BLOCK_THRESHOLD) {
+                changed++;
+            }
+        }
+        double share = (double) changed / maskedBlocks;
+        logger.trace("Camera {}: {} of {} blocks changed", name, changed, maskedBlocks);
+
+        if (share >= threshold) {
+            quietFrames = 0;
+            if (!motion) {
+                motion = true;
+                listener.accept(OnOffType.ON);
+            }
+        } else if (motion && ++quietFrames >= QUIET_FRAMES) {
+            motion = false;
+            listener.accept(OnOffType.OFF);
+        }
+    }
+
+    private boolean[] createMask(int width, int height) {
+        boolean[] mask = new boolean[width * height];
+        if (zones.isEmpty()) {
+            Arrays.fill(mask, true);
+            return mask;
+        }
+        for (double[] zone : zones) {
+            int x0 = (int) Math.floor(zone[0] * width);
+            int y0 = (int) Math.floor(zone[1] * height);
+            int x1 = Math.min(width, (int) Math.ceil((zone[0] + zone[2]) * width));
+            int y1 = Math.min(height, (int) Math.ceil((zone[1] + zone[3]) * height));
+            for (int y = y0; y < y1; y++) {
+                for (int x = x0; x < x1; x++) {
+                    mask[y * width + x] = true;
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * The previous frame and the zone mask for one frame size
+     */
+    private class Baseline {
+        private LumaImage previous;
+        private final boolean[] mask;
+        private final int maskedBlocks;
+
+        private Baseline(LumaImage image) {
+            this.previous = image;
+            this.mask = createMask(image.getWidth(), image.getHeight());
+            int count = 0;
+            for (boolean masked : mask) {
+                if (masked) {
+                    count++;
+                }
+            }
+            this.maskedBlocks = count;
+        }
+    }
+
+    private void logStatistics() {
+        long now = System.nanoTime();
+        long elapsed = now - statisticsStart;
+        if (elapsed < STATISTICS_INTERVAL || !logger.isDebugEnabled()) {
+            return;
+        }
+        logger.debug(
+                "Motion detection for camera {}: {} frames analyzed, {} skipped, {} ms CPU per frame, {}% of one core",
+                name, analyzedFrames, skippedFrames.getAndSet(0),
+                analyzedFrames > 0 ? String.format("%.2f", cpuNanos / 1e6 / analyzedFrames) : "-",
+                String.format("%.3f", 100.0 * cpuNanos / elapsed));
+        statisticsStart = now;
+        analyzedFrames = 0;
+        cpuNanos = 0;
+    }
+}
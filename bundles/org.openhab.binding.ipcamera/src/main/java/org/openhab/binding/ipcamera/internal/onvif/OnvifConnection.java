@@ -27,7 +27,6 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Random;
 import java.util.TimeZone;
-import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -47,8 +46,6 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
-import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
@@ -111,7 +108,6 @@ public class OnvifConnection {
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
     private @Nullable Bootstrap bootstrap;
-    private EventLoopGroup mainEventLoopGroup = new NioEventLoopGroup();
     private String ipAddress = "";
     private String user = "";
     private String password = "";
@@ -497,7 +493,7 @@ public class OnvifConnection {
     public void sendOnvifRequest(HttpRequest request) {
         if (bootstrap == null) {
             bootstrap = new Bootstrap();
-            bootstrap.group(mainEventLoopGroup);
+            bootstrap.group(ipCameraHandler.getClientEventLoopGroup());
             bootstrap.channel(NioSocketChannel.class);
             bootstrap.option(ChannelOption.SO_KEEPALIVE, true);
             bootstrap.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 10000);
@@ -834,15 +830,7 @@ public class OnvifConnection {
         isConnected = false;
         presetTokens.clear();
         mediaProfileTokens.clear();
-        if (!mainEventLoopGroup.isShutdown()) {
-            try {
-                mainEventLoopGroup.awaitTermination(3, TimeUnit.SECONDS);
-            } catch (InterruptedException e) {
-                logger.info("Onvif was not shutdown correctly due to being interrupted");
-            } finally {
-                mainEventLoopGroup = new NioEventLoopGroup();
-                bootstrap = null;
-            }
-        }
+        // the event loop group is shared with the camera handler, connections are closed by the camera
+        bootstrap = null;
     }
 }
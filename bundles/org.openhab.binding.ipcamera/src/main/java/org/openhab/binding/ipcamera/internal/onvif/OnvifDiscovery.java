@@ -228,7 +228,7 @@ public class OnvifDiscovery {
             TimeUnit.SECONDS.sleep(6);
             openChannels.close();
             processCameraReplys();
-            bootstrap.config().group().shutdownGracefully();
         }
+        bootstrap.config().group().shutdownGracefully();
     }
 }
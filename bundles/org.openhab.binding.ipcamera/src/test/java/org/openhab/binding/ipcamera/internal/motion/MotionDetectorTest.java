@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal.motion;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.types.OnOffType;
+
+/**
+ * Tests for the {@link MotionDetector} and {@link JpegDcDecoder}
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public class MotionDetectorTest {
+    private static final int WIDTH = 16;
+    private static final int HEIGHT = 12;
+
+    private final List<OnOffType> events = new ArrayList<>();
+
+    private static LumaImage image(int value) {
+        int[] luma = new int[WIDTH * HEIGHT];
+        Arrays.fill(luma, value);
+        return new LumaImage(WIDTH, HEIGHT, luma);
+    }
+
+    private static LumaImage imageWithBox(int background, int box, int x0, int y0, int size) {
+        LumaImage image = image(background);
+        for (int y = y0; y < y0 + size; y++) {
+            for (int x = x0; x < x0 + size; x++) {
+                image.getLuma()[y * WIDTH + x] = box;
+            }
+        }
+        return image;
+    }
+
+    @Test
+    public void motionStartsAndStops() {
+        MotionDetector detector = new MotionDetector("test", "", 0.1, events::add);
+        detector.analyze(image(100));
+        detector.analyze(imageWithBox(100, 200, 0, 0, 6));
+        assertEquals(List.of(OnOffType.ON), events);
+
+        for (int i = 0; i < MotionDetector.QUIET_FRAMES; i++) {
+            detector.analyze(imageWithBox(100, 200, 0, 0, 6));
+        }
+        assertEquals(List.of(OnOffType.ON, OnOffType.OFF), events);
+    }
+
+    @Test
+    public void mixedFrameSizesDoNotDisableDetection() {
+        MotionDetector detector = new MotionDetector("test", "", 0.1, events::add);
+        int[] otherLuma = new int[WIDTH * 2 * HEIGHT * 2];
+        Arrays.fill(otherLuma, 100);
+        LumaImage otherSizeImage = new LumaImage(WIDTH * 2, HEIGHT * 2, otherLuma);
+
+        // frames of two sizes arrive alternately, each is compared with the previous frame of its size
+        detector.analyze(image(100));
+        detector.analyze(otherSizeImage);
+        detector.analyze(image(100));
+        detector.analyze(otherSizeImage);
+        assertTrue(events.isEmpty());
+
+        detector.analyze(imageWithBox(100, 200, 0, 0, 6));
+        assertEquals(List.of(OnOffType.ON), events);
+    }
+
+    @Test
+    public void brightnessChangeIsNoMotion() {
+        MotionDetector detector = new MotionDetector("test", "", 0.1, events::add);
+        detector.analyze(image(100));
+        detector.analyze(image(160));
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void motionOutsideZonesIsIgnored() {
+        MotionDetector detector = new MotionDetector("test", "50,50,50,50", 0.1, events::add);
+        detector.analyze(image(100));
+        detector.analyze(imageWithBox(100, 200, 0, 0, 6));
+        assertTrue(events.isEmpty());
+
+        detector.analyze(imageWithBox(100, 200, 10, 8, 4));
+        assertEquals(List.of(OnOffType.ON), events);
+    }
+
+    @Test
+    public void decodeBlockAverages() throws IOException {
+        BufferedImage source = new BufferedImage(WIDTH * 8, HEIGHT * 8, BufferedImage.TYPE_BYTE_GRAY);
+        for (int y = 0; y < source.getHeight(); y++) {
+            for (int x = 0; x < source.getWidth(); x++) {
+                source.getRaster().setSample(x, y, 0, x < 64 ? 50 : 200);
+            }
+        }
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        ImageIO.write(source, "jpg", jpeg);
+
+        LumaImage image = JpegDcDecoder.decode(jpeg.toByteArray());
+        assertNotNull(image);
+        assertEquals(WIDTH, image.getWidth());
+        assertEquals(HEIGHT, image.getHeight());
+        assertEquals(50, image.get(0, 0), 3);
+        assertEquals(200, image.get(WIDTH - 1, HEIGHT - 1), 3);
+    }
+
+    @Test
+    public void decodeInvalidData() {
+        assertNull(JpegDcDecoder.decode(new byte[] { 1, 2, 3 }));
+    }
+}
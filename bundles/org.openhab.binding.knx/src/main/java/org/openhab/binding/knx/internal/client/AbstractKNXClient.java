@@ -12,12 +12,15 @@
  */
 package org.openhab.binding.knx.internal.client;
 
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -38,6 +41,8 @@ import tuwien.auto.calimero.FrameEvent;
 import tuwien.auto.calimero.GroupAddress;
 import tuwien.auto.calimero.IndividualAddress;
 import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.cemi.CEMI;
+import tuwien.auto.calimero.cemi.CEMILData;
 import tuwien.auto.calimero.datapoint.CommandDP;
 import tuwien.auto.calimero.datapoint.Datapoint;
 import tuwien.auto.calimero.device.ProcessCommunicationResponder;
@@ -64,6 +69,8 @@ import tuwien.auto.calimero.process.ProcessListener;
 public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClient {
 
     private static final int MAX_SEND_ATTEMPTS = 2;
+    private static final int STATISTICS_INTERVAL = 60; // in s
+    private static final int MAX_READING_PAUSE = 5000; // in ms, upper limit for the pause while the bus is busy
 
     private final Logger logger = LoggerFactory.getLogger(AbstractKNXClient.class);
     private final KNXTypeMapper typeHelper = new KNXCoreTypeMapper();
@@ -84,9 +91,20 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private @Nullable DeviceInfoClient deviceInfoClient;
     private @Nullable ScheduledFuture<?> busJob;
     private @Nullable ScheduledFuture<?> connectJob;
+    private @Nullable ScheduledFuture<?> statisticsJob;
 
-    private final Set<GroupAddressListener> groupAddressListeners = new CopyOnWriteArraySet<>();
-    private final LinkedBlockingQueue<ReadDatapoint> readDatapoints = new LinkedBlockingQueue<>();
+    private final Map<GroupAddressListener, Set<GroupAddress>> groupAddressListeners = new ConcurrentHashMap<>();
+    private final Map<GroupAddress, Set<GroupAddressListener>> listenersByGroupAddress = new ConcurrentHashMap<>();
+    private final Map<GroupAddressListener, SerialExecutor> listenerExecutors = new ConcurrentHashMap<>();
+    private final ReadDatapointQueue readDatapoints = new ReadDatapointQueue();
+    // identifies the current read loop, a read task only reschedules itself while its generation is current
+    private volatile long readGeneration = 0;
+    private volatile int currentReadingPause;
+
+    private final LongAdder receivedTelegrams = new LongAdder();
+    private final LongAdder dispatchedTelegrams = new LongAdder();
+    private final LongAdder dispatchLatency = new LongAdder(); // in ns
+    private final AtomicLong maxDispatchLatency = new AtomicLong(); // in ns
 
     @FunctionalInterface
     private interface ListenerNotification {
@@ -196,8 +214,10 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
             link.addLinkListener(this);
 
-            busJob = knxScheduler.scheduleWithFixedDelay(() -> readNextQueuedDatapoint(), 0, readingPause,
-                    TimeUnit.MILLISECONDS);
+            currentReadingPause = readingPause;
+            startReading();
+            statisticsJob = knxScheduler.scheduleWithFixedDelay(this::logStatistics, STATISTICS_INTERVAL,
+                    STATISTICS_INTERVAL, TimeUnit.SECONDS);
 
             statusUpdateCallback.updateStatus(ThingStatus.ONLINE);
             connectJob = null;
@@ -224,8 +244,9 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     @SuppressWarnings("null")
     private void releaseConnection() {
         logger.debug("Bridge {} is disconnecting from the KNX bus", thingUID);
+        stopReading();
         readDatapoints.clear();
-        busJob = nullify(busJob, j -> j.cancel(true));
+        statisticsJob = nullify(statisticsJob, j -> j.cancel(false));
         deviceInfoClient = null;
         managementProcedures = nullify(managementProcedures, mp -> mp.detach());
         managementClient = nullify(managementClient, mc -> mc.detach());
@@ -252,10 +273,39 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         IndividualAddress source = event.getSourceAddr();
         byte[] asdu = event.getASDU();
         logger.trace("Received a {} telegram from '{}' to '{}' with value '{}'", task, source, destination, asdu);
-        for (GroupAddressListener listener : groupAddressListeners) {
-            if (listener.listensTo(destination)) {
-                knxScheduler.schedule(() -> action.apply(listener, source, destination, asdu), 0, TimeUnit.SECONDS);
+        receivedTelegrams.increment();
+        Set<GroupAddressListener> listeners = getGroupAddressListeners(destination);
+        if (listeners.isEmpty()) {
+            return;
+        }
+        long received = System.nanoTime();
+        for (GroupAddressListener listener : listeners) {
+            SerialExecutor listenerExecutor = listenerExecutors.get(listener);
+            if (listenerExecutor == null) {
+                // the listener was unregistered in the meantime
+                continue;
             }
+            listenerExecutor.execute(() -> {
+                long latency = System.nanoTime() - received;
+                dispatchedTelegrams.increment();
+                dispatchLatency.add(latency);
+                maxDispatchLatency.accumulateAndGet(latency, Math::max);
+                action.apply(listener, source, destination, asdu);
+            });
+        }
+    }
+
+    private void logStatistics() {
+        long received = receivedTelegrams.sumThenReset();
+        long dispatched = dispatchedTelegrams.sumThenReset();
+        long latency = dispatchLatency.sumThenReset();
+        long maxLatency = maxDispatchLatency.getAndSet(0);
+        if (logger.isDebugEnabled()) {
+            logger.debug(
+                    "Bridge {} received {} telegrams ({}/s) in the last {}s, {} deliveries to listeners with an average dispatch latency of {}µs (max. {}µs)",
+                    thingUID, received, received / STATISTICS_INTERVAL, STATISTICS_INTERVAL, dispatched,
+                    dispatched > 0 ? TimeUnit.NANOSECONDS.toMicros(latency / dispatched) : 0,
+                    TimeUnit.NANOSECONDS.toMicros(maxLatency));
         }
     }
 
@@ -271,34 +321,80 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         return typeHelper.toDPTValue(type, dpt);
     }
 
+    private synchronized void startReading() {
+        long generation = ++readGeneration;
+        busJob = knxScheduler.schedule(() -> readNextQueuedDatapoint(generation), 0, TimeUnit.MILLISECONDS);
+    }
+
     @SuppressWarnings("null")
-    private void readNextQueuedDatapoint() {
-        if (!connectIfNotAutomatic()) {
+    private synchronized void stopReading() {
+        readGeneration++;
+        busJob = nullify(busJob, j -> j.cancel(false));
+    }
+
+    private synchronized void scheduleNextRead(long generation) {
+        if (generation == readGeneration) {
+            busJob = knxScheduler.schedule(() -> readNextQueuedDatapoint(generation), currentReadingPause,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void readNextQueuedDatapoint(long generation) {
+        if (generation != readGeneration) {
             return;
         }
-        ProcessCommunicator processCommunicator = this.processCommunicator;
+        if (!isConnected()) {
+            // the read loop ends here, a successful (re-)connect starts a new one
+            if (connectJob == null) {
+                knxScheduler.execute(this::connectIfNotAutomatic);
+            }
+            return;
+        }
+        try {
+            readNextQueuedDatapoint(processCommunicator);
+        } finally {
+            scheduleNextRead(generation);
+        }
+    }
+
+    @SuppressWarnings("null")
+    private void readNextQueuedDatapoint(@Nullable ProcessCommunicator processCommunicator) {
         if (processCommunicator == null) {
             return;
         }
         ReadDatapoint datapoint = readDatapoints.poll();
-        if (datapoint != null) {
-            datapoint.incrementRetries();
-            try {
-                logger.trace("Sending a Group Read Request telegram for {}", datapoint.getDatapoint().getMainAddress());
-                processCommunicator.read(datapoint.getDatapoint());
-            } catch (KNXException e) {
-                if (datapoint.getRetries() < datapoint.getLimit()) {
-                    readDatapoints.add(datapoint);
-                    logger.debug("Could not read value for datapoint {}: {}. Going to retry.",
-                            datapoint.getDatapoint().getMainAddress(), e.getMessage());
-                } else {
-                    logger.warn("Giving up reading datapoint {}, the number of maximum retries ({}) is reached.",
-                            datapoint.getDatapoint().getMainAddress(), datapoint.getLimit());
-                }
-            } catch (InterruptedException e) {
-                logger.debug("Interrupted sending KNX read request");
-                return;
+        if (datapoint == null) {
+            return;
+        }
+        datapoint.incrementRetries();
+        try {
+            logger.trace("Sending a Group Read Request telegram for {} (priority {})",
+                    datapoint.getDatapoint().getMainAddress(), datapoint.getPriority());
+            processCommunicator.read(datapoint.getDatapoint());
+            // the bus answered, approach the configured pause again
+            currentReadingPause = Math.max(readingPause, currentReadingPause - currentReadingPause / 4);
+        } catch (KNXException e) {
+            increaseReadingPause();
+            if (datapoint.getRetries() < datapoint.getLimit()) {
+                readDatapoints.retry(datapoint);
+                logger.debug("Could not read value for datapoint {}: {}. Going to retry.",
+                        datapoint.getDatapoint().getMainAddress(), e.getMessage());
+            } else {
+                logger.warn("Giving up reading datapoint {}, the number of maximum retries ({}) is reached.",
+                        datapoint.getDatapoint().getMainAddress(), datapoint.getLimit());
             }
+        } catch (InterruptedException e) {
+            logger.debug("Interrupted sending KNX read request");
+        }
+    }
+
+    private void increaseReadingPause() {
+        int newReadingPause = Math.min(Math.max(MAX_READING_PAUSE, readingPause),
+                Math.max(1, currentReadingPause) * 2);
+        if (newReadingPause != currentReadingPause) {
+            logger.debug("Bus of bridge {} seems to be busy, increasing pause between read requests to {}ms",
+                    thingUID, newReadingPause);
+            currentReadingPause = newReadingPause;
         }
     }
 
@@ -329,7 +425,11 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
     @Override
     public void confirmation(@Nullable FrameEvent e) {
-        // no-op
+        CEMI frame = e != null ? e.getFrame() : null;
+        if (frame instanceof CEMILData && !((CEMILData) frame).isPositiveConfirmation()) {
+            // the frame could not be sent, don't flood the bus with read requests
+            increaseReadingPause();
+        }
     }
 
     @Override
@@ -367,23 +467,61 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     }
 
     @Override
-    public void readDatapoint(Datapoint datapoint) {
-        synchronized (this) {
-            ReadDatapoint retryDatapoint = new ReadDatapoint(datapoint, readRetriesLimit);
-            if (!readDatapoints.contains(retryDatapoint)) {
-                readDatapoints.add(retryDatapoint);
-            }
+    public void readDatapoint(Datapoint datapoint, ReadPriority priority) {
+        if (!readDatapoints.add(datapoint, readRetriesLimit, priority)) {
+            logger.trace("Read request for {} already queued", datapoint.getMainAddress());
         }
     }
 
     @Override
     public final boolean registerGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.add(listener);
+        Set<GroupAddress> groupAddresses = Set.copyOf(listener.getGroupAddresses());
+        synchronized (groupAddressListeners) {
+            Set<GroupAddress> oldGroupAddresses = groupAddressListeners.put(listener, groupAddresses);
+            listenerExecutors.putIfAbsent(listener, new SerialExecutor(knxScheduler));
+            if (oldGroupAddresses != null) {
+                // re-registration, remove addresses the listener is no longer interested in
+                oldGroupAddresses.stream().filter(ga -> !groupAddresses.contains(ga))
+                        .forEach(ga -> removeFromIndex(ga, listener));
+            }
+            groupAddresses.forEach(ga -> listenersByGroupAddress.compute(ga, (k, listeners) -> {
+                Set<GroupAddressListener> newListeners = listeners != null ? listeners : new CopyOnWriteArraySet<>();
+                newListeners.add(listener);
+                return newListeners;
+            }));
+            return oldGroupAddresses == null;
+        }
     }
 
     @Override
     public final boolean unregisterGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.remove(listener);
+        synchronized (groupAddressListeners) {
+            Set<GroupAddress> groupAddresses = groupAddressListeners.remove(listener);
+            listenerExecutors.remove(listener);
+            if (groupAddresses == null) {
+                return false;
+            }
+            groupAddresses.forEach(ga -> removeFromIndex(ga, listener));
+            return true;
+        }
+    }
+
+    /**
+     * Returns the listeners registered for the given group address
+     *
+     * @param groupAddress the group address
+     * @return the listeners, empty if no listener is registered for the group address
+     */
+    Set<GroupAddressListener> getGroupAddressListeners(GroupAddress groupAddress) {
+        Set<GroupAddressListener> listeners = listenersByGroupAddress.get(groupAddress);
+        return listeners != null ? listeners : Set.of();
+    }
+
+    private void removeFromIndex(GroupAddress groupAddress, GroupAddressListener listener) {
+        listenersByGroupAddress.computeIfPresent(groupAddress, (k, listeners) -> {
+            listeners.remove(listener);
+            return listeners.isEmpty() ? null : listeners;
+        });
     }
 
     @Override
@@ -79,9 +79,13 @@ public interface KNXClient {
     /**
      * Schedule the given data point for asynchronous reading.
      *
+     * If a read request for the same group address is already queued, no additional request is queued. The priority of
+     * the queued request is raised if necessary.
+     *
      * @param datapoint the datapoint
+     * @param priority the priority of the read request
      */
-    void readDatapoint(Datapoint datapoint);
+    void readDatapoint(Datapoint datapoint, ReadPriority priority);
 
     /**
      * Write a command to the KNX bus.
@@ -24,17 +24,39 @@ public class ReadDatapoint {
     private final Datapoint datapoint;
     private int retries;
     private final int limit;
+    private ReadPriority priority;
+    private long sequence;
 
-    public ReadDatapoint(Datapoint datapoint, int limit) {
+    public ReadDatapoint(Datapoint datapoint, int limit, ReadPriority priority) {
         this.datapoint = datapoint;
         this.retries = 0;
         this.limit = limit;
+        this.priority = priority;
     }
 
     public Datapoint getDatapoint() {
         return datapoint;
     }
 
+    public ReadPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(ReadPriority priority) {
+        this.priority = priority;
+    }
+
+    /**
+     * The sequence number preserves the order of requests with the same priority
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
     public int getRetries() {
         return retries;
     }
@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ * Queue of the datapoints to be read from the KNX bus.
+ *
+ * Datapoints are returned by their {@link ReadPriority} and in the order they were queued within the same priority.
+ * The queue holds at most one entry per group address. A request for a group address which is already queued is
+ * merged into the queued entry, which keeps the higher of both priorities.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+class ReadDatapointQueue {
+
+    private final PriorityQueue<ReadDatapoint> readDatapoints = new PriorityQueue<>(
+            Comparator.comparing(ReadDatapoint::getPriority).thenComparingLong(ReadDatapoint::getSequence));
+    private final Map<GroupAddress, ReadDatapoint> queuedReadDatapoints = new HashMap<>();
+    private long readSequence = 0;
+
+    /**
+     * Queue a read request for a datapoint
+     *
+     * @param datapoint the datapoint to read
+     * @param limit the maximum number of read attempts
+     * @param priority the priority of the request
+     * @return true if the datapoint was queued or moved forward, false if it was already queued with the same or a
+     *         higher priority
+     */
+    public synchronized boolean add(Datapoint datapoint, int limit, ReadPriority priority) {
+        return merge(new ReadDatapoint(datapoint, limit, priority));
+    }
+
+    /**
+     * Queue a datapoint again after reading it failed
+     *
+     * If the group address of the datapoint was requested again while it was read, the queued request is kept with
+     * the higher of both priorities.
+     *
+     * @param datapoint the datapoint which could not be read
+     */
+    public synchronized void retry(ReadDatapoint datapoint) {
+        merge(datapoint);
+    }
+
+    /**
+     * Remove the next datapoint to read from the queue
+     *
+     * @return the datapoint with the highest priority, null if the queue is empty
+     */
+    public synchronized @Nullable ReadDatapoint poll() {
+        ReadDatapoint datapoint = readDatapoints.poll();
+        if (datapoint != null) {
+            queuedReadDatapoints.remove(datapoint.getDatapoint().getMainAddress());
+        }
+        return datapoint;
+    }
+
+    public synchronized int size() {
+        return readDatapoints.size();
+    }
+
+    public synchronized void clear() {
+        readDatapoints.clear();
+        queuedReadDatapoints.clear();
+    }
+
+    private boolean merge(ReadDatapoint datapoint) {
+        ReadDatapoint queuedDatapoint = queuedReadDatapoints.get(datapoint.getDatapoint().getMainAddress());
+        if (queuedDatapoint == null) {
+            enqueue(datapoint);
+            return true;
+        } else if (datapoint.getPriority().compareTo(queuedDatapoint.getPriority()) < 0) {
+            // already queued with lower priority, move it forward
+            readDatapoints.remove(queuedDatapoint);
+            queuedDatapoint.setPriority(datapoint.getPriority());
+            enqueue(queuedDatapoint);
+            return true;
+        }
+        return false;
+    }
+
+    private void enqueue(ReadDatapoint datapoint) {
+        datapoint.setSequence(readSequence++);
+        readDatapoints.add(datapoint);
+        queuedReadDatapoints.put(datapoint.getDatapoint().getMainAddress(), datapoint);
+    }
+}
@@ -0,0 +1,32 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Priority of a queued read request, requests with a higher priority are sent to the bus first.
+ *
+ * The constants are ordered from highest to lowest priority.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public enum ReadPriority {
+    /** read requested by a REFRESH command */
+    REFRESH,
+    /** initial read after the thing or the bridge (re-)started */
+    INITIAL,
+    /** periodic read configured by the readInterval of a thing */
+    PERIODIC
+}
@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Executes tasks one after another on a shared executor, preserving the order of submission.
+ *
+ * Only one task of each {@link SerialExecutor} is running or queued on the underlying executor at any time, so a slow
+ * listener cannot occupy more than one thread of the shared pool.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+class SerialExecutor implements Executor {
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private final Executor executor;
+    private @Nullable Runnable active;
+
+    public SerialExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public synchronized void execute(Runnable command) {
+        tasks.add(() -> {
+            try {
+                command.run();
+            } finally {
+                scheduleNext();
+            }
+        });
+        if (active == null) {
+            scheduleNext();
+        }
+    }
+
+    private synchronized void scheduleNext() {
+        Runnable next = tasks.poll();
+        active = next;
+        if (next != null) {
+            executor.execute(next);
+        }
+    }
+}
@@ -15,6 +15,7 @@ package org.openhab.binding.knx.internal.handler;
 import static org.openhab.binding.knx.internal.KNXBindingConstants.*;
 
 import java.math.BigDecimal;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -34,6 +35,7 @@ import org.openhab.binding.knx.internal.channel.KNXChannelTypes;
 import org.openhab.binding.knx.internal.client.AbstractKNXClient;
 import org.openhab.binding.knx.internal.client.InboundSpec;
 import org.openhab.binding.knx.internal.client.OutboundSpec;
+import org.openhab.binding.knx.internal.client.ReadPriority;
 import org.openhab.binding.knx.internal.config.DeviceConfig;
 import org.openhab.binding.knx.internal.dpt.KNXCoreTypeMapper;
 import org.openhab.core.config.core.Configuration;
@@ -82,10 +84,11 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
 
     @Override
     public void initialize() {
-        super.initialize();
+        // group addresses need to be known before the handler registers as listener
         DeviceConfig config = getConfigAs(DeviceConfig.class);
         readInterval = config.getReadInterval().intValue();
         initializeGroupAddresses();
+        super.initialize();
     }
 
     private void initializeGroupAddresses() {
@@ -191,23 +194,34 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
         if (readInterval > 0) {
             ScheduledFuture<?> future = readFutures.get(groupAddress);
             if (future == null || future.isDone() || future.isCancelled()) {
-                future = getScheduler().scheduleWithFixedDelay(() -> readDatapoint(groupAddress, dpt), 0, readInterval,
+                getScheduler().submit(() -> readDatapoint(groupAddress, dpt, ReadPriority.INITIAL));
+                future = getScheduler().scheduleWithFixedDelay(
+                        () -> readDatapoint(groupAddress, dpt, ReadPriority.PERIODIC), readInterval, readInterval,
                         TimeUnit.SECONDS);
                 readFutures.put(groupAddress, future);
             }
         } else {
-            getScheduler().submit(() -> readDatapoint(groupAddress, dpt));
+            getScheduler().submit(() -> readDatapoint(groupAddress, dpt, ReadPriority.INITIAL));
         }
     }
 
-    private void readDatapoint(GroupAddress groupAddress, String dpt) {
+    private void refresh(KNXChannelType selector, Configuration configuration) throws KNXFormatException {
+        List<InboundSpec> readSpecs = selector.getReadSpec(configuration);
+        for (InboundSpec readSpec : readSpecs) {
+            for (GroupAddress groupAddress : readSpec.getGroupAddresses()) {
+                getScheduler().submit(() -> readDatapoint(groupAddress, readSpec.getDPT(), ReadPriority.REFRESH));
+            }
+        }
+    }
+
+    private void readDatapoint(GroupAddress groupAddress, String dpt, ReadPriority priority) {
         if (getClient().isConnected()) {
             if (!isDPTSupported(dpt)) {
                 logger.warn("DPT '{}' is not supported by the KNX binding", dpt);
                 return;
             }
             Datapoint datapoint = new CommandDP(groupAddress, getThing().getUID().toString(), 0, dpt);
-            getClient().readDatapoint(datapoint);
+            getClient().readDatapoint(datapoint, priority);
         }
     }
 
@@ -216,6 +230,11 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
         return groupAddresses.contains(destination);
     }
 
+    @Override
+    public Set<GroupAddress> getGroupAddresses() {
+        return Collections.unmodifiableSet(groupAddresses);
+    }
+
     /** KNXIO remember controls, removeIf may be null */
     @SuppressWarnings("null")
     private void rememberRespondingSpec(OutboundSpec commandSpec, boolean add) {
@@ -235,7 +254,7 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
         if (command instanceof RefreshType && !isControl(channelUID)) {
             logger.debug("Refreshing channel '{}'", channelUID);
             withKNXType(channelUID, (selector, configuration) -> {
-                scheduleRead(selector, configuration);
+                refresh(selector, configuration);
             });
         } else {
             switch (channelUID.getId()) {
@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.knx.internal.handler;
 
+import java.util.Set;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.binding.knx.internal.client.BusMessageListener;
 
@@ -33,4 +35,14 @@ public interface GroupAddressListener extends BusMessageListener {
      * @param destination
      */
     public boolean listensTo(GroupAddress destination);
+
+    /**
+     * Returns all GroupAddresses the GroupAddressListener has an interest in
+     *
+     * The set is evaluated when the listener is registered at the client. If it changes, the listener needs to be
+     * registered again.
+     *
+     * @return the set of GroupAddresses
+     */
+    public Set<GroupAddress> getGroupAddresses();
 }
@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+import org.openhab.core.thing.ThingUID;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.link.KNXNetworkLink;
+
+/**
+ * Tests the group address listener index of the {@link AbstractKNXClient}.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public class AbstractKNXClientTest {
+
+    private static final GroupAddress GA_1 = new GroupAddress(1, 2, 1);
+    private static final GroupAddress GA_2 = new GroupAddress(1, 2, 2);
+    private static final GroupAddress GA_3 = new GroupAddress(1, 2, 3);
+
+    private static class TestKNXClient extends AbstractKNXClient {
+        public TestKNXClient() {
+            super(0, new ThingUID("knx:ip:test"), 0, 50, 3, mock(ScheduledExecutorService.class),
+                    mock(StatusUpdateCallback.class));
+        }
+
+        @Override
+        protected KNXNetworkLink establishConnection() throws KNXException {
+            throw new KNXException("not connected in tests");
+        }
+    }
+
+    private @NonNullByDefault({}) TestKNXClient client;
+
+    @BeforeEach
+    public void setup() {
+        client = new TestKNXClient();
+    }
+
+    private GroupAddressListener createListener(GroupAddress... groupAddresses) {
+        GroupAddressListener listener = mock(GroupAddressListener.class);
+        when(listener.getGroupAddresses()).thenReturn(Set.of(groupAddresses));
+        return listener;
+    }
+
+    @Test
+    public void testRegisterAddsListenerToAllGroupAddresses() {
+        GroupAddressListener listener = createListener(GA_1, GA_2);
+
+        assertTrue(client.registerGroupAddressListener(listener));
+
+        assertEquals(Set.of(listener), client.getGroupAddressListeners(GA_1));
+        assertEquals(Set.of(listener), client.getGroupAddressListeners(GA_2));
+        assertTrue(client.getGroupAddressListeners(GA_3).isEmpty());
+    }
+
+    @Test
+    public void testRegisterAgainWithOtherGroupAddresses() {
+        GroupAddressListener listener = createListener(GA_1, GA_2);
+        GroupAddressListener otherListener = createListener(GA_1);
+        client.registerGroupAddressListener(listener);
+        client.registerGroupAddressListener(otherListener);
+
+        when(listener.getGroupAddresses()).thenReturn(Set.of(GA_2, GA_3));
+        assertFalse(client.registerGroupAddressListener(listener));
+
+        assertEquals(Set.of(otherListener), client.getGroupAddressListeners(GA_1));
+        assertEquals(Set.of(listener), client.getGroupAddressListeners(GA_2));
+        assertEquals(Set.of(listener), client.getGroupAddressListeners(GA_3));
+    }
+
+    @Test
+    public void testUnregisterRemovesListenerFromAllGroupAddresses() {
+        GroupAddressListener listener = createListener(GA_1, GA_2);
+        GroupAddressListener otherListener = createListener(GA_2);
+        client.registerGroupAddressListener(listener);
+        client.registerGroupAddressListener(otherListener);
+
+        assertTrue(client.unregisterGroupAddressListener(listener));
+
+        assertTrue(client.getGroupAddressListeners(GA_1).isEmpty());
+        assertEquals(Set.of(otherListener), client.getGroupAddressListeners(GA_2));
+        assertFalse(client.unregisterGroupAddressListener(listener));
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ * Tests the {@link ReadDatapointQueue}.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public class ReadDatapointQueueTest {
+
+    private static final int LIMIT = 3;
+
+    private final ReadDatapointQueue queue = new ReadDatapointQueue();
+
+    private static Datapoint datapoint(int sub) {
+        return new CommandDP(new GroupAddress(1, 2, sub), "test", 0, "1.001");
+    }
+
+    private static GroupAddress address(@Nullable ReadDatapoint datapoint) {
+        assertNotNull(datapoint);
+        return datapoint.getDatapoint().getMainAddress();
+    }
+
+    @Test
+    public void testPriorityOrder() {
+        queue.add(datapoint(1), LIMIT, ReadPriority.PERIODIC);
+        queue.add(datapoint(2), LIMIT, ReadPriority.INITIAL);
+        queue.add(datapoint(3), LIMIT, ReadPriority.REFRESH);
+        queue.add(datapoint(4), LIMIT, ReadPriority.INITIAL);
+
+        assertEquals(new GroupAddress(1, 2, 3), address(queue.poll()));
+        // same priority is read in the order of the requests
+        assertEquals(new GroupAddress(1, 2, 2), address(queue.poll()));
+        assertEquals(new GroupAddress(1, 2, 4), address(queue.poll()));
+        assertEquals(new GroupAddress(1, 2, 1), address(queue.poll()));
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testDuplicateAddressIsMerged() {
+        assertTrue(queue.add(datapoint(1), LIMIT, ReadPriority.INITIAL));
+        assertFalse(queue.add(datapoint(1), LIMIT, ReadPriority.PERIODIC));
+        assertFalse(queue.add(datapoint(1), LIMIT, ReadPriority.INITIAL));
+
+        assertEquals(1, queue.size());
+        ReadDatapoint datapoint = queue.poll();
+        assertNotNull(datapoint);
+        assertEquals(ReadPriority.INITIAL, datapoint.getPriority());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testDuplicateAddressWithHigherPriorityIsMovedForward() {
+        queue.add(datapoint(1), LIMIT, ReadPriority.PERIODIC);
+        queue.add(datapoint(2), LIMIT, ReadPriority.INITIAL);
+
+        assertTrue(queue.add(datapoint(1), LIMIT, ReadPriority.REFRESH));
+
+        assertEquals(2, queue.size());
+        ReadDatapoint datapoint = queue.poll();
+        assertNotNull(datapoint);
+        assertEquals(new GroupAddress(1, 2, 1), address(datapoint));
+        assertEquals(ReadPriority.REFRESH, datapoint.getPriority());
+        assertEquals(new GroupAddress(1, 2, 2), address(queue.poll()));
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testRetryQueuesDatapointAgain() {
+        queue.add(datapoint(1), LIMIT, ReadPriority.INITIAL);
+        ReadDatapoint datapoint = queue.poll();
+        assertNotNull(datapoint);
+        datapoint.incrementRetries();
+
+        queue.retry(datapoint);
+
+        assertSame(datapoint, queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testRetryIsMergedIntoRequestQueuedWhileReading() {
+        queue.add(datapoint(1), LIMIT, ReadPriority.REFRESH);
+        ReadDatapoint datapoint = queue.poll();
+        assertNotNull(datapoint);
+        datapoint.incrementRetries();
+        // the same group address is requested again while the read is running
+        queue.add(datapoint(1), LIMIT, ReadPriority.PERIODIC);
+
+        queue.retry(datapoint);
+
+        assertEquals(1, queue.size());
+        ReadDatapoint queuedDatapoint = queue.poll();
+        assertNotNull(queuedDatapoint);
+        assertEquals(new GroupAddress(1, 2, 1), address(queuedDatapoint));
+        assertEquals(ReadPriority.REFRESH, queuedDatapoint.getPriority());
+        assertNull(queue.poll());
+
+        // the merged entry can still be found, so later requests are merged as well
+        queue.add(datapoint(1), LIMIT, ReadPriority.PERIODIC);
+        assertTrue(queue.add(datapoint(1), LIMIT, ReadPriority.INITIAL));
+        assertEquals(1, queue.size());
+    }
+}
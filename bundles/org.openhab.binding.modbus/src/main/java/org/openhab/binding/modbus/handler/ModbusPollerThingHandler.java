@@ -21,8 +21,15 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.modbus.internal.AtomicStampedValue;
 import org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal;
+import org.openhab.binding.modbus.internal.ModbusPollCoalescer;
+import org.openhab.binding.modbus.internal.ModbusPollCoalescer.Registration;
+import org.openhab.binding.modbus.internal.ModbusPollScheduler;
+import org.openhab.binding.modbus.internal.ModbusPollScheduler.Priority;
+import org.openhab.binding.modbus.internal.ModbusPollScheduler.ScheduledPoll;
 import org.openhab.binding.modbus.internal.config.ModbusPollerConfiguration;
+import org.openhab.binding.modbus.internal.handler.AbstractModbusEndpointThingHandler;
 import org.openhab.binding.modbus.internal.handler.ModbusDataThingHandler;
+import org.openhab.binding.modbus.internal.handler.ModbusExtractionPlan;
 import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
 import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
 import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
@@ -67,6 +74,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
             implements ModbusReadCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> {
 
         private volatile @Nullable AtomicStampedValue<PollResult> lastResult;
+        private volatile ModbusExtractionPlan extractionPlan = new ModbusExtractionPlan();
 
         public synchronized void handleResult(PollResult result) {
             // Ignore all incoming data and errors if configuration is not correct
@@ -133,13 +141,12 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
             AsyncModbusReadResult result = pollResult.result;
             @Nullable
             AsyncModbusFailure<ModbusReadRequestBlueprint> failure = pollResult.failure;
-            childCallbacks.forEach(handler -> {
-                if (result != null) {
-                    handler.onReadResult(result);
-                } else if (failure != null) {
-                    handler.handleReadError(failure);
-                }
-            });
+            if (result != null) {
+                // Children get the value decoded by the plan, which only decodes what changed since the last poll
+                extractionPlan.dispatch(result, childCallbacks);
+            } else if (failure != null) {
+                childCallbacks.forEach(handler -> handler.handleReadError(failure));
+            }
         }
 
         /**
@@ -147,6 +154,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
          */
         public void resetCache() {
             lastResult = null;
+            extractionPlan = new ModbusExtractionPlan();
         }
     }
 
@@ -183,6 +191,10 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
     private @NonNullByDefault({}) ModbusPollerConfiguration config;
     private long cacheMillis;
     private volatile @Nullable PollTask pollTask;
+    private volatile @Nullable ModbusPollCoalescer pollCoalescer;
+    private volatile @Nullable Registration coalescedPoll;
+    private volatile @Nullable ModbusPollScheduler pollScheduler;
+    private volatile @Nullable ScheduledPoll scheduledPoll;
     private volatile @Nullable ModbusReadRequestBlueprint request;
     private volatile boolean disposed;
     private volatile List<ModbusDataThingHandler> childCallbacks = new CopyOnWriteArrayList<>();
@@ -305,7 +317,23 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
             logger.debug("Unregistering polling from ModbusManager");
             comms.unregisterRegularPoll(localPollTask);
         }
+        ModbusPollCoalescer localPollCoalescer = this.pollCoalescer;
+        Registration localCoalescedPoll = this.coalescedPoll;
+        if (localPollCoalescer != null && localCoalescedPoll != null) {
+            logger.debug("Unregistering merged polling");
+            localPollCoalescer.unregisterRegularPoll(localCoalescedPoll);
+        }
+        ModbusPollScheduler localPollScheduler = this.pollScheduler;
+        ScheduledPoll localScheduledPoll = this.scheduledPoll;
+        if (localPollScheduler != null && localScheduledPoll != null) {
+            logger.debug("Unregistering adaptive polling");
+            localPollScheduler.unregisterRegularPoll(localScheduledPoll);
+        }
         this.pollTask = null;
+        this.pollCoalescer = null;
+        this.coalescedPoll = null;
+        this.pollScheduler = null;
+        this.scheduledPoll = null;
         request = null;
         comms = null;
         updateStatus(ThingStatus.OFFLINE);
@@ -320,7 +348,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
     @SuppressWarnings("null")
     private synchronized void registerPollTask() throws EndpointNotInitializedException {
         logger.trace("registerPollTask()");
-        if (pollTask != null) {
+        if (pollTask != null || coalescedPoll != null || scheduledPoll != null) {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR);
             logger.debug("pollTask should be unregistered before registering a new one!");
             return;
@@ -350,9 +378,32 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
                 localFunctionCode, config.getStart(), config.getLength(), config.getMaxTries());
         this.request = localRequest;
 
+        ModbusPollCoalescer localPollCoalescer = null;
+        ModbusPollScheduler localPollScheduler = null;
+        if (slaveEndpointThingHandler instanceof AbstractModbusEndpointThingHandler) {
+            AbstractModbusEndpointThingHandler<?, ?> endpointHandler =
+                    (AbstractModbusEndpointThingHandler<?, ?>) slaveEndpointThingHandler;
+            if (config.isCoalesce()) {
+                localPollCoalescer = endpointHandler.getPollCoalescer();
+            }
+            localPollScheduler = endpointHandler.getPollScheduler();
+        }
+        this.pollScheduler = localPollScheduler;
+        Priority priority = Priority.fromConfigValue(config.getPriority());
         if (config.getRefresh() <= 0L) {
             logger.debug("Not registering polling with ModbusManager since refresh disabled");
             updateStatus(ThingStatus.ONLINE, ThingStatusDetail.NONE, "Not polling");
+        } else if (localPollCoalescer != null) {
+            logger.debug("Registering merged polling with endpoint");
+            pollCoalescer = localPollCoalescer;
+            coalescedPoll = localPollCoalescer.registerRegularPoll(localRequest, config.getRefresh(), priority,
+                    callbackDelegator, callbackDelegator);
+            updateStatus(ThingStatus.ONLINE);
+        } else if (localPollScheduler != null) {
+            logger.debug("Registering adaptive polling with endpoint");
+            scheduledPoll = localPollScheduler.registerRegularPoll(localRequest, config.getRefresh(), priority,
+                    callbackDelegator, callbackDelegator);
+            updateStatus(ThingStatus.ONLINE);
         } else {
             logger.debug("Registering polling with ModbusManager");
             pollTask = localComms.registerRegularPoll(localRequest, config.getRefresh(), 0, callbackDelegator,
@@ -432,8 +483,12 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
             // cache expired, poll new data
             logger.debug("Poller {} received refresh() but the cache is not applicable. Polling new data",
                     getThing().getUID());
+            ModbusPollScheduler localPollScheduler = pollScheduler;
             ModbusCommunicationInterface localComms = comms;
-            if (localComms != null) {
+            if (localPollScheduler != null) {
+                // submitted ahead of all regular polls of the endpoint
+                localPollScheduler.submitOneTimePoll(localRequest, callbackDelegator, callbackDelegator);
+            } else if (localComms != null) {
                 localComms.submitOneTimePoll(localRequest, callbackDelegator, callbackDelegator);
             }
         }
@@ -48,6 +48,9 @@ public class ModbusBindingConstantsInternal {
     public static final String CHANNEL_LAST_READ_ERROR = "lastReadError";
     public static final String CHANNEL_LAST_WRITE_SUCCESS = "lastWriteSuccess";
     public static final String CHANNEL_LAST_WRITE_ERROR = "lastWriteError";
+    public static final String CHANNEL_BUS_UTILIZATION = "busUtilization";
+    public static final String CHANNEL_MISSED_DEADLINES = "missedDeadlines";
+    public static final String CHANNEL_QUEUE_WAIT = "queueWait";
 
     public static final String[] DATA_CHANNELS = { CHANNEL_SWITCH, CHANNEL_CONTACT, CHANNEL_DATETIME, CHANNEL_DIMMER,
             CHANNEL_NUMBER, CHANNEL_STRING, CHANNEL_ROLLERSHUTTER };
@@ -0,0 +1,344 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.modbus.internal.ModbusPollScheduler.Priority;
+import org.openhab.binding.modbus.internal.ModbusPollScheduler.ScheduledPoll;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ModbusPollCoalescer} merges regular polls of the same endpoint into as few Modbus requests as possible.
+ *
+ * Polls are compatible if they share slave id, function code, poll interval and priority. Compatible polls with
+ * adjacent or overlapping ranges are read with a single request, as long as the merged request stays within the
+ * protocol limits of {@value ModbusConstants#MAX_REGISTERS_READ_COUNT} registers or
+ * {@value ModbusConstants#MAX_BITS_READ_COUNT} coils/discrete inputs. Gaps between ranges are never read, since slaves
+ * typically reject reads of unmapped addresses. The response of a merged request is sliced back to the callbacks of
+ * the original polls, each receiving data (or failure) for its own request.
+ *
+ * The plan of a group of compatible polls is rebuilt whenever a poll of that group is registered or unregistered.
+ * The planned requests are registered with the {@link ModbusPollScheduler} of the endpoint if adaptive polling is
+ * enabled, otherwise directly with the communication interface.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusPollCoalescer {
+
+    /**
+     * Handle of a regular poll registered with the coalescer
+     */
+    public static class Registration {
+        private final ModbusReadRequestBlueprint request;
+        private final long pollPeriodMillis;
+        private final Priority priority;
+        private final ModbusReadCallback resultCallback;
+        private final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback;
+
+        private Registration(ModbusReadRequestBlueprint request, long pollPeriodMillis, Priority priority,
+                ModbusReadCallback resultCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+            this.request = request;
+            this.pollPeriodMillis = pollPeriodMillis;
+            this.priority = priority;
+            this.resultCallback = resultCallback;
+            this.failureCallback = failureCallback;
+        }
+
+        private GroupKey groupKey() {
+            return new GroupKey(request.getUnitID(), request.getFunctionCode(), pollPeriodMillis, priority);
+        }
+
+        private int start() {
+            return request.getReference();
+        }
+
+        private int end() {
+            return request.getReference() + request.getDataLength();
+        }
+    }
+
+    /**
+     * Key of compatible polls
+     */
+    private static class GroupKey {
+        private final int unitId;
+        private final ModbusReadFunctionCode functionCode;
+        private final long pollPeriodMillis;
+        private final Priority priority;
+
+        private GroupKey(int unitId, ModbusReadFunctionCode functionCode, long pollPeriodMillis, Priority priority) {
+            this.unitId = unitId;
+            this.functionCode = functionCode;
+            this.pollPeriodMillis = pollPeriodMillis;
+            this.priority = priority;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(unitId, functionCode, pollPeriodMillis, priority);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            GroupKey other = (GroupKey) obj;
+            return unitId == other.unitId && functionCode == other.functionCode
+                    && pollPeriodMillis == other.pollPeriodMillis && priority == other.priority;
+        }
+    }
+
+    /**
+     * Callback of a merged request, slicing the response for each member
+     */
+    private static class MergedCallback
+            implements ModbusReadCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> {
+        private final int start;
+        private final List<Registration> members;
+
+        private MergedCallback(int start, List<Registration> members) {
+            this.start = start;
+            this.members = members;
+        }
+
+        @Override
+        public void handle(AsyncModbusReadResult result) {
+            result.getRegisters().ifPresent(registers -> {
+                byte[] bytes = registers.getBytes();
+                for (Registration member : members) {
+                    int from = 2 * (member.start() - start);
+                    int to = 2 * (member.end() - start);
+                    member.resultCallback.handle(new AsyncModbusReadResult(member.request,
+                            new ModbusRegisterArray(Arrays.copyOfRange(bytes, from, to))));
+                }
+            });
+            result.getBits().ifPresent(bits -> {
+                for (Registration member : members) {
+                    int offset = member.start() - start;
+                    int length = member.request.getDataLength();
+                    BitArray slice = new BitArray(length);
+                    for (int i = 0; i < length; i++) {
+                        slice.setBit(i, bits.getBit(offset + i));
+                    }
+                    member.resultCallback.handle(new AsyncModbusReadResult(member.request, slice));
+                }
+            });
+        }
+
+        @Override
+        public void handle(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+            for (Registration member : members) {
+                member.failureCallback.handle(new AsyncModbusFailure<>(member.request, failure.getCause()));
+            }
+        }
+    }
+
+    /**
+     * A request registered with the communication interface or the poll scheduler
+     */
+    private static class PlannedRequest {
+        private final ModbusReadRequestBlueprint request;
+        private final @Nullable PollTask pollTask;
+        private final @Nullable ScheduledPoll scheduledPoll;
+
+        private PlannedRequest(ModbusReadRequestBlueprint request, @Nullable PollTask pollTask,
+                @Nullable ScheduledPoll scheduledPoll) {
+            this.request = request;
+            this.pollTask = pollTask;
+            this.scheduledPoll = scheduledPoll;
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusPollCoalescer.class);
+    private final ModbusCommunicationInterface comms;
+    private final @Nullable ModbusPollScheduler pollScheduler;
+    private final Map<GroupKey, List<Registration>> registrations = new HashMap<>();
+    private final Map<GroupKey, List<PlannedRequest>> plannedRequests = new HashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param comms communication interface of the endpoint
+     * @param pollScheduler scheduler of the endpoint, or <code>null</code> to register polls with the communication
+     *            interface
+     */
+    public ModbusPollCoalescer(ModbusCommunicationInterface comms, @Nullable ModbusPollScheduler pollScheduler) {
+        this.comms = comms;
+        this.pollScheduler = pollScheduler;
+    }
+
+    /**
+     * Register a regular poll. The poll might be merged with other registered polls.
+     *
+     * @param request request to poll
+     * @param pollPeriodMillis poll interval, in milliseconds
+     * @param priority priority of the poll, only polls of same priority are merged
+     * @param resultCallback callback receiving data of the given request
+     * @param failureCallback callback receiving failures of the given request
+     * @return registration handle, to be passed to {@link #unregisterRegularPoll(Registration)}
+     */
+    public synchronized Registration registerRegularPoll(ModbusReadRequestBlueprint request, long pollPeriodMillis,
+            Priority priority, ModbusReadCallback resultCallback,
+            ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+        Registration registration = new Registration(request, pollPeriodMillis, priority, resultCallback,
+                failureCallback);
+        GroupKey key = registration.groupKey();
+        registrations.computeIfAbsent(key, k -> new ArrayList<>()).add(registration);
+        rebuild(key);
+        return registration;
+    }
+
+    /**
+     * Unregister a regular poll. Other polls merged with it are re-planned.
+     *
+     * @param registration handle returned by
+     *            {@link #registerRegularPoll(ModbusReadRequestBlueprint, long, Priority, ModbusReadCallback, ModbusFailureCallback)}
+     */
+    public synchronized void unregisterRegularPoll(Registration registration) {
+        GroupKey key = registration.groupKey();
+        List<Registration> group = registrations.get(key);
+        if (group == null || !group.remove(registration)) {
+            return;
+        }
+        if (group.isEmpty()) {
+            registrations.remove(key);
+        }
+        rebuild(key);
+    }
+
+    /**
+     * Unregister all polls
+     */
+    public synchronized void dispose() {
+        plannedRequests.values().forEach(planned -> planned.forEach(this::unregister));
+        plannedRequests.clear();
+        registrations.clear();
+    }
+
+    /**
+     * Get the requests currently sent to the slave
+     *
+     * @return merged requests of all registered polls
+     */
+    public synchronized List<ModbusReadRequestBlueprint> getPlannedRequests() {
+        List<ModbusReadRequestBlueprint> requests = new ArrayList<>();
+        plannedRequests.values().forEach(planned -> planned.forEach(request -> requests.add(request.request)));
+        return requests;
+    }
+
+    private void rebuild(GroupKey key) {
+        List<PlannedRequest> oldRequests = plannedRequests.remove(key);
+        if (oldRequests != null) {
+            oldRequests.forEach(this::unregister);
+        }
+        List<Registration> group = registrations.get(key);
+        if (group == null) {
+            return;
+        }
+
+        int maxLength = key.functionCode == ModbusReadFunctionCode.READ_COILS
+                || key.functionCode == ModbusReadFunctionCode.READ_INPUT_DISCRETES
+                        ? ModbusConstants.MAX_BITS_READ_COUNT
+                        : ModbusConstants.MAX_REGISTERS_READ_COUNT;
+        List<Registration> sorted = new ArrayList<>(group);
+        sorted.sort(Comparator.comparingInt(Registration::start).thenComparingInt(Registration::end));
+
+        List<PlannedRequest> requests = new ArrayList<>();
+        List<Registration> members = new ArrayList<>();
+        int start = 0;
+        int end = 0;
+        for (Registration registration : sorted) {
+            if (!members.isEmpty() && registration.start() <= end
+                    && Math.max(end, registration.end()) - start <= maxLength) {
+                members.add(registration);
+                end = Math.max(end, registration.end());
+                continue;
+            }
+            if (!members.isEmpty()) {
+                requests.add(register(key, start, end, members));
+            }
+            members = new ArrayList<>();
+            members.add(registration);
+            start = registration.start();
+            end = registration.end();
+        }
+        if (!members.isEmpty()) {
+            requests.add(register(key, start, end, members));
+        }
+        logger.debug(
+                "Polls with function code {} every {} ms with priority {} on slave {}: {} polls merged into {} requests",
+                key.functionCode, key.pollPeriodMillis, key.priority, key.unitId, group.size(), requests.size());
+        plannedRequests.put(key, requests);
+    }
+
+    private PlannedRequest register(GroupKey key, int start, int end, List<Registration> members) {
+        if (members.size() == 1) {
+            Registration single = members.get(0);
+            return register(key, single.request, single.resultCallback, single.failureCallback);
+        }
+        int maxTries = members.stream().mapToInt(member -> member.request.getMaxTries()).max().orElse(1);
+        ModbusReadRequestBlueprint request = new ModbusReadRequestBlueprint(key.unitId, key.functionCode, start,
+                end - start, maxTries);
+        MergedCallback callback = new MergedCallback(start, members);
+        return register(key, request, callback, callback);
+    }
+
+    private PlannedRequest register(GroupKey key, ModbusReadRequestBlueprint request,
+            ModbusReadCallback resultCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+        ModbusPollScheduler localPollScheduler = pollScheduler;
+        if (localPollScheduler != null) {
+            return new PlannedRequest(request, null, localPollScheduler.registerRegularPoll(request,
+                    key.pollPeriodMillis, key.priority, resultCallback, failureCallback));
+        }
+        return new PlannedRequest(request,
+                comms.registerRegularPoll(request, key.pollPeriodMillis, 0, resultCallback, failureCallback), null);
+    }
+
+    private void unregister(PlannedRequest plannedRequest) {
+        PollTask pollTask = plannedRequest.pollTask;
+        if (pollTask != null) {
+            comms.unregisterRegularPoll(pollTask);
+        }
+        ScheduledPoll scheduledPoll = plannedRequest.scheduledPoll;
+        ModbusPollScheduler localPollScheduler = pollScheduler;
+        if (scheduledPoll != null && localPollScheduler != null) {
+            localPollScheduler.unregisterRegularPoll(scheduledPoll);
+        }
+    }
+}
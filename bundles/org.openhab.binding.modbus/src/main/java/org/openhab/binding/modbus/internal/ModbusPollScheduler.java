@@ -0,0 +1,415 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ModbusPollScheduler} schedules the regular polls of an endpoint itself, instead of registering them with
+ * the communication interface at a fixed rate.
+ *
+ * Only a single request is submitted to the communication interface at a time, so that requests do not pile up in
+ * the queue of the transport when the bus is slower than the configured poll intervals. Whenever the bus is free,
+ * the due poll with the highest priority, then with the earliest due time, is submitted. One-time polls (e.g.
+ * refreshes after a write) are always submitted before regular polls.
+ *
+ * The duration of every transaction is measured. If the polls demand more than 80% of the bus time, the intervals of
+ * low priority polls are stretched to leave the bus to higher priority polls. A poll that could not be started within
+ * its own interval is counted as a missed deadline. A poll whose transaction does not complete in time is due again
+ * only after its interval, so that an unresponsive slave does not occupy the bus with back-to-back requests.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusPollScheduler {
+
+    public enum Priority {
+        HIGH,
+        NORMAL,
+        LOW;
+
+        /**
+         * Parse priority from configuration value
+         *
+         * @param value configuration value, e.g. "low"
+         * @return priority, or {@link #NORMAL} in case value is not recognized
+         */
+        public static Priority fromConfigValue(@Nullable String value) {
+            if (value != null) {
+                for (Priority priority : values()) {
+                    if (priority.name().equalsIgnoreCase(value)) {
+                        return priority;
+                    }
+                }
+            }
+            return NORMAL;
+        }
+    }
+
+    /**
+     * Handle of a regular poll registered with the scheduler
+     */
+    public static class ScheduledPoll {
+        private final ModbusReadRequestBlueprint request;
+        private final long periodNanos;
+        private final Priority priority;
+        private final ModbusReadCallback resultCallback;
+        private final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback;
+        private long dueNanos;
+        private long averageTransactionNanos;
+
+        private ScheduledPoll(ModbusReadRequestBlueprint request, long periodNanos, Priority priority,
+                ModbusReadCallback resultCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback,
+                long dueNanos) {
+            this.request = request;
+            this.periodNanos = periodNanos;
+            this.priority = priority;
+            this.resultCallback = resultCallback;
+            this.failureCallback = failureCallback;
+            this.dueNanos = dueNanos;
+        }
+    }
+
+    /**
+     * Statistics of the bus usage since the previous call of {@link ModbusPollScheduler#getStatistics()}
+     */
+    public static class Statistics {
+        private final double utilization;
+        private final long missedDeadlines;
+        private final long averageQueueWaitMillis;
+
+        private Statistics(double utilization, long missedDeadlines, long averageQueueWaitMillis) {
+            this.utilization = utilization;
+            this.missedDeadlines = missedDeadlines;
+            this.averageQueueWaitMillis = averageQueueWaitMillis;
+        }
+
+        /**
+         * Share of time the bus was occupied by transactions, between 0 and 1
+         */
+        public double getUtilization() {
+            return utilization;
+        }
+
+        /**
+         * Number of polls that could not be started within their own interval
+         */
+        public long getMissedDeadlines() {
+            return missedDeadlines;
+        }
+
+        /**
+         * Average time between a poll becoming due and its request being submitted, in milliseconds
+         */
+        public long getAverageQueueWaitMillis() {
+            return averageQueueWaitMillis;
+        }
+    }
+
+    /**
+     * A single request submitted to the communication interface
+     */
+    private static class Transaction {
+        private final @Nullable ScheduledPoll poll;
+        private final ModbusReadRequestBlueprint request;
+        private final ModbusReadCallback resultCallback;
+        private final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback;
+        private final long dueNanos;
+
+        private Transaction(@Nullable ScheduledPoll poll, ModbusReadRequestBlueprint request,
+                ModbusReadCallback resultCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback,
+                long dueNanos) {
+            this.poll = poll;
+            this.request = request;
+            this.resultCallback = resultCallback;
+            this.failureCallback = failureCallback;
+            this.dueNanos = dueNanos;
+        }
+    }
+
+    private static final double TARGET_UTILIZATION = 0.8;
+    private static final double MAX_STRETCH_FACTOR = 10.0;
+    // weight of the latest transaction in the average transaction time of a poll
+    private static final double TRANSACTION_TIME_WEIGHT = 0.2;
+    // transactions not completed within this time are considered lost, and the next request is submitted
+    private static final long TRANSACTION_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusPollScheduler.class);
+    private final ModbusCommunicationInterface comms;
+    private final ScheduledExecutorService scheduler;
+    private final LongSupplier nanoTime;
+    private final List<ScheduledPoll> polls = new ArrayList<>();
+    private final Deque<Transaction> oneTimePolls = new ArrayDeque<>();
+    private @Nullable Transaction currentTransaction;
+    private long currentTransactionStartNanos;
+    private @Nullable ScheduledFuture<?> wakeupJob;
+    private double stretchFactor = 1.0;
+    private boolean disposed;
+
+    private long statisticsStartNanos;
+    private long busyNanos;
+    private long missedDeadlines;
+    private long queueWaitNanos;
+    private long transactions;
+
+    public ModbusPollScheduler(ModbusCommunicationInterface comms, ScheduledExecutorService scheduler) {
+        this(comms, scheduler, System::nanoTime);
+    }
+
+    ModbusPollScheduler(ModbusCommunicationInterface comms, ScheduledExecutorService scheduler, LongSupplier nanoTime) {
+        this.comms = comms;
+        this.scheduler = scheduler;
+        this.nanoTime = nanoTime;
+        this.statisticsStartNanos = nanoTime.getAsLong();
+    }
+
+    /**
+     * Register a regular poll
+     *
+     * @param request request to poll
+     * @param pollPeriodMillis poll interval, in milliseconds
+     * @param priority priority of the poll
+     * @param resultCallback callback receiving data of the request
+     * @param failureCallback callback receiving failures of the request
+     * @return handle, to be passed to {@link #unregisterRegularPoll(ScheduledPoll)}
+     */
+    public ScheduledPoll registerRegularPoll(ModbusReadRequestBlueprint request, long pollPeriodMillis,
+            Priority priority, ModbusReadCallback resultCallback,
+            ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+        ScheduledPoll poll = new ScheduledPoll(request, TimeUnit.MILLISECONDS.toNanos(pollPeriodMillis), priority,
+                resultCallback, failureCallback, nanoTime.getAsLong());
+        synchronized (this) {
+            polls.add(poll);
+        }
+        dispatch();
+        return poll;
+    }
+
+    /**
+     * Unregister a regular poll. A request of the poll already submitted is still completed.
+     *
+     * @param poll handle returned by
+     *            {@link #registerRegularPoll(ModbusReadRequestBlueprint, long, Priority, ModbusReadCallback, ModbusFailureCallback)}
+     */
+    public synchronized void unregisterRegularPoll(ScheduledPoll poll) {
+        polls.remove(poll);
+    }
+
+    /**
+     * Submit a one-time poll, ahead of all regular polls
+     *
+     * @param request request to poll
+     * @param resultCallback callback receiving data of the request
+     * @param failureCallback callback receiving failures of the request
+     */
+    public void submitOneTimePoll(ModbusReadRequestBlueprint request, ModbusReadCallback resultCallback,
+            ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+        synchronized (this) {
+            oneTimePolls.add(new Transaction(null, request, resultCallback, failureCallback, nanoTime.getAsLong()));
+        }
+        dispatch();
+    }
+
+    /**
+     * Get the statistics since the previous call, and start a new statistics period
+     *
+     * @return bus statistics
+     */
+    public synchronized Statistics getStatistics() {
+        long now = nanoTime.getAsLong();
+        long elapsedNanos = Math.max(1, now - statisticsStartNanos);
+        Statistics statistics = new Statistics(Math.min(1.0, (double) busyNanos / elapsedNanos), missedDeadlines,
+                transactions == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(queueWaitNanos / transactions));
+        statisticsStartNanos = now;
+        busyNanos = 0;
+        missedDeadlines = 0;
+        queueWaitNanos = 0;
+        transactions = 0;
+        return statistics;
+    }
+
+    /**
+     * Stop scheduling. Requests already submitted are still completed.
+     */
+    public synchronized void dispose() {
+        disposed = true;
+        polls.clear();
+        oneTimePolls.clear();
+        ScheduledFuture<?> localWakeupJob = wakeupJob;
+        if (localWakeupJob != null) {
+            localWakeupJob.cancel(false);
+        }
+        wakeupJob = null;
+    }
+
+    /**
+     * Submit the next request, if the bus is free and a poll is due
+     */
+    private void dispatch() {
+        Transaction transaction;
+        synchronized (this) {
+            if (disposed) {
+                return;
+            }
+            long now = nanoTime.getAsLong();
+            Transaction localCurrentTransaction = currentTransaction;
+            if (localCurrentTransaction != null) {
+                if (now - currentTransactionStartNanos < TRANSACTION_TIMEOUT_NANOS) {
+                    // the completion of the current transaction dispatches the next one
+                    return;
+                }
+                logger.debug("Request {} did not complete in time, submitting next request",
+                        localCurrentTransaction.request);
+                busyNanos += now - currentTransactionStartNanos;
+                currentTransaction = null;
+                ScheduledPoll timedOutPoll = localCurrentTransaction.poll;
+                if (timedOutPoll != null) {
+                    // not due again before its interval, the slave is likely not responding
+                    timedOutPoll.dueNanos = now + effectivePeriodNanos(timedOutPoll);
+                }
+            }
+
+            transaction = oneTimePolls.poll();
+            if (transaction == null) {
+                ScheduledPoll nextPoll = null;
+                long nextDueNanos = Long.MAX_VALUE;
+                for (ScheduledPoll poll : polls) {
+                    if (poll.dueNanos - now > 0) {
+                        nextDueNanos = Math.min(nextDueNanos, poll.dueNanos - now);
+                    } else if (nextPoll == null || poll.priority.compareTo(nextPoll.priority) < 0
+                            || (poll.priority == nextPoll.priority && poll.dueNanos - nextPoll.dueNanos < 0)) {
+                        nextPoll = poll;
+                    }
+                }
+                if (nextPoll == null) {
+                    scheduleWakeup(nextDueNanos);
+                    return;
+                }
+                transaction = new Transaction(nextPoll, nextPoll.request, nextPoll.resultCallback,
+                        nextPoll.failureCallback, nextPoll.dueNanos);
+                if (now - nextPoll.dueNanos > effectivePeriodNanos(nextPoll)) {
+                    missedDeadlines++;
+                }
+            }
+            queueWaitNanos += Math.max(0, now - transaction.dueNanos);
+            currentTransaction = transaction;
+            currentTransactionStartNanos = now;
+            // guard against transactions never completing
+            scheduleWakeup(TRANSACTION_TIMEOUT_NANOS);
+        }
+
+        final Transaction submitted = transaction;
+        try {
+            comms.submitOneTimePoll(submitted.request, result -> handleResult(submitted, result),
+                    failure -> handleFailure(submitted, failure));
+        } catch (RuntimeException e) {
+            handleFailure(submitted, new AsyncModbusFailure<>(submitted.request, e));
+        }
+    }
+
+    private void handleResult(Transaction transaction, AsyncModbusReadResult result) {
+        complete(transaction);
+        transaction.resultCallback.handle(result);
+    }
+
+    private void handleFailure(Transaction transaction, AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+        complete(transaction);
+        transaction.failureCallback.handle(failure);
+    }
+
+    /**
+     * Book keeping of a completed transaction, then dispatch the next request
+     */
+    private void complete(Transaction transaction) {
+        synchronized (this) {
+            if (currentTransaction != transaction) {
+                // timed out before
+                return;
+            }
+            long now = nanoTime.getAsLong();
+            long durationNanos = now - currentTransactionStartNanos;
+            busyNanos += durationNanos;
+            transactions++;
+            currentTransaction = null;
+
+            ScheduledPoll poll = transaction.poll;
+            if (poll != null) {
+                poll.averageTransactionNanos = poll.averageTransactionNanos == 0 ? durationNanos
+                        : (long) (TRANSACTION_TIME_WEIGHT * durationNanos
+                                + (1 - TRANSACTION_TIME_WEIGHT) * poll.averageTransactionNanos);
+                updateStretchFactor();
+                long nextDueNanos = transaction.dueNanos + effectivePeriodNanos(poll);
+                // polls that are late are due again as soon as possible, but never run more than once per interval
+                poll.dueNanos = nextDueNanos - now < 0 ? now : nextDueNanos;
+            }
+        }
+        dispatch();
+    }
+
+    /**
+     * Stretch the intervals of low priority polls if the polls demand more bus time than targeted
+     */
+    private void updateStretchFactor() {
+        double demand = 0;
+        double lowPriorityDemand = 0;
+        for (ScheduledPoll poll : polls) {
+            double pollDemand = (double) poll.averageTransactionNanos / Math.max(1, poll.periodNanos);
+            demand += pollDemand;
+            if (poll.priority == Priority.LOW) {
+                lowPriorityDemand += pollDemand;
+            }
+        }
+        double previousStretchFactor = stretchFactor;
+        if (demand <= TARGET_UTILIZATION || lowPriorityDemand == 0) {
+            stretchFactor = 1.0;
+        } else {
+            double available = TARGET_UTILIZATION - (demand - lowPriorityDemand);
+            stretchFactor = available <= 0 ? MAX_STRETCH_FACTOR
+                    : Math.max(1.0, Math.min(MAX_STRETCH_FACTOR, lowPriorityDemand / available));
+        }
+        if (Math.abs(stretchFactor - previousStretchFactor) > 0.1) {
+            logger.debug("Bus demand {}: low priority poll intervals stretched by factor {}", demand, stretchFactor);
+        }
+    }
+
+    private long effectivePeriodNanos(ScheduledPoll poll) {
+        return poll.priority == Priority.LOW ? (long) (poll.periodNanos * stretchFactor) : poll.periodNanos;
+    }
+
+    private void scheduleWakeup(long delayNanos) {
+        ScheduledFuture<?> localWakeupJob = wakeupJob;
+        if (localWakeupJob != null) {
+            localWakeupJob.cancel(false);
+        }
+        wakeupJob = delayNanos == Long.MAX_VALUE ? null
+                : scheduler.schedule(this::dispatch, delayNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -29,6 +29,8 @@ public class ModbusPollerConfiguration {
     private @Nullable String type;
     private int maxTries = 3;// backwards compatibility and tests
     private long cacheMillis = 50L;
+    private boolean coalesce;
+    private String priority = "normal";
 
     /**
      * Gets refresh period in milliseconds
@@ -115,4 +117,32 @@ public class ModbusPollerConfiguration {
     public void setCacheMillis(long cacheMillis) {
         this.cacheMillis = cacheMillis;
     }
+
+    /**
+     * Gets whether the poll may be merged with other polls of the same endpoint
+     */
+    public boolean isCoalesce() {
+        return coalesce;
+    }
+
+    /**
+     * Sets whether the poll may be merged with other polls of the same endpoint
+     */
+    public void setCoalesce(boolean coalesce) {
+        this.coalesce = coalesce;
+    }
+
+    /**
+     * Gets priority of the poll, used with adaptive polling of the endpoint
+     */
+    public String getPriority() {
+        return priority;
+    }
+
+    /**
+     * Sets priority of the poll, used with adaptive polling of the endpoint
+     */
+    public void setPriority(String priority) {
+        this.priority = priority;
+    }
 }
@@ -38,6 +38,7 @@ public class ModbusSerialConfiguration {
     private int connectMaxTries;
     private int connectTimeoutMillis;
     private boolean enableDiscovery;
+    private boolean adaptivePolling;
 
     public @Nullable String getPort() {
         return port;
@@ -158,4 +159,12 @@ public class ModbusSerialConfiguration {
     public void setDiscoveryEnabled(boolean enableDiscovery) {
         this.enableDiscovery = enableDiscovery;
     }
+
+    public boolean isAdaptivePolling() {
+        return adaptivePolling;
+    }
+
+    public void setAdaptivePolling(boolean adaptivePolling) {
+        this.adaptivePolling = adaptivePolling;
+    }
 }
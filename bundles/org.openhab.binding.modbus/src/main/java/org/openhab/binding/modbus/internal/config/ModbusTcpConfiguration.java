@@ -32,6 +32,7 @@ public class ModbusTcpConfiguration {
     private int reconnectAfterMillis;
     private int connectTimeoutMillis;
     private boolean enableDiscovery;
+    private boolean adaptivePolling;
     private boolean rtuEncoded;
 
     public boolean getRtuEncoded() {
@@ -109,4 +110,12 @@ public class ModbusTcpConfiguration {
     public void setDiscoveryEnabled(boolean enableDiscovery) {
         this.enableDiscovery = enableDiscovery;
     }
+
+    public boolean isAdaptivePolling() {
+        return adaptivePolling;
+    }
+
+    public void setAdaptivePolling(boolean adaptivePolling) {
+        this.adaptivePolling = adaptivePolling;
+    }
 }
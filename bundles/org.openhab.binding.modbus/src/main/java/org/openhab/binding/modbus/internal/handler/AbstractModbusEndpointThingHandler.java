@@ -12,15 +12,26 @@
  */
 package org.openhab.binding.modbus.internal.handler;
 
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.modbus.handler.EndpointNotInitializedException;
 import org.openhab.binding.modbus.handler.ModbusEndpointThingHandler;
+import org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal;
 import org.openhab.binding.modbus.internal.ModbusConfigurationException;
+import org.openhab.binding.modbus.internal.ModbusPollCoalescer;
+import org.openhab.binding.modbus.internal.ModbusPollScheduler;
+import org.openhab.binding.modbus.internal.ModbusPollScheduler.Statistics;
 import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
 import org.openhab.core.io.transport.modbus.ModbusManager;
 import org.openhab.core.io.transport.modbus.endpoint.EndpointPoolConfiguration;
 import org.openhab.core.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.unit.MetricPrefix;
+import org.openhab.core.library.unit.Units;
 import org.openhab.core.thing.Bridge;
 import org.openhab.core.thing.ChannelUID;
 import org.openhab.core.thing.ThingStatus;
@@ -46,8 +57,12 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
     protected volatile @Nullable E endpoint;
     protected ModbusManager modbusManager;
     protected volatile @Nullable EndpointPoolConfiguration poolConfiguration;
+    private static final long STATISTICS_INTERVAL_SECONDS = 10;
     private final Logger logger = LoggerFactory.getLogger(AbstractModbusEndpointThingHandler.class);
     private @NonNullByDefault({}) ModbusCommunicationInterface comms;
+    private volatile @Nullable ModbusPollCoalescer pollCoalescer;
+    private volatile @Nullable ModbusPollScheduler pollScheduler;
+    private @Nullable ScheduledFuture<?> statisticsJob;
 
     public AbstractModbusEndpointThingHandler(Bridge bridge, ModbusManager modbusManager) {
         super(bridge);
@@ -76,6 +91,14 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
                 }
                 try {
                     comms = modbusManager.newModbusCommunicationInterface(endpoint, poolConfiguration);
+                    ModbusPollScheduler localPollScheduler = null;
+                    if (isAdaptivePollingEnabled()) {
+                        localPollScheduler = new ModbusPollScheduler(comms, scheduler);
+                        statisticsJob = scheduler.scheduleWithFixedDelay(this::updateStatistics,
+                                STATISTICS_INTERVAL_SECONDS, STATISTICS_INTERVAL_SECONDS, TimeUnit.SECONDS);
+                    }
+                    pollScheduler = localPollScheduler;
+                    pollCoalescer = new ModbusPollCoalescer(comms, localPollScheduler);
                     updateStatus(ThingStatus.ONLINE);
                 } catch (IllegalArgumentException e) {
                     updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
@@ -93,6 +116,21 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
 
     @Override
     public void dispose() {
+        ScheduledFuture<?> localStatisticsJob = statisticsJob;
+        if (localStatisticsJob != null) {
+            localStatisticsJob.cancel(true);
+        }
+        statisticsJob = null;
+        ModbusPollCoalescer localPollCoalescer = pollCoalescer;
+        if (localPollCoalescer != null) {
+            localPollCoalescer.dispose();
+        }
+        pollCoalescer = null;
+        ModbusPollScheduler localPollScheduler = pollScheduler;
+        if (localPollScheduler != null) {
+            localPollScheduler.dispose();
+        }
+        pollScheduler = null;
         try {
             ModbusCommunicationInterface localComms = comms;
             if (localComms != null) {
@@ -110,6 +148,42 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
         return comms;
     }
 
+    /**
+     * Get the planner merging regular polls of this endpoint
+     *
+     * Note that this can be <code>null</code> in case of incomplete initialization
+     *
+     * @return poll coalescer of this endpoint
+     */
+    public @Nullable ModbusPollCoalescer getPollCoalescer() {
+        return pollCoalescer;
+    }
+
+    /**
+     * Get the scheduler of regular polls of this endpoint
+     *
+     * Note that this is <code>null</code> in case adaptive polling is disabled, or initialization is incomplete
+     *
+     * @return poll scheduler of this endpoint
+     */
+    public @Nullable ModbusPollScheduler getPollScheduler() {
+        return pollScheduler;
+    }
+
+    private void updateStatistics() {
+        ModbusPollScheduler localPollScheduler = pollScheduler;
+        if (localPollScheduler == null) {
+            return;
+        }
+        Statistics statistics = localPollScheduler.getStatistics();
+        updateState(ModbusBindingConstantsInternal.CHANNEL_BUS_UTILIZATION,
+                new QuantityType<>(statistics.getUtilization() * 100, Units.PERCENT));
+        updateState(ModbusBindingConstantsInternal.CHANNEL_MISSED_DEADLINES,
+                new DecimalType(statistics.getMissedDeadlines()));
+        updateState(ModbusBindingConstantsInternal.CHANNEL_QUEUE_WAIT,
+                new QuantityType<>(statistics.getAverageQueueWaitMillis(), MetricPrefix.MILLI(Units.SECOND)));
+    }
+
     @Nullable
     public E getEndpoint() {
         return endpoint;
@@ -123,6 +197,11 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
      */
     protected abstract void configure() throws ModbusConfigurationException;
 
+    /**
+     * Must be overriden by subclasses to tell whether regular polls are scheduled by {@link ModbusPollScheduler}
+     */
+    protected abstract boolean isAdaptivePollingEnabled();
+
     /**
      * Format error message in case some other endpoint has been configured with different
      * {@link EndpointPoolConfiguration}
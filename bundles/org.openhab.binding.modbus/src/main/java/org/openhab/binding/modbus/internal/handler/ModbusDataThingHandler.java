@@ -17,6 +17,7 @@ import static org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -37,6 +38,7 @@ import org.openhab.binding.modbus.internal.ModbusConfigurationException;
 import org.openhab.binding.modbus.internal.SingleValueTransformation;
 import org.openhab.binding.modbus.internal.ValueTransformation;
 import org.openhab.binding.modbus.internal.config.ModbusDataConfiguration;
+import org.openhab.binding.modbus.internal.handler.ModbusExtractionPlan.RegisterWindow;
 import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
 import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
 import org.openhab.core.io.transport.modbus.AsyncModbusWriteResult;
@@ -123,6 +125,34 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     // data channels + 4 for read/write last error/success
     private static final int NUMER_OF_CHANNELS_HINT = CHANNEL_ID_TO_ACCEPTED_TYPES.size() + 4;
 
+    /**
+     * Value channel with the parameters needed to convert polled data, resolved once on initialization
+     */
+    private static class ReadChannel {
+        private final String channelId;
+        private final ChannelUID channelUID;
+        private final List<Class<? extends State>> acceptedDataTypes;
+        private final @Nullable State trueState;
+        private final @Nullable State falseState;
+
+        private ReadChannel(String channelId, ChannelUID channelUID,
+                List<Class<? extends State>> acceptedDataTypes) {
+            this.channelId = channelId;
+            this.channelUID = channelUID;
+            this.acceptedDataTypes = acceptedDataTypes;
+            if (acceptedDataTypes.stream().anyMatch(clz -> clz.equals(OnOffType.class))) {
+                trueState = OnOffType.ON;
+                falseState = OnOffType.OFF;
+            } else if (acceptedDataTypes.stream().anyMatch(clz -> clz.equals(OpenClosedType.class))) {
+                trueState = OpenClosedType.OPEN;
+                falseState = OpenClosedType.CLOSED;
+            } else {
+                trueState = null;
+                falseState = null;
+            }
+        }
+    }
+
     //
     // If you change the below default/initial values, please update the corresponding values in dispose()
     //
@@ -148,6 +178,11 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     private volatile Map<String, ChannelUID> channelCache = new HashMap<>();
     private volatile Map<ChannelUID, Long> channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
     private volatile Map<ChannelUID, State> channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+    private volatile List<ReadChannel> readChannels = Collections.emptyList();
+    private volatile int extractIndex;
+    private volatile @Nullable RegisterWindow registerWindow;
+    private volatile @Nullable State lastNumericState;
+    private volatile Map<ChannelUID, State> lastTransformedStates = new HashMap<>(NUMER_OF_CHANNELS_HINT);
 
     private volatile LocalDateTime lastStatusInfoUpdate = LocalDateTime.MIN;
     private volatile ThingStatusInfo statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE,
@@ -414,6 +449,11 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE, null);
         channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
         channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+        readChannels = Collections.emptyList();
+        extractIndex = 0;
+        registerWindow = null;
+        lastNumericState = null;
+        lastTransformedStates = new HashMap<>(NUMER_OF_CHANNELS_HINT);
     }
 
     @Override
@@ -506,6 +546,57 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         }
         readTransformation = new CascadedValueTransformationImpl(config.getReadTransform());
         validateReadIndex();
+        compileReadParameters();
+    }
+
+    /**
+     * Resolve the parameters needed to convert polled data, so that they do not need to be evaluated on every poll
+     */
+    private void compileReadParameters() {
+        ValueType readValueType = this.readValueType;
+        if (!isReadEnabled || readValueType == null || !readIndex.isPresent()) {
+            return;
+        }
+        List<ReadChannel> readChannels = new ArrayList<>(CHANNEL_ID_TO_ACCEPTED_TYPES.size());
+        CHANNEL_ID_TO_ACCEPTED_TYPES.forEach((channelId, acceptedDataTypes) -> {
+            if (!acceptedDataTypes.isEmpty()) {
+                readChannels.add(new ReadChannel(channelId, getChannelUID(channelId), acceptedDataTypes));
+            }
+        });
+        this.readChannels = readChannels;
+
+        // extractIndex:
+        // e.g. with bit, extractIndex=4 means 5th bit (from right) ("10.4" -> 5th bit of register 10)
+        // e.g. with 8bit integer, extractIndex=3 means high byte of second register
+        //
+        // with <16 bit types, this is the index of the N'th 1-bit/8-bit item. Each register has 16/2 items,
+        // respectively.
+        // with >=16 bit types, this is index of first register
+        int registerOffset = readIndex.get() - pollStart;
+        int registerCount;
+        if (readValueType.getBits() >= 16) {
+            // Invariant, checked in validateReadIndex
+            assert readSubIndex.orElse(0) == 0;
+            extractIndex = registerOffset;
+            registerCount = readValueType.getBits() / 16;
+        } else {
+            int subIndex = readSubIndex.orElse(0);
+            int itemsPerRegister = 16 / readValueType.getBits();
+            extractIndex = registerOffset * itemsPerRegister + subIndex;
+            registerCount = 1;
+        }
+        registerWindow = new RegisterWindow(registerOffset, registerCount, extractIndex, readValueType);
+    }
+
+    /**
+     * Location of the value read by this thing within the polled registers, used by the
+     * {@link ModbusExtractionPlan} of the poller
+     *
+     * @return register window, or null if this thing does not read a value
+     */
+    @Nullable
+    RegisterWindow getRegisterWindow() {
+        return registerWindow;
     }
 
     private void validateAndParseWriteParameters(ModbusDataConfiguration config) throws ModbusConfigurationException {
@@ -646,18 +737,6 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         }
     }
 
-    private boolean containsOnOff(List<Class<? extends State>> channelAcceptedDataTypes) {
-        return channelAcceptedDataTypes.stream().anyMatch(clz -> {
-            return clz.equals(OnOffType.class);
-        });
-    }
-
-    private boolean containsOpenClosed(List<Class<? extends State>> acceptedDataTypes) {
-        return acceptedDataTypes.stream().anyMatch(clz -> {
-            return clz.equals(OpenClosedType.class);
-        });
-    }
-
     public synchronized void onReadResult(AsyncModbusReadResult result) {
         result.getRegisters().ifPresent(registers -> onRegisters(result.getRequest(), registers));
         result.getBits().ifPresent(bits -> onBits(result.getRequest(), bits));
@@ -681,31 +760,31 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         if (readValueType == null) {
             return;
         }
-        State numericState;
 
-        // extractIndex:
-        // e.g. with bit, extractIndex=4 means 5th bit (from right) ("10.4" -> 5th bit of register 10, "10.4" -> 5th bit
-        // of register 10)
-        // bit of second register)
-        // e.g. with 8bit integer, extractIndex=3 means high byte of second register
-        //
-        // with <16 bit types, this is the index of the N'th 1-bit/8-bit item. Each register has 16/2 items,
-        // respectively.
-        // with >=16 bit types, this is index of first register
-        int extractIndex;
-        if (readValueType.getBits() >= 16) {
-            // Invariant, checked in initialize
-            assert readSubIndex.orElse(0) == 0;
-            extractIndex = readIndex.get() - pollStart;
-        } else {
-            int subIndex = readSubIndex.orElse(0);
-            int itemsPerRegister = 16 / readValueType.getBits();
-            extractIndex = (readIndex.get() - pollStart) * itemsPerRegister + subIndex;
-        }
-        numericState = ModbusBitUtilities.extractStateFromRegisters(registers, extractIndex, readValueType)
+        State numericState = ModbusBitUtilities.extractStateFromRegisters(registers, extractIndex, readValueType)
                 .map(state -> (State) state).orElse(UnDefType.UNDEF);
+        onDecodedRegisters(request, registers, numericState);
+    }
+
+    /**
+     * Update channels with the value decoded from the polled registers by the {@link ModbusExtractionPlan} of the
+     * poller
+     *
+     * @param request read request
+     * @param registers polled registers
+     * @param numericState value decoded from the registers
+     */
+    synchronized void onDecodedRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers,
+            State numericState) {
+        if (hasConfigurationError()) {
+            return;
+        } else if (!isReadEnabled) {
+            return;
+        }
+        boolean unchanged = numericState.equals(lastNumericState);
+        lastNumericState = numericState;
         boolean boolValue = !numericState.equals(DecimalType.ZERO);
-        Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
+        Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue, unchanged);
         logger.debug(
                 "Thing {} channels updated: {}. readValueType={}, readIndex={}, readSubIndex(or 0)={}, extractIndex={} -> numeric value {} and boolValue={}. Registers {} for request {}",
                 thing.getUID(), values, readValueType, readIndex, readSubIndex.orElse(0), extractIndex, numericState,
@@ -720,7 +799,9 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         }
         boolean boolValue = bits.getBit(readIndex.get() - pollStart);
         DecimalType numericState = boolValue ? new DecimalType(BigDecimal.ONE) : DecimalType.ZERO;
-        Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
+        boolean unchanged = numericState.equals(lastNumericState);
+        lastNumericState = numericState;
+        Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue, unchanged);
         logger.debug(
                 "Thing {} channels updated: {}. readValueType={}, readIndex={} -> numeric value {} and boolValue={}. Bits {} for request {}",
                 thing.getUID(), values, readValueType, readIndex, numericState, boolValue, bits, request);
@@ -817,34 +898,33 @@ public class ModbusDataThingHandler extends BaseThingHandler {
      *
      * @param numericState numeric state corresponding to polled data (or UNDEF with floating point NaN or infinity)
      * @param boolValue boolean value corresponding to polled data
+     * @param unchanged whether the polled value is the same as in the previous poll. In this case the states
+     *            converted in the previous poll are reused, unless a read transformation is configured: it is not
+     *            necessarily a pure function of the value.
      * @return updated channel data
      */
-    private Map<ChannelUID, State> processUpdatedValue(State numericState, boolean boolValue) {
+    private Map<ChannelUID, State> processUpdatedValue(State numericState, boolean boolValue, boolean unchanged) {
         ValueTransformation localReadTransformation = readTransformation;
         if (localReadTransformation == null) {
             // We should always have transformation available if thing is initalized properly
             logger.trace("No transformation available, aborting processUpdatedValue");
             return Collections.emptyMap();
         }
-        Map<ChannelUID, State> states = new HashMap<>();
-        CHANNEL_ID_TO_ACCEPTED_TYPES.keySet().stream().forEach(channelId -> {
-            ChannelUID channelUID = getChannelUID(channelId);
+        Map<ChannelUID, State> lastTransformedStates = this.lastTransformedStates;
+        Map<ChannelUID, State> states = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+        for (ReadChannel readChannel : readChannels) {
+            ChannelUID channelUID = readChannel.channelUID;
             if (!isLinked(channelUID)) {
-                return;
-            }
-            List<Class<? extends State>> acceptedDataTypes = CHANNEL_ID_TO_ACCEPTED_TYPES.get(channelId);
-            if (acceptedDataTypes.isEmpty()) {
-                return;
+                continue;
             }
-
-            State boolLikeState;
-            if (containsOnOff(acceptedDataTypes)) {
-                boolLikeState = boolValue ? OnOffType.ON : OnOffType.OFF;
-            } else if (containsOpenClosed(acceptedDataTypes)) {
-                boolLikeState = boolValue ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
-            } else {
-                boolLikeState = null;
+            State lastTransformedState = lastTransformedStates.get(channelUID);
+            if (unchanged && lastTransformedState != null && localReadTransformation.isIdentityTransform()) {
+                states.put(channelUID, lastTransformedState);
+                continue;
             }
+            String channelId = readChannel.channelId;
+            List<Class<? extends State>> acceptedDataTypes = readChannel.acceptedDataTypes;
+            State boolLikeState = boolValue ? readChannel.trueState : readChannel.falseState;
 
             State transformedState;
             if (localReadTransformation.isIdentityTransform()) {
@@ -878,7 +958,8 @@ public class ModbusDataThingHandler extends BaseThingHandler {
                         channelId, types, numericState, readValueType, boolValue,
                         localReadTransformation.isIdentityTransform() ? "<identity>" : localReadTransformation);
             }
-        });
+        }
+        this.lastTransformedStates = new HashMap<>(states);
 
         ChannelUID lastReadSuccessUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS);
         if (isLinked(lastReadSuccessUID)) {
@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal.handler;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.ModbusBitUtilities;
+import org.openhab.core.io.transport.modbus.ModbusConstants.ValueType;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.types.State;
+import org.openhab.core.types.UnDefType;
+
+/**
+ * The {@link ModbusExtractionPlan} decodes the register data of a poll for all child data things of a poller.
+ *
+ * The plan is a flat table with the register window, extract index and value type of every child, compiled from
+ * the read parameters the children resolved on initialization. On every register response, the window of each child
+ * is compared with the bytes of the previous response and only the windows that changed are decoded. The decoded
+ * value is handed to the child together with the response, so that the child only converts and updates its channels.
+ *
+ * Children without a register window (e.g. reading coils or not reading at all) receive the response as is. The plan
+ * is recompiled when the children of the poller or their read parameters change.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusExtractionPlan {
+
+    /**
+     * Location of the value read by a data thing within the polled registers
+     */
+    static class RegisterWindow {
+        private final int byteFrom;
+        private final int byteTo;
+        private final int extractIndex;
+        private final ValueType valueType;
+
+        RegisterWindow(int registerOffset, int registerCount, int extractIndex, ValueType valueType) {
+            this.byteFrom = 2 * registerOffset;
+            this.byteTo = 2 * (registerOffset + registerCount);
+            this.extractIndex = extractIndex;
+            this.valueType = valueType;
+        }
+    }
+
+    private ModbusDataThingHandler[] handlers = new ModbusDataThingHandler[0];
+    private @Nullable RegisterWindow[] windows = new RegisterWindow[0];
+    private @Nullable State[] lastStates = new State[0];
+    private byte @Nullable [] lastBytes;
+    private long decodeCount;
+
+    /**
+     * Dispatch a read result to the given children, decoding only the register windows that changed
+     *
+     * @param result result of the poll
+     * @param children child data things of the poller
+     */
+    public synchronized void dispatch(AsyncModbusReadResult result, List<ModbusDataThingHandler> children) {
+        ModbusRegisterArray registers = result.getRegisters().orElse(null);
+        if (registers == null) {
+            children.forEach(handler -> handler.onReadResult(result));
+            return;
+        }
+        ModbusDataThingHandler[] current = children.toArray(new ModbusDataThingHandler[0]);
+        if (!isCompiledFor(current)) {
+            compile(current);
+        }
+        byte[] bytes = registers.getBytes();
+        byte @Nullable [] previousBytes = lastBytes;
+        for (int i = 0; i < handlers.length; i++) {
+            RegisterWindow window = windows[i];
+            if (window == null || window.byteTo > bytes.length) {
+                handlers[i].onReadResult(result);
+                continue;
+            }
+            State state = lastStates[i];
+            if (state == null || previousBytes == null || window.byteTo > previousBytes.length || !Arrays
+                    .equals(bytes, window.byteFrom, window.byteTo, previousBytes, window.byteFrom, window.byteTo)) {
+                state = ModbusBitUtilities.extractStateFromRegisters(registers, window.extractIndex, window.valueType)
+                        .map(value -> (State) value).orElse(UnDefType.UNDEF);
+                lastStates[i] = state;
+                decodeCount++;
+            }
+            handlers[i].onDecodedRegisters(result.getRequest(), registers, state);
+        }
+        lastBytes = bytes.clone();
+    }
+
+    /**
+     * Number of register windows decoded so far
+     */
+    public synchronized long getDecodeCount() {
+        return decodeCount;
+    }
+
+    private boolean isCompiledFor(ModbusDataThingHandler[] children) {
+        if (children.length != handlers.length) {
+            return false;
+        }
+        for (int i = 0; i < handlers.length; i++) {
+            ModbusDataThingHandler handler = children[i];
+            if (handler != handlers[i] || handler.getRegisterWindow() != windows[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void compile(ModbusDataThingHandler[] handlers) {
+        @Nullable
+        RegisterWindow[] windows = new RegisterWindow[handlers.length];
+        for (int i = 0; i < handlers.length; i++) {
+            windows[i] = handlers[i].getRegisterWindow();
+        }
+        this.handlers = handlers;
+        this.windows = windows;
+        this.lastStates = new State[handlers.length];
+        this.lastBytes = null;
+    }
+}
@@ -85,6 +85,15 @@ public class ModbusSerialThingHandler
         }
     }
 
+    @Override
+    protected boolean isAdaptivePollingEnabled() {
+        if (config != null) {
+            return config.isAdaptivePolling();
+        } else {
+            return false;
+        }
+    }
+
     @SuppressWarnings("null") // Since endpoint in Optional.map cannot be null
     @Override
     protected String formatConflictingParameterError() {
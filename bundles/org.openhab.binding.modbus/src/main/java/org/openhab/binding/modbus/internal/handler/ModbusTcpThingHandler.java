@@ -98,6 +98,15 @@ public class ModbusTcpThingHandler
         }
     }
 
+    @Override
+    protected boolean isAdaptivePollingEnabled() {
+        if (config != null) {
+            return config.isAdaptivePolling();
+        } else {
+            return false;
+        }
+    }
+
     @Override
     public Collection<Class<? extends ThingHandlerService>> getServices() {
         return Collections.singleton(ModbusEndpointDiscoveryService.class);
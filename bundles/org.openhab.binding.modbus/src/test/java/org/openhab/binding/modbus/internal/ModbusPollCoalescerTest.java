@@ -0,0 +1,183 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.modbus.internal.ModbusPollCoalescer.Registration;
+import org.openhab.binding.modbus.internal.ModbusPollScheduler.Priority;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+
+/**
+ * @author Jan N. Klug - Initial contribution
+ */
+public class ModbusPollCoalescerTest {
+
+    private static class RecordingCallback
+            implements ModbusReadCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> {
+        private final List<AsyncModbusReadResult> results = new ArrayList<>();
+        private final List<AsyncModbusFailure<ModbusReadRequestBlueprint>> failures = new ArrayList<>();
+
+        @Override
+        public void handle(AsyncModbusReadResult result) {
+            results.add(result);
+        }
+
+        @Override
+        public void handle(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+            failures.add(failure);
+        }
+    }
+
+    private ModbusCommunicationInterface comms;
+    private List<PollTask> tasks;
+    private ModbusPollCoalescer coalescer;
+
+    @BeforeEach
+    public void setUp() {
+        comms = mock(ModbusCommunicationInterface.class);
+        tasks = new ArrayList<>();
+        when(comms.registerRegularPoll(any(), anyLong(), anyLong(), any(), any())).thenAnswer(invocation -> {
+            PollTask task = mock(PollTask.class);
+            ModbusReadRequestBlueprint request = invocation.getArgument(0);
+            ModbusReadCallback resultCallback = invocation.getArgument(3);
+            ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback = invocation.getArgument(4);
+            when(task.getRequest()).thenReturn(request);
+            when(task.getResultCallback()).thenReturn(resultCallback);
+            when(task.getFailureCallback()).thenReturn(failureCallback);
+            tasks.add(task);
+            return task;
+        });
+        when(comms.unregisterRegularPoll(any())).thenAnswer(invocation -> tasks.remove(invocation.getArgument(0)));
+        coalescer = new ModbusPollCoalescer(comms, null);
+    }
+
+    private static ModbusReadRequestBlueprint request(ModbusReadFunctionCode functionCode, int start, int length) {
+        return new ModbusReadRequestBlueprint(1, functionCode, start, length, 3);
+    }
+
+    private Registration register(ModbusReadFunctionCode functionCode, int start, int length, long pollPeriodMillis,
+            RecordingCallback callback) {
+        return register(functionCode, start, length, pollPeriodMillis, Priority.NORMAL, callback);
+    }
+
+    private Registration register(ModbusReadFunctionCode functionCode, int start, int length, long pollPeriodMillis,
+            Priority priority, RecordingCallback callback) {
+        return coalescer.registerRegularPoll(request(functionCode, start, length), pollPeriodMillis, priority, callback,
+                callback);
+    }
+
+    @Test
+    public void testAdjacentAndOverlappingRangesAreMerged() {
+        RecordingCallback first = new RecordingCallback();
+        RecordingCallback second = new RecordingCallback();
+        RecordingCallback third = new RecordingCallback();
+        register(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2, 1000, first);
+        register(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 2, 2, 1000, second);
+        register(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 3, 2, 1000, third);
+
+        assertThat(tasks.size(), is(equalTo(1)));
+        PollTask task = tasks.get(0);
+        assertThat(task.getRequest().getReference(), is(equalTo(0)));
+        assertThat(task.getRequest().getDataLength(), is(equalTo(5)));
+
+        task.getResultCallback()
+                .handle(new AsyncModbusReadResult(task.getRequest(), new ModbusRegisterArray(10, 11, 12, 13, 14)));
+        assertThat(first.results.size(), is(equalTo(1)));
+        assertThat(first.results.get(0).getRegisters().get().getRegister(1), is(equalTo(11)));
+        assertThat(second.results.get(0).getRegisters().get().size(), is(equalTo(2)));
+        assertThat(second.results.get(0).getRegisters().get().getRegister(0), is(equalTo(12)));
+        assertThat(third.results.get(0).getRegisters().get().getRegister(1), is(equalTo(14)));
+        assertThat(third.results.get(0).getRequest().getReference(), is(equalTo(3)));
+
+        task.getFailureCallback().handle(new AsyncModbusFailure<>(task.getRequest(), new Exception("failed")));
+        assertThat(first.failures.size(), is(equalTo(1)));
+        assertThat(second.failures.get(0).getRequest().getReference(), is(equalTo(2)));
+        assertThat(third.failures.size(), is(equalTo(1)));
+    }
+
+    @Test
+    public void testIncompatiblePollsAreNotMerged() {
+        RecordingCallback callback = new RecordingCallback();
+        // gap between ranges
+        register(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2, 1000, callback);
+        register(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 3, 2, 1000, callback);
+        // different poll interval
+        register(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 2, 1, 500, callback);
+        // different function code
+        register(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 2, 1, 1000, callback);
+        // different priority
+        register(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 5, 1, 1000, Priority.LOW, callback);
+        assertThat(tasks.size(), is(equalTo(5)));
+    }
+
+    @Test
+    public void testProtocolLimitIsRespected() {
+        RecordingCallback callback = new RecordingCallback();
+        register(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 100, 1000, callback);
+        register(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 100, 25, 1000, callback);
+        register(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 125, 1, 1000, callback);
+        assertThat(tasks.size(), is(equalTo(2)));
+        assertThat(tasks.get(0).getRequest().getDataLength(), is(equalTo(125)));
+    }
+
+    @Test
+    public void testBitsAreSliced() {
+        RecordingCallback first = new RecordingCallback();
+        RecordingCallback second = new RecordingCallback();
+        register(ModbusReadFunctionCode.READ_COILS, 0, 2, 1000, first);
+        register(ModbusReadFunctionCode.READ_COILS, 2, 2, 1000, second);
+        assertThat(tasks.size(), is(equalTo(1)));
+
+        PollTask task = tasks.get(0);
+        task.getResultCallback()
+                .handle(new AsyncModbusReadResult(task.getRequest(), new BitArray(true, false, false, true)));
+        assertThat(first.results.get(0).getBits().get().getBit(0), is(equalTo(true)));
+        assertThat(first.results.get(0).getBits().get().getBit(1), is(equalTo(false)));
+        assertThat(second.results.get(0).getBits().get().size(), is(equalTo(2)));
+        assertThat(second.results.get(0).getBits().get().getBit(1), is(equalTo(true)));
+    }
+
+    @Test
+    public void testPlanIsRebuiltOnUnregister() {
+        RecordingCallback callback = new RecordingCallback();
+        Registration first = register(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2, 1000, callback);
+        register(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 2, 2, 1000, callback);
+        assertThat(tasks.size(), is(equalTo(1)));
+
+        coalescer.unregisterRegularPoll(first);
+        assertThat(tasks.size(), is(equalTo(1)));
+        assertThat(tasks.get(0).getRequest().getReference(), is(equalTo(2)));
+        assertThat(tasks.get(0).getResultCallback(), is(sameInstance(callback)));
+
+        coalescer.dispose();
+        assertThat(tasks.size(), is(equalTo(0)));
+    }
+}
@@ -0,0 +1,234 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.modbus.internal.ModbusPollScheduler.Priority;
+import org.openhab.binding.modbus.internal.ModbusPollScheduler.ScheduledPoll;
+import org.openhab.binding.modbus.internal.ModbusPollScheduler.Statistics;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+
+/**
+ * @author Jan N. Klug - Initial contribution
+ */
+public class ModbusPollSchedulerTest {
+
+    private static class Submitted {
+        private final ModbusReadRequestBlueprint request;
+        private final ModbusReadCallback resultCallback;
+        private final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback;
+
+        private Submitted(ModbusReadRequestBlueprint request, ModbusReadCallback resultCallback,
+                ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+            this.request = request;
+            this.resultCallback = resultCallback;
+            this.failureCallback = failureCallback;
+        }
+
+        private void complete() {
+            resultCallback.handle(new AsyncModbusReadResult(request, new ModbusRegisterArray(1)));
+        }
+    }
+
+    private List<Submitted> submitted;
+    private List<Runnable> wakeups;
+    private List<Long> wakeupDelaysNanos;
+    private long nanoTime;
+    private ModbusPollScheduler pollScheduler;
+
+    @BeforeEach
+    public void setUp() {
+        ModbusCommunicationInterface comms = mock(ModbusCommunicationInterface.class);
+        submitted = new ArrayList<>();
+        doAnswer(invocation -> {
+            submitted.add(new Submitted(invocation.getArgument(0), invocation.getArgument(1),
+                    invocation.getArgument(2)));
+            return null;
+        }).when(comms).submitOneTimePoll(any(), any(), any());
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        wakeups = new ArrayList<>();
+        wakeupDelaysNanos = new ArrayList<>();
+        doAnswer(invocation -> {
+            wakeups.add(invocation.getArgument(0));
+            wakeupDelaysNanos.add(((TimeUnit) invocation.getArgument(2)).toNanos(invocation.getArgument(1)));
+            return mock(ScheduledFuture.class);
+        }).when(scheduler).schedule(any(Runnable.class), anyLong(), any());
+        nanoTime = 0;
+        pollScheduler = new ModbusPollScheduler(comms, scheduler, () -> nanoTime);
+    }
+
+    private void advanceMillis(long millis) {
+        nanoTime += TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    private void runLastWakeup() {
+        wakeups.get(wakeups.size() - 1).run();
+    }
+
+    private long lastWakeupDelayMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(wakeupDelaysNanos.get(wakeupDelaysNanos.size() - 1));
+    }
+
+    private static ModbusReadRequestBlueprint request(int start) {
+        return new ModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, 1, 1);
+    }
+
+    @Test
+    public void testSingleRequestInFlightAndPriorityOrder() {
+        List<AsyncModbusReadResult> results = new ArrayList<>();
+        List<AsyncModbusFailure<ModbusReadRequestBlueprint>> failures = new ArrayList<>();
+
+        pollScheduler.registerRegularPoll(request(0), 1000, Priority.LOW, results::add, failures::add);
+        pollScheduler.registerRegularPoll(request(1), 1000, Priority.NORMAL, results::add, failures::add);
+        pollScheduler.registerRegularPoll(request(2), 1000, Priority.HIGH, results::add, failures::add);
+        pollScheduler.submitOneTimePoll(request(3), results::add, failures::add);
+
+        // bus is busy with the first poll
+        assertThat(submitted.size(), is(equalTo(1)));
+        assertThat(submitted.get(0).request.getReference(), is(equalTo(0)));
+
+        // one-time poll first, then by priority
+        submitted.get(0).complete();
+        assertThat(submitted.size(), is(equalTo(2)));
+        assertThat(submitted.get(1).request.getReference(), is(equalTo(3)));
+        submitted.get(1).complete();
+        assertThat(submitted.get(2).request.getReference(), is(equalTo(2)));
+        submitted.get(2).failureCallback.handle(new AsyncModbusFailure<>(request(2), new Exception("failed")));
+        assertThat(submitted.get(3).request.getReference(), is(equalTo(1)));
+        submitted.get(3).complete();
+
+        // regular polls are not due again before their interval
+        assertThat(submitted.size(), is(equalTo(4)));
+        assertThat(results.size(), is(equalTo(3)));
+        assertThat(failures.size(), is(equalTo(1)));
+
+        Statistics statistics = pollScheduler.getStatistics();
+        assertThat(statistics.getMissedDeadlines(), is(equalTo(0L)));
+    }
+
+    @Test
+    public void testUnregisteredPollIsNotSubmitted() {
+        List<AsyncModbusReadResult> results = new ArrayList<>();
+        pollScheduler.registerRegularPoll(request(0), 1000, Priority.NORMAL, results::add, failure -> {
+        });
+        ScheduledPoll poll = pollScheduler.registerRegularPoll(request(1), 1000, Priority.NORMAL, results::add,
+                failure -> {
+                });
+        pollScheduler.unregisterRegularPoll(poll);
+        submitted.get(0).complete();
+        assertThat(submitted.size(), is(equalTo(1)));
+        assertThat(results.size(), is(equalTo(1)));
+    }
+
+    @Test
+    public void testLowPriorityIntervalStretchedAboveTargetUtilization() {
+        pollScheduler.registerRegularPoll(request(0), 100, Priority.LOW, result -> {
+        }, failure -> {
+        });
+
+        // transaction takes 90% of the interval
+        advanceMillis(90);
+        submitted.get(0).complete();
+
+        // interval stretched to 90 / 0.8 = 112.5 ms
+        assertThat(submitted.size(), is(equalTo(1)));
+        assertThat(lastWakeupDelayMillis(), is(equalTo(22L)));
+        advanceMillis(22);
+        runLastWakeup();
+        assertThat(submitted.size(), is(equalTo(1)));
+        advanceMillis(1);
+        runLastWakeup();
+        assertThat(submitted.size(), is(equalTo(2)));
+    }
+
+    @Test
+    public void testNormalPriorityIntervalNotStretched() {
+        pollScheduler.registerRegularPoll(request(0), 100, Priority.NORMAL, result -> {
+        }, failure -> {
+        });
+
+        advanceMillis(90);
+        submitted.get(0).complete();
+
+        assertThat(submitted.size(), is(equalTo(1)));
+        assertThat(lastWakeupDelayMillis(), is(equalTo(10L)));
+        advanceMillis(10);
+        runLastWakeup();
+        assertThat(submitted.size(), is(equalTo(2)));
+    }
+
+    @Test
+    public void testMissedDeadlines() {
+        pollScheduler.registerRegularPoll(request(0), 100, Priority.NORMAL, result -> {
+        }, failure -> {
+        });
+        pollScheduler.registerRegularPoll(request(1), 100, Priority.NORMAL, result -> {
+        }, failure -> {
+        });
+
+        // second poll waits for more than its interval
+        advanceMillis(250);
+        submitted.get(0).complete();
+        assertThat(submitted.size(), is(equalTo(2)));
+        assertThat(submitted.get(1).request.getReference(), is(equalTo(1)));
+        submitted.get(1).complete();
+
+        Statistics statistics = pollScheduler.getStatistics();
+        assertThat(statistics.getMissedDeadlines(), is(equalTo(1L)));
+        assertThat(pollScheduler.getStatistics().getMissedDeadlines(), is(equalTo(0L)));
+    }
+
+    @Test
+    public void testTimedOutTransactionIsRescheduledAfterInterval() {
+        List<AsyncModbusReadResult> results = new ArrayList<>();
+        pollScheduler.registerRegularPoll(request(0), 1000, Priority.NORMAL, results::add, failure -> {
+        });
+        assertThat(submitted.size(), is(equalTo(1)));
+
+        // slave does not respond
+        advanceMillis(60_000);
+        runLastWakeup();
+
+        // not polled again back-to-back
+        assertThat(submitted.size(), is(equalTo(1)));
+        assertThat(lastWakeupDelayMillis(), is(equalTo(1000L)));
+
+        // late response of the timed out transaction is still delivered, but does not reschedule
+        submitted.get(0).complete();
+        assertThat(results.size(), is(equalTo(1)));
+        assertThat(submitted.size(), is(equalTo(1)));
+
+        advanceMillis(1000);
+        runLastWakeup();
+        assertThat(submitted.size(), is(equalTo(2)));
+    }
+}
@@ -37,6 +37,10 @@ public class ChannelConfig {
      * Instead a postCommand() call is performed.
      */
     public boolean postCommand = false;
+    /**
+     * If true, the channel state is only updated if a received value differs from the current state.
+     */
+    public boolean updateOnChangeOnly = false;
     public @Nullable Integer qos;
     public boolean retained = false;
     /** If true, the state topic will not update a state, but trigger a channel instead. */
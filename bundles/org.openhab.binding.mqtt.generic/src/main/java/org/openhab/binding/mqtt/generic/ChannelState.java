@@ -31,6 +31,7 @@ import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.thing.ChannelUID;
 import org.openhab.core.types.Command;
+import org.openhab.core.types.State;
 import org.openhab.core.types.TypeParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -153,32 +154,37 @@ public class ChannelState implements MqttMessageSubscriber {
             return;
         }
 
-        // String value: Apply transformations
-        String strValue = new String(payload, StandardCharsets.UTF_8);
-        for (ChannelStateTransformation t : transformationsIn) {
-            String transformedValue = t.processValue(strValue);
-            if (transformedValue != null) {
-                strValue = transformedValue;
-            } else {
-                logger.debug("Transformation '{}' returned null on '{}', discarding message", strValue, t.serviceName);
+        // Fast path: Payloads that need no transformation are parsed without creating a string first
+        Command command = transformationsIn.isEmpty() && !config.trigger ? cachedValue.parsePayload(payload) : null;
+        if (command == null) {
+            // String value: Apply transformations
+            String strValue = new String(payload, StandardCharsets.UTF_8);
+            for (ChannelStateTransformation t : transformationsIn) {
+                String transformedValue = t.processValue(strValue);
+                if (transformedValue != null) {
+                    strValue = transformedValue;
+                } else {
+                    logger.debug("Transformation '{}' returned null on '{}', discarding message", strValue,
+                            t.serviceName);
+                    receivedOrTimeout();
+                    return;
+                }
+            }
+
+            // Is trigger?: Special handling
+            if (config.trigger) {
+                channelStateUpdateListener.triggerChannel(channelUID, strValue);
                 receivedOrTimeout();
                 return;
             }
-        }
-
-        // Is trigger?: Special handling
-        if (config.trigger) {
-            channelStateUpdateListener.triggerChannel(channelUID, strValue);
-            receivedOrTimeout();
-            return;
-        }
 
-        Command command = TypeParser.parseCommand(cachedValue.getSupportedCommandTypes(), strValue);
-        if (command == null) {
-            logger.warn("Incoming payload '{}' not supported by type '{}'", strValue,
-                    cachedValue.getClass().getSimpleName());
-            receivedOrTimeout();
-            return;
+            command = TypeParser.parseCommand(cachedValue.getSupportedCommandTypes(), strValue);
+            if (command == null) {
+                logger.warn("Incoming payload '{}' not supported by type '{}'", strValue,
+                        cachedValue.getClass().getSimpleName());
+                receivedOrTimeout();
+                return;
+            }
         }
 
         Command postOnlyCommand = cachedValue.isPostOnly(command);
@@ -189,10 +195,11 @@ public class ChannelState implements MqttMessageSubscriber {
         }
 
         // Map the string to a command, update the cached value and post the command to the framework
+        final State oldState = cachedValue.getChannelState();
         try {
             cachedValue.update(command);
         } catch (IllegalArgumentException | IllegalStateException e) {
-            logger.warn("Command '{}' not supported by type '{}': {}", strValue, cachedValue.getClass().getSimpleName(),
+            logger.warn("Command '{}' not supported by type '{}': {}", command, cachedValue.getClass().getSimpleName(),
                     e.getMessage());
             receivedOrTimeout();
             return;
@@ -200,6 +207,8 @@ public class ChannelState implements MqttMessageSubscriber {
 
         if (config.postCommand) {
             channelStateUpdateListener.postChannelCommand(channelUID, (Command) cachedValue.getChannelState());
+        } else if (config.updateOnChangeOnly && oldState.equals(cachedValue.getChannelState())) {
+            logger.trace("Value of channel {} unchanged, skipping state update", channelUID);
         } else {
             channelStateUpdateListener.updateChannelState(channelUID, cachedValue.getChannelState());
         }
@@ -12,8 +12,6 @@
  */
 package org.openhab.binding.mqtt.generic;
 
-import java.lang.ref.WeakReference;
-
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.transform.TransformationException;
@@ -30,7 +28,7 @@ import org.slf4j.LoggerFactory;
 public class ChannelStateTransformation {
     private final Logger logger = LoggerFactory.getLogger(ChannelStateTransformation.class);
     private final TransformationServiceProvider provider;
-    private WeakReference<@Nullable TransformationService> transformationService = new WeakReference<>(null);
+    private boolean serviceMissingLogged = false;
     final String pattern;
     final String serviceName;
 
@@ -77,15 +75,19 @@ public class ChannelStateTransformation {
      * @return The transformed value
      */
     protected @Nullable String processValue(String value) {
-        TransformationService transformationService = this.transformationService.get();
+        // the provider keeps track of the available services, no need to cache the service here
+        TransformationService transformationService = provider.getTransformationService(serviceName);
         if (transformationService == null) {
-            transformationService = provider.getTransformationService(serviceName);
-            if (transformationService == null) {
+            // only warn once until the service becomes available, this is called for each incoming value
+            if (!serviceMissingLogged) {
                 logger.warn("Transformation service {} for pattern {} not found!", serviceName, pattern);
-                return value;
+                serviceMissingLogged = true;
+            } else {
+                logger.trace("Transformation service {} for pattern {} not found!", serviceName, pattern);
             }
-            this.transformationService = new WeakReference<>(transformationService);
+            return value;
         }
+        serviceMissingLogged = false;
         String returnValue = null;
         try {
             returnValue = transformationService.transform(pattern, value);
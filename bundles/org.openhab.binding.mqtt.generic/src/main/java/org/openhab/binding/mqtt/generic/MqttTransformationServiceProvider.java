@@ -0,0 +1,58 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.transform.TransformationService;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+
+/**
+ * Keeps track of the available {@link TransformationService}s, so the transformations of incoming MQTT values only
+ * need a map lookup instead of a service registry query.
+ *
+ * The service is shared by the thing handler factories of the MQTT bindings.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@Component(service = MqttTransformationServiceProvider.class)
+@NonNullByDefault
+public class MqttTransformationServiceProvider implements TransformationServiceProvider {
+    private final Map<String, TransformationService> transformationServices = new ConcurrentHashMap<>();
+
+    @Reference(cardinality = ReferenceCardinality.MULTIPLE, policy = ReferencePolicy.DYNAMIC)
+    protected void addTransformationService(TransformationService service, Map<String, Object> properties) {
+        Object type = properties.get(TransformationService.SERVICE_PROPERTY_NAME);
+        if (type instanceof String) {
+            transformationServices.put((String) type, service);
+        }
+    }
+
+    protected void removeTransformationService(TransformationService service, Map<String, Object> properties) {
+        Object type = properties.get(TransformationService.SERVICE_PROPERTY_NAME);
+        if (type instanceof String) {
+            transformationServices.remove(type, service);
+        }
+    }
+
+    @Override
+    public @Nullable TransformationService getTransformationService(String type) {
+        return transformationServices.get(type);
+    }
+}
@@ -19,15 +19,13 @@ import java.util.stream.Stream;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.mqtt.generic.MqttChannelStateDescriptionProvider;
-import org.openhab.binding.mqtt.generic.TransformationServiceProvider;
+import org.openhab.binding.mqtt.generic.MqttTransformationServiceProvider;
 import org.openhab.binding.mqtt.generic.internal.handler.GenericMQTTThingHandler;
 import org.openhab.core.thing.Thing;
 import org.openhab.core.thing.ThingTypeUID;
 import org.openhab.core.thing.binding.BaseThingHandlerFactory;
 import org.openhab.core.thing.binding.ThingHandler;
 import org.openhab.core.thing.binding.ThingHandlerFactory;
-import org.openhab.core.transform.TransformationHelper;
-import org.openhab.core.transform.TransformationService;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -42,8 +40,9 @@ import org.osgi.service.component.annotations.Reference;
  */
 @Component(service = ThingHandlerFactory.class)
 @NonNullByDefault
-public class MqttThingHandlerFactory extends BaseThingHandlerFactory implements TransformationServiceProvider {
+public class MqttThingHandlerFactory extends BaseThingHandlerFactory {
     private @NonNullByDefault({}) MqttChannelStateDescriptionProvider stateDescriptionProvider;
+    private @NonNullByDefault({}) MqttTransformationServiceProvider transformationServiceProvider;
     private static final Set<ThingTypeUID> SUPPORTED_THING_TYPES_UIDS = Stream
             .of(MqttBindingConstants.GENERIC_MQTT_THING).collect(Collectors.toSet());
 
@@ -73,18 +72,22 @@ public class MqttThingHandlerFactory extends BaseThingHandlerFactory implements
         this.stateDescriptionProvider = null;
     }
 
+    @Reference
+    protected void setTransformationServiceProvider(MqttTransformationServiceProvider provider) {
+        this.transformationServiceProvider = provider;
+    }
+
+    protected void unsetTransformationServiceProvider(MqttTransformationServiceProvider provider) {
+        this.transformationServiceProvider = null;
+    }
+
     @Override
     protected @Nullable ThingHandler createHandler(Thing thing) {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (thingTypeUID.equals(MqttBindingConstants.GENERIC_MQTT_THING)) {
-            return new GenericMQTTThingHandler(thing, stateDescriptionProvider, this, 1500);
+            return new GenericMQTTThingHandler(thing, stateDescriptionProvider, transformationServiceProvider, 1500);
         }
         return null;
     }
-
-    @Override
-    public @Nullable TransformationService getTransformationService(String type) {
-        return TransformationHelper.getTransformationService(bundleContext, type);
-    }
 }
@@ -24,6 +24,7 @@ import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.mqtt.generic.tools.MqttTopicRouter;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -107,6 +108,7 @@ public abstract class AbstractMqttAttributeClass implements SubscribeFieldToMQTT
     protected transient AttributeChanged attributeChangedListener = (b, c, d, e, f) -> {
     };
     private transient boolean complete = false;
+    private transient @Nullable MqttTopicRouter topicRouter;
 
     /**
      * Implement this interface to be notified of an updated field.
@@ -131,6 +133,18 @@ public abstract class AbstractMqttAttributeClass implements SubscribeFieldToMQTT
         prefix = (topicUsesPrefix != null) ? topicUsesPrefix.value() : "";
     }
 
+    /**
+     * Use the given router instead of subscribing to each topic on the broker connection. Needs to be set before
+     * {@link #subscribeAndReceive(MqttBrokerConnection, ScheduledExecutorService, String, AttributeChanged, int)} is
+     * called.
+     *
+     * @param topicRouter A router that is subscribed to a wildcard topic covering the base topic of this class, or
+     *            null to subscribe on the broker connection.
+     */
+    public void setTopicRouter(@Nullable MqttTopicRouter topicRouter) {
+        this.topicRouter = topicRouter;
+    }
+
     /**
      * Unsubscribe from all topics of the managed object.
      *
@@ -139,14 +153,21 @@ public abstract class AbstractMqttAttributeClass implements SubscribeFieldToMQTT
      * @return Returns a future that completes as soon as all unsubscriptions have been performed.
      */
     public CompletableFuture<@Nullable Void> unsubscribe() {
+        final MqttTopicRouter topicRouter = this.topicRouter;
         final MqttBrokerConnection connection = this.connection.get();
-        if (connection == null) {
+        if (connection == null && topicRouter == null) {
             subscriptions.clear();
             return CompletableFuture.completedFuture(null);
         }
 
-        final CompletableFuture<?>[] futures = subscriptions.stream().map(m -> connection.unsubscribe(m.topic, m))
-                .toArray(CompletableFuture[]::new);
+        final CompletableFuture<?>[] futures = subscriptions.stream().map(m -> {
+            if (topicRouter != null && topicRouter.handles(m.topic)) {
+                return topicRouter.unsubscribe(m.topic, m);
+            } else if (connection != null) {
+                return connection.unsubscribe(m.topic, m);
+            }
+            return CompletableFuture.completedFuture(true);
+        }).toArray(CompletableFuture[]::new);
         subscriptions.clear();
         return CompletableFuture.allOf(futures);
     }
@@ -191,8 +212,11 @@ public abstract class AbstractMqttAttributeClass implements SubscribeFieldToMQTT
         subscriptions = getAllFields(getFieldsOf().getClass()).stream().filter(AbstractMqttAttributeClass::filterField)
                 .map(this::mapFieldToSubscriber).collect(Collectors.toList());
 
+        final MqttTopicRouter topicRouter = this.topicRouter;
         final CompletableFuture<?>[] futures = subscriptions.stream()
-                .map(m -> m.subscribeAndReceive(connection, timeout)).toArray(CompletableFuture[]::new);
+                .map(m -> topicRouter != null && topicRouter.handles(m.topic) ? m.routeAndReceive(topicRouter, timeout)
+                        : m.subscribeAndReceive(connection, timeout))
+                .toArray(CompletableFuture[]::new);
         return CompletableFuture.allOf(startFuture, CompletableFuture.allOf(futures));
     }
 
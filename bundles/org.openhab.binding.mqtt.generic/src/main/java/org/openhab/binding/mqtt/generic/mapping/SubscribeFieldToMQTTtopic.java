@@ -22,6 +22,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.mqtt.generic.tools.MqttTopicRouter;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
 import org.openhab.core.io.transport.mqtt.MqttException;
 import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
@@ -180,7 +181,24 @@ public class SubscribeFieldToMQTTtopic implements MqttMessageSubscriber {
      * @throws MqttException If an MQTT IO exception happens this exception is thrown.
      */
     public CompletableFuture<@Nullable Void> subscribeAndReceive(MqttBrokerConnection connection, int timeout) {
-        connection.subscribe(topic, this).exceptionally(e -> {
+        return receive(connection.subscribe(topic, this), timeout);
+    }
+
+    /**
+     * Register for the MQTT topic on a {@link MqttTopicRouter} instead of subscribing on the broker connection.
+     * You need to manually unsubscribe from the {@link #topic} on the router before disposing.
+     *
+     * @param router A topic router that has already subscribed to a wildcard topic covering {@link #topic}.
+     * @param timeout Timeout in milliseconds. The returned future completes after this time even if no message has
+     *            been received for the MQTT topic.
+     * @return Returns a future that completes if either a value is received for the topic or a timeout happens.
+     */
+    public CompletableFuture<@Nullable Void> routeAndReceive(MqttTopicRouter router, int timeout) {
+        return receive(router.subscribe(topic, this), timeout);
+    }
+
+    private CompletableFuture<@Nullable Void> receive(CompletableFuture<Boolean> subscribeFuture, int timeout) {
+        subscribeFuture.exceptionally(e -> {
             logger.debug("Failed to subscribe to topic {}", topic, e);
             final ScheduledFuture<?> scheduledFuture = this.scheduledFuture;
             if (scheduledFuture != null) { // Cancel timeout
@@ -0,0 +1,244 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link MqttTopicRouter} subscribes once to "basetopic/#" and dispatches received messages to subscribers of
+ * single topics below that base topic. Subscribers are kept in a topic trie, one level per topic segment.
+ *
+ * <p>
+ * Because the broker sends retained messages only once for the wildcard subscription, the last payload of every
+ * attribute topic (last segment starting with "$") is kept in the trie and delivered to subscribers registered later,
+ * like the broker would do for a new subscription. Other topics, e.g. the property values that are subscribed by the
+ * channels themselves, are only kept if they have a subscriber at the router, so they don't fill the trie.
+ * </p>
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public class MqttTopicRouter implements MqttMessageSubscriber {
+    private final Logger logger = LoggerFactory.getLogger(MqttTopicRouter.class);
+
+    private final String basetopic;
+    private final String wildcardTopic;
+    private final Executor executor;
+    private final TopicNode root = new TopicNode();
+    private @Nullable MqttBrokerConnection connection;
+
+    /**
+     * Creates a router for all topics below the given base topic.
+     *
+     * @param basetopic The base topic, e.g. "homie/mydevice"
+     * @param executor The executor used to deliver stored payloads to new subscribers
+     */
+    public MqttTopicRouter(String basetopic, Executor executor) {
+        this.basetopic = basetopic;
+        this.wildcardTopic = basetopic + "/#";
+        this.executor = executor;
+    }
+
+    /**
+     * Subscribe to the wildcard topic on the given connection. Stored payloads of a previous connection are discarded.
+     *
+     * @param connection A broker connection
+     * @return A future that completes with true if subscribing worked
+     */
+    public synchronized CompletableFuture<Boolean> start(MqttBrokerConnection connection) {
+        final MqttBrokerConnection oldConnection = this.connection;
+        if (oldConnection != null) {
+            oldConnection.unsubscribe(wildcardTopic, this);
+        }
+        root.clearPayloads();
+        this.connection = connection;
+        return connection.subscribe(wildcardTopic, this);
+    }
+
+    /**
+     * Unsubscribe from the wildcard topic and remove all subscribers and stored payloads.
+     *
+     * @return A future that completes as soon as the unsubscription has been performed
+     */
+    public synchronized CompletableFuture<Boolean> stop() {
+        final MqttBrokerConnection connection = this.connection;
+        this.connection = null;
+        root.children.clear();
+        root.subscribers.clear();
+        root.payload = null;
+        if (connection == null) {
+            return CompletableFuture.completedFuture(true);
+        }
+        return connection.unsubscribe(wildcardTopic, this);
+    }
+
+    /**
+     * Return true if the given topic is routed by this router.
+     */
+    public boolean handles(String topic) {
+        return topic.startsWith(basetopic) && topic.length() > basetopic.length()
+                && topic.charAt(basetopic.length()) == '/';
+    }
+
+    /**
+     * Add a subscriber for a single topic. If a payload has already been received for the topic, it is delivered to
+     * the subscriber.
+     *
+     * @param topic The full topic, must start with the base topic of this router
+     * @param subscriber The subscriber
+     * @return A future that completes with true, the wildcard subscription is already performed by
+     *         {@link #start(MqttBrokerConnection)}
+     */
+    public CompletableFuture<Boolean> subscribe(String topic, MqttMessageSubscriber subscriber) {
+        if (!handles(topic)) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException(
+                    String.format("Topic '%s' is not below '%s'", topic, basetopic)));
+        }
+        final TopicNode node = root.getOrCreate(topic, basetopic.length() + 1);
+        final byte @Nullable [] payload;
+        final long version;
+        synchronized (node) {
+            node.subscribers.add(subscriber);
+            payload = node.payload;
+            version = node.version;
+        }
+        if (payload != null) {
+            executor.execute(() -> {
+                synchronized (node) {
+                    // a newer message has been delivered in the meantime
+                    if (node.version != version || !node.subscribers.contains(subscriber)) {
+                        return;
+                    }
+                }
+                subscriber.processMessage(topic, payload);
+            });
+        }
+        return CompletableFuture.completedFuture(true);
+    }
+
+    /**
+     * Remove a subscriber for a single topic.
+     *
+     * @param topic The full topic
+     * @param subscriber The subscriber
+     * @return A future that completes with true
+     */
+    public CompletableFuture<Boolean> unsubscribe(String topic, MqttMessageSubscriber subscriber) {
+        if (handles(topic)) {
+            final TopicNode node = root.get(topic, basetopic.length() + 1);
+            if (node != null) {
+                synchronized (node) {
+                    node.subscribers.remove(subscriber);
+                }
+            }
+        }
+        return CompletableFuture.completedFuture(true);
+    }
+
+    @Override
+    public void processMessage(String topic, byte[] payload) {
+        if (!handles(topic)) {
+            return;
+        }
+        final boolean attribute = isAttributeTopic(topic);
+        final TopicNode node = attribute ? root.getOrCreate(topic, basetopic.length() + 1)
+                : root.get(topic, basetopic.length() + 1);
+        if (node == null) {
+            // nobody is interested in this topic
+            return;
+        }
+        final Set<MqttMessageSubscriber> subscribers;
+        synchronized (node) {
+            subscribers = node.subscribers;
+            if (!attribute && subscribers.isEmpty()) {
+                return;
+            }
+            // an empty payload removes a retained message
+            node.payload = payload.length > 0 ? payload : null;
+            node.version++;
+        }
+        for (MqttMessageSubscriber subscriber : subscribers) {
+            try {
+                subscriber.processMessage(topic, payload);
+            } catch (RuntimeException e) {
+                logger.warn("Processing message on topic '{}' failed", topic, e);
+            }
+        }
+    }
+
+    private static boolean isAttributeTopic(String topic) {
+        int lastSegment = topic.lastIndexOf('/') + 1;
+        return lastSegment < topic.length() && topic.charAt(lastSegment) == '$';
+    }
+
+    /**
+     * A single level of the topic trie.
+     */
+    private static class TopicNode {
+        private final Map<String, TopicNode> children = new ConcurrentHashMap<>();
+        private final Set<MqttMessageSubscriber> subscribers = new CopyOnWriteArraySet<>();
+        private byte @Nullable [] payload;
+        private long version;
+
+        private TopicNode getOrCreate(String topic, int start) {
+            TopicNode node = this;
+            int pos = start;
+            while (pos <= topic.length()) {
+                int end = topic.indexOf('/', pos);
+                if (end < 0) {
+                    end = topic.length();
+                }
+                node = node.children.computeIfAbsent(topic.substring(pos, end), k -> new TopicNode());
+                pos = end + 1;
+            }
+            return node;
+        }
+
+        private @Nullable TopicNode get(String topic, int start) {
+            TopicNode node = this;
+            int pos = start;
+            while (pos <= topic.length()) {
+                int end = topic.indexOf('/', pos);
+                if (end < 0) {
+                    end = topic.length();
+                }
+                node = node.children.get(topic.substring(pos, end));
+                if (node == null) {
+                    return null;
+                }
+                pos = end + 1;
+            }
+            return node;
+        }
+
+        private void clearPayloads() {
+            synchronized (this) {
+                payload = null;
+                version++;
+            }
+            children.values().forEach(TopicNode::clearPayloads);
+        }
+    }
+}
@@ -88,6 +88,12 @@ public class NumberValue extends Value {
         return state.format(formatPattern);
     }
 
+    @Override
+    public @Nullable Command parsePayload(byte[] payload) {
+        BigDecimal value = parseDecimal(payload);
+        return value != null ? new DecimalType(value) : null;
+    }
+
     @Override
     public void update(Command command) throws IllegalArgumentException {
         DecimalType oldvalue = (state == UnDefType.UNDEF) ? new DecimalType() : (DecimalType) state;
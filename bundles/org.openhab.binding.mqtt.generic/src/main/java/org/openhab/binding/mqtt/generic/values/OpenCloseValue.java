@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.mqtt.generic.values;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -29,8 +31,13 @@ import org.openhab.core.types.Command;
  */
 @NonNullByDefault
 public class OpenCloseValue extends Value {
+    private static final byte[] OPEN_BYTES = OpenClosedType.OPEN.name().getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CLOSED_BYTES = OpenClosedType.CLOSED.name().getBytes(StandardCharsets.UTF_8);
+
     private final String openString;
     private final String closeString;
+    private final byte[] openBytes;
+    private final byte[] closeBytes;
 
     /**
      * Creates a contact Open/Close type.
@@ -39,6 +46,8 @@ public class OpenCloseValue extends Value {
         super(CoreItemFactory.CONTACT, Stream.of(OpenClosedType.class, StringType.class).collect(Collectors.toList()));
         this.openString = OpenClosedType.OPEN.name();
         this.closeString = OpenClosedType.CLOSED.name();
+        this.openBytes = OPEN_BYTES;
+        this.closeBytes = CLOSED_BYTES;
     }
 
     /**
@@ -51,6 +60,22 @@ public class OpenCloseValue extends Value {
         super(CoreItemFactory.CONTACT, Stream.of(OpenClosedType.class, StringType.class).collect(Collectors.toList()));
         this.openString = openValue == null ? OpenClosedType.OPEN.name() : openValue;
         this.closeString = closeValue == null ? OpenClosedType.CLOSED.name() : closeValue;
+        this.openBytes = openString.getBytes(StandardCharsets.UTF_8);
+        this.closeBytes = closeString.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public @Nullable Command parsePayload(byte[] payload) {
+        if (Arrays.equals(payload, OPEN_BYTES)) {
+            return OpenClosedType.OPEN;
+        } else if (Arrays.equals(payload, CLOSED_BYTES)) {
+            return OpenClosedType.CLOSED;
+        } else if (Arrays.equals(payload, openBytes)) {
+            return OpenClosedType.OPEN;
+        } else if (Arrays.equals(payload, closeBytes)) {
+            return OpenClosedType.CLOSED;
+        }
+        return null;
     }
 
     @Override
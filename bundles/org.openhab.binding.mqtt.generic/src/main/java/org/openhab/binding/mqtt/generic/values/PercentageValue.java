@@ -72,6 +72,12 @@ public class PercentageValue extends Value {
         this.stepPercent = this.step.multiply(HUNDRED).divide(this.span, MathContext.DECIMAL128);
     }
 
+    @Override
+    public @Nullable Command parsePayload(byte[] payload) {
+        BigDecimal value = parseDecimal(payload);
+        return value != null ? new DecimalType(value) : null;
+    }
+
     @Override
     public void update(Command command) throws IllegalArgumentException {
         PercentType oldvalue = (state == UnDefType.UNDEF) ? new PercentType() : (PercentType) state;
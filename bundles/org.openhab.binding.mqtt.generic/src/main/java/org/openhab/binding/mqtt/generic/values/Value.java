@@ -14,6 +14,7 @@ package org.openhab.binding.mqtt.generic.values;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.net.URLConnection;
 import java.util.List;
 
@@ -136,6 +137,57 @@ public abstract class Value {
         return null;
     }
 
+    /**
+     * Parses the payload of a message that needs no transformation without converting it to a string first.
+     * Returns null if the payload can't be parsed directly, the generic parsing of the payload string into one of the
+     * {@link #getSupportedCommandTypes()} is used then.
+     *
+     * @param payload The MQTT payload
+     * @return The command for {@link #update(Command)} or null
+     */
+    public @Nullable Command parsePayload(byte[] payload) {
+        return null;
+    }
+
+    /**
+     * Parses a plain decimal number like "-12" or "3.25" with up to 18 digits. Returns null for everything else,
+     * like exponents, units or surrounding whitespace.
+     *
+     * @param payload The MQTT payload
+     * @return The number or null
+     */
+    protected static @Nullable BigDecimal parseDecimal(byte[] payload) {
+        final int length = payload.length;
+        int pos = 0;
+        boolean negative = length > 0 && payload[0] == '-';
+        if (negative) {
+            pos++;
+        }
+        long unscaled = 0;
+        int digits = 0;
+        int scale = -1;
+        for (; pos < length; pos++) {
+            byte b = payload[pos];
+            if (b >= '0' && b <= '9') {
+                if (++digits > 18) {
+                    return null;
+                }
+                unscaled = unscaled * 10 + (b - '0');
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (b == '.' && scale < 0 && digits > 0) {
+                scale = 0;
+            } else {
+                return null;
+            }
+        }
+        if (digits == 0 || scale == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, Math.max(scale, 0));
+    }
+
     /**
      * Updates the internal value state with the given binary payload.
      *
@@ -46,10 +46,13 @@ import org.openhab.binding.mqtt.generic.values.DateTimeValue;
 import org.openhab.binding.mqtt.generic.values.ImageValue;
 import org.openhab.binding.mqtt.generic.values.LocationValue;
 import org.openhab.binding.mqtt.generic.values.NumberValue;
+import org.openhab.binding.mqtt.generic.values.OnOffValue;
 import org.openhab.binding.mqtt.generic.values.PercentageValue;
 import org.openhab.binding.mqtt.generic.values.TextValue;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.library.types.RawType;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.thing.ChannelUID;
@@ -172,6 +175,45 @@ public class ChannelStateTests {
         verify(channelStateUpdateListener, times(3)).updateChannelState(eq(channelUID), any());
     }
 
+    @Test
+    public void receiveOnOffTest() {
+        OnOffValue value = new OnOffValue("1", "0");
+        ChannelState c = spy(new ChannelState(config, channelUID, value, channelStateUpdateListener));
+        c.start(connection, mock(ScheduledExecutorService.class), 100);
+
+        c.processMessage("state", "1".getBytes());
+        assertThat(value.getChannelState(), is(OnOffType.ON));
+
+        c.processMessage("state", "OFF".getBytes());
+        assertThat(value.getChannelState(), is(OnOffType.OFF));
+
+        c.processMessage("state", "1".getBytes());
+        assertThat(value.getChannelState(), is(OnOffType.ON));
+
+        c.processMessage("state", "0".getBytes());
+        assertThat(value.getChannelState(), is(OnOffType.OFF));
+
+        verify(channelStateUpdateListener, times(4)).updateChannelState(eq(channelUID), any());
+    }
+
+    @Test
+    public void receiveUpdateOnChangeOnlyTest() {
+        ChannelConfig config = ChannelConfigBuilder.create("state", "command").build();
+        config.updateOnChangeOnly = true;
+        NumberValue value = new NumberValue(null, null, null, null);
+        ChannelState c = spy(new ChannelState(config, channelUID, value, channelStateUpdateListener));
+        c.start(connection, mock(ScheduledExecutorService.class), 100);
+
+        c.processMessage("state", "15".getBytes());
+        c.processMessage("state", "15".getBytes());
+        c.processMessage("state", "16".getBytes());
+        c.processMessage("state", "16".getBytes());
+
+        verify(channelStateUpdateListener).updateChannelState(eq(channelUID), eq(new DecimalType(15)));
+        verify(channelStateUpdateListener).updateChannelState(eq(channelUID), eq(new DecimalType(16)));
+        verify(channelStateUpdateListener, times(2)).updateChannelState(eq(channelUID), any());
+    }
+
     @Test
     public void receiveDecimalFractionalTest() {
         NumberValue value = new NumberValue(null, null, new BigDecimal(10.5), null);
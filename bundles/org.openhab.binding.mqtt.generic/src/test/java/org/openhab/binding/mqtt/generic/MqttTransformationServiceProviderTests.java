@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.transform.TransformationService;
+
+/**
+ * Tests the {@link MqttTransformationServiceProvider}.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public class MqttTransformationServiceProviderTests {
+
+    private static Map<String, Object> properties(String type) {
+        return Map.of(TransformationService.SERVICE_PROPERTY_NAME, type);
+    }
+
+    @Test
+    public void testServicesAreTrackedByType() {
+        MqttTransformationServiceProvider provider = new MqttTransformationServiceProvider();
+        TransformationService jsonPathService = mock(TransformationService.class);
+        TransformationService mapService = mock(TransformationService.class);
+
+        provider.addTransformationService(jsonPathService, properties("JSONPATH"));
+        provider.addTransformationService(mapService, properties("MAP"));
+
+        assertSame(jsonPathService, provider.getTransformationService("JSONPATH"));
+        assertSame(mapService, provider.getTransformationService("MAP"));
+        assertNull(provider.getTransformationService("REGEX"));
+
+        provider.removeTransformationService(jsonPathService, properties("JSONPATH"));
+
+        assertNull(provider.getTransformationService("JSONPATH"));
+        assertSame(mapService, provider.getTransformationService("MAP"));
+    }
+
+    @Test
+    public void testReplacedServiceIsKeptWhenOldServiceIsRemoved() {
+        MqttTransformationServiceProvider provider = new MqttTransformationServiceProvider();
+        TransformationService oldService = mock(TransformationService.class);
+        TransformationService newService = mock(TransformationService.class);
+
+        provider.addTransformationService(oldService, properties("JSONPATH"));
+        provider.addTransformationService(newService, properties("JSONPATH"));
+        provider.removeTransformationService(oldService, properties("JSONPATH"));
+
+        assertSame(newService, provider.getTransformationService("JSONPATH"));
+    }
+}
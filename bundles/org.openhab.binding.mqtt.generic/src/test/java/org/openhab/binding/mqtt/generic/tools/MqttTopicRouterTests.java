@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
+
+/**
+ * Tests cases for {@link MqttTopicRouter}.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.WARN)
+@NonNullByDefault
+public class MqttTopicRouterTests {
+    private @Mock @NonNullByDefault({}) MqttBrokerConnection connection;
+    private @Mock @NonNullByDefault({}) MqttMessageSubscriber subscriber;
+
+    private @NonNullByDefault({}) MqttTopicRouter router;
+
+    @BeforeEach
+    public void setUp() {
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).subscribe(any(), any());
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).unsubscribe(any(), any());
+        router = new MqttTopicRouter("homie/device", Runnable::run);
+        router.start(connection);
+    }
+
+    @Test
+    public void singleWildcardSubscription() {
+        verify(connection).subscribe(eq("homie/device/#"), eq(router));
+
+        router.subscribe("homie/device/$name", subscriber);
+        router.subscribe("homie/device/node/$name", subscriber);
+        verify(connection, times(1)).subscribe(any(), any());
+
+        router.stop();
+        verify(connection).unsubscribe(eq("homie/device/#"), eq(router));
+    }
+
+    @Test
+    public void routesToTopicSubscribers() {
+        router.subscribe("homie/device/node/$name", subscriber);
+
+        byte[] payload = "name".getBytes(StandardCharsets.UTF_8);
+        router.processMessage("homie/device/node/$name", payload);
+        router.processMessage("homie/device/node/$type", payload);
+        router.processMessage("homie/device/$name", payload);
+
+        verify(subscriber, times(1)).processMessage(any(), any());
+        verify(subscriber).processMessage(eq("homie/device/node/$name"), eq(payload));
+
+        router.unsubscribe("homie/device/node/$name", subscriber);
+        router.processMessage("homie/device/node/$name", payload);
+        verify(subscriber, times(1)).processMessage(any(), any());
+    }
+
+    @Test
+    public void storedPayloadDeliveredToNewSubscriber() {
+        byte[] payload = "prop1,prop2".getBytes(StandardCharsets.UTF_8);
+        router.processMessage("homie/device/node/$properties", payload);
+
+        router.subscribe("homie/device/node/$properties", subscriber);
+        verify(subscriber).processMessage(eq("homie/device/node/$properties"), eq(payload));
+
+        // an empty payload removes the retained message
+        router.processMessage("homie/device/node/$properties", new byte[0]);
+        MqttMessageSubscriber other = mock(MqttMessageSubscriber.class);
+        router.subscribe("homie/device/node/$properties", other);
+        verify(other, never()).processMessage(any(), any());
+    }
+
+    @Test
+    public void valuesWithoutSubscriberAreNotStored() {
+        byte[] payload = "21.5".getBytes(StandardCharsets.UTF_8);
+        router.processMessage("homie/device/node/$properties", payload);
+        router.processMessage("homie/device/node/temperature", payload);
+        router.processMessage("homie/device/othernode/temperature", payload);
+
+        router.subscribe("homie/device/node/temperature", subscriber);
+        router.subscribe("homie/device/othernode/temperature", subscriber);
+        verify(subscriber, never()).processMessage(any(), any());
+
+        // values of subscribed topics are delivered
+        router.processMessage("homie/device/node/temperature", payload);
+        verify(subscriber).processMessage(eq("homie/device/node/temperature"), eq(payload));
+    }
+
+    @Test
+    public void rejectsForeignTopics() {
+        assertTrue(router.handles("homie/device/$name"));
+        assertFalse(router.handles("homie/device2/$name"));
+        assertFalse(router.handles("homie/device"));
+        assertTrue(router.subscribe("homie/device2/$name", subscriber).isCompletedExceptionally());
+    }
+}
@@ -20,15 +20,13 @@ import org.apache.commons.lang.StringUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.mqtt.generic.MqttChannelTypeProvider;
-import org.openhab.binding.mqtt.generic.TransformationServiceProvider;
+import org.openhab.binding.mqtt.generic.MqttTransformationServiceProvider;
 import org.openhab.binding.mqtt.homeassistant.internal.handler.HomeAssistantThingHandler;
 import org.openhab.core.thing.Thing;
 import org.openhab.core.thing.ThingTypeUID;
 import org.openhab.core.thing.binding.BaseThingHandlerFactory;
 import org.openhab.core.thing.binding.ThingHandler;
 import org.openhab.core.thing.binding.ThingHandlerFactory;
-import org.openhab.core.transform.TransformationHelper;
-import org.openhab.core.transform.TransformationService;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -43,8 +41,9 @@ import org.osgi.service.component.annotations.Reference;
  */
 @Component(service = ThingHandlerFactory.class)
 @NonNullByDefault
-public class MqttThingHandlerFactory extends BaseThingHandlerFactory implements TransformationServiceProvider {
+public class MqttThingHandlerFactory extends BaseThingHandlerFactory {
     private @NonNullByDefault({}) MqttChannelTypeProvider typeProvider;
+    private @NonNullByDefault({}) MqttTransformationServiceProvider transformationServiceProvider;
     private static final Set<ThingTypeUID> SUPPORTED_THING_TYPES_UIDS = Stream
             .of(MqttBindingConstants.HOMEASSISTANT_MQTT_THING).collect(Collectors.toSet());
 
@@ -79,18 +78,22 @@ public class MqttThingHandlerFactory extends BaseThingHandlerFactory implements
         this.typeProvider = null;
     }
 
+    @Reference
+    protected void setTransformationServiceProvider(MqttTransformationServiceProvider provider) {
+        this.transformationServiceProvider = provider;
+    }
+
+    protected void unsetTransformationServiceProvider(MqttTransformationServiceProvider provider) {
+        this.transformationServiceProvider = null;
+    }
+
     @Override
     protected @Nullable ThingHandler createHandler(Thing thing) {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (supportsThingType(thingTypeUID)) {
-            return new HomeAssistantThingHandler(thing, typeProvider, this, 10000, 2000);
+            return new HomeAssistantThingHandler(thing, typeProvider, transformationServiceProvider, 10000, 2000);
         }
         return null;
     }
-
-    @Override
-    public @Nullable TransformationService getTransformationService(String type) {
-        return TransformationHelper.getTransformationService(bundleContext, type);
-    }
 }
@@ -13,9 +13,12 @@
 package org.openhab.binding.mqtt.homeassistant.internal;
 
 import java.lang.ref.WeakReference;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -58,6 +61,8 @@ public class DiscoverComponents implements MqttMessageSubscriber {
     protected @NonNullByDefault({}) ComponentDiscovered discoveredListener;
     private int discoverTime;
     private Set<String> topics = new HashSet<>();
+    // The last configuration payload per topic that resulted in a component during the current discovery
+    private final Map<String, byte[]> configPerTopic = new ConcurrentHashMap<>();
 
     /**
      * Implement this to get notified of new components
@@ -90,6 +95,14 @@ public class DiscoverComponents implements MqttMessageSubscriber {
             return;
         }
 
+        if (payload.length == 0) {
+            configPerTopic.remove(topic);
+        } else if (Arrays.equals(payload, configPerTopic.get(topic))) {
+            // the component has already been created from this configuration
+            logger.trace("Configuration on topic {} unchanged", topic);
+            return;
+        }
+
         HaID haID = new HaID(topic);
         String config = new String(payload);
 
@@ -101,6 +114,7 @@ public class DiscoverComponents implements MqttMessageSubscriber {
         }
         if (component != null) {
             component.setConfigSeen();
+            configPerTopic.put(topic, payload);
 
             logger.trace("Found HomeAssistant thing {} component {}", haID.objectID, haID.component);
             if (discoveredListener != null) {
@@ -135,6 +149,8 @@ public class DiscoverComponents implements MqttMessageSubscriber {
         this.discoverTime = discoverTime;
         this.discoveredListener = componentsDiscoveredListener;
         this.connectionRef = new WeakReference<>(connection);
+        // all retained configurations are received again, they need to be compared to the known components
+        configPerTopic.clear();
 
         // Subscribe to the wildcard topic and start receive MQTT retained topics
         this.topics.parallelStream().map(t -> connection.subscribe(t, this)).collect(FutureCollector.allOf())
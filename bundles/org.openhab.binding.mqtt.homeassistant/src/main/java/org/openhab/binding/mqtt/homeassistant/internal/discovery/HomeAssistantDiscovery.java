@@ -14,6 +14,7 @@ package org.openhab.binding.mqtt.homeassistant.internal.discovery;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -63,8 +64,9 @@ import com.google.gson.GsonBuilder;
 public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
     @SuppressWarnings("unused")
     private final Logger logger = LoggerFactory.getLogger(HomeAssistantDiscovery.class);
-    protected final Map<String, Set<HaID>> componentsPerThingID = new TreeMap<>();
-    protected final Map<String, ThingUID> thingIDPerTopic = new TreeMap<>();
+    protected final Map<String, Set<HaID>> componentsPerThingID = new ConcurrentHashMap<>();
+    protected final Map<String, ThingUID> thingIDPerTopic = new ConcurrentHashMap<>();
+    private final Map<String, ParsedConfig> configPerTopic = new ConcurrentHashMap<>();
     protected final Map<String, DiscoveryResult> results = new ConcurrentHashMap<>();
 
     private @Nullable ScheduledFuture<?> future;
@@ -147,8 +149,7 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         }
         this.future = scheduler.schedule(this::publishResults, 2, TimeUnit.SECONDS);
 
-        BaseChannelConfiguration config = BaseChannelConfiguration
-                .fromString(new String(payload, StandardCharsets.UTF_8), gson);
+        BaseChannelConfiguration config = parseConfig(topic, payload);
 
         // We will of course find multiple of the same unique Thing IDs, for each different component another one.
         // Therefore the components are assembled into a list and given to the DiscoveryResult label for the user to
@@ -186,6 +187,21 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
                         .withLabel(config.getThingName() + " (" + componentNames + ")").build());
     }
 
+    /**
+     * Parse the configuration payload. Devices re-publish their (unchanged) configurations frequently, the parsed
+     * configuration is therefore reused if the payload is identical to the last one received on that topic.
+     */
+    private BaseChannelConfiguration parseConfig(String topic, byte[] payload) {
+        ParsedConfig parsedConfig = configPerTopic.get(topic);
+        if (parsedConfig != null && Arrays.equals(parsedConfig.payload, payload)) {
+            return parsedConfig.config;
+        }
+        BaseChannelConfiguration config = BaseChannelConfiguration
+                .fromString(new String(payload, StandardCharsets.UTF_8), gson);
+        configPerTopic.put(topic, new ParsedConfig(payload, config));
+        return config;
+    }
+
     protected void publishResults() {
         Collection<DiscoveryResult> localResults;
 
@@ -206,6 +222,7 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         if (!topic.endsWith("/config")) {
             return;
         }
+        configPerTopic.remove(topic);
         if (thingIDPerTopic.containsKey(topic)) {
             ThingUID thingUID = thingIDPerTopic.remove(topic);
             final String thingID = thingUID.getId();
@@ -219,4 +236,14 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
             }
         }
     }
+
+    private static class ParsedConfig {
+        private final byte[] payload;
+        private final BaseChannelConfiguration config;
+
+        private ParsedConfig(byte[] payload, BaseChannelConfiguration config) {
+            this.payload = payload;
+            this.config = config;
+        }
+    }
 }
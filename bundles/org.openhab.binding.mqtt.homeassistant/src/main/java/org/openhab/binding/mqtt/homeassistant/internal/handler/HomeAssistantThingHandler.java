@@ -12,9 +12,10 @@
  */
 package org.openhab.binding.mqtt.homeassistant.internal.handler;
 
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -262,8 +263,16 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
             return;
         }
 
+        // a component may have been discovered several times within one batch, only the last one is used
+        Map<String, AbstractComponent<?>> discoveredComponents = new LinkedHashMap<>();
+        for (AbstractComponent<?> discovered : discoveredComponentsList) {
+            discoveredComponents.remove(discovered.uid().getId());
+            discoveredComponents.put(discovered.uid().getId(), discovered);
+        }
+
+        List<Channel> newChannels = new ArrayList<>();
         synchronized (haComponents) { // sync whenever discoverComponents is started
-            for (AbstractComponent<?> discovered : discoveredComponentsList) {
+            for (AbstractComponent<?> discovered : discoveredComponents.values()) {
                 AbstractComponent<?> known = haComponents.get(discovered.uid().getId());
                 // Is component already known?
                 if (known != null) {
@@ -287,9 +296,10 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
                     return null;
                 });
 
-                Collection<Channel> channels = discovered.channelTypes().values().stream().map(CChannel::getChannel)
-                        .collect(Collectors.toList());
-                ThingHelper.addChannelsToThing(thing, channels);
+                discovered.channelTypes().values().stream().map(CChannel::getChannel).forEach(newChannels::add);
+            }
+            if (!newChannels.isEmpty()) {
+                ThingHelper.addChannelsToThing(thing, newChannels);
             }
         }
 
@@ -24,6 +24,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.mqtt.generic.ChannelConfig;
 import org.openhab.binding.mqtt.generic.mapping.AbstractMqttAttributeClass;
 import org.openhab.binding.mqtt.generic.tools.ChildMap;
+import org.openhab.binding.mqtt.generic.tools.MqttTopicRouter;
 import org.openhab.binding.mqtt.homie.internal.handler.HomieThingHandler;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
 import org.openhab.core.thing.Channel;
@@ -64,6 +65,7 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
     private String topic = "";
     public String deviceID = "";
     private boolean initialized = false;
+    private @Nullable MqttTopicRouter topicRouter;
 
     /**
      * Creates a Homie Device structure. It consists of device attributes, device statistics and nodes.
@@ -94,6 +96,16 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
         this.nodes = nodes;
     }
 
+    /**
+     * Use a single wildcard subscription for all attribute topics of this device, nodes and properties.
+     * Must be called before {@link #subscribe(MqttBrokerConnection, ScheduledExecutorService, int)}.
+     *
+     * @param topicRouter The router for the device topic or null to subscribe to every attribute topic
+     */
+    public void setTopicRouter(@Nullable MqttTopicRouter topicRouter) {
+        this.topicRouter = topicRouter;
+    }
+
     /**
      * Subscribe to all device attributes and device statistics. Parse the nodes
      * and subscribe to all node attributes. Parse node properties. This will not subscribe
@@ -113,7 +125,10 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
             throw new IllegalStateException("You must call initialize()!");
         }
 
-        return attributes.subscribeAndReceive(connection, scheduler, topic, this, timeout)
+        return startTopicRouter(connection).thenCompose(v -> {
+            attributes.setTopicRouter(topicRouter);
+            return attributes.subscribeAndReceive(connection, scheduler, topic, this, timeout);
+        })
                 // On success, create all nodes and tell the handler about the ready state
                 .thenCompose(b -> attributesReceived(connection, scheduler, timeout))
                 // No matter if values have been received or not -> the subscriptions have been performed
@@ -122,6 +137,21 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
                 });
     }
 
+    private CompletableFuture<@Nullable Void> startTopicRouter(MqttBrokerConnection connection) {
+        final MqttTopicRouter topicRouter = this.topicRouter;
+        if (topicRouter == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return topicRouter.start(connection).<@Nullable Void> handle((success, e) -> {
+            if (e != null || !Boolean.TRUE.equals(success)) {
+                // fall back to subscribing to every attribute topic
+                logger.warn("Could not subscribe to all topics of device {}, subscribing to single topics", deviceID);
+                this.topicRouter = null;
+            }
+            return null;
+        });
+    }
+
     public CompletableFuture<@Nullable Void> attributesReceived(MqttBrokerConnection connection,
             ScheduledExecutorService scheduler, int timeout) {
         callback.readyStateChanged(attributes.state);
@@ -174,8 +204,13 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
      * Unsubscribe from everything.
      */
     public CompletableFuture<@Nullable Void> stop() {
-        return attributes.unsubscribe().thenCompose(
+        final MqttTopicRouter topicRouter = this.topicRouter;
+        CompletableFuture<@Nullable Void> future = attributes.unsubscribe().thenCompose(
                 b -> CompletableFuture.allOf(nodes.stream().map(Node::stop).toArray(CompletableFuture[]::new)));
+        if (topicRouter != null) {
+            future = future.thenCompose(b -> topicRouter.stop()).<@Nullable Void> thenApply(b -> null);
+        }
+        return future;
     }
 
     /**
@@ -275,8 +310,10 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
 
     CompletableFuture<@Nullable Void> applyNodes(MqttBrokerConnection connection, ScheduledExecutorService scheduler,
             int timeout) {
-        return nodes.apply(attributes.nodes, node -> node.subscribe(connection, scheduler, timeout), this::createNode,
-                this::notifyNodeRemoved).exceptionally(e -> {
+        return nodes.apply(attributes.nodes, node -> {
+            node.setTopicRouter(topicRouter);
+            return node.subscribe(connection, scheduler, timeout);
+        }, this::createNode, this::notifyNodeRemoved).exceptionally(e -> {
                     logger.warn("Could not subscribe", e);
                     return null;
                 });
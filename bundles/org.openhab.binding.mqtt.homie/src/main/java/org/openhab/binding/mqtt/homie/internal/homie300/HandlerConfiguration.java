@@ -36,4 +36,8 @@ public class HandlerConfiguration {
      * Indicates if retained topics should be removed when the Thing is deleted.
      */
     public boolean removetopics = false;
+    /**
+     * Indicates if a single wildcard subscription should be used for all attribute topics of the device.
+     */
+    public boolean singlesubscription = false;
 }
@@ -23,6 +23,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.mqtt.generic.mapping.AbstractMqttAttributeClass;
 import org.openhab.binding.mqtt.generic.tools.ChildMap;
+import org.openhab.binding.mqtt.generic.tools.MqttTopicRouter;
 import org.openhab.binding.mqtt.homie.generic.internal.MqttBindingConstants;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
 import org.openhab.core.thing.ChannelGroupUID;
@@ -57,6 +58,7 @@ public class Node implements AbstractMqttAttributeClass.AttributeChanged {
     public final ChannelGroupTypeUID channelGroupTypeUID;
     private final String topic;
     private boolean initialized = false;
+    private @Nullable MqttTopicRouter topicRouter;
 
     /**
      * Creates a Homie Node.
@@ -76,6 +78,13 @@ public class Node implements AbstractMqttAttributeClass.AttributeChanged {
         properties = new ChildMap<>();
     }
 
+    /**
+     * Use the given router of the device instead of subscribing to every attribute topic.
+     */
+    public void setTopicRouter(@Nullable MqttTopicRouter topicRouter) {
+        this.topicRouter = topicRouter;
+    }
+
     /**
      * Parse node properties. This will not subscribe to properties though. Call
      * {@link Device#startChannels(MqttBrokerConnection)} as soon as the returned future has
@@ -83,6 +92,7 @@ public class Node implements AbstractMqttAttributeClass.AttributeChanged {
      */
     public CompletableFuture<@Nullable Void> subscribe(MqttBrokerConnection connection,
             ScheduledExecutorService scheduler, int timeout) {
+        attributes.setTopicRouter(topicRouter);
         return attributes.subscribeAndReceive(connection, scheduler, topic, this, timeout)
                 // On success, create all properties and tell the handler about this node
                 .thenCompose(b -> attributesReceived(connection, scheduler, timeout))
@@ -173,8 +183,10 @@ public class Node implements AbstractMqttAttributeClass.AttributeChanged {
 
     protected CompletableFuture<@Nullable Void> applyProperties(MqttBrokerConnection connection,
             ScheduledExecutorService scheduler, int timeout) {
-        return properties.apply(attributes.properties, prop -> prop.subscribe(connection, scheduler, timeout),
-                this::createProperty, this::notifyPropertyRemoved).exceptionally(e -> {
+        return properties.apply(attributes.properties, prop -> {
+            prop.setTopicRouter(topicRouter);
+            return prop.subscribe(connection, scheduler, timeout);
+        }, this::createProperty, this::notifyPropertyRemoved).exceptionally(e -> {
                     logger.warn("Could not subscribe", e);
                     return null;
                 });
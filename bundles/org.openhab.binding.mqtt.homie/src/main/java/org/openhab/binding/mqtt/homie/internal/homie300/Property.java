@@ -29,6 +29,7 @@ import org.openhab.binding.mqtt.generic.ChannelState;
 import org.openhab.binding.mqtt.generic.mapping.AbstractMqttAttributeClass;
 import org.openhab.binding.mqtt.generic.mapping.AbstractMqttAttributeClass.AttributeChanged;
 import org.openhab.binding.mqtt.generic.mapping.ColorMode;
+import org.openhab.binding.mqtt.generic.tools.MqttTopicRouter;
 import org.openhab.binding.mqtt.generic.values.ColorValue;
 import org.openhab.binding.mqtt.generic.values.NumberValue;
 import org.openhab.binding.mqtt.generic.values.OnOffValue;
@@ -72,6 +73,7 @@ public class Property implements AttributeChanged {
     private final String topic;
     private final DeviceCallback callback;
     protected boolean initialized = false;
+    private @Nullable MqttTopicRouter topicRouter;
 
     /**
      * Creates a Homie Property.
@@ -93,6 +95,13 @@ public class Property implements AttributeChanged {
         channel = ChannelBuilder.create(channelUID, "dummy").build();// Dummy value
     }
 
+    /**
+     * Use the given router of the device instead of subscribing to every attribute topic.
+     */
+    public void setTopicRouter(@Nullable MqttTopicRouter topicRouter) {
+        this.topicRouter = topicRouter;
+    }
+
     /**
      * Subscribe to property attributes. This will not subscribe
      * to the property value though. Call {@link Device#startChannels(MqttBrokerConnection)} to do that.
@@ -102,6 +111,7 @@ public class Property implements AttributeChanged {
      */
     public CompletableFuture<@Nullable Void> subscribe(MqttBrokerConnection connection,
             ScheduledExecutorService scheduler, int timeout) {
+        attributes.setTopicRouter(topicRouter);
         return attributes.subscribeAndReceive(connection, scheduler, topic, this, timeout)
                 // On success, create the channel and tell the handler about this property
                 .thenRun(this::attributesReceived)
@@ -36,6 +36,10 @@ public class NetworkBindingConfiguration {
     public @NonNullByDefault({}) ArpPingUtilEnum arpPingUtilMethod;
     // For backwards compatibility reasons, the default is to use the ping method execution time as latency value
     public boolean preferResponseTimeAsLatency = false;
+    public BigDecimal maxConcurrentProbes = BigDecimal.valueOf(16);
+    public BigDecimal maxProbesPerSecond = BigDecimal.valueOf(50);
+    public String batchPingToolPath = "fping";
+    public boolean batchPingAvailable = false;
 
     private List<NetworkBindingConfigurationListener> listeners = new ArrayList<>();
 
@@ -45,9 +49,13 @@ public class NetworkBindingConfiguration {
         this.cacheDeviceStateTimeInMS = newConfiguration.cacheDeviceStateTimeInMS;
         this.arpPingToolPath = newConfiguration.arpPingToolPath;
         this.preferResponseTimeAsLatency = newConfiguration.preferResponseTimeAsLatency;
+        this.maxConcurrentProbes = newConfiguration.maxConcurrentProbes;
+        this.maxProbesPerSecond = newConfiguration.maxProbesPerSecond;
+        this.batchPingToolPath = newConfiguration.batchPingToolPath;
 
         NetworkUtils networkUtils = new NetworkUtils();
         this.arpPingUtilMethod = networkUtils.determineNativeARPpingMethod(arpPingToolPath);
+        this.batchPingAvailable = networkUtils.isBatchPingAvailable(batchPingToolPath);
 
         notifyListeners();
     }
@@ -65,6 +73,8 @@ public class NetworkBindingConfiguration {
         return "NetworkBindingConfiguration{" + "allowSystemPings=" + allowSystemPings + ", allowDHCPlisten="
                 + allowDHCPlisten + ", cacheDeviceStateTimeInMS=" + cacheDeviceStateTimeInMS + ", arpPingToolPath='"
                 + arpPingToolPath + '\'' + ", arpPingUtilMethod=" + arpPingUtilMethod + ", preferResponseTimeAsLatency="
-                + preferResponseTimeAsLatency + '}';
+                + preferResponseTimeAsLatency + ", maxConcurrentProbes=" + maxConcurrentProbes + ", maxProbesPerSecond="
+                + maxProbesPerSecond + ", batchPingToolPath='" + batchPingToolPath + '\'' + ", batchPingAvailable="
+                + batchPingAvailable + '}';
     }
 }
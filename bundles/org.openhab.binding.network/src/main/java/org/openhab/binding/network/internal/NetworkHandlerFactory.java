@@ -29,6 +29,7 @@ import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,9 +43,16 @@ import org.slf4j.LoggerFactory;
 @Component(service = ThingHandlerFactory.class, configurationPid = "binding.network")
 public class NetworkHandlerFactory extends BaseThingHandlerFactory {
     final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
+    // All presence detections share one probe engine to bound the number of threads and processes
+    private final PresenceProbeEngine probeEngine;
 
     private final Logger logger = LoggerFactory.getLogger(NetworkHandlerFactory.class);
 
+    @Activate
+    public NetworkHandlerFactory(final @Reference PresenceProbeEngine probeEngine) {
+        this.probeEngine = probeEngine;
+    }
+
     @Override
     public boolean supportsThingType(ThingTypeUID thingTypeUID) {
         return NetworkBindingConstants.SUPPORTED_THING_TYPES_UIDS.contains(thingTypeUID);
@@ -78,9 +86,9 @@ public class NetworkHandlerFactory extends BaseThingHandlerFactory {
 
         if (thingTypeUID.equals(NetworkBindingConstants.PING_DEVICE)
                 || thingTypeUID.equals(NetworkBindingConstants.BACKWARDS_COMPATIBLE_DEVICE)) {
-            return new NetworkHandler(thing, false, configuration);
+            return new NetworkHandler(thing, false, configuration, probeEngine);
         } else if (thingTypeUID.equals(NetworkBindingConstants.SERVICE_DEVICE)) {
-            return new NetworkHandler(thing, true, configuration);
+            return new NetworkHandler(thing, true, configuration, probeEngine);
         } else if (thingTypeUID.equals(NetworkBindingConstants.SPEEDTEST_DEVICE)) {
             return new SpeedTestHandler(thing);
         }
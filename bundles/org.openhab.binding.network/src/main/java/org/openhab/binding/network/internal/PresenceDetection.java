@@ -18,12 +18,14 @@ import java.net.InetAddress;
 import java.net.SocketException;
 import java.net.UnknownHostException;
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -51,6 +53,8 @@ public class PresenceDetection implements IPRequestReceivedCallback {
 
     public static final double NOT_REACHABLE = -1;
     public static final int DESTINATION_TTL = 300 * 1000; // in ms, 300 s
+    // probes may have to wait for a free slot of the shared probe engine before their own timeout starts
+    static final int MAX_PROBE_QUEUE_TIME_IN_MS = 30 * 1000;
 
     NetworkUtils networkUtils = new NetworkUtils();
     private final Logger logger = LoggerFactory.getLogger(PresenceDetection.class);
@@ -79,14 +83,17 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     ExpiringCacheAsync<PresenceDetectionValue> cache;
     private final PresenceDetectionListener updateListener;
     private @Nullable ScheduledFuture<?> refreshJob;
-    protected @Nullable ExecutorService executorService;
+    PresenceProbeEngine probeEngine;
+    protected @Nullable CompletableFuture<Void> ongoingDetection;
+    private long detectionStartInMS;
     private String dhcpState = "off";
     Integer currentCheck = 0;
     int detectionChecks;
 
-    public PresenceDetection(final PresenceDetectionListener updateListener, int cacheDeviceStateTimeInMS)
-            throws IllegalArgumentException {
+    public PresenceDetection(final PresenceDetectionListener updateListener, int cacheDeviceStateTimeInMS,
+            PresenceProbeEngine probeEngine) throws IllegalArgumentException {
         this.updateListener = updateListener;
+        this.probeEngine = probeEngine;
         cache = new ExpiringCacheAsync<>(cacheDeviceStateTimeInMS, () -> {
             performPresenceDetection(false);
         });
@@ -279,14 +286,10 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         cache.getValue(callback);
     }
 
-    public ExecutorService getThreadsFor(int threadCount) {
-        return Executors.newFixedThreadPool(threadCount);
-    }
-
     /**
      * Perform a presence detection with ICMP-, ARP ping and
-     * TCP connection attempts simultaneously. A fixed thread pool will be created with as many
-     * thread as necessary to perform all tests at once.
+     * TCP connection attempts simultaneously. The checks are executed by the {@link PresenceProbeEngine}
+     * that is shared by all presence detections.
      *
      * This is a NO-OP, if there is already an ongoing detection or if the cached value
      * is not expired yet.
@@ -300,7 +303,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * @return Return true if a presence detection is performed and false otherwise.
      */
     public boolean performPresenceDetection(boolean waitForDetectionToFinish) {
-        if (executorService != null) {
+        if (ongoingDetection != null) {
             logger.debug(
                     "There is already an ongoing presence discovery for {} and a new one was issued by the scheduler! TCP Port {}",
                     hostname, tcpPorts);
@@ -327,47 +330,32 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             return false;
         }
 
-        final ExecutorService executorService = getThreadsFor(detectionChecks);
-        this.executorService = executorService;
+        final CompletableFuture<Void> detection = new CompletableFuture<>();
+        ongoingDetection = detection;
+        detectionStartInMS = System.currentTimeMillis();
 
         for (Integer tcpPort : tcpPorts) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionTCP_" + hostname + " " + String.valueOf(tcpPort));
-                performServicePing(tcpPort);
-                checkIfFinished();
-            });
+            performServicePing(tcpPort).whenComplete((result, e) -> checkIfFinished(detection));
         }
 
-        // ARP ping for IPv4 addresses. Use single executor for Windows tool and
-        // each own executor for each network interface for other tools
+        // ARP ping for IPv4 addresses. Use a single check for the Windows tool and
+        // one check for each network interface for other tools
         if (arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionARP_" + hostname + " ");
-                // arp-ping.exe tool capable of handling multiple interfaces by itself
-                performARPping("");
-                checkIfFinished();
-            });
+            // arp-ping.exe tool capable of handling multiple interfaces by itself
+            performARPping("").whenComplete((result, e) -> checkIfFinished(detection));
         } else if (interfaceNames != null) {
             for (final String interfaceName : interfaceNames) {
-                executorService.execute(() -> {
-                    Thread.currentThread().setName("presenceDetectionARP_" + hostname + " " + interfaceName);
-                    performARPping(interfaceName);
-                    checkIfFinished();
-                });
+                performARPping(interfaceName).whenComplete((result, e) -> checkIfFinished(detection));
             }
         }
 
         // ICMP ping
         if (pingMethod != null) {
-            executorService.execute(() -> {
-                if (pingMethod != IpPingMethodEnum.JAVA_PING) {
-                    Thread.currentThread().setName("presenceDetectionICMP_" + hostname);
-                    performSystemPing();
-                } else {
-                    performJavaPing();
-                }
-                checkIfFinished();
-            });
+            if (pingMethod != IpPingMethodEnum.JAVA_PING) {
+                performSystemPing().whenComplete((result, e) -> checkIfFinished(detection));
+            } else {
+                performJavaPing().whenComplete((result, e) -> checkIfFinished(detection));
+            }
         }
 
         if (waitForDetectionToFinish) {
@@ -380,25 +368,25 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     /**
      * Calls updateListener.finalDetectionResult() with a final result value.
      * Safe to be called from different threads. After a call to this method,
-     * the presence detection process is finished and all threads are forcefully
-     * shut down.
+     * the presence detection process is finished, results of checks that are still
+     * running are not awaited anymore.
      */
     private synchronized void submitFinalResult() {
         // Do nothing if we are not in a detection process
-        ExecutorService service = executorService;
-        if (service == null) {
+        CompletableFuture<Void> detection = ongoingDetection;
+        if (detection == null) {
             return;
         }
         // Finish the detection process
-        service.shutdownNow();
-        executorService = null;
+        ongoingDetection = null;
         detectionChecks = 0;
+        detection.complete(null);
 
         PresenceDetectionValue v;
 
         // The cache will be expired by now if cache_time < timeoutInMS. But the device might be actually reachable.
         // Therefore use lastSeenInMS here and not cache.isExpired() to determine if we got a ping response.
-        if (lastSeenInMS + timeoutInMS + 100 < System.currentTimeMillis()) {
+        if (lastSeenInMS < detectionStartInMS) {
             // We haven't seen the device in the detection process
             v = new PresenceDetectionValue(hostname, -1);
         } else {
@@ -419,8 +407,14 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * If the counter equals the total checks,the final result is submitted. This will
      * happen way before the "timeoutInMS", if all checks were successful.
      * Thread safe.
+     *
+     * @param detection the detection process the check belongs to
      */
-    private synchronized void checkIfFinished() {
+    private synchronized void checkIfFinished(CompletableFuture<Void> detection) {
+        if (detection != ongoingDetection) {
+            // a late check of a detection that was already finished
+            return;
+        }
         currentCheck += 1;
         if (currentCheck < detectionChecks) {
             return;
@@ -433,18 +427,23 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * if no presence detection is performed right now.
      */
     public void waitForPresenceDetection() {
-        ExecutorService service = executorService;
-        if (service == null) {
+        CompletableFuture<Void> detection = ongoingDetection;
+        if (detection == null) {
             return;
         }
         try {
             // We may get interrupted here by cancelRefreshJob().
-            service.awaitTermination(timeoutInMS + 100, TimeUnit.MILLISECONDS);
+            detection.get(timeoutInMS + MAX_PROBE_QUEUE_TIME_IN_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            logger.debug("Presence detection for {} did not finish in time", hostname);
             submitFinalResult();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt(); // Reset interrupt flag
-            service.shutdownNow();
-            executorService = null;
+            synchronized (this) {
+                if (ongoingDetection == detection) {
+                    ongoingDetection = null;
+                }
+            }
         }
     }
 
@@ -473,24 +472,31 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return v;
     }
 
-    protected void performServicePing(int tcpPort) {
+    protected CompletableFuture<Optional<PingResult>> performServicePing(int tcpPort) {
         logger.trace("Perform TCP presence detection for {} on port: {}", hostname, tcpPort);
-        try {
-            InetAddress destinationAddress = destination.getValue();
-            if (destinationAddress != null) {
-                networkUtils.servicePing(destinationAddress.getHostAddress(), tcpPort, timeoutInMS).ifPresent(o -> {
-                    if (o.isSuccess()) {
-                        PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.TCP_CONNECTION,
-                                getLatency(o, preferResponseTimeAsLatency));
-                        v.addReachableTcpService(tcpPort);
-                        updateListener.partialDetectionResult(v);
+        InetAddress destinationAddress = destination.getValue();
+        if (destinationAddress == null) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        String hostAddress = destinationAddress.getHostAddress();
+        int timeoutInMS = this.timeoutInMS;
+        return probeEngine.submit("tcp:" + hostAddress + ":" + tcpPort + ":" + timeoutInMS,
+                () -> networkUtils.servicePing(hostAddress, tcpPort, timeoutInMS)).whenComplete((result, e) -> {
+                    if (e != null) {
+                        // This should not happen and might be a user configuration issue, we log a warning message
+                        // therefore.
+                        logger.warn("Could not create a socket connection", e);
+                    } else {
+                        result.ifPresent(o -> {
+                            if (o.isSuccess()) {
+                                PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.TCP_CONNECTION,
+                                        getLatency(o, preferResponseTimeAsLatency));
+                                v.addReachableTcpService(tcpPort);
+                                updateListener.partialDetectionResult(v);
+                            }
+                        });
                     }
                 });
-            }
-        } catch (IOException e) {
-            // This should not happen and might be a user configuration issue, we log a warning message therefore.
-            logger.warn("Could not create a socket connection", e);
-        }
     }
 
     /**
@@ -501,31 +507,37 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * @param interfaceName The interface name. You can request a list of interface names
      *            from {@see NetworkUtils.getInterfaceNames()} for example.
      */
-    protected void performARPping(String interfaceName) {
-        try {
-            logger.trace("Perform ARP ping presence detection for {} on interface: {}", hostname, interfaceName);
-            InetAddress destinationAddress = destination.getValue();
-            if (destinationAddress == null) {
-                return;
-            }
-            if (iosDevice) {
-                networkUtils.wakeUpIOS(destinationAddress);
-                Thread.sleep(50);
-            }
-
-            networkUtils.nativeARPPing(arpPingMethod, arpPingUtilPath, interfaceName,
-                    destinationAddress.getHostAddress(), timeoutInMS).ifPresent(o -> {
-                        if (o.isSuccess()) {
-                            PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ARP_PING,
-                                    getLatency(o, preferResponseTimeAsLatency));
-                            updateListener.partialDetectionResult(v);
-                        }
-                    });
-        } catch (IOException e) {
-            logger.trace("Failed to execute an arp ping for ip {}", hostname, e);
-        } catch (InterruptedException ignored) {
-            // This can be ignored, the thread will end anyway
+    protected CompletableFuture<Optional<PingResult>> performARPping(String interfaceName) {
+        logger.trace("Perform ARP ping presence detection for {} on interface: {}", hostname, interfaceName);
+        InetAddress destinationAddress = destination.getValue();
+        if (destinationAddress == null) {
+            return CompletableFuture.completedFuture(Optional.empty());
         }
+        boolean iosDevice = this.iosDevice;
+        ArpPingUtilEnum arpPingMethod = this.arpPingMethod;
+        String arpPingUtilPath = this.arpPingUtilPath;
+        int timeoutInMS = this.timeoutInMS;
+        return probeEngine.submit("arp:" + interfaceName + ":" + destinationAddress.getHostAddress() + ":"
+                + timeoutInMS + (iosDevice ? ":ios" : ""), () -> {
+                    if (iosDevice) {
+                        networkUtils.wakeUpIOS(destinationAddress);
+                        Thread.sleep(50);
+                    }
+                    return networkUtils.nativeARPPing(arpPingMethod, arpPingUtilPath, interfaceName,
+                            destinationAddress.getHostAddress(), timeoutInMS);
+                }).whenComplete((result, e) -> {
+                    if (e instanceof IOException) {
+                        logger.trace("Failed to execute an arp ping for ip {}", hostname, e);
+                    } else if (e == null) {
+                        result.ifPresent(o -> {
+                            if (o.isSuccess()) {
+                                PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ARP_PING,
+                                        getLatency(o, preferResponseTimeAsLatency));
+                                updateListener.partialDetectionResult(v);
+                            }
+                        });
+                    }
+                });
     }
 
     /**
@@ -534,43 +546,63 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * the TCP echo service on port 7 which barely no device or server supports nowadays.
      * (http://docs.oracle.com/javase/7/docs/api/java/net/InetAddress.html#isReachable%28int%29)
      */
-    protected void performJavaPing() {
+    protected CompletableFuture<Optional<PingResult>> performJavaPing() {
         logger.trace("Perform java ping presence detection for {}", hostname);
 
         InetAddress destinationAddress = destination.getValue();
         if (destinationAddress == null) {
-            return;
+            return CompletableFuture.completedFuture(Optional.empty());
         }
 
-        networkUtils.javaPing(timeoutInMS, destinationAddress).ifPresent(o -> {
-            if (o.isSuccess()) {
-                PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING,
-                        getLatency(o, preferResponseTimeAsLatency));
-                updateListener.partialDetectionResult(v);
-            }
-        });
+        int timeoutInMS = this.timeoutInMS;
+        return probeEngine.submit("java:" + destinationAddress.getHostAddress() + ":" + timeoutInMS,
+                () -> networkUtils.javaPing(timeoutInMS, destinationAddress)).whenComplete((result, e) -> {
+                    if (e == null) {
+                        result.ifPresent(o -> {
+                            if (o.isSuccess()) {
+                                PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING,
+                                        getLatency(o, preferResponseTimeAsLatency));
+                                updateListener.partialDetectionResult(v);
+                            }
+                        });
+                    }
+                });
     }
 
-    protected void performSystemPing() {
-        try {
-            logger.trace("Perform native ping presence detection for {}", hostname);
-            InetAddress destinationAddress = destination.getValue();
-            if (destinationAddress == null) {
-                return;
-            }
+    /**
+     * Performs a system ping. The pings of all presence detections are sent by a single fping process
+     * if the fping utility is available.
+     */
+    protected CompletableFuture<Optional<PingResult>> performSystemPing() {
+        logger.trace("Perform native ping presence detection for {}", hostname);
+        InetAddress destinationAddress = destination.getValue();
+        if (destinationAddress == null) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
 
-            networkUtils.nativePing(pingMethod, destinationAddress.getHostAddress(), timeoutInMS).ifPresent(o -> {
-                if (o.isSuccess()) {
-                    PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING,
-                            getLatency(o, preferResponseTimeAsLatency));
-                    updateListener.partialDetectionResult(v);
-                }
-            });
-        } catch (IOException e) {
-            logger.trace("Failed to execute a native ping for ip {}", hostname, e);
-        } catch (InterruptedException e) {
-            // This can be ignored, the thread will end anyway
+        String hostAddress = destinationAddress.getHostAddress();
+        IpPingMethodEnum pingMethod = this.pingMethod;
+        int timeoutInMS = this.timeoutInMS;
+        CompletableFuture<Optional<PingResult>> pingResult;
+        if (probeEngine.isBatchPingAvailable()) {
+            pingResult = probeEngine.submitBatchPing(hostAddress, timeoutInMS);
+        } else {
+            pingResult = probeEngine.submit("icmp:" + hostAddress + ":" + timeoutInMS,
+                    () -> networkUtils.nativePing(pingMethod, hostAddress, timeoutInMS));
         }
+        return pingResult.whenComplete((result, e) -> {
+            if (e instanceof IOException) {
+                logger.trace("Failed to execute a native ping for ip {}", hostname, e);
+            } else if (e == null) {
+                result.ifPresent(o -> {
+                    if (o.isSuccess()) {
+                        PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING,
+                                getLatency(o, preferResponseTimeAsLatency));
+                        updateListener.partialDetectionResult(v);
+                    }
+                });
+            }
+        });
     }
 
     private double getLatency(PingResult pingResult, boolean preferResponseTimeAsLatency) {
@@ -0,0 +1,233 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.core.config.core.Configuration;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link PresenceProbeEngine} executes the probes of all presence detections of the binding.
+ *
+ * All probes run on a single executor with a bounded number of threads. Probes are started at most with the
+ * configured rate, so that many things refreshing at the same time do not flood the network. A probe that is
+ * submitted while an identical probe (same type, host and parameters) is still pending is not executed again, the
+ * result of the pending probe is shared instead. If the fping utility is available, ICMP pings of all hosts are
+ * collected for a short time and sent by a single process.
+ *
+ * The engine is a component configured by the binding configuration and shared by the handler factory and the
+ * discovery service, so that the limits apply to all probes of the binding.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = PresenceProbeEngine.class, configurationPid = "binding.network")
+public class PresenceProbeEngine implements NetworkBindingConfigurationListener {
+    static final long BATCH_WINDOW_IN_MS = 50;
+
+    private final Logger logger = LoggerFactory.getLogger(PresenceProbeEngine.class);
+
+    /**
+     * A single network probe, e.g. one ping of one host
+     */
+    @FunctionalInterface
+    public interface Probe {
+        Optional<PingResult> run() throws IOException, InterruptedException;
+    }
+
+    private final NetworkBindingConfiguration configuration;
+    private final ScheduledThreadPoolExecutor executor;
+    private final Map<String, CompletableFuture<Optional<PingResult>>> pendingProbes = new ConcurrentHashMap<>();
+
+    private final Map<String, CompletableFuture<Optional<PingResult>>> pendingBatch = new HashMap<>();
+    private int batchTimeoutInMS = 0;
+    private boolean batchScheduled = false;
+
+    private volatile long probeIntervalInNanos;
+    private volatile String batchPingToolPath = "";
+    private long nextProbeSlot = System.nanoTime();
+
+    NetworkUtils networkUtils = new NetworkUtils();
+
+    @Activate
+    public PresenceProbeEngine(Map<String, Object> config) {
+        this(new NetworkBindingConfiguration());
+        modified(config);
+    }
+
+    public PresenceProbeEngine(NetworkBindingConfiguration configuration) {
+        this.configuration = configuration;
+        executor = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("network-presence"));
+        executor.setKeepAliveTime(60, TimeUnit.SECONDS);
+        executor.allowCoreThreadTimeOut(true);
+        bindingConfigurationChanged();
+        configuration.addNetworkBindingConfigurationListener(this);
+    }
+
+    @Modified
+    protected void modified(Map<String, Object> config) {
+        configuration.update(new Configuration(config).as(NetworkBindingConfiguration.class));
+        logger.debug("Updated probe engine configuration to {}", configuration);
+    }
+
+    @Override
+    public void bindingConfigurationChanged() {
+        executor.setCorePoolSize(Math.max(1, configuration.maxConcurrentProbes.intValue()));
+        int probesPerSecond = configuration.maxProbesPerSecond.intValue();
+        probeIntervalInNanos = probesPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / probesPerSecond : 0;
+        batchPingToolPath = configuration.batchPingAvailable ? configuration.batchPingToolPath : "";
+    }
+
+    /**
+     * Return true if ICMP pings can be sent in batches with {@link #submitBatchPing(String, int)}.
+     */
+    public boolean isBatchPingAvailable() {
+        return !batchPingToolPath.isEmpty();
+    }
+
+    /**
+     * Execute a probe.
+     *
+     * @param key identifies the probe, probes with the same key must be interchangeable
+     * @param probe the probe
+     * @return the result of the probe. Completes exceptionally if the probe failed.
+     */
+    public CompletableFuture<Optional<PingResult>> submit(String key, Probe probe) {
+        CompletableFuture<Optional<PingResult>> future = new CompletableFuture<>();
+        CompletableFuture<Optional<PingResult>> pendingProbe = pendingProbes.putIfAbsent(key, future);
+        if (pendingProbe != null) {
+            logger.trace("Probe {} is already pending, sharing its result", key);
+            return pendingProbe;
+        }
+        future.whenComplete((result, e) -> pendingProbes.remove(key, future));
+
+        try {
+            executor.schedule(() -> {
+                try {
+                    future.complete(probe.run());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    future.completeExceptionally(e);
+                } catch (IOException | RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            }, reserveProbeSlot(), TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            future.complete(Optional.empty());
+        }
+        return future;
+    }
+
+    /**
+     * Send an ICMP ping with the fping utility. Requests arriving within {@link #BATCH_WINDOW_IN_MS} are sent by the
+     * same process.
+     *
+     * @param ipAddress the IP address to ping
+     * @param timeoutInMS the timeout in milliseconds
+     * @return the result of the ping. Completes exceptionally if fping failed.
+     */
+    public CompletableFuture<Optional<PingResult>> submitBatchPing(String ipAddress, int timeoutInMS) {
+        String key = "fping:" + ipAddress;
+        CompletableFuture<Optional<PingResult>> future = new CompletableFuture<>();
+        CompletableFuture<Optional<PingResult>> pendingProbe = pendingProbes.putIfAbsent(key, future);
+        if (pendingProbe != null) {
+            logger.trace("Ping of {} is already pending, sharing its result", ipAddress);
+            return pendingProbe;
+        }
+        future.whenComplete((result, e) -> pendingProbes.remove(key, future));
+
+        synchronized (pendingBatch) {
+            pendingBatch.put(ipAddress, future);
+            batchTimeoutInMS = Math.max(batchTimeoutInMS, timeoutInMS);
+            if (!batchScheduled) {
+                try {
+                    executor.schedule(this::sendBatchPing,
+                            TimeUnit.MILLISECONDS.toNanos(BATCH_WINDOW_IN_MS) + reserveProbeSlot(),
+                            TimeUnit.NANOSECONDS);
+                    batchScheduled = true;
+                } catch (RejectedExecutionException e) {
+                    pendingBatch.remove(ipAddress);
+                    future.complete(Optional.empty());
+                }
+            }
+        }
+        return future;
+    }
+
+    private void sendBatchPing() {
+        Map<String, CompletableFuture<Optional<PingResult>>> batch;
+        int timeoutInMS;
+        synchronized (pendingBatch) {
+            batch = new HashMap<>(pendingBatch);
+            timeoutInMS = batchTimeoutInMS;
+            pendingBatch.clear();
+            batchTimeoutInMS = 0;
+            batchScheduled = false;
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        logger.trace("Sending batched ping to {} hosts", batch.size());
+        try {
+            Map<String, PingResult> results = networkUtils.nativeBatchPing(batchPingToolPath, batch.keySet(),
+                    timeoutInMS);
+            batch.forEach((ipAddress, future) -> future.complete(Optional.ofNullable(results.get(ipAddress))));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        } catch (IOException | RuntimeException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Reserve the next start time permitted by the rate limit.
+     *
+     * @return the delay in nanoseconds until the probe may start
+     */
+    private synchronized long reserveProbeSlot() {
+        long now = System.nanoTime();
+        long slot = Math.max(now, nextProbeSlot);
+        nextProbeSlot = slot + probeIntervalInNanos;
+        return slot - now;
+    }
+
+    @Deactivate
+    public void shutdown() {
+        executor.shutdownNow();
+        pendingProbes.values().forEach(future -> future.complete(Optional.empty()));
+        synchronized (pendingBatch) {
+            pendingBatch.clear();
+            batchScheduled = false;
+        }
+    }
+}
@@ -32,6 +32,7 @@ import org.openhab.binding.network.internal.NetworkBindingConfiguration;
 import org.openhab.binding.network.internal.PresenceDetection;
 import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
+import org.openhab.binding.network.internal.PresenceProbeEngine;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.core.config.core.Configuration;
 import org.openhab.core.config.discovery.AbstractDiscoveryService;
@@ -42,6 +43,7 @@ import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -69,12 +71,15 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     private AtomicInteger scannedIPcount = new AtomicInteger(0);
     private @Nullable ExecutorService executorService = null;
     private final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
+    private final PresenceProbeEngine probeEngine;
     private final NetworkUtils networkUtils = new NetworkUtils();
 
-    public NetworkDiscoveryService() {
+    @Activate
+    public NetworkDiscoveryService(final @Reference PresenceProbeEngine probeEngine) {
         super(SUPPORTED_THING_TYPES_UIDS, (int) Math.round(
                 new NetworkUtils().getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE).size() * (PING_TIMEOUT_IN_MS / 1000.0)),
                 false);
+        this.probeEngine = probeEngine;
     }
 
     @Override
@@ -139,7 +144,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
         scannedIPcount.set(0);
 
         for (String ip : networkIPs) {
-            final PresenceDetection s = new PresenceDetection(this, 2000);
+            final PresenceDetection s = new PresenceDetection(this, 2000, probeEngine);
             s.setHostname(ip);
             s.setIOSDevice(true);
             s.setUseDhcpSniffing(false);
@@ -29,11 +29,18 @@ import java.net.SocketAddress;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang.StringUtils;
@@ -54,6 +61,8 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class NetworkUtils {
+    private static final Pattern BATCH_PING_ALIVE_PATTERN = Pattern.compile("^(\\S+) is alive(?: \\(([0-9.]+) ms\\))?");
+
     private final Logger logger = LoggerFactory.getLogger(NetworkUtils.class);
 
     private LatencyParser latencyParser = new LatencyParser();
@@ -219,6 +228,17 @@ public class NetworkUtils {
         return ArpPingUtilEnum.UNKNOWN_TOOL;
     }
 
+    /**
+     * Return true if the fping utility is available and executable on the given path.
+     */
+    public boolean isBatchPingAvailable(String batchPingToolPath) {
+        if (batchPingToolPath.isBlank()) {
+            return false;
+        }
+        String result = ExecUtil.executeCommandLineAndWaitResponse(Duration.ofMillis(500), batchPingToolPath, "-v");
+        return !StringUtils.isBlank(result) && result.contains("fping");
+    }
+
     public enum IpPingMethodEnum {
         JAVA_PING,
         WINDOWS_PING,
@@ -292,6 +312,56 @@ public class NetworkUtils {
         }
     }
 
+    /**
+     * Use the fping utility to ping several hosts with a single process.
+     *
+     * @param batchPingToolPath The fping path including filename. Example: "fping" or "/usr/sbin/fping"
+     * @param ipAddresses The IP addresses to ping. Host names are not supported.
+     * @param timeoutInMS Timeout in milliseconds for each host
+     * @return Ping result information for every given address
+     * @throws IOException The fping command could probably not be found
+     */
+    public Map<String, PingResult> nativeBatchPing(String batchPingToolPath, Collection<String> ipAddresses,
+            int timeoutInMS) throws IOException, InterruptedException {
+        double execStartTimeInMS = System.currentTimeMillis();
+
+        List<String> command = new ArrayList<>();
+        command.add(batchPingToolPath);
+        command.add("-e");
+        command.add("-r");
+        command.add("0");
+        command.add("-t");
+        command.add(String.valueOf(timeoutInMS));
+        command.addAll(ipAddresses);
+        Process proc = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.DISCARD).start();
+
+        Map<String, PingResult> results = new HashMap<>();
+        // Every host is reported on its own line as soon as it replied or timed out
+        try (BufferedReader r = new BufferedReader(new InputStreamReader(proc.getInputStream()))) {
+            String line;
+            while ((line = r.readLine()) != null) {
+                Matcher matcher = BATCH_PING_ALIVE_PATTERN.matcher(line);
+                if (matcher.find()) {
+                    PingResult pingResult = new PingResult(true, System.currentTimeMillis() - execStartTimeInMS);
+                    String responseTime = matcher.group(2);
+                    if (responseTime != null) {
+                        pingResult.setResponseTimeInMS(Double.parseDouble(responseTime));
+                    }
+                    results.put(matcher.group(1), pingResult);
+                }
+            }
+        }
+        // The return code is 0 if all hosts are reachable, 1 if some are not and 2 or above for errors
+        if (proc.waitFor() > 1) {
+            throw new IOException("fping failed with exit code " + proc.exitValue());
+        }
+
+        for (String ipAddress : ipAddresses) {
+            results.putIfAbsent(ipAddress, new PingResult(false, System.currentTimeMillis() - execStartTimeInMS));
+        }
+        return results;
+    }
+
     public enum ArpPingUtilEnum {
         UNKNOWN_TOOL,
         IPUTILS_ARPING,
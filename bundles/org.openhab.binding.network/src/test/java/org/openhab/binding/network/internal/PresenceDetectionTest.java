@@ -20,9 +20,11 @@ import static org.mockito.Mockito.*;
 
 import java.io.IOException;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -35,6 +37,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.openhab.binding.network.internal.PresenceProbeEngine.Probe;
 import org.openhab.binding.network.internal.toberemoved.cache.ExpiringCacheAsync;
 import org.openhab.binding.network.internal.toberemoved.cache.ExpiringCacheHelper;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
@@ -55,10 +58,12 @@ public class PresenceDetectionTest {
     private PresenceDetection subject;
 
     private @Mock Consumer<PresenceDetectionValue> callback;
-    private @Mock ExecutorService executorService;
+    private @Mock PresenceProbeEngine probeEngine;
     private @Mock PresenceDetectionListener listener;
     private @Mock NetworkUtils networkUtils;
 
+    private final List<Runnable> pendingProbes = new ArrayList<>();
+
     @BeforeEach
     public void setUp() throws UnknownHostException {
         // Mock an interface
@@ -66,7 +71,21 @@ public class PresenceDetectionTest {
         doReturn(ArpPingUtilEnum.IPUTILS_ARPING).when(networkUtils).determineNativeARPpingMethod(anyString());
         doReturn(IpPingMethodEnum.WINDOWS_PING).when(networkUtils).determinePingMethod();
 
-        subject = spy(new PresenceDetection(listener, (int) CACHETIME));
+        // Probes submitted to the engine are executed by calling runPendingProbes()
+        doAnswer(invocation -> {
+            CompletableFuture<Optional<PingResult>> future = new CompletableFuture<>();
+            Probe probe = invocation.getArgument(1);
+            pendingProbes.add(() -> {
+                try {
+                    future.complete(probe.run());
+                } catch (IOException | InterruptedException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+            return future;
+        }).when(probeEngine).submit(anyString(), any());
+
+        subject = spy(new PresenceDetection(listener, (int) CACHETIME, probeEngine));
         subject.networkUtils = networkUtils;
         subject.cache = spy(new ExpiringCacheAsync<>(CACHETIME, () -> {
             subject.performPresenceDetection(false);
@@ -89,26 +108,34 @@ public class PresenceDetectionTest {
         subject.waitForPresenceDetection();
     }
 
-    // Depending on the amount of test methods an according amount of threads is spawned.
-    // We will check if they spawn and return in time.
+    private void runPendingProbes() {
+        List<Runnable> probes = new ArrayList<>(pendingProbes);
+        pendingProbes.clear();
+        probes.forEach(Runnable::run);
+    }
+
+    // Depending on the amount of test methods an according amount of checks is performed.
+    // We will check if they are started and the detection finishes when they are done.
     @Test
-    public void threadCountTest() {
-        assertNull(subject.executorService);
+    public void checkCountTest() {
+        assertNull(subject.ongoingDetection);
 
-        doNothing().when(subject).performARPping(any());
-        doNothing().when(subject).performJavaPing();
-        doNothing().when(subject).performSystemPing();
-        doNothing().when(subject).performServicePing(anyInt());
+        CompletableFuture<Optional<PingResult>> check = new CompletableFuture<>();
+        doReturn(check).when(subject).performARPping(any());
+        doReturn(check).when(subject).performJavaPing();
+        doReturn(check).when(subject).performSystemPing();
+        doReturn(check).when(subject).performServicePing(anyInt());
 
         subject.performPresenceDetection(false);
 
-        // Thread count: ARP + ICMP + 1*TCP
+        // Check count: ARP + ICMP + 1*TCP
         assertThat(subject.detectionChecks, is(3));
-        assertNotNull(subject.executorService);
+        assertNotNull(subject.ongoingDetection);
 
+        check.complete(Optional.empty());
         subject.waitForPresenceDetection();
         assertThat(subject.detectionChecks, is(0));
-        assertNull(subject.executorService);
+        assertNull(subject.ongoingDetection);
     }
 
     @Test
@@ -120,6 +147,7 @@ public class PresenceDetectionTest {
         doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
 
         assertTrue(subject.performPresenceDetection(false));
+        runPendingProbes();
         subject.waitForPresenceDetection();
 
         verify(subject, times(0)).performJavaPing();
@@ -142,23 +170,18 @@ public class PresenceDetectionTest {
                 .nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(), any(), anyInt());
         doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
 
-        doReturn(executorService).when(subject).getThreadsFor(anyInt());
-
         // We expect no valid value
         assertTrue(subject.cache.isExpired());
         // Get value will issue a PresenceDetection internally.
         subject.getValue(callback);
         verify(subject).performPresenceDetection(eq(false));
-        assertNotNull(subject.executorService);
+        assertNotNull(subject.ongoingDetection);
         // There should be no straight callback yet
         verify(callback, times(0)).accept(any());
 
-        // Perform the different presence detection threads now
-        ArgumentCaptor<Runnable> capture = ArgumentCaptor.forClass(Runnable.class);
-        verify(executorService, times(3)).execute(capture.capture());
-        for (Runnable r : capture.getAllValues()) {
-            r.run();
-        }
+        // Perform the different presence detection probes now
+        assertThat(pendingProbes.size(), is(3));
+        runPendingProbes();
         // "Wait" for the presence detection to finish
         subject.waitForPresenceDetection();
 
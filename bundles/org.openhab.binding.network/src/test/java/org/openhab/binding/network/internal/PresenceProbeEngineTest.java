@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.PingResult;
+
+/**
+ * Tests cases for {@link PresenceProbeEngine}
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.WARN)
+public class PresenceProbeEngineTest {
+    private final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
+    private PresenceProbeEngine engine;
+
+    private @Mock NetworkUtils networkUtils;
+
+    @BeforeEach
+    public void setUp() {
+        configuration.maxConcurrentProbes = BigDecimal.valueOf(4);
+        configuration.maxProbesPerSecond = BigDecimal.ZERO;
+        configuration.batchPingAvailable = true;
+        engine = new PresenceProbeEngine(configuration);
+        engine.networkUtils = networkUtils;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    public void identicalProbesAreExecutedOnce() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        PresenceProbeEngine.Probe probe = () -> {
+            executions.incrementAndGet();
+            release.await();
+            return Optional.of(new PingResult(true, 1));
+        };
+
+        CompletableFuture<Optional<PingResult>> first = engine.submit("tcp:127.0.0.1:80", probe);
+        CompletableFuture<Optional<PingResult>> second = engine.submit("tcp:127.0.0.1:80", probe);
+        CompletableFuture<Optional<PingResult>> other = engine.submit("tcp:127.0.0.1:443", probe);
+        assertSame(first, second);
+        assertNotSame(first, other);
+
+        release.countDown();
+        assertTrue(first.get(1, TimeUnit.SECONDS).get().isSuccess());
+        other.get(1, TimeUnit.SECONDS);
+        assertThat(executions.get(), is(2));
+
+        // a finished probe is executed again
+        engine.submit("tcp:127.0.0.1:80", probe).get(1, TimeUnit.SECONDS);
+        assertThat(executions.get(), is(3));
+    }
+
+    @Test
+    public void probesAreRateLimited() throws Exception {
+        configuration.maxProbesPerSecond = BigDecimal.valueOf(20);
+        engine.bindingConfigurationChanged();
+
+        long start = System.nanoTime();
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[5];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = engine.submit("java:10.0.0." + i, () -> Optional.empty());
+        }
+        CompletableFuture.allOf(futures).get(2, TimeUnit.SECONDS);
+
+        // 5 probes at 20 per second, the last one starts 200 ms after the first one
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), is(greaterThanOrEqualTo(200L)));
+    }
+
+    @Test
+    public void failedProbeCompletesExceptionally() {
+        CompletableFuture<Optional<PingResult>> future = engine.submit("icmp:127.0.0.1", () -> {
+            throw new IOException("ping not found");
+        });
+        assertThrows(Exception.class, () -> future.get(1, TimeUnit.SECONDS));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void pingsAreBatched() throws Exception {
+        doReturn(Map.of("10.0.0.1", new PingResult(true, 5), "10.0.0.2", new PingResult(false, 500)))
+                .when(networkUtils).nativeBatchPing(anyString(), anyCollection(), anyInt());
+
+        assertTrue(engine.isBatchPingAvailable());
+        CompletableFuture<Optional<PingResult>> first = engine.submitBatchPing("10.0.0.1", 500);
+        CompletableFuture<Optional<PingResult>> second = engine.submitBatchPing("10.0.0.2", 1000);
+        assertSame(first, engine.submitBatchPing("10.0.0.1", 500));
+
+        assertTrue(first.get(1, TimeUnit.SECONDS).get().isSuccess());
+        assertFalse(second.get(1, TimeUnit.SECONDS).get().isSuccess());
+
+        ArgumentCaptor<Collection<String>> addresses = ArgumentCaptor.forClass(Collection.class);
+        verify(networkUtils, times(1)).nativeBatchPing(eq("fping"), addresses.capture(), eq(1000));
+        assertThat(Set.copyOf(addresses.getValue()), is(Set.of("10.0.0.1", "10.0.0.2")));
+    }
+}
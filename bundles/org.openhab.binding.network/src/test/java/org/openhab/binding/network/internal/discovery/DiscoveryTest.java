@@ -29,6 +29,7 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.openhab.binding.network.internal.NetworkBindingConstants;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
+import org.openhab.binding.network.internal.PresenceProbeEngine;
 import org.openhab.core.config.discovery.DiscoveryListener;
 import org.openhab.core.config.discovery.DiscoveryResult;
 
@@ -44,6 +45,7 @@ public class DiscoveryTest {
 
     private @Mock PresenceDetectionValue value;
     private @Mock DiscoveryListener listener;
+    private @Mock PresenceProbeEngine probeEngine;
 
     @BeforeEach
     public void setUp() {
@@ -55,7 +57,7 @@ public class DiscoveryTest {
 
     @Test
     public void pingDeviceDetected() {
-        NetworkDiscoveryService d = new NetworkDiscoveryService();
+        NetworkDiscoveryService d = new NetworkDiscoveryService(probeEngine);
         d.addDiscoveryListener(listener);
 
         ArgumentCaptor<DiscoveryResult> result = ArgumentCaptor.forClass(DiscoveryResult.class);
@@ -72,7 +74,7 @@ public class DiscoveryTest {
 
     @Test
     public void tcpDeviceDetected() {
-        NetworkDiscoveryService d = new NetworkDiscoveryService();
+        NetworkDiscoveryService d = new NetworkDiscoveryService(probeEngine);
         d.addDiscoveryListener(listener);
 
         ArgumentCaptor<DiscoveryResult> result = ArgumentCaptor.forClass(DiscoveryResult.class);
@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.shelly.internal.coap;
+
+import java.io.Reader;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link ShellyCoIoTPayloadReader} streams a CoIoT payload to the JSON parser and fixes the malformed JSON some
+ * devices send on the fly: missing separators between objects ("}{") and arrays ("][") are inserted, duplicate
+ * separators between arrays ("],,[") are removed.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+class ShellyCoIoTPayloadReader extends Reader {
+    private final String payload;
+    private int pos = 0;
+    private int separatorInsertedAt = -1;
+
+    public ShellyCoIoTPayloadReader(String payload) {
+        this.payload = payload;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) {
+        int count = 0;
+        int length = payload.length();
+        while (count < len && pos < length) {
+            char c = payload.charAt(pos);
+            char prev = pos > 0 ? payload.charAt(pos - 1) : 0;
+            if (separatorInsertedAt != pos && ((prev == '}' && c == '{') || (prev == ']' && c == '['))) {
+                cbuf[off + count++] = ',';
+                separatorInsertedAt = pos;
+                continue;
+            }
+            if (prev == ']' && c == ',' && pos + 2 < length && payload.charAt(pos + 1) == ','
+                    && payload.charAt(pos + 2) == '[') {
+                // skip the duplicate separator
+                pos++;
+                continue;
+            }
+            cbuf[off + count++] = c;
+            pos++;
+        }
+        return count == 0 && len > 0 ? -1 : count;
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -54,6 +54,7 @@ import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonSyntaxException;
 
 /**
@@ -118,7 +119,7 @@ public class ShellyCoapHandler implements ShellyCoapListener {
             }
 
             logger.debug("{}: Starting CoAP Listener", thingName);
-            coapServer.start(config.localIp, this);
+            coapServer.start(config.localIp, config.deviceIp, this);
             statusClient = new CoapClient(completeUrl(config.deviceIp, COLOIT_URI_DEVSTATUS))
                     .setTimeout((long) SHELLY_API_TIMEOUT_MS).useNONs().setEndpoint(coapServer.getEndpoint());
             @Nullable
@@ -152,10 +153,6 @@ public class ShellyCoapHandler implements ShellyCoapListener {
     @Override
     public void processResponse(@Nullable Response response) {
         if (response == null) {
-            return; // other device instance
-        }
-        String ip = response.getSourceContext().getPeerAddress().toString();
-        if (!ip.contains(config.deviceIp)) {
             return;
         }
 
@@ -233,9 +230,6 @@ public class ShellyCoapHandler implements ShellyCoapListener {
                     return;
                 }
 
-                // fixed malformed JSON :-(
-                payload = fixJSON(payload);
-
                 try {
                     if (uri.equalsIgnoreCase(COLOIT_URI_DEVDESC)
                             || (uri.isEmpty() && payload.contains(COIOT_TAG_BLK))) {
@@ -280,7 +274,7 @@ public class ShellyCoapHandler implements ShellyCoapListener {
             boolean valid = true;
 
             // Decode Json
-            CoIotDevDescription descr = fromJson(gson, payload, CoIotDevDescription.class);
+            CoIotDevDescription descr = fromPayload(payload, CoIotDevDescription.class);
             for (int i = 0; i < descr.blk.size(); i++) {
                 CoIotDescrBlk blk = descr.blk.get(i);
                 logger.debug("{}:    id={}: {}", thingName, blk.id, blk.desc);
@@ -394,7 +388,7 @@ public class ShellyCoapHandler implements ShellyCoapListener {
         }
 
         // Parse Json,
-        CoIotGenericSensorList list = fromJson(gson, fixJSON(payload), CoIotGenericSensorList.class);
+        CoIotGenericSensorList list = fromPayload(payload, CoIotGenericSensorList.class);
         if (list.generic == null) {
             logger.debug("{}: Sensor list has invalid format! Payload: {}", devId, payload);
             return;
@@ -511,17 +505,25 @@ public class ShellyCoapHandler implements ShellyCoapListener {
     }
 
     /**
-     * Fix malformed JSON - stupid, but the devices sometimes return malformed JSON with then causes a
-     * JsonSyntaxException
+     * Parse a CoIoT payload. The devices sometimes return malformed JSON, which is fixed while the payload is streamed
+     * to the parser (see {@link ShellyCoIoTPayloadReader}).
      *
-     * @param json to be checked/fixed
+     * @param payload CoIoT payload
+     * @param classOfT class of the result
+     * @return parsed object
+     * @throws ShellyApiException if the payload could not be parsed
      */
-    private static String fixJSON(String payload) {
-        String json = payload;
-        json = json.replace("}{", "},{");
-        json = json.replace("][", "],[");
-        json = json.replace("],,[", "],[");
-        return json;
+    private <T> T fromPayload(String payload, Class<T> classOfT) throws ShellyApiException {
+        try {
+            @Nullable
+            T obj = gson.fromJson(new ShellyCoIoTPayloadReader(payload), classOfT);
+            if (obj == null) {
+                throw new ShellyApiException("Unable to create object from CoIoT payload: " + payload);
+            }
+            return obj;
+        } catch (JsonSyntaxException | JsonIOException e) {
+            throw new ShellyApiException("Unable to create object from CoIoT payload: " + payload, e);
+        }
     }
 
     /**
@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.shelly.internal.coap;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link ShellyCoapSerialExecutor} executes the CoIoT packets of one device in the order they were received. The
+ * packets of different devices are processed in parallel on the shared executor.
+ *
+ * openHAB core does not provide an executor that serializes tasks on top of a shared pool, and add-ons can't share
+ * code with each other. The binding therefore needs its own copy, the KNX binding uses the same pattern.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+class ShellyCoapSerialExecutor implements Executor {
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private final Executor executor;
+    private @Nullable Runnable active;
+
+    public ShellyCoapSerialExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public synchronized void execute(Runnable command) {
+        tasks.add(() -> {
+            try {
+                command.run();
+            } finally {
+                scheduleNext();
+            }
+        });
+        if (active == null) {
+            scheduleNext();
+        }
+    }
+
+    private synchronized void scheduleNext() {
+        Runnable next = tasks.poll();
+        active = next;
+        if (next != null) {
+            executor.execute(next);
+        }
+    }
+}
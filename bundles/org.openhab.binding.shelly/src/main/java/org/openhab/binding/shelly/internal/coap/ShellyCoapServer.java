@@ -18,8 +18,9 @@ import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.SocketException;
 import java.net.UnknownHostException;
-import java.util.Set;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 import org.eclipse.californium.core.CoapResource;
 import org.eclipse.californium.core.CoapServer;
@@ -34,12 +35,16 @@ import org.eclipse.californium.core.network.config.NetworkConfig;
 import org.eclipse.californium.elements.UdpMulticastConnector;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * The {@link ShellyCoapServer} implements the UDP listener and status event processor (for /cit/s messages)
  *
+ * Packets are routed to the listener registered for the peer address and processed in order per device, but in
+ * parallel for different devices.
+ *
  * @author Markus Michels - Initial contribution
  */
 @NonNullByDefault
@@ -50,7 +55,10 @@ public class ShellyCoapServer {
     private CoapEndpoint statusEndpoint = new CoapEndpoint.Builder().build();
     private @Nullable UdpMulticastConnector statusConnector;
     private final CoapServer server = new CoapServer(NetworkConfig.getStandard(), COIOT_PORT);;
-    private final Set<ShellyCoapListener> coapListeners = ConcurrentHashMap.newKeySet();
+    private static final String COAP_POOL_NAME = "shellyCoIoT";
+
+    private final Map<InetAddress, ShellyCoapListener> coapListeners = new ConcurrentHashMap<>();
+    private final Map<ShellyCoapListener, Executor> listenerExecutors = new ConcurrentHashMap<>();
 
     protected class ShellyStatusListener extends CoapResource {
         private ShellyCoapServer listener;
@@ -77,7 +85,14 @@ public class ShellyCoapServer {
         }
     }
 
-    public synchronized void start(String localIp, ShellyCoapListener listener)
+    /**
+     * Start the server (if not yet started) and register a listener for the packets of a device
+     *
+     * @param localIp IP address of the local interface, which joins the multicast group
+     * @param deviceIp IP address of the device
+     * @param listener listener for the packets of the device
+     */
+    public synchronized void start(String localIp, String deviceIp, ShellyCoapListener listener)
             throws UnknownHostException, SocketException {
         if (!started) {
             logger.debug("Initializing CoIoT listener (local IP={}:{})", localIp, COIOT_PORT);
@@ -96,13 +111,26 @@ public class ShellyCoapServer {
             started = true;
         }
 
-        if (!coapListeners.contains(listener)) {
-            coapListeners.add(listener);
+        InetAddress deviceAddr = InetAddress.getByName(deviceIp);
+        coapListeners.values().remove(listener);
+        ShellyCoapListener previous = coapListeners.put(deviceAddr, listener);
+        if (previous != null && previous != listener) {
+            logger.debug("CoIoT listener for {} replaced, only one thing per device is supported", deviceIp);
+            listenerExecutors.remove(previous);
         }
+        listenerExecutors.computeIfAbsent(listener,
+                l -> new ShellyCoapSerialExecutor(ThreadPoolManager.getPool(COAP_POOL_NAME)));
     }
 
     protected void processResponse(Response response) {
-        coapListeners.forEach(listener -> listener.processResponse(response));
+        InetAddress peerAddr = response.getSourceContext().getPeerAddress().getAddress();
+        ShellyCoapListener listener = coapListeners.get(peerAddr);
+        Executor executor = listener != null ? listenerExecutors.get(listener) : null;
+        if (listener == null || executor == null) {
+            logger.trace("Ignoring CoIoT packet from {}, no thing registered for this device", peerAddr);
+            return;
+        }
+        executor.execute(() -> listener.processResponse(response));
     }
 
     public static Response createResponse(Request request) {
@@ -124,7 +152,8 @@ public class ShellyCoapServer {
      * Cancel pending requests and shutdown the client
      */
     public void stop(ShellyCoapListener listener) {
-        coapListeners.remove(listener);
+        coapListeners.values().remove(listener);
+        listenerExecutors.remove(listener);
         if (coapListeners.isEmpty()) {
             stop();
         }
@@ -136,6 +165,7 @@ public class ShellyCoapServer {
             server.stop();
             statusEndpoint.stop();
             coapListeners.clear();
+            listenerExecutors.clear();
             started = false;
             logger.debug("CoAP Listener stopped");
         }
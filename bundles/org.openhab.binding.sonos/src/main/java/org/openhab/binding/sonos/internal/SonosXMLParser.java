@@ -17,8 +17,10 @@ import java.io.StringReader;
 import java.net.URL;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -48,6 +50,15 @@ public class SonosXMLParser {
 
     static final Logger LOGGER = LoggerFactory.getLogger(SonosXMLParser.class);
 
+    private static final int MAX_CACHED_RESULTS = 32;
+
+    private static final ThreadLocal<@Nullable XMLReader> XML_READER = new ThreadLocal<>();
+    private static final DefaultHandler NO_OP_HANDLER = new DefaultHandler();
+
+    // zone group state and meta data are sent to all zone players and requested repeatedly, results are shared
+    private static final Map<String, List<SonosZoneGroup>> ZONE_GROUP_CACHE = createCache();
+    private static final Map<String, SonosMetaData> META_DATA_CACHE = createCache();
+
     private static final MessageFormat METADATA_FORMAT = new MessageFormat(
             "<DIDL-Lite xmlns:dc=\"http://purl.org/dc/elements/1.1/\" "
                     + "xmlns:upnp=\"urn:schemas-upnp-org:metadata-1-0/upnp/\" "
@@ -58,6 +69,17 @@ public class SonosXMLParser {
                     + "<desc id=\"cdudn\" nameSpace=\"urn:schemas-rinconnetworks-com:metadata-1-0/\">" + "{4}</desc>"
                     + "</item></DIDL-Lite>");
 
+    private static <V> Map<String, V> createCache() {
+        return Collections.synchronizedMap(new LinkedHashMap<String, V>(MAX_CACHED_RESULTS, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.@Nullable Entry<String, V> eldest) {
+                return size() > MAX_CACHED_RESULTS;
+            }
+        });
+    }
+
     private enum Element {
         TITLE,
         CLASS,
@@ -83,6 +105,29 @@ public class SonosXMLParser {
         desc
     }
 
+    /**
+     * Parses the given XML with a reader of the current thread. Readers are reused, a new reader is only created if
+     * the previous parse of the thread failed.
+     */
+    private static void parse(String xml, DefaultHandler handler) throws IOException, SAXException {
+        XMLReader reader = XML_READER.get();
+        if (reader == null) {
+            reader = XMLReaderFactory.createXMLReader();
+            XML_READER.set(reader);
+        }
+        reader.setContentHandler(handler);
+        try {
+            reader.parse(new InputSource(new StringReader(xml)));
+        } catch (IOException | SAXException | RuntimeException e) {
+            // do not reuse a reader in an undefined state
+            XML_READER.remove();
+            throw e;
+        } finally {
+            // do not keep a reference to the handler and its results
+            reader.setContentHandler(NO_OP_HANDLER);
+        }
+    }
+
     /**
      * @param xml
      * @return a list of alarms from the given xml string.
@@ -92,9 +137,7 @@ public class SonosXMLParser {
     public static List<SonosAlarm> getAlarmsFromStringResult(String xml) {
         AlarmHandler handler = new AlarmHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             LOGGER.error("Could not parse Alarms from string '{}'", xml);
         } catch (SAXException s) {
@@ -112,9 +155,7 @@ public class SonosXMLParser {
     public static List<SonosEntry> getEntriesFromString(String xml) {
         EntryHandler handler = new EntryHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             LOGGER.error("Could not parse Entries from string '{}'", xml);
         } catch (SAXException s) {
@@ -155,11 +196,16 @@ public class SonosXMLParser {
      * @throws SAXException
      */
     public static List<SonosZoneGroup> getZoneGroupFromXML(String xml) {
+        List<SonosZoneGroup> cachedGroups = ZONE_GROUP_CACHE.get(xml);
+        if (cachedGroups != null) {
+            return cachedGroups;
+        }
         ZoneGroupHandler handler = new ZoneGroupHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
+            List<SonosZoneGroup> groups = Collections.unmodifiableList(handler.getGroups());
+            ZONE_GROUP_CACHE.put(xml, groups);
+            return groups;
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse ZoneGroup from string '{}'", xml);
@@ -173,9 +219,7 @@ public class SonosXMLParser {
     public static List<String> getRadioTimeFromXML(String xml) {
         OpmlHandler handler = new OpmlHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse RadioTime from string '{}'", xml);
@@ -189,9 +233,7 @@ public class SonosXMLParser {
     public static Map<String, String> getRenderingControlFromXML(String xml) {
         RenderingControlEventHandler handler = new RenderingControlEventHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse Rendering Control from string '{}'", xml);
@@ -204,9 +246,7 @@ public class SonosXMLParser {
     public static Map<String, String> getAVTransportFromXML(String xml) {
         AVTransportEventHandler handler = new AVTransportEventHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse AV Transport from string '{}'", xml);
@@ -217,11 +257,16 @@ public class SonosXMLParser {
     }
 
     public static SonosMetaData getMetaDataFromXML(String xml) {
+        SonosMetaData cachedMetaData = META_DATA_CACHE.get(xml);
+        if (cachedMetaData != null) {
+            return cachedMetaData;
+        }
         MetaDataHandler handler = new MetaDataHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
+            SonosMetaData metaData = handler.getMetaData();
+            META_DATA_CACHE.put(xml, metaData);
+            return metaData;
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse MetaData from string '{}'", xml);
@@ -235,9 +280,7 @@ public class SonosXMLParser {
     public static List<SonosMusicService> getMusicServicesFromXML(String xml) {
         MusicServiceHandler handler = new MusicServiceHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse music services from string '{}'", xml);
@@ -14,9 +14,11 @@ package org.openhab.io.homekit.internal;
 
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.homekit.internal.accessories.HomekitAccessoryFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,6 +34,7 @@ import io.github.hapjava.server.impl.HomekitRoot;
 class HomekitAccessoryRegistry {
     private @Nullable HomekitRoot bridge;
     private final Map<String, HomekitAccessory> createdAccessories = new HashMap<>();
+    private final Map<String, List<Object>> accessoryDefinitions = new HashMap<>();
     private int configurationRevision = 1;
     private final Logger logger = LoggerFactory.getLogger(HomekitAccessoryRegistry.class);
 
@@ -59,6 +62,7 @@ class HomekitAccessoryRegistry {
     public synchronized void remove(String itemName) {
         if (createdAccessories.containsKey(itemName)) {
             HomekitAccessory accessory = createdAccessories.remove(itemName);
+            accessoryDefinitions.remove(itemName);
             logger.trace("Removed accessory {} for taggedItem {}", accessory, itemName);
             final HomekitRoot bridge = this.bridge;
             if (bridge != null) {
@@ -93,12 +97,43 @@ class HomekitAccessoryRegistry {
 
     public synchronized void addRootAccessory(String itemName, HomekitAccessory accessory) {
         createdAccessories.put(itemName, accessory);
+        accessoryDefinitions.put(itemName, HomekitAccessoryFactory.getDefinition(accessory));
         final HomekitRoot bridge = this.bridge;
         if (bridge != null) {
             bridge.addAccessory(accessory);
         }
     }
 
+    /**
+     * replaces the accessory of an item, unless the existing accessory has the same definition.
+     *
+     * @param itemName name of the item
+     * @param accessory new accessory or null if the item is not an accessory anymore
+     * @return true if the accessories exposed to HomeKit have changed
+     */
+    public synchronized boolean update(String itemName, @Nullable HomekitAccessory accessory) {
+        if (accessory == null) {
+            final boolean existed = createdAccessories.containsKey(itemName);
+            remove(itemName);
+            return existed;
+        }
+        if (HomekitAccessoryFactory.getDefinition(accessory).equals(accessoryDefinitions.get(itemName))) {
+            logger.trace("Accessory for taggedItem {} is unchanged", itemName);
+            return false;
+        }
+        remove(itemName);
+        addRootAccessory(itemName, accessory);
+        return true;
+    }
+
+    /**
+     * forgets the definitions of all accessories, so that the next update of an item replaces its accessory even if
+     * the definition did not change.
+     */
+    public synchronized void invalidateDefinitions() {
+        accessoryDefinitions.clear();
+    }
+
     public Map<String, HomekitAccessory> getAllAccessories() {
         return this.createdAccessories;
     }
@@ -12,10 +12,14 @@
  */
 package org.openhab.io.homekit.internal;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.items.GenericItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.StateChangeListener;
@@ -31,11 +35,14 @@ import io.github.hapjava.characteristics.HomekitCharacteristicChangeCallback;
  * HomeKit library takes care of insuring only a single subscription exists for
  * each accessory.
  *
+ * Subscriptions are indexed by item name, so that a single listener per item notifies all subscribed
+ * characteristics of a state change in one pass.
+ *
  * @author Andy Lintner - Initial contribution
  */
 public class HomekitAccessoryUpdater {
     private final Logger logger = LoggerFactory.getLogger(HomekitAccessoryUpdater.class);
-    private final ConcurrentMap<ItemKey, Subscription> subscriptionsByName = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ItemSubscriptions> subscriptionsByName = new ConcurrentHashMap<>();
 
     public void subscribe(GenericItem item, HomekitCharacteristicChangeCallback callback) {
         subscribe(item, null, callback);
@@ -50,16 +57,22 @@ public class HomekitAccessoryUpdater {
             logger.trace("The received subscription contains a null callback, skipping");
             return;
         }
-        ItemKey itemKey = new ItemKey(item, key);
-        subscriptionsByName.compute(itemKey, (k, v) -> {
-            if (v != null) {
+        subscriptionsByName.compute(item.getName(), (name, subscriptions) -> {
+            ItemSubscriptions newSubscriptions = subscriptions;
+            if (newSubscriptions == null) {
+                newSubscriptions = new ItemSubscriptions(item);
+                item.addStateChangeListener(newSubscriptions);
+            } else if (newSubscriptions.item != item) {
+                // the item has been re-created in the registry, move the listener to the new instance
+                newSubscriptions.item.removeStateChangeListener(newSubscriptions);
+                newSubscriptions = new ItemSubscriptions(item, newSubscriptions);
+                item.addStateChangeListener(newSubscriptions);
+            }
+            if (newSubscriptions.callbacks.put(toCallbackKey(key), callback) != null) {
                 logger.debug("Received duplicate subscription for {} / {}", item, key);
-                unsubscribe(item, key);
             }
             logger.trace("Adding subscription for {} / {}", item, key);
-            Subscription subscription = (changedItem, oldState, newState) -> callback.changed();
-            item.addStateChangeListener(subscription);
-            return subscription;
+            return newSubscriptions;
         });
     }
 
@@ -71,13 +84,39 @@ public class HomekitAccessoryUpdater {
         if (item == null) {
             return;
         }
-        subscriptionsByName.computeIfPresent(new ItemKey(item, key), (k, v) -> {
-            logger.trace("Removing existing subscription for {} / {}", item, key);
-            item.removeStateChangeListener(v);
-            return null;
+        subscriptionsByName.computeIfPresent(item.getName(), (name, subscriptions) -> {
+            if (subscriptions.callbacks.remove(toCallbackKey(key)) != null) {
+                logger.trace("Removing existing subscription for {} / {}", item, key);
+            }
+            if (subscriptions.callbacks.isEmpty()) {
+                subscriptions.item.removeStateChangeListener(subscriptions);
+                return null;
+            }
+            return subscriptions;
         });
     }
 
+    /**
+     * returns the state of the item converted to the given type. While the item is subscribed, the converted state
+     * is computed only once per state change and shared between all characteristics reading it.
+     *
+     * @param item openHAB item
+     * @param type expected state type
+     * @param <T> expected state class
+     * @return converted state or null if the state cannot be converted
+     */
+    public <T extends State> @Nullable T getStateAs(Item item, Class<T> type) {
+        final @Nullable ItemSubscriptions subscriptions = subscriptionsByName.get(item.getName());
+        if (subscriptions != null && subscriptions.item == item) {
+            return subscriptions.getStateAs(type);
+        }
+        return item.getStateAs(type);
+    }
+
+    private static String toCallbackKey(@Nullable String key) {
+        return key == null ? "" : key;
+    }
+
     @FunctionalInterface
     @NonNullByDefault
     private interface Subscription extends StateChangeListener {
@@ -91,51 +130,36 @@ public class HomekitAccessoryUpdater {
         }
     }
 
-    private static class ItemKey {
-        public final GenericItem item;
-        public final String key;
+    @NonNullByDefault
+    private static class ItemSubscriptions implements Subscription {
+        private final GenericItem item;
+        private final Map<String, HomekitCharacteristicChangeCallback> callbacks = new ConcurrentHashMap<>();
+        private final Map<Class<? extends State>, Optional<State>> convertedStates = new HashMap<>();
+        private @Nullable State convertedFrom;
 
-        public ItemKey(GenericItem item, String key) {
+        private ItemSubscriptions(GenericItem item) {
             this.item = item;
-            this.key = key;
         }
 
-        @Override
-        public int hashCode() {
-            final int prime = 31;
-            int result = 1;
-            result = prime * result + ((item == null) ? 0 : item.hashCode());
-            result = prime * result + ((key == null) ? 0 : key.hashCode());
-            return result;
+        private ItemSubscriptions(GenericItem item, ItemSubscriptions previous) {
+            this(item);
+            callbacks.putAll(previous.callbacks);
         }
 
         @Override
-        public boolean equals(Object obj) {
-            if (this == obj) {
-                return true;
-            }
-            if (obj == null) {
-                return false;
-            }
-            if (getClass() != obj.getClass()) {
-                return false;
-            }
-            ItemKey other = (ItemKey) obj;
-            if (item == null) {
-                if (other.item != null) {
-                    return false;
-                }
-            } else if (!item.equals(other.item)) {
-                return false;
-            }
-            if (key == null) {
-                if (other.key != null) {
-                    return false;
-                }
-            } else if (!key.equals(other.key)) {
-                return false;
+        public void stateChanged(Item changedItem, State oldState, State newState) {
+            callbacks.values().forEach(HomekitCharacteristicChangeCallback::changed);
+        }
+
+        private synchronized <T extends State> @Nullable T getStateAs(Class<T> type) {
+            final State state = item.getState();
+            if (state != convertedFrom) {
+                convertedStates.clear();
+                convertedFrom = state;
             }
-            return true;
+            final Optional<State> converted = convertedStates.computeIfAbsent(type,
+                    t -> Optional.ofNullable(item.getStateAs(type)));
+            return converted.isPresent() ? type.cast(converted.get()) : null;
         }
     }
 }
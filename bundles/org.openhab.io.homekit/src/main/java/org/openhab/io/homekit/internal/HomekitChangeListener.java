@@ -24,6 +24,7 @@ import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.common.registry.RegistryChangeListener;
 import org.openhab.core.items.GroupItem;
@@ -88,6 +89,9 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         metadataChangeListener = new RegistryChangeListener<Metadata>() {
             @Override
             public void added(final Metadata metadata) {
+                if (!isHomekitMetadata(metadata)) {
+                    return;
+                }
                 try {
                     markDirty(itemRegistry.getItem(metadata.getUID().getItemName()));
                 } catch (ItemNotFoundException e) {
@@ -97,6 +101,9 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
 
             @Override
             public void removed(final Metadata metadata) {
+                if (!isHomekitMetadata(metadata)) {
+                    return;
+                }
                 try {
                     markDirty(itemRegistry.getItem(metadata.getUID().getItemName()));
                 } catch (ItemNotFoundException e) {
@@ -106,6 +113,9 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
 
             @Override
             public void updated(final Metadata metadata, final Metadata e1) {
+                if (!isHomekitMetadata(metadata) && !isHomekitMetadata(e1)) {
+                    return;
+                }
                 try {
                     markDirty(itemRegistry.getItem(metadata.getUID().getItemName()));
                     if (!metadata.getUID().getItemName().equals(e1.getUID().getItemName())) {
@@ -118,11 +128,20 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         };
         itemRegistry.addRegistryChangeListener(this);
         metadataRegistry.addRegistryChangeListener(metadataChangeListener);
-        itemRegistry.getItems().forEach(this::createRootAccessories);
+        itemRegistry.getItems().forEach(item -> {
+            final @Nullable HomekitAccessory accessory = createRootAccessories(item);
+            if (accessory != null) {
+                accessoryRegistry.addRootAccessory(item.getName(), accessory);
+            }
+        });
         initialiseRevision();
         logger.info("Created {} HomeKit items.", accessoryRegistry.getAllAccessories().size());
     }
 
+    private static boolean isHomekitMetadata(Metadata metadata) {
+        return HomekitAccessoryFactory.METADATA_KEY.equals(metadata.getUID().getNamespace());
+    }
+
     private void initialiseRevision() {
         int revision;
         try {
@@ -199,17 +218,26 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         storage.put(ACCESSORY_COUNT, "" + lastAccessoryCount);
     }
 
+    /**
+     * Re-creates the accessories of all dirty items. Accessories whose definition did not change are kept, and a new
+     * configuration revision is only announced to HomeKit clients if at least one accessory was added, removed or
+     * replaced.
+     */
     private synchronized void applyUpdates() {
         logger.trace("apply updates");
+        boolean changed = false;
         for (final String name : pendingUpdates) {
-            accessoryRegistry.remove(name);
-            logger.trace(" add items {}", name);
-            getItemOptional(name).ifPresent(this::createRootAccessories);
+            logger.trace(" update items {}", name);
+            final @Nullable HomekitAccessory accessory = getItemOptional(name).map(this::createRootAccessories)
+                    .orElse(null);
+            if (accessoryRegistry.update(name, accessory)) {
+                changed = true;
+            }
         }
-        if (!pendingUpdates.isEmpty()) {
+        if (changed) {
             makeNewConfigurationRevision();
-            pendingUpdates.clear();
         }
+        pendingUpdates.clear();
     }
 
     @Override
@@ -239,8 +267,17 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         this.updater = updater;
     }
 
-    public void updateSettings(HomekitSettings settings) {
+    /**
+     * Accessories take the settings into account when they are created, so all of them are re-created with the new
+     * settings.
+     *
+     * @param settings new settings
+     */
+    public synchronized void updateSettings(HomekitSettings settings) {
         this.settings = settings;
+        accessoryRegistry.invalidateDefinitions();
+        pendingUpdates.addAll(accessoryRegistry.getAllAccessories().keySet());
+        applyUpdatesDebouncer.call();
     }
 
     public void stop() {
@@ -280,8 +317,9 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
      * Switch light "Light" (gLight) {homekit="Lighting.OnState"}
      *
      * @param item openHAB item
+     * @return created accessory or null if the item is not a HomeKit root accessory
      */
-    private void createRootAccessories(Item item) {
+    private @Nullable HomekitAccessory createRootAccessories(Item item) {
         final List<Entry<HomekitAccessoryType, HomekitCharacteristicType>> accessoryTypes = HomekitAccessoryFactory
                 .getAccessoryTypes(item, metadataRegistry);
         final List<GroupItem> groups = HomekitAccessoryFactory.getAccessoryGroups(item, itemRegistry, metadataRegistry);
@@ -289,17 +327,26 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
                 && (groups.isEmpty() || groups.stream().noneMatch(g -> g.getBaseItem() == null))) {
             logger.trace("Item {} is a HomeKit accessory of types {}", item.getName(), accessoryTypes);
             final HomekitOHItemProxy itemProxy = new HomekitOHItemProxy(item);
-            accessoryTypes.forEach(rootAccessory -> createRootAccessory(new HomekitTaggedItem(itemProxy,
-                    rootAccessory.getKey(), HomekitAccessoryFactory.getItemConfiguration(item, metadataRegistry))));
+            @Nullable
+            HomekitAccessory accessory = null;
+            for (Entry<HomekitAccessoryType, HomekitCharacteristicType> rootAccessory : accessoryTypes) {
+                final @Nullable HomekitAccessory created = createRootAccessory(new HomekitTaggedItem(itemProxy,
+                        rootAccessory.getKey(), HomekitAccessoryFactory.getItemConfiguration(item, metadataRegistry)));
+                if (created != null) {
+                    accessory = created;
+                }
+            }
+            return accessory;
         }
+        return null;
     }
 
-    private void createRootAccessory(HomekitTaggedItem taggedItem) {
+    private @Nullable HomekitAccessory createRootAccessory(HomekitTaggedItem taggedItem) {
         try {
-            accessoryRegistry.addRootAccessory(taggedItem.getName(),
-                    HomekitAccessoryFactory.create(taggedItem, metadataRegistry, updater, settings));
+            return HomekitAccessoryFactory.create(taggedItem, metadataRegistry, updater, settings);
         } catch (HomekitException e) {
             logger.warn("Could not add device {}: {}", taggedItem.getItem().getUID(), e.getMessage());
+            return null;
         }
     }
 }
@@ -16,6 +16,8 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -55,6 +57,8 @@ import io.github.hapjava.services.Service;
 abstract class AbstractHomekitAccessoryImpl implements HomekitAccessory {
     private final Logger logger = LoggerFactory.getLogger(AbstractHomekitAccessoryImpl.class);
     private final List<HomekitTaggedItem> characteristics;
+    private final Map<HomekitCharacteristicType, HomekitTaggedItem> characteristicsByType = new EnumMap<>(
+            HomekitCharacteristicType.class);
     private final HomekitTaggedItem accessory;
     private final HomekitAccessoryUpdater updater;
     private final HomekitSettings settings;
@@ -63,6 +67,7 @@ abstract class AbstractHomekitAccessoryImpl implements HomekitAccessory {
     public AbstractHomekitAccessoryImpl(HomekitTaggedItem accessory, List<HomekitTaggedItem> characteristics,
             HomekitAccessoryUpdater updater, HomekitSettings settings) {
         this.characteristics = characteristics;
+        characteristics.forEach(c -> characteristicsByType.putIfAbsent(c.getCharacteristicType(), c));
         this.accessory = accessory;
         this.updater = updater;
         this.services = new ArrayList<>();
@@ -71,7 +76,17 @@ abstract class AbstractHomekitAccessoryImpl implements HomekitAccessory {
 
     @NonNullByDefault
     protected Optional<HomekitTaggedItem> getCharacteristic(HomekitCharacteristicType type) {
-        return characteristics.stream().filter(c -> c.getCharacteristicType() == type).findAny();
+        return Optional.ofNullable(characteristicsByType.get(type));
+    }
+
+    /**
+     * return all characteristics of the accessory, including the optional ones.
+     *
+     * @return characteristics
+     */
+    @NonNullByDefault
+    List<HomekitTaggedItem> getCharacteristics() {
+        return Collections.unmodifiableList(characteristics);
     }
 
     @Override
@@ -149,7 +164,7 @@ abstract class AbstractHomekitAccessoryImpl implements HomekitAccessory {
     protected @Nullable <T extends State> T getStateAs(HomekitCharacteristicType characteristic, Class<T> type) {
         final Optional<HomekitTaggedItem> taggedItem = getCharacteristic(characteristic);
         if (taggedItem.isPresent()) {
-            final State state = taggedItem.get().getItem().getStateAs(type);
+            final State state = getUpdater().getStateAs(taggedItem.get().getItem(), type);
             if (state != null) {
                 return state.as(type);
             }
@@ -279,6 +294,7 @@ abstract class AbstractHomekitAccessoryImpl implements HomekitAccessory {
     @NonNullByDefault
     protected void addCharacteristic(HomekitTaggedItem characteristic) {
         characteristics.add(characteristic);
+        characteristicsByType.putIfAbsent(characteristic.getCharacteristicType(), characteristic);
     }
 
     @NonNullByDefault
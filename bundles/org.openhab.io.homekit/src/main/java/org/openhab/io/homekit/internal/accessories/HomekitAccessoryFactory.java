@@ -208,6 +208,27 @@ public class HomekitAccessoryFactory {
         return metadata != null ? metadata.getConfiguration() : null;
     }
 
+    /**
+     * return the definition of an accessory, i.e. the items, types, labels and configurations it was created from.
+     * Two accessories with equal definitions expose the same characteristics to HomeKit and are backed by the same
+     * item instances, so an existing accessory does not need to be replaced by a newly created one.
+     * The {@link HomekitSettings} an accessory was created with are not part of its definition.
+     *
+     * @param accessory HomeKit accessory
+     * @return definition of the accessory
+     */
+    public static List<Object> getDefinition(HomekitAccessory accessory) {
+        if (!(accessory instanceof AbstractHomekitAccessoryImpl)) {
+            // unknown accessory implementation, it will never be considered equal to another one
+            return List.of(accessory);
+        }
+        final AbstractHomekitAccessoryImpl accessoryImpl = (AbstractHomekitAccessoryImpl) accessory;
+        final List<Object> definition = new ArrayList<>();
+        definition.add(new TaggedItemDefinition(accessoryImpl.getRootAccessory()));
+        accessoryImpl.getCharacteristics().forEach(c -> definition.add(new TaggedItemDefinition(c)));
+        return definition;
+    }
+
     /**
      * return list of HomeKit relevant groups linked to an accessory
      * 
@@ -388,4 +409,44 @@ public class HomekitAccessoryFactory {
     private static boolean isRootAccessory(Entry<HomekitAccessoryType, HomekitCharacteristicType> accessory) {
         return ((accessory.getValue() == null) || (accessory.getValue() == EMPTY));
     }
+
+    /**
+     * definition of a single tagged item. The item itself is compared by identity, as an accessory created from a
+     * previous instance of an item would not receive the state updates of the new one.
+     */
+    private static class TaggedItemDefinition {
+        private final Item item;
+        private final @Nullable String label;
+        private final HomekitAccessoryType accessoryType;
+        private final HomekitCharacteristicType characteristicType;
+        private final @Nullable Map<String, Object> configuration;
+
+        private TaggedItemDefinition(HomekitTaggedItem taggedItem) {
+            this.item = taggedItem.getItem();
+            this.label = item.getLabel();
+            this.accessoryType = taggedItem.getAccessoryType();
+            this.characteristicType = taggedItem.getCharacteristicType();
+            this.configuration = taggedItem.getConfiguration();
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(item), label, accessoryType, characteristicType,
+                    configuration);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof TaggedItemDefinition)) {
+                return false;
+            }
+            final TaggedItemDefinition other = (TaggedItemDefinition) obj;
+            return item == other.item && Objects.equals(label, other.label) && accessoryType == other.accessoryType
+                    && characteristicType == other.characteristicType
+                    && Objects.equals(configuration, other.configuration);
+        }
+    }
 }
@@ -19,7 +19,10 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.UriInfo;
@@ -116,6 +119,24 @@ public class NetworkUtils {
         return Response.status(httpCode).entity(str).build();
     }
 
+    /**
+     * Creates a json response with an entity tag. If the client already has the current version of the response,
+     * "304 Not Modified" is returned and the body is not created at all.
+     *
+     * @param request The original request
+     * @param hash A hash of the response body
+     * @param body Supplier of the response body
+     * @return
+     */
+    public static Response okWithETag(Request request, int hash, Supplier<String> body) {
+        EntityTag tag = new EntityTag(Integer.toHexString(hash), true);
+        ResponseBuilder notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+        return Response.ok(body.get()).tag(tag).build();
+    }
+
     public static Response singleSuccess(Gson gson, String message, String uriPart) {
         List<HueResponse> responses = new ArrayList<>();
         responses.add(new HueResponse(new HueSuccessGeneric(message, uriPart)));
@@ -15,6 +15,7 @@ package org.openhab.io.hueemulation.internal.dto;
 import java.util.Collections;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 
@@ -29,8 +30,8 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 @NonNullByDefault
 public class HueDataStore {
     public HueAuthorizedConfig config = new HueAuthorizedConfig();
-    public TreeMap<String, HueLightEntry> lights = new TreeMap<>();
-    public TreeMap<String, HueGroupEntry> groups = new TreeMap<>();
+    public ConcurrentSkipListMap<String, HueLightEntry> lights = new ConcurrentSkipListMap<>();
+    public ConcurrentSkipListMap<String, HueGroupEntry> groups = new ConcurrentSkipListMap<>();
     public Map<String, HueSceneEntry> scenes = new TreeMap<>();
     public Map<String, HueRuleEntry> rules = new TreeMap<>();
     public Map<String, HueSensorEntry> sensors = new TreeMap<>();
@@ -13,16 +13,19 @@
 package org.openhab.io.hueemulation.internal.dto;
 
 import java.lang.reflect.Type;
+import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.items.GenericItem;
 import org.openhab.core.library.items.StringItem;
 import org.openhab.core.types.Command;
+import org.openhab.core.types.State;
 import org.openhab.io.hueemulation.internal.DeviceType;
 import org.openhab.io.hueemulation.internal.StateUtils;
 import org.openhab.io.hueemulation.internal.dto.changerequest.HueStateChange;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
@@ -57,6 +60,14 @@ public class HueLightEntry {
     public transient @Nullable Command lastCommand = null;
     public transient @Nullable HueStateChange lastHueChange = null;
 
+    // The serialized light and the data it has been created from
+    private transient @Nullable String json;
+    private transient @Nullable GenericItem jsonItem;
+    private transient @Nullable State jsonState;
+    private transient @Nullable String jsonLabel;
+    private transient @Nullable Command jsonCommand;
+    private transient @Nullable HueStateChange jsonHueChange;
+
     public static class Config {
         public final String archetype = "classicbulb";
         public final String function = "functional";
@@ -181,6 +192,31 @@ public class HueLightEntry {
         }
     }
 
+    /**
+     * Returns this light serialized to json. The json is cached and only re-created if the item, its state or label,
+     * or the last command sent by a hue client have changed since the last call.
+     *
+     * @param gson The gson instance with the {@link Serializer} registered
+     * @return The light as json object
+     */
+    public synchronized String toJson(Gson gson) {
+        final GenericItem item = this.item;
+        final State state = item.getState();
+        final String label = item.getLabel();
+        String json = this.json;
+        if (json == null || item != jsonItem || state != jsonState || lastCommand != jsonCommand
+                || lastHueChange != jsonHueChange || !Objects.equals(label, jsonLabel)) {
+            json = gson.toJson(this);
+            this.json = json;
+            jsonItem = item;
+            jsonState = state;
+            jsonLabel = label;
+            jsonCommand = lastCommand;
+            jsonHueChange = lastHueChange;
+        }
+        return json;
+    }
+
     /**
      * Replaces the associated openHAB item of this hue device with the given once
      * and also synchronizes/updates the color information of this hue device with the item.
@@ -14,6 +14,7 @@ package org.openhab.io.hueemulation.internal.rest;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -27,6 +28,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 
@@ -247,12 +249,31 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @GET
     @Path("{username}/lights")
     @Operation(summary = "Return all lights", responses = { @ApiResponse(responseCode = "200", description = "OK") })
-    public Response getAllLightsApi(@Context UriInfo uri,
+    public Response getAllLightsApi(@Context UriInfo uri, @Context Request request,
             @PathParam("username") @Parameter(description = "username") String username) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.lights)).build();
+        // Assemble the response from the cached json of the individual lights
+        List<String> fragments = new ArrayList<>(cs.ds.lights.size() * 2);
+        int hash = 1;
+        for (Map.Entry<String, HueLightEntry> entry : cs.ds.lights.entrySet()) {
+            String id = cs.gson.toJson(entry.getKey());
+            String json = entry.getValue().toJson(cs.gson);
+            fragments.add(id);
+            fragments.add(json);
+            hash = 31 * (31 * hash + id.hashCode()) + json.hashCode();
+        }
+        return NetworkUtils.okWithETag(request, hash, () -> {
+            StringBuilder body = new StringBuilder("{");
+            for (int i = 0; i < fragments.size(); i += 2) {
+                if (i > 0) {
+                    body.append(',');
+                }
+                body.append(fragments.get(i)).append(':').append(fragments.get(i + 1));
+            }
+            return body.append('}').toString();
+        });
     }
 
     @GET
@@ -288,7 +309,8 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.lights.get(id))).build();
+        HueLightEntry hueDevice = cs.ds.lights.get(id);
+        return Response.ok(hueDevice != null ? hueDevice.toJson(cs.gson) : cs.gson.toJson(null)).build();
     }
 
     @SuppressWarnings({ "null", "unused" })
@@ -438,12 +460,13 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @GET
     @Path("{username}/groups")
     @Operation(summary = "Return all groups", responses = { @ApiResponse(responseCode = "200", description = "OK") })
-    public Response getAllGroupsApi(@Context UriInfo uri,
+    public Response getAllGroupsApi(@Context UriInfo uri, @Context Request request,
             @PathParam("username") @Parameter(description = "username") String username) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.groups)).build();
+        String json = cs.gson.toJson(cs.ds.groups);
+        return NetworkUtils.okWithETag(request, json.hashCode(), () -> json);
     }
 
     @GET
@@ -21,6 +21,8 @@ import static org.mockito.Mockito.verify;
 import java.io.IOException;
 
 import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -335,6 +337,25 @@ public class LightsAndGroupsTests {
         assertThat(body, containsString("color"));
     }
 
+    @Test
+    public void allLightsNotModified() {
+        Response response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request().get();
+        assertEquals(200, response.getStatus());
+        EntityTag tag = response.getEntityTag();
+        assertThat(tag, is(notNullValue()));
+
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request()
+                .header(HttpHeaders.IF_NONE_MATCH, tag).get();
+        assertEquals(304, response.getStatus());
+
+        // A state change of a light invalidates the response
+        cs.ds.lights.get("1").item.setState(OnOffType.ON);
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request()
+                .header(HttpHeaders.IF_NONE_MATCH, tag).get();
+        assertEquals(200, response.getStatus());
+        assertThat(response.readEntity(String.class), containsString("\"on\":true"));
+    }
+
     private boolean assertHueValue(ItemCommandEvent ce, int hueValue) {
         assertThat(((HSBType) ce.getItemCommand()).getHue().intValue(), is(hueValue * 360 / HueStateColorBulb.MAX_HUE));
         return true;
@@ -129,7 +129,7 @@ public class ImperiHomeApiServlet extends HttpServlet {
         roomListHandler = new RoomListHandler(deviceRegistry);
         devicesListHandler = new DevicesListHandler(deviceRegistry);
         deviceActionHandler = new DeviceActionHandler(deviceRegistry);
-        deviceHistoryHandler = new DeviceHistoryHandler(deviceRegistry, persistenceServiceRegistry);
+        deviceHistoryHandler = new DeviceHistoryHandler(deviceRegistry, persistenceServiceRegistry, imperiHomeConfig);
 
         try {
             Dictionary<String, String> servletParams = new Hashtable<>();
@@ -25,10 +25,13 @@ import org.slf4j.LoggerFactory;
  */
 public class ImperiHomeConfig {
 
+    public static final int DEFAULT_HISTORY_MAX_POINTS = 500;
+
     private final Logger logger = LoggerFactory.getLogger(ImperiHomeConfig.class);
 
     private String systemId;
     private String rootUrl;
+    private int historyMaxPoints = DEFAULT_HISTORY_MAX_POINTS;
 
     public void update(Map<String, Object> config) {
         Object cSystemId = config.get("system.id");
@@ -46,6 +49,17 @@ public class ImperiHomeConfig {
             }
         }
 
+        historyMaxPoints = DEFAULT_HISTORY_MAX_POINTS;
+        Object historyMaxPointsObj = config.get("history.maxPoints");
+        if (historyMaxPointsObj != null && !historyMaxPointsObj.toString().isEmpty()) {
+            try {
+                historyMaxPoints = Math.max(0, Integer.parseInt(historyMaxPointsObj.toString()));
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid history.maxPoints value {}, using default {}", historyMaxPointsObj,
+                        DEFAULT_HISTORY_MAX_POINTS);
+            }
+        }
+
         logger.info("Configuration updated");
     }
 
@@ -56,4 +70,11 @@ public class ImperiHomeConfig {
     public String getRootUrl() {
         return rootUrl;
     }
+
+    /**
+     * @return Maximum number of points returned for a history request, 0 if history is not downsampled.
+     */
+    public int getHistoryMaxPoints() {
+        return historyMaxPoints;
+    }
 }
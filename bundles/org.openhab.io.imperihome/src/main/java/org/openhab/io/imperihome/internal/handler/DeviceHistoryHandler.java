@@ -14,23 +14,30 @@ package org.openhab.io.imperihome.internal.handler;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
+import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.regex.Matcher;
 
 import javax.servlet.http.HttpServletRequest;
 
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.PersistenceService;
 import org.openhab.core.persistence.PersistenceServiceRegistry;
 import org.openhab.core.persistence.QueryablePersistenceService;
 import org.openhab.core.types.State;
+import org.openhab.io.imperihome.internal.ImperiHomeConfig;
 import org.openhab.io.imperihome.internal.model.HistoryItem;
 import org.openhab.io.imperihome.internal.model.HistoryList;
 import org.openhab.io.imperihome.internal.model.device.AbstractDevice;
@@ -40,21 +47,48 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Device history request handler.
+ * <p>
+ * If the history is longer than the configured maximum number of points, it is downsampled while reading it from
+ * persistence: time is divided into buckets aligned to the epoch, and only the minimum and maximum value of each
+ * bucket within the requested range are returned. Results are cached, so repeated requests within the same bucket
+ * window are served without querying persistence again. Ranges ending in a bucket that is not over yet are not
+ * cached, since new values can still be persisted into it.
  *
  * @author Pepijn de Geus - Initial contribution
  */
 public class DeviceHistoryHandler {
 
     private static final String CHARSET = "UTF-8";
+    private static final int CACHE_SIZE = 32;
 
     private final Logger logger = LoggerFactory.getLogger(DeviceHistoryHandler.class);
 
     private final DeviceRegistry deviceRegistry;
     private final PersistenceServiceRegistry persistenceServiceRegistry;
+    private final ImperiHomeConfig config;
+    private final Clock clock;
 
-    public DeviceHistoryHandler(DeviceRegistry deviceRegistry, PersistenceServiceRegistry persistenceServiceRegistry) {
+    private final Map<CacheKey, HistoryList> cache = new LinkedHashMap<CacheKey, HistoryList>(CACHE_SIZE, 0.75f,
+            true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CacheKey, HistoryList> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    public DeviceHistoryHandler(DeviceRegistry deviceRegistry, PersistenceServiceRegistry persistenceServiceRegistry,
+            ImperiHomeConfig config) {
+        this(deviceRegistry, persistenceServiceRegistry, config, Clock.systemDefaultZone());
+    }
+
+    DeviceHistoryHandler(DeviceRegistry deviceRegistry, PersistenceServiceRegistry persistenceServiceRegistry,
+            ImperiHomeConfig config, Clock clock) {
         this.deviceRegistry = deviceRegistry;
         this.persistenceServiceRegistry = persistenceServiceRegistry;
+        this.config = config;
+        this.clock = clock;
     }
 
     public HistoryList handle(HttpServletRequest req, Matcher urlMatcher) {
@@ -92,14 +126,98 @@ public class DeviceHistoryHandler {
 
     private HistoryList serveHistory(AbstractDevice device, QueryablePersistenceService persistence, long start,
             long end) {
-        logger.info("Querying persistence for history of Item {}, from {} to {}", device.getItemName(), start, end);
+        int maxPoints = config.getHistoryMaxPoints();
+        if (maxPoints < 2 || end <= start) {
+            return serveFullHistory(device, persistence, start, end);
+        }
+
+        // Each bucket contributes its minimum and maximum value. The bucket width is rounded up to whole seconds and
+        // buckets are aligned to the epoch, so that repeated requests for a slightly different time range use the
+        // same buckets. As the range is not aligned, it can touch one bucket more than it spans.
+        int bucketCount = Math.max(1, maxPoints / 2 - 1);
+        long bucketWidth = Math.max(1, (end - start + bucketCount * 1000L - 1) / (bucketCount * 1000L)) * 1000L;
+        long endBucket = Math.floorDiv(end, bucketWidth);
+        boolean cacheable = (endBucket + 1) * bucketWidth <= clock.millis();
+        CacheKey key = new CacheKey(persistence.getId(), device.getItemName(), bucketWidth,
+                Math.floorDiv(start, bucketWidth), endBucket);
+        if (cacheable) {
+            synchronized (cache) {
+                HistoryList cached = cache.get(key);
+                if (cached != null) {
+                    logger.debug("Serving cached history of Item {}, from {} to {}", device.getItemName(), start,
+                            end);
+                    return cached;
+                }
+            }
+        }
+
+        HistoryList history = serveDownsampledHistory(device, persistence, start, end, bucketWidth, maxPoints);
+        if (cacheable) {
+            synchronized (cache) {
+                cache.put(key, history);
+            }
+        }
+        return history;
+    }
+
+    private HistoryList serveDownsampledHistory(AbstractDevice device, QueryablePersistenceService persistence,
+            long start, long end, long bucketWidth, int maxPoints) {
+        logger.info("Querying persistence for downsampled history of Item {}, from {} to {}", device.getItemName(),
+                start, end);
+
+        // values are also collected as is until there are more than maxPoints of them
+        List<HistoryItem> rawItems = new ArrayList<>();
+        List<HistoryItem> resultItems = new ArrayList<>();
+        Bucket bucket = null;
+        int count = 0;
+        FilterCriteria criteria = createCriteria(device, start, end).setOrdering(Ordering.ASCENDING);
+        for (HistoricItem historicItem : persistence.query(criteria)) {
+            State state = historicItem.getState();
+            if (!(state instanceof DecimalType)) {
+                continue;
+            }
+            count++;
+            long date = historicItem.getTimestamp().toInstant().toEpochMilli();
+            HistoryItem item = new HistoryItem(date, ((DecimalType) state).toBigDecimal());
+            if (count <= maxPoints) {
+                rawItems.add(item);
+            } else if (count == maxPoints + 1) {
+                rawItems.clear();
+            }
+            long index = Math.floorDiv(date, bucketWidth);
+            if (bucket == null || bucket.index != index) {
+                if (bucket != null) {
+                    bucket.addTo(resultItems);
+                }
+                bucket = new Bucket(index);
+            }
+            bucket.add(item);
+        }
+        if (count <= maxPoints) {
+            logger.debug("History of Item {} has {} values, no downsampling needed", device.getItemName(), count);
+            return new HistoryList(rawItems);
+        }
+        if (bucket != null) {
+            bucket.addTo(resultItems);
+        }
+
+        logger.debug("Downsampled {} history values of Item {} to {}", count, device.getItemName(),
+                resultItems.size());
+        return new HistoryList(resultItems);
+    }
 
-        FilterCriteria criteria = new FilterCriteria().setItemName(device.getItemName())
+    private FilterCriteria createCriteria(AbstractDevice device, long start, long end) {
+        return new FilterCriteria().setItemName(device.getItemName())
                 .setBeginDate(ZonedDateTime.ofInstant(Instant.ofEpochMilli(start), ZoneId.systemDefault()))
                 .setEndDate(ZonedDateTime.ofInstant(Instant.ofEpochMilli(end), ZoneId.systemDefault()));
+    }
+
+    private HistoryList serveFullHistory(AbstractDevice device, QueryablePersistenceService persistence, long start,
+            long end) {
+        logger.info("Querying persistence for history of Item {}, from {} to {}", device.getItemName(), start, end);
 
         List<HistoryItem> resultItems = new LinkedList<>();
-        Iterable<HistoricItem> historicItems = persistence.query(criteria);
+        Iterable<HistoricItem> historicItems = persistence.query(createCriteria(device, start, end));
 
         Iterator<HistoricItem> iterator = historicItems.iterator();
         if (!iterator.hasNext()) {
@@ -122,4 +240,80 @@ public class DeviceHistoryHandler {
 
         return new HistoryList(resultItems);
     }
+
+    /**
+     * Minimum and maximum value of a time bucket.
+     */
+    private static class Bucket {
+        private final long index;
+        private HistoryItem min;
+        private HistoryItem max;
+
+        private Bucket(long index) {
+            this.index = index;
+        }
+
+        private void add(HistoryItem item) {
+            if (min == null || compare(item, min) < 0) {
+                min = item;
+            }
+            if (max == null || compare(item, max) > 0) {
+                max = item;
+            }
+        }
+
+        private static int compare(HistoryItem a, HistoryItem b) {
+            return Double.compare(a.getValue().doubleValue(), b.getValue().doubleValue());
+        }
+
+        /**
+         * Adds the minimum and maximum of this bucket in chronological order.
+         */
+        private void addTo(List<HistoryItem> items) {
+            if (min == max) {
+                items.add(min);
+            } else if (min.getDate() <= max.getDate()) {
+                items.add(min);
+                items.add(max);
+            } else {
+                items.add(max);
+                items.add(min);
+            }
+        }
+    }
+
+    private static class CacheKey {
+        private final String persistenceId;
+        private final String itemName;
+        private final long bucketWidth;
+        private final long startBucket;
+        private final long endBucket;
+
+        private CacheKey(String persistenceId, String itemName, long bucketWidth, long startBucket, long endBucket) {
+            this.persistenceId = persistenceId;
+            this.itemName = itemName;
+            this.bucketWidth = bucketWidth;
+            this.startBucket = startBucket;
+            this.endBucket = endBucket;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(persistenceId, itemName, bucketWidth, startBucket, endBucket);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) obj;
+            return persistenceId.equals(other.persistenceId) && itemName.equals(other.itemName)
+                    && bucketWidth == other.bucketWidth && startBucket == other.startBucket
+                    && endBucket == other.endBucket;
+        }
+    }
 }
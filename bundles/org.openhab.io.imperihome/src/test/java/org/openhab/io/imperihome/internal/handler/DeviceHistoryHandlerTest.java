@@ -0,0 +1,177 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.imperihome.internal.handler;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.core.persistence.PersistenceServiceRegistry;
+import org.openhab.core.persistence.QueryablePersistenceService;
+import org.openhab.core.types.State;
+import org.openhab.io.imperihome.internal.ImperiHomeConfig;
+import org.openhab.io.imperihome.internal.model.HistoryItem;
+import org.openhab.io.imperihome.internal.model.HistoryList;
+import org.openhab.io.imperihome.internal.model.device.AbstractDevice;
+import org.openhab.io.imperihome.internal.processor.DeviceRegistry;
+
+/**
+ * @author Jan N. Klug - Initial contribution
+ */
+public class DeviceHistoryHandlerTest {
+
+    private static final Pattern URL_PATTERN = Pattern.compile("/devices/(.+?)/(.+?)/histo/(.+?)/(.+?)$");
+
+    private final List<HistoricItem> persistedItems = new ArrayList<>();
+    private QueryablePersistenceService persistence;
+    private ImperiHomeConfig config;
+    private DeviceRegistry deviceRegistry;
+    private PersistenceServiceRegistry persistenceServiceRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        AbstractDevice device = mock(AbstractDevice.class);
+        doReturn("item").when(device).getItemName();
+        deviceRegistry = mock(DeviceRegistry.class);
+        doReturn(device).when(deviceRegistry).getDevice("dev1");
+
+        persistence = mock(QueryablePersistenceService.class);
+        doReturn("persistence").when(persistence).getId();
+        doAnswer(invocation -> persistedItems).when(persistence).query(any());
+        persistenceServiceRegistry = mock(PersistenceServiceRegistry.class);
+        doReturn(persistence).when(persistenceServiceRegistry).getDefault();
+
+        config = mock(ImperiHomeConfig.class);
+    }
+
+    private void persist(long date, int value) {
+        persistedItems.add(new HistoricItem() {
+            @Override
+            public ZonedDateTime getTimestamp() {
+                return ZonedDateTime.ofInstant(Instant.ofEpochMilli(date), ZoneId.systemDefault());
+            }
+
+            @Override
+            public State getState() {
+                return new DecimalType(value);
+            }
+
+            @Override
+            public String getName() {
+                return "item";
+            }
+        });
+    }
+
+    private List<String> history(long nowMillis, long start, long end) {
+        DeviceHistoryHandler handler = new DeviceHistoryHandler(deviceRegistry, persistenceServiceRegistry, config,
+                Clock.fixed(Instant.ofEpochMilli(nowMillis), ZoneId.systemDefault()));
+        return toStrings(handler, start, end);
+    }
+
+    private List<String> toStrings(DeviceHistoryHandler handler, long start, long end) {
+        Matcher matcher = URL_PATTERN.matcher("/devices/dev1/value/histo/" + start + "/" + end);
+        assertThat(matcher.matches(), is(true));
+        HistoryList history = handler.handle(mock(HttpServletRequest.class), matcher);
+        return history.getValues().stream().map(DeviceHistoryHandlerTest::toString).collect(Collectors.toList());
+    }
+
+    private static String toString(HistoryItem item) {
+        return item.getDate() + "=" + item.getValue().intValue();
+    }
+
+    @Test
+    public void testShortHistoryIsReturnedAsIs() {
+        doReturn(10).when(config).getHistoryMaxPoints();
+        persist(0, 5);
+        persist(1000, 1);
+        persist(2000, 9);
+
+        assertThat(history(100_000, 0, 10_000), is(equalTo(List.of("0=5", "1000=1", "2000=9"))));
+    }
+
+    @Test
+    public void testLongHistoryIsDownsampledToMinimumAndMaximum() {
+        // a single 10 second bucket per 10 second range
+        doReturn(4).when(config).getHistoryMaxPoints();
+        persist(0, 5);
+        persist(1000, 1);
+        persist(2000, 9);
+        persist(3000, 3);
+        persist(4000, 4);
+        persist(5000, 6);
+
+        assertThat(history(100_000, 0, 10_000), is(equalTo(List.of("1000=1", "2000=9"))));
+    }
+
+    @Test
+    public void testBucketsAreAlignedToEpoch() {
+        doReturn(4).when(config).getHistoryMaxPoints();
+        persist(2000, 1);
+        persist(3000, 2);
+        persist(9000, 3);
+        persist(10_500, 7);
+        persist(11_000, 4);
+
+        // the range starts within a bucket, the value at 10500 belongs to the next bucket
+        assertThat(history(100_000, 1500, 11_500),
+                is(equalTo(List.of("2000=1", "9000=3", "10500=7", "11000=4"))));
+    }
+
+    @Test
+    public void testPastHistoryIsCached() {
+        doReturn(4).when(config).getHistoryMaxPoints();
+        persist(0, 5);
+        DeviceHistoryHandler handler = new DeviceHistoryHandler(deviceRegistry, persistenceServiceRegistry, config,
+                Clock.fixed(Instant.ofEpochMilli(100_000), ZoneId.systemDefault()));
+
+        List<String> first = toStrings(handler, 0, 10_000);
+        // a slightly different range within the same buckets
+        List<String> second = toStrings(handler, 500, 10_200);
+
+        assertThat(second, is(equalTo(first)));
+        verify(persistence, times(1)).query(any());
+    }
+
+    @Test
+    public void testHistoryReachingNowIsNotCached() {
+        doReturn(4).when(config).getHistoryMaxPoints();
+        persist(0, 5);
+        DeviceHistoryHandler handler = new DeviceHistoryHandler(deviceRegistry, persistenceServiceRegistry, config,
+                Clock.fixed(Instant.ofEpochMilli(10_500), ZoneId.systemDefault()));
+
+        toStrings(handler, 0, 10_000);
+        persist(10_000, 6);
+        List<String> second = toStrings(handler, 0, 10_000);
+
+        assertThat(second, is(equalTo(List.of("0=5", "10000=6"))));
+        verify(persistence, times(2)).query(any());
+    }
+}
@@ -23,6 +23,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -72,6 +73,9 @@ public class NeeoDeviceDefinitions {
     /** The file we store definitions in */
     private final File file = new File(NeeoConstants.FILENAME_DEVICEDEFINITIONS);
 
+    /** The revision of the definitions, incremented on every change */
+    private final AtomicInteger revision = new AtomicInteger();
+
     /**
      * Create the object based on the {@link ServiceContext} and will read the definitions from the {@link #file}
      *
@@ -148,6 +152,7 @@ public class NeeoDeviceDefinitions {
         Objects.requireNonNull(device, "device cannot be null");
 
         uidToDevice.put(device.getUid(), device);
+        revision.incrementAndGet();
         save();
     }
 
@@ -162,11 +167,22 @@ public class NeeoDeviceDefinitions {
 
         final boolean found = uidToDevice.remove(uid) != null;
         if (found) {
+            revision.incrementAndGet();
             save();
         }
         return found;
     }
 
+    /**
+     * Returns the revision of the device definitions. The revision changes whenever a definition is added, replaced or
+     * removed.
+     *
+     * @return the revision
+     */
+    public int getRevision() {
+        return revision.get();
+    }
+
     /**
      * Returns a list of {@link NeeoDevice} that have been exposed (where the type isn't {@link NeeoDeviceType#EXCLUDE})
      *
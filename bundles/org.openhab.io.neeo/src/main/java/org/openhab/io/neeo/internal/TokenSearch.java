@@ -13,17 +13,26 @@
 package org.openhab.io.neeo.internal;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.binding.BindingInfo;
+import org.openhab.core.common.registry.RegistryChangeListener;
+import org.openhab.core.items.Item;
 import org.openhab.core.thing.Thing;
+import org.openhab.core.thing.link.ItemChannelLink;
 import org.openhab.core.thing.type.ThingType;
 import org.openhab.io.neeo.internal.models.NeeoDevice;
 import org.openhab.io.neeo.internal.models.TokenScore;
@@ -34,10 +43,15 @@ import org.slf4j.LoggerFactory;
  * The class emulates the same search pattern that the NEEO brain uses (https://github.com/neophob/tokensearch.js) on
  * all the exposed things in the registry.
  *
+ * The tokens of all exposed devices are kept in an inverted index that maps each token to the devices containing it.
+ * The index is built on the first search and re-built on the next search after a device definition, thing, item or
+ * link has changed. The substrings (up to {@link #MAX_GRAM_LENGTH} characters) of all tokens are indexed as well, so
+ * that a query only scores the tokens containing a needle instead of all tokens of all devices.
+ *
  * @author Tim Roberts - Initial Contribution
  */
 @NonNullByDefault
-public class TokenSearch {
+public class TokenSearch implements AutoCloseable {
 
     private final Logger logger = LoggerFactory.getLogger(TokenSearch.class);
 
@@ -53,6 +67,23 @@ public class TokenSearch {
     /** The delimiter used to split search terms */
     private static final char DELIMITER = ' ';
 
+    /** The token that is part of every device */
+    private static final String OPENHAB_TOKEN = "openhab";
+
+    /** The maximum length of indexed token substrings */
+    private static final int MAX_GRAM_LENGTH = 3;
+
+    /** The listeners invalidating the index on registry changes */
+    private final RegistryChangeListener<Thing> thingListener = new InvalidatingListener<>();
+    private final RegistryChangeListener<Item> itemListener = new InvalidatingListener<>();
+    private final RegistryChangeListener<ItemChannelLink> linkListener = new InvalidatingListener<>();
+
+    /** The number of registry changes, the index is re-built if it changed */
+    private final AtomicInteger registryRevision = new AtomicInteger();
+
+    /** The current index (null if not built yet) */
+    private volatile @Nullable Index index;
+
     /**
      * Instantiates a new token search based on the {@link ServiceContext} and threshold
      *
@@ -79,6 +110,10 @@ public class TokenSearch {
             }
         }
         this.searchLimit = searchLimit;
+
+        context.getThingRegistry().addRegistryChangeListener(thingListener);
+        context.getItemRegistry().addRegistryChangeListener(itemListener);
+        context.getItemChannelLinkRegistry().addRegistryChangeListener(linkListener);
     }
 
     /**
@@ -90,59 +125,109 @@ public class TokenSearch {
     public Result search(String query) {
         NeeoUtil.requireNotEmpty(query, "query cannot be empty");
 
-        final List<TokenScore<NeeoDevice>> results = new ArrayList<>();
-
         final String[] needles = StringUtils.split(query, DELIMITER);
-        int maxScore = -1;
-
-        for (NeeoDevice device : context.getDefinitions().getExposed()) {
-            int score = search(device.getName(), needles);
-            score += search("openhab", needles);
-            // score += searchAlgorithm(thing.getLocation(), needles);
-            score += search(device.getUid().getBindingId(), needles);
-
-            final Thing thing = context.getThingRegistry().get(device.getUid().asThingUID());
-            if (thing != null) {
-                final String location = thing.getLocation();
-                if (location != null && StringUtils.isNotEmpty(location)) {
-                    score += search(location, needles);
-                }
-
-                final Map<@NonNull String, String> properties = thing.getProperties();
-                final String vendor = properties.get(Thing.PROPERTY_VENDOR);
-                if (vendor != null && !vendor.isEmpty()) {
-                    score += search(vendor, needles);
-                }
-
-                final ThingType tt = context.getThingTypeRegistry().getThingType(thing.getThingTypeUID());
-                if (tt != null) {
-                    score += search(tt.getLabel(), needles);
-
-                    final BindingInfo bi = context.getBindingInfoRegistry().getBindingInfo(tt.getBindingId());
-                    if (bi != null) {
-                        score += search(bi.getName(), needles);
-                    }
+        final Index index = getIndex();
+
+        // every device contains the openhab token, so its score applies to all devices
+        final int baseScore = searchAlgorithm(OPENHAB_TOKEN, needles);
+
+        final Map<Integer, Integer> scores = new HashMap<>();
+        for (String needle : needles) {
+            final String lowerNeedle = needle.toLowerCase(Locale.ROOT);
+            for (String token : index.getTokensContaining(lowerNeedle)) {
+                final int tokenScore = tokenScore(token, lowerNeedle);
+                final Map<Integer, Integer> postings = index.postings.get(token);
+                if (postings != null) {
+                    postings.forEach((device, count) -> scores.merge(device, tokenScore * count, Integer::sum));
                 }
             }
+        }
 
-            maxScore = Math.max(maxScore, score);
-
-            results.add(new TokenScore<>(score, device));
+        final List<TokenScore<NeeoDevice>> results = new ArrayList<>();
+        int maxScore = index.devices.isEmpty() ? -1 : baseScore;
+        if (baseScore > 0 || threshold >= 1) {
+            // devices without a matching token may pass the threshold as well
+            for (int i = 0; i < index.devices.size(); i++) {
+                final int score = baseScore + scores.getOrDefault(i, 0);
+                maxScore = Math.max(maxScore, score);
+                results.add(new TokenScore<>(score, index.devices.get(i)));
+            }
+        } else {
+            for (Map.Entry<Integer, Integer> entry : scores.entrySet()) {
+                final int score = entry.getValue();
+                maxScore = Math.max(maxScore, score);
+                results.add(new TokenScore<>(score, index.devices.get(entry.getKey())));
+            }
         }
 
         return new Result(applyThreshold(results, maxScore, threshold), maxScore);
     }
 
     /**
-     * Search the 'haystack' for the needles. The 'haystack' will be broken up by delimiter and each part will be
-     * compared to the needles array and the resulting score summation returned.
+     * Marks the index as outdated. It will be re-built on the next search.
+     */
+    public void invalidate() {
+        registryRevision.incrementAndGet();
+    }
+
+    /**
+     * Gets the current index, re-building it if it has been invalidated or the device definitions have changed
      *
-     * @param haystack the search term
-     * @param needles the items to search
-     * @return the score of the match
+     * @return the non-null index
+     */
+    private synchronized Index getIndex() {
+        Index localIndex = index;
+        final int revision = context.getDefinitions().getRevision();
+        final int registryRevision = this.registryRevision.get();
+        if (localIndex == null || localIndex.revision != revision
+                || localIndex.registryRevision != registryRevision) {
+            localIndex = new Index(revision, registryRevision);
+            for (NeeoDevice device : context.getDefinitions().getExposed()) {
+                localIndex.add(device, getHaystacks(device));
+            }
+            logger.debug("Built search index of {} devices with {} tokens", localIndex.devices.size(),
+                    localIndex.postings.size());
+            index = localIndex;
+        }
+        return localIndex;
+    }
+
+    /**
+     * Gets the texts of the device that are searched (besides the openhab token)
+     *
+     * @param device the non-null device
+     * @return the non-null list of texts
      */
-    private int search(String haystack, String[] needles) {
-        return Arrays.stream(StringUtils.split(haystack, DELIMITER)).mapToInt(hs -> searchAlgorithm(hs, needles)).sum();
+    private List<String> getHaystacks(NeeoDevice device) {
+        final List<String> haystacks = new ArrayList<>();
+        haystacks.add(device.getName());
+        // haystacks.add(thing.getLocation());
+        haystacks.add(device.getUid().getBindingId());
+
+        final Thing thing = context.getThingRegistry().get(device.getUid().asThingUID());
+        if (thing != null) {
+            final String location = thing.getLocation();
+            if (location != null && StringUtils.isNotEmpty(location)) {
+                haystacks.add(location);
+            }
+
+            final Map<@NonNull String, String> properties = thing.getProperties();
+            final String vendor = properties.get(Thing.PROPERTY_VENDOR);
+            if (vendor != null && !vendor.isEmpty()) {
+                haystacks.add(vendor);
+            }
+
+            final ThingType tt = context.getThingTypeRegistry().getThingType(thing.getThingTypeUID());
+            if (tt != null) {
+                haystacks.add(tt.getLabel());
+
+                final BindingInfo bi = context.getBindingInfoRegistry().getBindingInfo(tt.getBindingId());
+                if (bi != null) {
+                    haystacks.add(bi.getName());
+                }
+            }
+        }
+        return haystacks;
     }
 
     /**
@@ -180,6 +265,25 @@ public class TokenSearch {
         return score;
     }
 
+    /**
+     * The score of a single lower case token containing the lower case needle (see {@link #searchAlgorithm})
+     *
+     * @param token the token containing the needle
+     * @param needle the needle
+     * @return the score of the match
+     */
+    private static int tokenScore(String token, String needle) {
+        if (needle.length() < 2) {
+            return 1;
+        } else if (token.equals(needle)) {
+            return 6;
+        } else if (token.startsWith(needle)) {
+            return 2;
+        } else {
+            return 1;
+        }
+    }
+
     /**
      * Apply threshold to the results (lifted from tokensearch.js)
      *
@@ -206,6 +310,118 @@ public class TokenSearch {
         return results.stream().sorted().limit(searchLimit).collect(Collectors.toList());
     }
 
+    /**
+     * Removes the registry listeners
+     */
+    @Override
+    public void close() {
+        context.getThingRegistry().removeRegistryChangeListener(thingListener);
+        context.getItemRegistry().removeRegistryChangeListener(itemListener);
+        context.getItemChannelLinkRegistry().removeRegistryChangeListener(linkListener);
+    }
+
+    /**
+     * The inverted index of the lower case tokens of all exposed devices
+     */
+    private static class Index {
+        /** The revision of the device definitions the index was built from */
+        private final int revision;
+
+        /** The number of registry changes the index was built after */
+        private final int registryRevision;
+
+        /** The indexed devices */
+        private final List<NeeoDevice> devices = new ArrayList<>();
+
+        /** The token to the device positions and the number of occurrences of the token in that device */
+        private final Map<String, Map<Integer, Integer>> postings = new HashMap<>();
+
+        /** The token substrings to the tokens containing them */
+        private final Map<String, Set<String>> grams = new HashMap<>();
+
+        private Index(int revision, int registryRevision) {
+            this.revision = revision;
+            this.registryRevision = registryRevision;
+        }
+
+        /**
+         * Adds the device with the given texts to the index
+         *
+         * @param device the non-null device
+         * @param haystacks the texts of the device
+         */
+        private void add(NeeoDevice device, List<String> haystacks) {
+            final int position = devices.size();
+            devices.add(device);
+            for (String haystack : haystacks) {
+                for (String token : StringUtils.split(haystack, DELIMITER)) {
+                    final String lowerToken = token.toLowerCase(Locale.ROOT);
+                    if (!postings.containsKey(lowerToken)) {
+                        addGrams(lowerToken);
+                    }
+                    postings.computeIfAbsent(lowerToken, t -> new HashMap<>()).merge(position, 1, Integer::sum);
+                }
+            }
+        }
+
+        private void addGrams(String token) {
+            for (int start = 0; start < token.length(); start++) {
+                for (int end = start + 1; end <= Math.min(token.length(), start + MAX_GRAM_LENGTH); end++) {
+                    grams.computeIfAbsent(token.substring(start, end), g -> new HashSet<>()).add(token);
+                }
+            }
+        }
+
+        /**
+         * Gets all tokens containing the lower case needle
+         *
+         * @param needle the non-empty needle
+         * @return the non-null, possibly empty set of tokens
+         */
+        private Set<String> getTokensContaining(String needle) {
+            if (needle.length() <= MAX_GRAM_LENGTH) {
+                return grams.getOrDefault(needle, Collections.emptySet());
+            }
+
+            // verify the tokens of the rarest substring of the needle
+            @Nullable
+            Set<String> candidates = null;
+            for (int start = 0; start + MAX_GRAM_LENGTH <= needle.length(); start++) {
+                final Set<String> tokens = grams.get(needle.substring(start, start + MAX_GRAM_LENGTH));
+                if (tokens == null) {
+                    return Collections.emptySet();
+                }
+                if (candidates == null || tokens.size() < candidates.size()) {
+                    candidates = tokens;
+                }
+            }
+            if (candidates == null) {
+                return Collections.emptySet();
+            }
+            return candidates.stream().filter(token -> token.contains(needle)).collect(Collectors.toSet());
+        }
+    }
+
+    /**
+     * Invalidates the index on any registry change
+     */
+    private class InvalidatingListener<T> implements RegistryChangeListener<T> {
+        @Override
+        public void added(T element) {
+            invalidate();
+        }
+
+        @Override
+        public void removed(T element) {
+            invalidate();
+        }
+
+        @Override
+        public void updated(T oldElement, T element) {
+            invalidate();
+        }
+    }
+
     /**
      * The results of a token search. The return list of devices will be filtered by those below the threshold and
      * limited to certain size (10 by default)
@@ -59,6 +59,9 @@ public class NeeoBrainSearchService extends DefaultServletService {
     /** The context. */
     private final ServiceContext context;
 
+    /** The token search (keeping the search index between searches) */
+    private final TokenSearch tokenSearch;
+
     /** The last search results */
     private final ConcurrentHashMap<Integer, NeeoThingUID> lastSearchResults = new ConcurrentHashMap<>();
 
@@ -76,6 +79,7 @@ public class NeeoBrainSearchService extends DefaultServletService {
         gsonBuilder.registerTypeAdapter(NeeoDevice.class, new NeeoBrainDeviceSerializer());
 
         gson = gsonBuilder.create();
+        tokenSearch = new TokenSearch(context, NeeoConstants.SEARCH_MATCHFACTOR);
     }
 
     /**
@@ -235,7 +239,6 @@ public class NeeoBrainSearchService extends DefaultServletService {
      */
     private List<TokenScoreResult<NeeoDevice>> search(String queryString) {
         Objects.requireNonNull(queryString, "queryString cannot be null");
-        final TokenSearch tokenSearch = new TokenSearch(context, NeeoConstants.SEARCH_MATCHFACTOR);
         final TokenSearch.Result searchResult = tokenSearch.search(queryString);
 
         final List<TokenScoreResult<NeeoDevice>> searchItems = new ArrayList<>();
@@ -259,4 +262,14 @@ public class NeeoBrainSearchService extends DefaultServletService {
 
         return searchItems;
     }
+
+    /**
+     * Closes the token search
+     *
+     * @see DefaultServletService#close()
+     */
+    @Override
+    public void close() throws Exception {
+        tokenSearch.close();
+    }
 }
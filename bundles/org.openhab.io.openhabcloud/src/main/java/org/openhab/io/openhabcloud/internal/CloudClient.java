@@ -19,6 +19,10 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLEncoder;
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -31,7 +35,7 @@ import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.api.Request;
 import org.eclipse.jetty.client.api.Request.FailureListener;
 import org.eclipse.jetty.client.api.Response;
-import org.eclipse.jetty.client.api.Response.ContentListener;
+import org.eclipse.jetty.client.api.Response.AsyncContentListener;
 import org.eclipse.jetty.client.api.Response.HeadersListener;
 import org.eclipse.jetty.client.api.Result;
 import org.eclipse.jetty.client.util.BytesContentProvider;
@@ -39,7 +43,7 @@ import org.eclipse.jetty.http.HttpField;
 import org.eclipse.jetty.http.HttpFields;
 import org.eclipse.jetty.http.HttpMethod;
 import org.eclipse.jetty.http.HttpStatus;
-import org.eclipse.jetty.util.BufferUtil;
+import org.eclipse.jetty.util.Callback;
 import org.eclipse.jetty.util.URIUtil;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -53,6 +57,7 @@ import io.socket.client.Manager;
 import io.socket.client.Socket;
 import io.socket.emitter.Emitter;
 import io.socket.engineio.client.Transport;
+import io.socket.thread.EventThread;
 
 /**
  * This class provides communication between openHAB and the openHAB Cloud service.
@@ -65,6 +70,18 @@ import io.socket.engineio.client.Transport;
  * @author Kai Kreuzer - migrated code to new Jetty client and ESH APIs
  */
 public class CloudClient {
+    private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
+
+    /*
+     * Maximum number of proxied requests to local openHAB which are executed at the same time
+     */
+    private static final int MAX_CONCURRENT_REQUESTS = 32;
+
+    /*
+     * Response content is aggregated to binary frames of this size before it is sent to the openHAB Cloud
+     */
+    private static final int RESPONSE_FRAME_SIZE = 64 * 1024;
+
     /*
      * Logger for this class
      */
@@ -100,6 +117,18 @@ public class CloudClient {
      */
     private final Map<Integer, Request> runningRequests = new ConcurrentHashMap<>();
 
+    /*
+     * This queue holds HTTP requests to local openHAB which wait for one of the running requests to finish
+     */
+    private final Deque<Request> queuedRequests = new ArrayDeque<>();
+    private int activeRequests = 0;
+
+    /*
+     * These callbacks are waiting for the Socket.IO transport to drain before more response content is read. They are
+     * only accessed on the Socket.IO event thread.
+     */
+    private final List<Callback> drainWaiters = new ArrayList<>();
+
     /*
      * This variable indicates if connection to the openHAB Cloud is currently in an established state
      */
@@ -129,6 +158,11 @@ public class CloudClient {
     private boolean remoteAccessEnabled;
     private Set<String> exposedItems;
 
+    /*
+     * This variable holds the batcher which suppresses and coalesces item updates sent to the openHAB Cloud
+     */
+    private final ItemUpdateBatcher itemUpdateBatcher;
+
     /**
      * Constructor of CloudClient
      *
@@ -136,9 +170,10 @@ public class CloudClient {
      * @param secret openHAB's Secret to connect to the openHAB Cloud
      * @param remoteAccessEnabled Allow the openHAB Cloud to be used as a remote proxy
      * @param exposedItems Items that are made available to apps connected to the openHAB Cloud
+     * @param itemUpdateWindow Time in milliseconds item updates are accumulated before they are sent
      */
     public CloudClient(HttpClient httpClient, String uuid, String secret, String baseURL, String localBaseUrl,
-            boolean remoteAccessEnabled, Set<String> exposedItems) {
+            boolean remoteAccessEnabled, Set<String> exposedItems, long itemUpdateWindow) {
         this.uuid = uuid;
         this.secret = secret;
         this.baseURL = baseURL;
@@ -146,6 +181,8 @@ public class CloudClient {
         this.remoteAccessEnabled = remoteAccessEnabled;
         this.exposedItems = exposedItems;
         this.jettyClient = httpClient;
+        this.itemUpdateBatcher = new ItemUpdateBatcher(ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD),
+                itemUpdateWindow, this::sendItemUpdates);
     }
 
     /**
@@ -180,6 +217,19 @@ public class CloudClient {
                         headers.put("remoteaccess", List.of(((Boolean) remoteAccessEnabled).toString()));
                     }
                 });
+                transport.on(Transport.EVENT_DRAIN, new Emitter.Listener() {
+                    @Override
+                    public void call(Object... args) {
+                        logger.trace("Transport.EVENT_DRAIN");
+                        // The engine writes the packets queued meanwhile on the same event, after this listener. Only
+                        // when it had nothing left to write, all packets of the waiting callbacks have been sent.
+                        EventThread.nextTick(() -> {
+                            if (transport.writable) {
+                                onDrain(null);
+                            }
+                        });
+                    }
+                });
             }
         });
         socket.on(Socket.EVENT_CONNECT, new Emitter.Listener() {
@@ -242,8 +292,15 @@ public class CloudClient {
         logger.info("Disconnected from the openHAB Cloud service (UUID = {}, base URL = {})", this.uuid,
                 this.localBaseUrl);
         isConnected = false;
+        // the cloud needs to receive all states again after reconnecting
+        itemUpdateBatcher.reset();
         // And clean up the list of running requests
         runningRequests.clear();
+        synchronized (queuedRequests) {
+            queuedRequests.clear();
+        }
+        // responses can not be delivered anymore, abort them
+        onDrain(new IOException("Disconnected from openHAB Cloud"));
     }
 
     /**
@@ -333,15 +390,92 @@ public class CloudClient {
                 return;
             }
             ResponseListener listener = new ResponseListener(requestId);
-            request.onResponseHeaders(listener).onResponseContent(listener).onRequestFailure(listener).send(listener);
-            // If successfully submitted request to http client, add it to the list of currently
-            // running requests to be able to cancel it if needed
+            request.onResponseHeaders(listener).onResponseContentAsync(listener).onRequestFailure(listener);
+            // Add it to the list of currently running requests to be able to cancel it if needed
             runningRequests.put(requestId, request);
+            submitRequest(request, listener);
         } catch (JSONException | IOException | URISyntaxException e) {
             logger.debug("{}", e.getMessage());
         }
     }
 
+    private void submitRequest(Request request, ResponseListener listener) {
+        synchronized (queuedRequests) {
+            if (activeRequests >= MAX_CONCURRENT_REQUESTS) {
+                logger.debug("Too many running requests, queueing request {}", listener.mRequestId);
+                request.attribute(ResponseListener.class.getName(), listener);
+                queuedRequests.add(request);
+                return;
+            }
+            activeRequests++;
+        }
+        request.send(listener);
+    }
+
+    private void requestFinished() {
+        Request next;
+        synchronized (queuedRequests) {
+            next = queuedRequests.poll();
+            if (next == null) {
+                activeRequests--;
+                return;
+            }
+        }
+        next.send((ResponseListener) next.getAttributes().get(ResponseListener.class.getName()));
+    }
+
+    /**
+     * Send response content to the openHAB Cloud
+     *
+     * The callback is completed as soon as the Socket.IO transport has written all queued packets, so that Jetty only
+     * reads further content when it can be sent. The content is encoded later on the Socket.IO event thread, so it
+     * must not be a buffer owned by Jetty.
+     */
+    private void emitResponseContent(int requestId, byte[] content, Callback callback) {
+        JSONObject responseJson = new JSONObject();
+        try {
+            responseJson.put("id", requestId);
+            responseJson.put("body", content);
+        } catch (JSONException e) {
+            logger.debug("{}", e.getMessage());
+            callback.succeeded();
+            return;
+        }
+        socket.emit("responseContentBinary", responseJson);
+        logger.debug("Sent {} bytes of content to request {}", content.length, requestId);
+        // the packet is handed to the transport on the event thread, the callback is queued behind it
+        EventThread.exec(() -> {
+            if (isConnected) {
+                drainWaiters.add(callback);
+            } else {
+                ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD).execute(callback::succeeded);
+            }
+        });
+    }
+
+    /**
+     * Complete all callbacks waiting for the Socket.IO transport to drain
+     *
+     * @param failure the reason to fail the callbacks, <code>null</code> if the transport has drained
+     */
+    private void onDrain(@Nullable Throwable failure) {
+        if (drainWaiters.isEmpty()) {
+            return;
+        }
+        List<Callback> callbacks = new ArrayList<>(drainWaiters);
+        drainWaiters.clear();
+        // don't continue reading content on the Socket.IO event thread
+        ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD).execute(() -> {
+            for (Callback callback : callbacks) {
+                if (failure == null) {
+                    callback.succeeded();
+                } else {
+                    callback.failed(failure);
+                }
+            }
+        });
+    }
+
     private void setRequestHeaders(Request request, JSONObject requestHeadersJson) {
         Iterator<String> headersIterator = requestHeadersJson.keys();
         // Convert JSONObject of headers into Header ArrayList
@@ -465,23 +599,34 @@ public class CloudClient {
     /**
      * Send item update to openHAB Cloud
      *
+     * Updates are not sent immediately but collected for the configured item update window. Updates that do not
+     * change the state last sent for the item are not sent at all.
+     *
      * @param itemName the name of the item
      * @param itemState updated item state
      *
      */
     public void sendItemUpdate(String itemName, String itemState) {
+        itemUpdateBatcher.submit(itemName, itemState);
+    }
+
+    private boolean sendItemUpdates(Map<String, String> itemUpdates) {
         if (isConnected()) {
-            logger.debug("Sending update '{}' for item '{}'", itemState, itemName);
-            JSONObject itemUpdateMessage = new JSONObject();
-            try {
-                itemUpdateMessage.put("itemName", itemName);
-                itemUpdateMessage.put("itemStatus", itemState);
-                socket.emit("itemupdate", itemUpdateMessage);
-            } catch (JSONException e) {
-                logger.debug("{}", e.getMessage());
+            for (Map.Entry<String, String> itemUpdate : itemUpdates.entrySet()) {
+                logger.debug("Sending update '{}' for item '{}'", itemUpdate.getValue(), itemUpdate.getKey());
+                JSONObject itemUpdateMessage = new JSONObject();
+                try {
+                    itemUpdateMessage.put("itemName", itemUpdate.getKey());
+                    itemUpdateMessage.put("itemStatus", itemUpdate.getValue());
+                    socket.emit("itemupdate", itemUpdateMessage);
+                } catch (JSONException e) {
+                    logger.debug("{}", e.getMessage());
+                }
             }
+            return true;
         } else {
             logger.debug("No connection, Item update is not sent");
+            return false;
         }
     }
 
@@ -497,6 +642,7 @@ public class CloudClient {
      */
     public void shutdown() {
         logger.info("Shutting down openHAB Cloud service connection");
+        itemUpdateBatcher.dispose();
         socket.disconnect();
     }
 
@@ -516,11 +662,12 @@ public class CloudClient {
      * An internal class which forwards response headers and data back to the openHAB Cloud
      */
     private class ResponseListener
-            implements Response.CompleteListener, HeadersListener, ContentListener, FailureListener {
+            implements Response.CompleteListener, HeadersListener, AsyncContentListener, FailureListener {
 
-        private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
         private int mRequestId;
         private boolean mHeadersSent = false;
+        private byte @Nullable [] mFrame;
+        private int mFrameLength = 0;
 
         public ResponseListener(int requestId) {
             mRequestId = requestId;
@@ -542,6 +689,11 @@ public class CloudClient {
         public void onComplete(Result result) {
             // Remove this request from list of running requests
             runningRequests.remove(mRequestId);
+            requestFinished();
+            if (result == null || !result.isFailed()) {
+                // send what is left in the last frame
+                emitFrame(Callback.NOOP);
+            }
             if ((result != null && result.isFailed())
                     && (result.getResponse() != null && result.getResponse().getStatus() != HttpStatus.OK_200)) {
                 if (result.getFailure() != null) {
@@ -585,17 +737,41 @@ public class CloudClient {
         }
 
         @Override
-        public void onContent(Response response, ByteBuffer content) {
+        public void onContent(Response response, ByteBuffer content, Callback callback) {
             logger.debug("Jetty received response content of size {}", String.valueOf(content.remaining()));
-            JSONObject responseJson = new JSONObject();
-            try {
-                responseJson.put("id", mRequestId);
-                responseJson.put("body", BufferUtil.toArray(content));
-                socket.emit("responseContentBinary", responseJson);
-                logger.debug("Sent content to request {}", mRequestId);
-            } catch (JSONException e) {
-                logger.debug("{}", e.getMessage());
+            // content is always copied, Jetty may reuse its buffer as soon as the callback is completed
+            boolean frameSent = false;
+            while (content.hasRemaining()) {
+                byte[] frame = mFrame;
+                if (frame == null) {
+                    frame = new byte[RESPONSE_FRAME_SIZE];
+                    mFrame = frame;
+                }
+                int length = Math.min(content.remaining(), frame.length - mFrameLength);
+                content.get(frame, mFrameLength, length);
+                mFrameLength += length;
+                if (mFrameLength == frame.length) {
+                    // only the last frame of this chunk needs to drain before more content is demanded
+                    frameSent = !content.hasRemaining();
+                    emitFrame(frameSent ? callback : Callback.NOOP);
+                }
+            }
+            if (!frameSent) {
+                // content was only aggregated, demand more
+                callback.succeeded();
+            }
+        }
+
+        private void emitFrame(Callback callback) {
+            byte[] frame = mFrame;
+            if (frame == null || mFrameLength == 0) {
+                callback.succeeded();
+                return;
             }
+            byte[] content = mFrameLength == frame.length ? frame : Arrays.copyOf(frame, mFrameLength);
+            mFrame = null;
+            mFrameLength = 0;
+            emitResponseContent(mRequestId, content, callback);
         }
 
         @Override
@@ -15,6 +15,7 @@ package org.openhab.io.openhabcloud.internal;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.security.SecureRandom;
@@ -73,8 +74,10 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
     private static final String CFG_EXPOSE = "expose";
     private static final String CFG_BASE_URL = "baseURL";
     private static final String CFG_MODE = "mode";
+    private static final String CFG_ITEM_UPDATE_WINDOW = "itemUpdateWindow";
     private static final String SECRET_FILE_NAME = "openhabcloud" + File.separator + "secret";
     private static final String DEFAULT_URL = "https://myopenhab.org/";
+    private static final long DEFAULT_ITEM_UPDATE_WINDOW = 100;
     private static final int DEFAULT_LOCAL_OPENHAB_MAX_CONCURRENT_REQUESTS = 200;
     private static final int DEFAULT_LOCAL_OPENHAB_REQUEST_TIMEOUT = 30000;
     private static final String HTTPCLIENT_NAME = "openhabcloud";
@@ -92,6 +95,7 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
 
     private boolean remoteAccessEnabled = true;
     private Set<String> exposedItems = null;
+    private long itemUpdateWindow = DEFAULT_ITEM_UPDATE_WINDOW;
     private int localPort;
 
     @Activate
@@ -226,6 +230,17 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
             }
         }
 
+        itemUpdateWindow = DEFAULT_ITEM_UPDATE_WINDOW;
+        Object windowCfg = config.get(CFG_ITEM_UPDATE_WINDOW);
+        if (windowCfg != null) {
+            try {
+                itemUpdateWindow = Math.max(0, new BigDecimal(windowCfg.toString().trim()).longValue());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid value '{}' for {}, using default of {} ms", windowCfg, CFG_ITEM_UPDATE_WINDOW,
+                        DEFAULT_ITEM_UPDATE_WINDOW);
+            }
+        }
+
         logger.debug("UUID = {}, secret = {}", InstanceUUID.get(), getSecret());
 
         if (cloudClient != null) {
@@ -242,7 +257,7 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
 
         String localBaseUrl = "http://localhost:" + localPort;
         cloudClient = new CloudClient(httpClient, InstanceUUID.get(), getSecret(), cloudBaseUrl, localBaseUrl,
-                remoteAccessEnabled, exposedItems);
+                remoteAccessEnabled, exposedItems, itemUpdateWindow);
         cloudClient.setOpenHABVersion(OpenHAB.getVersion());
         cloudClient.connect();
         cloudClient.setListener(this);
@@ -0,0 +1,202 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ItemUpdateBatcher} collects item state updates that shall be sent to the openHAB Cloud.
+ *
+ * Updates that do not change the state last sent for an item are suppressed. All other updates are held back for a
+ * short window, during which later updates of the same item replace earlier ones, and are then handed to the sender
+ * in one batch. The number of items waiting for the next batch is bounded, updates for further items are dropped.
+ *
+ * The state of an item counts as sent as soon as its batch is handed to the sender, so that updates arriving while the
+ * batch is sent are compared with it. If sending fails, the previous state is restored.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public class ItemUpdateBatcher {
+    static final int MAX_PENDING_UPDATES = 1000;
+
+    private final Logger logger = LoggerFactory.getLogger(ItemUpdateBatcher.class);
+
+    private final ScheduledExecutorService scheduler;
+    private final long windowMillis;
+    private final Predicate<Map<String, String>> sender;
+
+    // guarded by pending
+    private final Map<String, String> lastSent = new HashMap<>();
+    private final Map<String, String> pending = new LinkedHashMap<>();
+    private @Nullable ScheduledFuture<?> flushJob;
+
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong suppressedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    /**
+     * Create a new batcher
+     *
+     * @param scheduler the scheduler used for delayed sending
+     * @param windowMillis the time updates are accumulated before they are sent, 0 sends each update immediately
+     * @param sender sends a batch of item updates (item name to state), returns <code>false</code> if the batch could
+     *            not be sent
+     */
+    public ItemUpdateBatcher(ScheduledExecutorService scheduler, long windowMillis,
+            Predicate<Map<String, String>> sender) {
+        this.scheduler = scheduler;
+        this.windowMillis = Math.max(0, windowMillis);
+        this.sender = sender;
+    }
+
+    /**
+     * Queue an item update for sending
+     *
+     * @param itemName the name of the item
+     * @param itemState the new state of the item
+     */
+    public void submit(String itemName, String itemState) {
+        if (windowMillis == 0) {
+            sendImmediately(itemName, itemState);
+            return;
+        }
+
+        synchronized (pending) {
+            boolean isDuplicate = itemState.equals(lastSent.get(itemName));
+            if (pending.containsKey(itemName)) {
+                coalescedCount.incrementAndGet();
+                if (isDuplicate) {
+                    // the item returned to the state the cloud already knows
+                    pending.remove(itemName);
+                } else {
+                    pending.put(itemName, itemState);
+                }
+            } else if (isDuplicate) {
+                suppressedCount.incrementAndGet();
+            } else if (pending.size() >= MAX_PENDING_UPDATES) {
+                if (droppedCount.incrementAndGet() == 1) {
+                    logger.warn("Too many pending item updates for the openHAB Cloud, dropping updates");
+                }
+                logger.debug("Dropping update '{}' for item '{}'", itemState, itemName);
+            } else {
+                pending.put(itemName, itemState);
+                if (flushJob == null) {
+                    flushJob = scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+    }
+
+    /**
+     * Forget about all pending and previously sent updates, e.g. after the connection was lost
+     */
+    public void reset() {
+        synchronized (pending) {
+            pending.clear();
+            lastSent.clear();
+        }
+    }
+
+    /**
+     * Cancel the pending batch
+     */
+    public void dispose() {
+        synchronized (pending) {
+            ScheduledFuture<?> flushJob = this.flushJob;
+            if (flushJob != null) {
+                flushJob.cancel(false);
+                this.flushJob = null;
+            }
+            pending.clear();
+        }
+        logger.debug(
+                "Item update statistics: {} sent, {} coalesced, {} duplicates suppressed, {} dropped due to queue limit",
+                sentCount.get(), coalescedCount.get(), suppressedCount.get(), droppedCount.get());
+    }
+
+    private void sendImmediately(String itemName, String itemState) {
+        Map<String, String> batch = Map.of(itemName, itemState);
+        Map<String, @Nullable String> previousStates;
+        synchronized (pending) {
+            if (itemState.equals(lastSent.get(itemName))) {
+                suppressedCount.incrementAndGet();
+                return;
+            }
+            previousStates = markSent(batch);
+        }
+        send(batch, previousStates);
+    }
+
+    private void flush() {
+        Map<String, String> batch;
+        Map<String, @Nullable String> previousStates;
+        synchronized (pending) {
+            flushJob = null;
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = new LinkedHashMap<>(pending);
+            pending.clear();
+            previousStates = markSent(batch);
+        }
+        send(batch, previousStates);
+    }
+
+    /**
+     * Record the states of a batch as sent, must be called while holding the lock on pending
+     *
+     * @return the previously sent states of the items in the batch
+     */
+    private Map<String, @Nullable String> markSent(Map<String, String> batch) {
+        Map<String, @Nullable String> previousStates = new HashMap<>();
+        batch.forEach((itemName, itemState) -> previousStates.put(itemName, lastSent.put(itemName, itemState)));
+        return previousStates;
+    }
+
+    private void send(Map<String, String> batch, Map<String, @Nullable String> previousStates) {
+        if (sender.test(batch)) {
+            sentCount.addAndGet(batch.size());
+            logger.trace("Sent {} item updates ({} coalesced, {} suppressed, {} dropped in total)", batch.size(),
+                    coalescedCount.get(), suppressedCount.get(), droppedCount.get());
+            return;
+        }
+        synchronized (pending) {
+            previousStates.forEach((itemName, previousState) -> {
+                // keep the state of a later batch of the item that was handed to the sender in the meantime
+                if (!Objects.equals(lastSent.get(itemName), batch.get(itemName))) {
+                    return;
+                }
+                if (previousState == null) {
+                    lastSent.remove(itemName);
+                } else {
+                    lastSent.put(itemName, previousState);
+                }
+            });
+        }
+    }
+}
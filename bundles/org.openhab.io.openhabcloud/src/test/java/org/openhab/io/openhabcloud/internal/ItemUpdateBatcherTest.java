@@ -0,0 +1,181 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Jan N. Klug - Initial contribution
+ */
+public class ItemUpdateBatcherTest {
+
+    private List<Map<String, String>> batches;
+    private List<Runnable> scheduled;
+    private ScheduledExecutorService scheduler;
+
+    @BeforeEach
+    public void setUp() {
+        batches = new ArrayList<>();
+        scheduled = new ArrayList<>();
+        scheduler = mock(ScheduledExecutorService.class);
+        doAnswer(invocation -> {
+            scheduled.add(invocation.getArgument(0));
+            return mock(ScheduledFuture.class);
+        }).when(scheduler).schedule(any(Runnable.class), anyLong(), any());
+    }
+
+    private ItemUpdateBatcher createBatcher(long windowMillis) {
+        return new ItemUpdateBatcher(scheduler, windowMillis, batch -> batches.add(Map.copyOf(batch)));
+    }
+
+    private void flush() {
+        List<Runnable> jobs = new ArrayList<>(scheduled);
+        scheduled.clear();
+        jobs.forEach(Runnable::run);
+    }
+
+    @Test
+    public void testUpdateEqualToLastSentStateIsSuppressed() {
+        ItemUpdateBatcher batcher = createBatcher(0);
+
+        batcher.submit("item", "ON");
+        batcher.submit("item", "ON");
+        batcher.submit("item", "OFF");
+
+        assertThat(batches, is(equalTo(List.of(Map.of("item", "ON"), Map.of("item", "OFF")))));
+    }
+
+    @Test
+    public void testUpdateEqualToLastSentStateIsSuppressedWithinWindow() {
+        ItemUpdateBatcher batcher = createBatcher(100);
+
+        batcher.submit("item", "ON");
+        flush();
+        batcher.submit("item", "ON");
+
+        assertThat(scheduled.isEmpty(), is(true));
+        assertThat(batches, is(equalTo(List.of(Map.of("item", "ON")))));
+    }
+
+    @Test
+    public void testUpdatesWithinWindowAreCoalesced() {
+        ItemUpdateBatcher batcher = createBatcher(100);
+
+        batcher.submit("item1", "1");
+        batcher.submit("item2", "1");
+        batcher.submit("item1", "2");
+
+        assertThat(scheduled.size(), is(equalTo(1)));
+        assertThat(batches.isEmpty(), is(true));
+        flush();
+        assertThat(batches, is(equalTo(List.of(Map.of("item1", "2", "item2", "1")))));
+
+        // item returns to the state last sent within the window
+        batcher.submit("item1", "3");
+        batcher.submit("item1", "2");
+        flush();
+        assertThat(batches.size(), is(equalTo(1)));
+    }
+
+    @Test
+    public void testUpdatesOfFurtherItemsAreDroppedAtBound() {
+        ItemUpdateBatcher batcher = createBatcher(100);
+
+        for (int i = 0; i < ItemUpdateBatcher.MAX_PENDING_UPDATES; i++) {
+            batcher.submit("item" + i, "1");
+        }
+        batcher.submit("dropped", "1");
+        // items already pending are still updated
+        batcher.submit("item0", "2");
+        flush();
+
+        assertThat(batches.size(), is(equalTo(1)));
+        Map<String, String> batch = batches.get(0);
+        assertThat(batch.size(), is(equalTo(ItemUpdateBatcher.MAX_PENDING_UPDATES)));
+        assertThat(batch.containsKey("dropped"), is(false));
+        assertThat(batch.get("item0"), is(equalTo("2")));
+
+        // the bound applies to pending items only
+        batcher.submit("dropped", "1");
+        flush();
+        assertThat(batches.get(1), is(equalTo(Map.of("dropped", "1"))));
+    }
+
+    private ItemUpdateBatcher createBatcherUpdatingWhileSending(long windowMillis, String itemState,
+            String newItemState) {
+        ItemUpdateBatcher[] batcher = new ItemUpdateBatcher[1];
+        batcher[0] = new ItemUpdateBatcher(scheduler, windowMillis, batch -> {
+            batches.add(Map.copyOf(batch));
+            if (batches.size() == 2 && itemState.equals(batch.get("item"))) {
+                // the item changes again while its batch is being sent
+                batcher[0].submit("item", newItemState);
+            }
+            return true;
+        });
+        return batcher[0];
+    }
+
+    @Test
+    public void testUpdateWhileSendingIsComparedWithSentState() {
+        ItemUpdateBatcher batcher = createBatcherUpdatingWhileSending(100, "B", "A");
+
+        batcher.submit("item", "A");
+        flush();
+        batcher.submit("item", "B");
+        flush();
+        flush();
+
+        assertThat(batches, is(equalTo(List.of(Map.of("item", "A"), Map.of("item", "B"), Map.of("item", "A")))));
+    }
+
+    @Test
+    public void testUpdateWhileSendingIsComparedWithSentStateWithoutWindow() {
+        ItemUpdateBatcher batcher = createBatcherUpdatingWhileSending(0, "B", "A");
+
+        batcher.submit("item", "A");
+        batcher.submit("item", "B");
+
+        assertThat(batches, is(equalTo(List.of(Map.of("item", "A"), Map.of("item", "B"), Map.of("item", "A")))));
+    }
+
+    @Test
+    public void testStateIsRestoredIfSendingFails() {
+        boolean[] fail = new boolean[1];
+        ItemUpdateBatcher batcher = new ItemUpdateBatcher(scheduler, 0, batch -> {
+            batches.add(Map.copyOf(batch));
+            return !fail[0];
+        });
+
+        batcher.submit("item", "A");
+        fail[0] = true;
+        batcher.submit("item", "B");
+        fail[0] = false;
+        // the cloud still knows A, so A is suppressed and B is sent again
+        batcher.submit("item", "A");
+        batcher.submit("item", "B");
+
+        assertThat(batches, is(equalTo(List.of(Map.of("item", "A"), Map.of("item", "B"), Map.of("item", "B")))));
+    }
+}
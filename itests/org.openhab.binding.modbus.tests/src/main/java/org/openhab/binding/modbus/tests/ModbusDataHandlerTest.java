@@ -38,6 +38,7 @@ import org.mockito.Mockito;
 import org.openhab.binding.modbus.handler.EndpointNotInitializedException;
 import org.openhab.binding.modbus.handler.ModbusPollerThingHandler;
 import org.openhab.binding.modbus.internal.handler.ModbusDataThingHandler;
+import org.openhab.binding.modbus.internal.handler.ModbusExtractionPlan;
 import org.openhab.binding.modbus.internal.handler.ModbusTcpThingHandler;
 import org.openhab.core.config.core.Configuration;
 import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
@@ -840,6 +841,74 @@ public class ModbusDataHandlerTest extends AbstractModbusOSGiTest {
         waitForAssert(() -> verify((ModbusPollerThingHandler) poller.getHandler()).refresh());
     }
 
+    private ModbusDataThingHandler createRegisterReadHandler(ModbusReadRequestBlueprint request, String start) {
+        ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("thisishost", 502, false);
+        doReturn(2).when(request).getDataLength();
+        doReturn(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS).when(request).getFunctionCode();
+
+        PollTask task = Mockito.mock(PollTask.class);
+        doReturn(endpoint).when(task).getEndpoint();
+        doReturn(request).when(task).getRequest();
+
+        Bridge poller = createPollerMock("poller1", task);
+
+        Configuration dataConfig = new Configuration();
+        dataConfig.put("readStart", start);
+        dataConfig.put("readTransform", "default");
+        dataConfig.put("readValueType", ValueType.INT16.getConfigValue());
+        ModbusDataThingHandler dataHandler = createDataHandler("read1", poller,
+                builder -> builder.withConfiguration(dataConfig));
+        assertThat(dataHandler.getThing().getStatus(), is(equalTo(ThingStatus.ONLINE)));
+        return dataHandler;
+    }
+
+    @Test
+    public void testExtractionPlanDoesNotDecodeUnchangedRegisters() {
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        ModbusDataThingHandler dataHandler = createRegisterReadHandler(request, "0");
+        ModbusExtractionPlan plan = new ModbusExtractionPlan();
+
+        plan.dispatch(new AsyncModbusReadResult(request, new ModbusRegisterArray(0, 5)), List.of(dataHandler));
+        assertThat(plan.getDecodeCount(), is(equalTo(1L)));
+
+        // Same data
+        plan.dispatch(new AsyncModbusReadResult(request, new ModbusRegisterArray(0, 5)), List.of(dataHandler));
+        assertThat(plan.getDecodeCount(), is(equalTo(1L)));
+
+        // Register outside of the value of the thing changes
+        plan.dispatch(new AsyncModbusReadResult(request, new ModbusRegisterArray(0, 6)), List.of(dataHandler));
+        assertThat(plan.getDecodeCount(), is(equalTo(1L)));
+
+        // Channels are still updated with the value decoded in the first poll
+        ChannelUID numberUID = new ChannelUID(dataHandler.getThing().getUID(), CHANNEL_NUMBER);
+        waitForAssert(() -> {
+            List<State> updates = getStateUpdates(getItemName(numberUID));
+            assertNotNull(updates);
+            assertThat(updates.isEmpty(), is(false));
+            updates.forEach(state -> assertThat(state, is(equalTo(new DecimalType(0)))));
+        });
+    }
+
+    @Test
+    public void testExtractionPlanDecodesChangedRegisters() {
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        ModbusDataThingHandler dataHandler = createRegisterReadHandler(request, "1");
+        ModbusExtractionPlan plan = new ModbusExtractionPlan();
+
+        plan.dispatch(new AsyncModbusReadResult(request, new ModbusRegisterArray(0, 5)), List.of(dataHandler));
+        assertThat(plan.getDecodeCount(), is(equalTo(1L)));
+
+        plan.dispatch(new AsyncModbusReadResult(request, new ModbusRegisterArray(0, 6)), List.of(dataHandler));
+        assertThat(plan.getDecodeCount(), is(equalTo(2L)));
+
+        ChannelUID numberUID = new ChannelUID(dataHandler.getThing().getUID(), CHANNEL_NUMBER);
+        waitForAssert(() -> {
+            List<State> updates = getStateUpdates(getItemName(numberUID));
+            assertNotNull(updates);
+            assertThat(updates, is(equalTo(List.of(new DecimalType(5), new DecimalType(6)))));
+        });
+    }
+
     /**
      *
      * @param pollerFunctionCode poller function code. Use null if you want to have data thing direct child of endpoint